@@ -21,6 +21,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
 
+import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.cli.commands.ActionContext;
 import org.apache.activemq.artemis.core.config.Configuration;
@@ -34,6 +35,7 @@ import org.apache.activemq.artemis.core.journal.impl.JournalReaderCallback;
 import org.apache.activemq.artemis.core.journal.impl.dataformat.ByteArrayEncoding;
 import org.apache.activemq.artemis.core.message.impl.CoreMessagePersister;
 import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefsEncoding;
 import org.apache.activemq.artemis.spi.core.protocol.MessagePersister;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import picocli.CommandLine.Command;
@@ -109,6 +111,7 @@ public class RecoverMessages extends DBOption {
       userRecordsOfInterest.add(JournalRecordIds.ADD_MESSAGE);
       userRecordsOfInterest.add(JournalRecordIds.ADD_MESSAGE_PROTOCOL);
       userRecordsOfInterest.add(JournalRecordIds.ADD_REF);
+      userRecordsOfInterest.add(JournalRecordIds.ADD_REFS);
       userRecordsOfInterest.add(JournalRecordIds.PAGE_TRANSACTION);
 
       Set<Pair<Long, Long>> routeBindigns = new HashSet<>();
@@ -179,6 +182,15 @@ public class RecoverMessages extends DBOption {
             @Override
             public void onReadUpdateRecord(RecordInfo info) throws Exception {
                if (userRecordsOfInterest.contains(info.getUserRecordType())) {
+                  if (info.getUserRecordType() == JournalRecordIds.ADD_REFS) {
+                     // recorded as single references, to not duplicate the ones already recorded
+                     RefsEncoding refs = new RefsEncoding();
+                     refs.decode(ActiveMQBuffers.wrappedBuffer(info.data));
+                     for (long queue : refs.queueIDs) {
+                        onReadUpdateRecord(new RecordInfo(info.id, JournalRecordIds.ADD_REF, ByteUtil.longToBytes(queue), true, false, info.compactCount));
+                     }
+                     return;
+                  }
                   if (info.getUserRecordType() == JournalRecordIds.ADD_REF) {
                      long queue = ByteUtil.bytesToLong(info.data);
                      Pair<Long, Long> pairQueue = new Pair<>(info.id, queue);
@@ -63,6 +63,8 @@ import org.apache.activemq.artemis.core.persistence.impl.journal.codec.CursorAck
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PageUpdateTXEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentAddressBindingEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentQueueBindingEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefsEncoding;
 import org.apache.activemq.artemis.core.server.JournalType;
 import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 import org.slf4j.Logger;
@@ -251,6 +253,11 @@ public final class XmlDataExporter extends DBOption {
             } else {
                map.put(ref.refEncoding.queueID, ref);
             }
+         } else if (info.getUserRecordType() == JournalRecordIds.ADD_REFS) {
+            Map<Long, ReferenceDescribe> map = messageRefs.computeIfAbsent(info.id, id -> new HashMap<>());
+            for (long queueID : ((RefsEncoding) o).queueIDs) {
+               map.put(queueID, new ReferenceDescribe(new RefEncoding(queueID)));
+            }
          } else if (info.getUserRecordType() == JournalRecordIds.ACKNOWLEDGE_REF) {
             acks.add(info);
          } else if (info.userRecordType == JournalRecordIds.ACKNOWLEDGE_CURSOR) {
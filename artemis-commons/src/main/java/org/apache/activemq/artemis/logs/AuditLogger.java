@@ -2823,4 +2823,11 @@ public interface AuditLogger {
    @LogMessage(id = 601791, value = "User {} is getting the number of messages sent on target resource: {}", level = LogMessage.Level.INFO)
    void getMessagesSent(String user, Object source);
 
+   static void getGroupsRebalanced(Object source) {
+      BASE_LOGGER.getGroupsRebalanced(getCaller(), source);
+   }
+
+   @LogMessage(id = 601792, value = "User {} is getting the number of groups rebalanced on target resource: {}", level = LogMessage.Level.INFO)
+   void getGroupsRebalanced(String user, Object source);
+
 }
@@ -206,6 +206,16 @@ public abstract class ProcessorBase<T> extends HandlerBase {
       }
    }
 
+   /**
+    * Returns {@code true} if there are items not yet processed, other than the one in progress.
+    * <p>
+    * Unlike {@link #remaining()}, it is cheap enough to be used on the processing path, but it is subject to
+    * concurrent modifications the same way.
+    */
+   public final boolean hasPendingTasks() {
+      return !tasks.isEmpty();
+   }
+
    /**
     * Returns the remaining items to be processed.
     * <p>
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import java.util.function.Consumer;
+
+/**
+ * This collection is a FIFO queue backed by a growable ring buffer indexed by sequence.<br>
+ * The elements are added by one thread at a time, without allocating nor locking, while they're polled
+ * concurrently, e.g. by the thread consuming them: the polling threads only synchronize among themselves.
+ */
+public final class SingleProducerRingBuffer<E> {
+
+   private static final int INITIAL_CAPACITY = 16;
+
+   private volatile E[] elements = newArray(INITIAL_CAPACITY);
+
+   // the sequence of the first element
+   private volatile long head;
+
+   // the sequence of the next element to be added
+   private volatile long tail;
+
+   @SuppressWarnings("unchecked")
+   private static <E> E[] newArray(final int length) {
+      return (E[]) new Object[length];
+   }
+
+   private static int index(final Object[] elements, final long sequence) {
+      return (int) (sequence & (elements.length - 1));
+   }
+
+   /**
+    * Must not be called concurrently.
+    */
+   public void add(final E element) {
+      final long tail = this.tail;
+      E[] elements = this.elements;
+      if (tail - head == elements.length) {
+         elements = grow(elements, tail);
+      }
+      elements[index(elements, tail)] = element;
+      // publish the element to the polling threads
+      this.tail = tail + 1;
+   }
+
+   private E[] grow(final E[] elements, final long tail) {
+      final E[] grown = newArray(elements.length * 2);
+      // head can move meanwhile: copying an element already polled is harmless
+      for (long sequence = head; sequence < tail; sequence++) {
+         grown[index(grown, sequence)] = elements[index(elements, sequence)];
+      }
+      this.elements = grown;
+      return grown;
+   }
+
+   /**
+    * @return the first element, removing it, or {@code null} if there's none
+    */
+   public synchronized E poll() {
+      final long head = this.head;
+      if (head == tail) {
+         return null;
+      }
+      final E[] elements = this.elements;
+      final int index = index(elements, head);
+      final E element = elements[index];
+      elements[index] = null;
+      final E[] grown = this.elements;
+      if (grown != elements) {
+         // grown meanwhile: the adding thread can't reuse this slot before head moves
+         grown[index(grown, head)] = null;
+      }
+      this.head = head + 1;
+      return element;
+   }
+
+   public synchronized void clear() {
+      while (head != tail) {
+         poll();
+      }
+   }
+
+   /**
+    * Visits the elements in order: the ones polled meanwhile could be skipped.
+    */
+   public void forEach(final Consumer<? super E> action) {
+      final long tail = this.tail;
+      final E[] elements = this.elements;
+      for (long sequence = head; sequence < tail; sequence++) {
+         final E element = elements[index(elements, sequence)];
+         if (element != null) {
+            action.accept(element);
+         }
+      }
+   }
+
+   public int size() {
+      return (int) (tail - head);
+   }
+}
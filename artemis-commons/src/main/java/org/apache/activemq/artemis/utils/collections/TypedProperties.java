@@ -527,49 +527,118 @@ public class TypedProperties {
          index += keyLength;
          byte type = buffer.getByte(index);
          index++;
-         switch (type) {
-            case NULL: {
-               break;
-            }
-            case CHAR:
-            case SHORT: {
-               index += Short.BYTES;
-               break;
-            }
-            case BOOLEAN:
-            case BYTE: {
-               index += Byte.BYTES;
-               break;
-            }
-            case BYTES:
-            case STRING: {
-               index += (Integer.BYTES + buffer.getInt(index));
-               break;
-            }
-            case INT: {
-               index += Integer.BYTES;
-               break;
-            }
-            case LONG: {
-               index += Long.BYTES;
-               break;
-            }
-            case FLOAT: {
-               index += Float.BYTES;
-               break;
-            }
-            case DOUBLE: {
-               index += Double.BYTES;
-               break;
-            }
-            default: {
-               throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
-            }
-         }
+         index = skipValue(type, buffer, index);
       }
       return false;
    }
 
+   /**
+    * Reads the value of the {@code key} property contained in {@code buffer}, starting from {@code startIndex}
+    * assuming it to be a valid encoded {@link TypedProperties} content, without decoding any other property.
+    *
+    * @return the value of the {@code key} property or {@code null} if not found
+    * @throws IllegalStateException if any not-valid property is found while searching the {@code key} property
+    */
+   public static Object searchPropertyValue(SimpleString key, ByteBuf buffer, int startIndex) {
+      int index = startIndex;
+      byte b = buffer.getByte(index);
+      index++;
+      if (b == DataConstants.NULL) {
+         return null;
+      }
+      final int numHeaders = buffer.getInt(index);
+      index += Integer.BYTES;
+      for (int i = 0; i < numHeaders; i++) {
+         final int keyLength = buffer.getInt(index);
+         index += Integer.BYTES;
+         final boolean found = key.equals(buffer, index, keyLength);
+         index += keyLength;
+         byte type = buffer.getByte(index);
+         index++;
+         if (found) {
+            return getValue(type, buffer, index);
+         }
+         index = skipValue(type, buffer, index);
+      }
+      return null;
+   }
+
+   private static int skipValue(byte type, ByteBuf buffer, int index) {
+      switch (type) {
+         case NULL: {
+            return index;
+         }
+         case CHAR:
+         case SHORT: {
+            return index + Short.BYTES;
+         }
+         case BOOLEAN:
+         case BYTE: {
+            return index + Byte.BYTES;
+         }
+         case BYTES:
+         case STRING: {
+            return index + Integer.BYTES + buffer.getInt(index);
+         }
+         case INT: {
+            return index + Integer.BYTES;
+         }
+         case LONG: {
+            return index + Long.BYTES;
+         }
+         case FLOAT: {
+            return index + Float.BYTES;
+         }
+         case DOUBLE: {
+            return index + Double.BYTES;
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+   }
+
+   private static Object getValue(byte type, ByteBuf buffer, int index) {
+      switch (type) {
+         case NULL: {
+            return null;
+         }
+         case CHAR: {
+            return (char) buffer.getShort(index);
+         }
+         case BOOLEAN: {
+            return buffer.getBoolean(index);
+         }
+         case BYTE: {
+            return buffer.getByte(index);
+         }
+         case SHORT: {
+            return buffer.getShort(index);
+         }
+         case INT: {
+            return buffer.getInt(index);
+         }
+         case LONG: {
+            return buffer.getLong(index);
+         }
+         case FLOAT: {
+            return Float.intBitsToFloat(buffer.getInt(index));
+         }
+         case DOUBLE: {
+            return Double.longBitsToDouble(buffer.getLong(index));
+         }
+         case BYTES:
+         case STRING: {
+            final byte[] bytes = new byte[buffer.getInt(index)];
+            buffer.getBytes(index + Integer.BYTES, bytes);
+            return type == BYTES ? bytes : SimpleString.of(bytes);
+         }
+         default: {
+            throw ActiveMQUtilBundle.BUNDLE.invalidType(type);
+         }
+      }
+   }
+
    public void decode(final ByteBuf buffer, final TypedPropertiesDecoderPools keyValuePools) {
       lock.writeLock().lock();
       try {
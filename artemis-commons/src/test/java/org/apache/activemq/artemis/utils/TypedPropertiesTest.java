@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.utils;
 
 import static org.apache.activemq.artemis.utils.collections.TypedProperties.searchProperty;
+import static org.apache.activemq.artemis.utils.collections.TypedProperties.searchPropertyValue;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
@@ -312,6 +313,39 @@ public class TypedPropertiesTest {
       });
    }
 
+   @Test
+   public void testSearchAllPropertyValues() {
+      TypedProperties props = new TypedProperties();
+      props.putByteProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomByte());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBytes());
+      props.putBytesProperty(RandomUtil.randomUUIDSimpleString(), null);
+      props.putBooleanProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomBoolean());
+      props.putShortProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomShort());
+      props.putIntProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomInt());
+      props.putLongProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomLong());
+      props.putFloatProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomFloat());
+      props.putDoubleProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomDouble());
+      props.putCharProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomChar());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), RandomUtil.randomUUIDSimpleString());
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), null);
+      final SimpleString value = RandomUtil.randomUUIDSimpleString();
+      props.putSimpleStringProperty(RandomUtil.randomUUIDSimpleString(), value);
+      ByteBuf buf = Unpooled.buffer();
+      props.encode(buf);
+      buf.resetReaderIndex();
+      assertNull(searchPropertyValue(value, buf, 0));
+      props.forEach((key, expected) -> {
+         Object found = searchPropertyValue(SimpleString.of(key.toString()), buf, 0);
+         if (expected instanceof byte[] bytes) {
+            assertArrayEquals(bytes, (byte[]) found);
+         } else {
+            assertEquals(expected, found);
+         }
+         assertNull(searchPropertyValue(key.concat(" "), buf, 0));
+      });
+      assertEquals(0, buf.readerIndex());
+   }
+
    @Test
    public void testSearchPartiallyEncodedBuffer() {
       assertThrows(IndexOutOfBoundsException.class, () -> {
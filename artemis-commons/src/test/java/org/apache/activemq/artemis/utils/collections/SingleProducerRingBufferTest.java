@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.utils.collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.Test;
+
+public class SingleProducerRingBufferTest {
+
+   private static String[] elements(int count) {
+      String[] elements = new String[count];
+      for (int i = 0; i < count; i++) {
+         elements[i] = "element " + i;
+      }
+      return elements;
+   }
+
+   @Test
+   public void testPollInOrderWhileGrowing() {
+      SingleProducerRingBuffer<String> buffer = new SingleProducerRingBuffer<>();
+      String[] elements = elements(1000);
+
+      // interleave adds and polls to wrap around the ring while it grows
+      int polled = 0;
+      for (int i = 0; i < elements.length; i++) {
+         buffer.add(elements[i]);
+         if (i % 3 == 0) {
+            assertSame(elements[polled++], buffer.poll());
+         }
+      }
+      assertEquals(elements.length - polled, buffer.size());
+
+      List<String> visited = new ArrayList<>();
+      buffer.forEach(visited::add);
+      assertEquals(List.of(elements).subList(polled, elements.length), visited);
+
+      while (polled < elements.length) {
+         assertSame(elements[polled++], buffer.poll());
+      }
+      assertNull(buffer.poll());
+      assertEquals(0, buffer.size());
+   }
+
+   @Test
+   public void testClear() {
+      SingleProducerRingBuffer<String> buffer = new SingleProducerRingBuffer<>();
+      for (String element : elements(100)) {
+         buffer.add(element);
+      }
+      buffer.clear();
+      assertEquals(0, buffer.size());
+      assertNull(buffer.poll());
+
+      String element = "element 100";
+      buffer.add(element);
+      assertSame(element, buffer.poll());
+   }
+
+   @Test
+   public void testConcurrentAddAndPoll() throws Exception {
+      final SingleProducerRingBuffer<String> buffer = new SingleProducerRingBuffer<>();
+      final String[] elements = elements(200_000);
+      final AtomicReference<Throwable> error = new AtomicReference<>();
+
+      Thread poller = new Thread(() -> {
+         try {
+            int polled = 0;
+            while (polled < elements.length) {
+               String element = buffer.poll();
+               if (element != null) {
+                  assertSame(elements[polled++], element);
+               }
+            }
+         } catch (Throwable t) {
+            error.set(t);
+         }
+      });
+      poller.start();
+      for (String element : elements) {
+         buffer.add(element);
+      }
+      poller.join(30_000);
+
+      assertNull(error.get());
+      assertEquals(0, buffer.size());
+   }
+}
@@ -144,6 +144,9 @@ public final class ActiveMQDefaultConfiguration {
    // true means that the server will sync data files
    private static boolean DEFAULT_JOURNAL_DATASYNC = true;
 
+   // true means that the references of a durable message routed to many queues are stored on a single journal record
+   private static boolean DEFAULT_JOURNAL_BATCH_REFERENCES = false;
+
    // Maximum number of threads to use for the scheduled thread pool
    private static int DEFAULT_SCHEDULED_THREAD_POOL_MAX_SIZE = 5;
 
@@ -741,6 +744,10 @@ public final class ActiveMQDefaultConfiguration {
       return DEFAULT_JOURNAL_DATASYNC;
    }
 
+   public static boolean isDefaultJournalBatchReferences() {
+      return DEFAULT_JOURNAL_BATCH_REFERENCES;
+   }
+
    /**
     * Maximum number of threads to use for the scheduled thread pool
     */
@@ -26,6 +26,8 @@ public class ServerLocatorConfig {
    public int minLargeMessageSize = ActiveMQClient.DEFAULT_MIN_LARGE_MESSAGE_SIZE;
    public int consumerWindowSize = ActiveMQClient.DEFAULT_CONSUMER_WINDOW_SIZE;
    public int consumerMaxRate = ActiveMQClient.DEFAULT_CONSUMER_MAX_RATE;
+   public int consumerMinWindowSize = ActiveMQClient.DEFAULT_CONSUMER_MIN_WINDOW_SIZE;
+   public int consumerMaxWindowSize = ActiveMQClient.DEFAULT_CONSUMER_MAX_WINDOW_SIZE;
    public int confirmationWindowSize = ActiveMQClient.DEFAULT_CONFIRMATION_WINDOW_SIZE;
    public int producerWindowSize = ActiveMQClient.DEFAULT_PRODUCER_WINDOW_SIZE;
    public int producerMaxRate = ActiveMQClient.DEFAULT_PRODUCER_MAX_RATE;
@@ -52,6 +54,7 @@ public class ServerLocatorConfig {
    public int compressionLevel = ActiveMQClient.DEFAULT_COMPRESSION_LEVEL;
    public boolean compressLargeMessage = ActiveMQClient.DEFAULT_COMPRESS_LARGE_MESSAGES;
    public boolean useTopologyForLoadBalancing = ActiveMQClient.DEFAULT_USE_TOPOLOGY_FOR_LOADBALANCING;
+   public int sessionFactoriesPerConnection = ActiveMQClient.DEFAULT_SESSION_FACTORIES_PER_CONNECTION;
 
    public ServerLocatorConfig() {
    }
@@ -66,6 +69,8 @@ public class ServerLocatorConfig {
       minLargeMessageSize = locator.minLargeMessageSize;
       consumerWindowSize = locator.consumerWindowSize;
       consumerMaxRate = locator.consumerMaxRate;
+      consumerMinWindowSize = locator.consumerMinWindowSize;
+      consumerMaxWindowSize = locator.consumerMaxWindowSize;
       confirmationWindowSize = locator.confirmationWindowSize;
       producerWindowSize = locator.producerWindowSize;
       producerMaxRate = locator.producerMaxRate;
@@ -88,6 +93,7 @@ public class ServerLocatorConfig {
       failoverAttempts = locator.failoverAttempts;
       initialMessagePacketSize = locator.initialMessagePacketSize;
       useTopologyForLoadBalancing = locator.useTopologyForLoadBalancing;
+      sessionFactoriesPerConnection = locator.sessionFactoriesPerConnection;
       compressionLevel = locator.compressionLevel;
    }
 }
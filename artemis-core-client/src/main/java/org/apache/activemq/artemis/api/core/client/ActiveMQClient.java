@@ -77,6 +77,10 @@ public final class ActiveMQClient {
 
    public static final int DEFAULT_CONSUMER_MAX_RATE = -1;
 
+   public static final int DEFAULT_CONSUMER_MIN_WINDOW_SIZE = -1;
+
+   public static final int DEFAULT_CONSUMER_MAX_WINDOW_SIZE = -1;
+
    public static final int DEFAULT_CONFIRMATION_WINDOW_SIZE = -1;
 
    public static final int DEFAULT_PRODUCER_WINDOW_SIZE = 64 * 1024;
@@ -148,6 +152,8 @@ public final class ActiveMQClient {
 
    public static final boolean DEFAULT_USE_TOPOLOGY_FOR_LOADBALANCING = true;
 
+   public static final int DEFAULT_SESSION_FACTORIES_PER_CONNECTION = 1;
+
    public static final String THREAD_POOL_MAX_SIZE_PROPERTY_KEY = "activemq.artemis.client.global.thread.pool.max.size";
 
    public static final String SCHEDULED_THREAD_POOL_SIZE_PROPERTY_KEY = "activemq.artemis.client.global.scheduled.thread.pool.core.size";
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.api.core.client;
 
+import java.util.concurrent.CompletionStage;
+
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.spi.core.remoting.ConsumerContext;
 
@@ -83,6 +85,22 @@ public interface ClientConsumer extends AutoCloseable {
     */
    ClientMessage receiveImmediate() throws ActiveMQException;
 
+   /**
+    * Requests the next message from a queue without waiting for it.
+    * <p>
+    * Each call requests one message: the returned stages are completed in order, by a thread of the session factory,
+    * as the messages arrive and while the session is started. With a {@code consumerWindowSize} of 0 each call lets
+    * the server deliver one more message. As for {@link #receive()}, the body of a large message is discarded by the
+    * next call, and the pending stages are completed with {@code null} once the consumer is closed.
+    * <p>
+    * Calling this method on a closed consumer or on a consumer with a MessageHandler will throw an
+    * ActiveMQException.
+    *
+    * @return a stage completed with the next message, or exceptionally if consuming it failed
+    * @throws ActiveMQException if the message can't be requested
+    */
+   CompletionStage<ClientMessage> receiveAsync() throws ActiveMQException;
+
    /**
     * Returns the MessageHandler associated to this consumer.
     * <p>
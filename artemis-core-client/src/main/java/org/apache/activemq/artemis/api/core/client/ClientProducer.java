@@ -16,6 +16,9 @@
  */
 package org.apache.activemq.artemis.api.core.client;
 
+import java.util.Collection;
+import java.util.concurrent.CompletionStage;
+
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -105,6 +108,31 @@ public interface ClientProducer extends AutoCloseable {
     */
    void send(SimpleString address, Message message, SendAcknowledgementHandler handler) throws ActiveMQException;
 
+   /**
+    * Sends a message without waiting for the server to acknowledge it.
+    * <p>
+    * The returned stage completes once the server acknowledged the message, i.e. after storing it when durable, as
+    * with {@link #send(Message, SendAcknowledgementHandler)}. Without a
+    * {@link ServerLocator#setConfirmationWindowSize(int) confirmation window} the server doesn't acknowledge the
+    * messages, so this blocks until the server received the message, whatever {@link
+    * ServerLocator#setBlockOnDurableSend(boolean)} and {@link ServerLocator#setBlockOnNonDurableSend(boolean)} are.
+    *
+    * @param message the message to send
+    * @return a stage completed once the server acknowledged the message, or exceptionally if sending it failed
+    */
+   CompletionStage<Void> sendAsync(Message message);
+
+   /**
+    * Sends a message to the specified address instead of the ClientProducer's address, without waiting for the
+    * server to acknowledge it.
+    *
+    * @param address the address where the message will be sent
+    * @param message the message to send
+    * @return a stage completed once the server acknowledged the message, or exceptionally if sending it failed
+    * @see #sendAsync(Message)
+    */
+   CompletionStage<Void> sendAsync(SimpleString address, Message message);
+
    /**
     * Sends a message to the specified address instead of the ClientProducer's address. <br>
     * <br>
@@ -119,6 +147,39 @@ public interface ClientProducer extends AutoCloseable {
     */
    void send(String address, Message message) throws ActiveMQException;
 
+   /**
+    * Sends many messages, in order, to the address specified in {@link ClientSession#createProducer(String)} or
+    * similar methods. <br>
+    * <br>
+    * The regular messages are sent to the server in batches, routed and acknowledged together, instead of one at a
+    * time: each batch blocks until confirmation that it has reached the server has been received if
+    * {@link ServerLocator#setBlockOnDurableSend(boolean)} or {@link ServerLocator#setBlockOnNonDurableSend(boolean)}
+    * are set to {@code true} for the type of any of its messages. Large messages are still sent one at a time.
+    * <p>
+    * If the server fails to route a message of a batch the ones preceding it have been routed, while the following ones
+    * are not: the message of the exception tells the index of the message that failed in the batch, and a
+    * {@link SendAcknowledgementHandler} is told that the preceding messages have been acknowledged and the others have
+    * failed. A batch is intercepted as a single {@code SessionSendBatchMessage} packet, rather than as a
+    * {@code SessionSendMessage} packet per message.
+    *
+    * @param messages the messages to send
+    * @throws ActiveMQException if an exception occurs while sending the messages
+    */
+   void send(Collection<? extends Message> messages) throws ActiveMQException;
+
+   /**
+    * Sends many messages, in order, to the specified address instead of the ClientProducer's address, as
+    * {@link #send(Collection)} does. <br>
+    * <br>
+    * The messages will be sent asynchronously if a handler is given.
+    *
+    * @param address  the address where the messages will be sent
+    * @param messages the messages to send
+    * @param handler  handler to call for each message after receiving a SEND acknowledgement from the server
+    * @throws ActiveMQException if an exception occurs while sending the messages
+    */
+   void send(SimpleString address, Collection<? extends Message> messages, SendAcknowledgementHandler handler) throws ActiveMQException;
+
    /**
     * Closes the ClientProducer. If already closed nothing is done.
     *
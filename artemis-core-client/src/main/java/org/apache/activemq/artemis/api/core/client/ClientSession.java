@@ -20,6 +20,7 @@ import javax.transaction.xa.XAResource;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.QueueAttributes;
@@ -1171,6 +1172,17 @@ public interface ClientSession extends XAResource, AutoCloseable {
     */
    QueueQuery queueQuery(SimpleString queueName) throws ActiveMQException;
 
+   /**
+    * Queries information on a queue without waiting for the response.
+    * <p>
+    * When the server is older or there is no {@link ServerLocator#setConfirmationWindowSize(int) confirmation window}
+    * this queries as {@link #queueQuery(SimpleString)} does before returning.
+    *
+    * @param queueName the name of the queue to query
+    * @return a stage completed with the information on the given queue, or exceptionally if querying it failed
+    */
+   CompletionStage<QueueQuery> queueQueryAsync(SimpleString queueName);
+
    /**
     * Queries information on a binding.
     *
@@ -1211,6 +1223,17 @@ public interface ClientSession extends XAResource, AutoCloseable {
     */
    void commit(boolean block) throws ActiveMQException;
 
+   /**
+    * Commits the current transaction without waiting for the response.
+    * <p>
+    * The work done after calling this method belongs to the next transaction. When the server is older or there is
+    * no {@link ServerLocator#setConfirmationWindowSize(int) confirmation window} this commits as {@link #commit()}
+    * does before returning.
+    *
+    * @return a stage completed once the transaction is committed, or exceptionally if committing it failed
+    */
+   CompletionStage<Void> commitAsync();
+
    /**
     * Rolls back the current transaction.
     *
@@ -268,6 +268,52 @@ public interface ServerLocator extends AutoCloseable {
     */
    ServerLocator setConsumerWindowSize(int consumerWindowSize);
 
+   /**
+    * Returns the minimum size of the window of the consumers created through this factory, when it adapts to their
+    * processing time.
+    * <p>
+    * Value is in bytes, default value is {@link ActiveMQClient#DEFAULT_CONSUMER_MIN_WINDOW_SIZE}.
+    *
+    * @return the minimum window size used for consumer flow control
+    * @see #setConsumerMaxWindowSize(int)
+    */
+   int getConsumerMinWindowSize();
+
+   /**
+    * Sets the minimum size of the window of the consumers created through this factory, when it adapts to their
+    * processing time.
+    * <p>
+    * Value must be -1 (to let the window shrink down to a single message) or greater than 0.
+    *
+    * @param consumerMinWindowSize minimum window size (in bytes) used for consumer flow control
+    * @return this ServerLocator
+    */
+   ServerLocator setConsumerMinWindowSize(int consumerMinWindowSize);
+
+   /**
+    * Returns the maximum size of the window of the consumers created through this factory, when it adapts to their
+    * processing time.
+    * <p>
+    * Value is in bytes, default value is {@link ActiveMQClient#DEFAULT_CONSUMER_MAX_WINDOW_SIZE}.
+    *
+    * @return the maximum window size used for consumer flow control
+    */
+   int getConsumerMaxWindowSize();
+
+   /**
+    * Sets the maximum size of the window of the consumers created through this factory, letting it adapt to their
+    * processing time.
+    * <p>
+    * Value must be -1 (to keep the window size fixed) or greater than 0. Starting from the consumer window size, the
+    * window of each consumer is resized to hold the messages it can process while its credits reach the server and
+    * the next messages come back, between {@link #getConsumerMinWindowSize()} and this size. Consumers not buffering
+    * messages or without flow control, i.e. with a window size of -1, 0 or 1, keep their window.
+    *
+    * @param consumerMaxWindowSize maximum window size (in bytes) used for consumer flow control
+    * @return this ServerLocator
+    */
+   ServerLocator setConsumerMaxWindowSize(int consumerMaxWindowSize);
+
    /**
     * Returns the maximum rate of message consumption for consumers created through this factory.
     * <p>
@@ -763,6 +809,28 @@ public interface ServerLocator extends AutoCloseable {
     */
    ServerLocator setOnMessageCloseTimeout(int onMessageCloseTimeout);
 
+   /**
+    * Returns how many of the session factories created through {@link #createSessionFactory()} can share the same
+    * connection to a server.
+    * <p>
+    * Default value is {@link ActiveMQClient#DEFAULT_SESSION_FACTORIES_PER_CONNECTION}.
+    *
+    * @return how many session factories can share a connection
+    */
+   int getSessionFactoriesPerConnection();
+
+   /**
+    * Sets how many of the session factories created through {@link #createSessionFactory()} can share the same
+    * connection to a server.
+    * <p>
+    * With a value greater than 1 the sessions of many factories are multiplexed over one connection, each on its own
+    * channels, and the connection is closed with the last factory sharing it. A value of -1 means no limit.
+    *
+    * @param sessionFactoriesPerConnection how many session factories can share a connection
+    * @return this ServerLocator
+    */
+   ServerLocator setSessionFactoriesPerConnection(int sessionFactoriesPerConnection);
+
    /**
     * Adds an interceptor which will be executed <em>after packets are received from the server</em>.
     *
@@ -44,6 +44,7 @@ public interface QueueControl {
    String MESSAGES_ACKNOWLEDGED_DESCRIPTION = "number of messages acknowledged from this queue since it was created";
    String MESSAGES_EXPIRED_DESCRIPTION = "number of messages expired from this queue since it was created";
    String MESSAGES_KILLED_DESCRIPTION = "number of messages removed from this queue since it was created due to exceeding the max delivery attempts";
+   String GROUPS_REBALANCED_DESCRIPTION = "number of groups reset or moved to a new consumer by group rebalances since this queue was created";
 
    /**
     * Returns the name of this queue.
@@ -741,6 +742,12 @@ public interface QueueControl {
    @Attribute(desc = "Get the current number of active groups")
    int getGroupCount();
 
+   /**
+    * Will return the number of groups reset or moved to a new consumer by group rebalances.
+    */
+   @Attribute(desc = GROUPS_REBALANCED_DESCRIPTION)
+   long getGroupsRebalanced();
+
 
    @Operation(desc = "List all the existent group to consumers mappings on the Queue")
    String listGroupsAsJSON() throws Exception;
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.client.impl;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * The flow control window of a consumer, sized after the bytes it can process while its credits reach the server and
+ * the next messages come back: a slow consumer doesn't hoard messages other consumers could process, and a fast one
+ * doesn't wait for them.
+ * <p>
+ * The round trip starts from the latest ping to the server, if any, then it's measured each time the server ran out of
+ * credits and new ones were sent, until the next message arrives: the window keeps its initial size until then. The processing time goes from handing a message to the
+ * application until it's done with it.
+ * <p>
+ * {@link #delivered(int)} and {@link #creditsSent(int)} are called by the thread delivering the messages and by the
+ * one sending the credits. The application can consume from {@code receive()}, a {@code MessageHandler} or
+ * {@code receiveAsync()} on different threads, so the processing time and the window size are guarded by this window.
+ */
+final class AdaptiveConsumerWindow {
+
+   // the credits are sent back every half window, so the window covers two round trips
+   private static final int ROUND_TRIPS = 2;
+
+   private final int minWindowSize;
+
+   private final int maxWindowSize;
+
+   private final LongSupplier clock;
+
+   private volatile int windowSize;
+
+   // smoothed round trip, or 0 until measured
+   private volatile long roundTripNanos;
+
+   // the credits the server has left, as far as the client knows
+   private final AtomicLong serverCredits;
+
+   // when credits were last sent to a server without any, until the next message arrives
+   private volatile long creditsSentAt;
+
+   // smoothed processing time of a byte, or -1 until measured
+   private double nanosPerByte = -1;
+
+   private long consumingSince;
+
+   private int consumingBytes;
+
+   private long processingNanos;
+
+   private long processedBytes;
+
+   AdaptiveConsumerWindow(final int initialWindowSize,
+                          final int minWindowSize,
+                          final int maxWindowSize,
+                          final long roundTripNanos) {
+      this(initialWindowSize, minWindowSize, maxWindowSize, roundTripNanos, System::nanoTime);
+   }
+
+   AdaptiveConsumerWindow(final int initialWindowSize,
+                          final int minWindowSize,
+                          final int maxWindowSize,
+                          final long roundTripNanos,
+                          final LongSupplier clock) {
+      this.minWindowSize = Math.max(1, minWindowSize);
+      this.maxWindowSize = Math.max(this.minWindowSize, maxWindowSize);
+      this.windowSize = clamp(initialWindowSize);
+      this.roundTripNanos = Math.max(0, roundTripNanos);
+      this.serverCredits = new AtomicLong(windowSize);
+      this.clock = clock;
+   }
+
+   private int clamp(final long windowSize) {
+      return (int) Math.max(minWindowSize, Math.min(maxWindowSize, windowSize));
+   }
+
+   /**
+    * @return the size of the window, in bytes
+    */
+   int getWindowSize() {
+      return windowSize;
+   }
+
+   /**
+    * @return the credits to accumulate before sending them back, i.e. half window
+    */
+   int getCreditsThreshold() {
+      return Math.max(1, windowSize >> 1);
+   }
+
+   long getRoundTripNanos() {
+      return roundTripNanos;
+   }
+
+   /**
+    * A message arrived from the server.
+    */
+   void delivered(final int bytes) {
+      serverCredits.addAndGet(-bytes);
+      final long sentAt = creditsSentAt;
+      if (sentAt != 0) {
+         creditsSentAt = 0;
+         final long roundTrip = Math.max(1, clock.getAsLong() - sentAt);
+         final long current = roundTripNanos;
+         if (current == 0) {
+            roundTripNanos = roundTrip;
+         } else {
+            // the queue could have been empty meanwhile: a single sample can't inflate the estimate too much
+            roundTripNanos = Math.max(1, current + (Math.min(roundTrip, current * 4) - current) / 8);
+         }
+      }
+   }
+
+   /**
+    * A message of the given size is handed to the application.
+    */
+   synchronized void consuming(final int bytes) {
+      consumingSince = clock.getAsLong();
+      consumingBytes = bytes;
+   }
+
+   /**
+    * The application is done with the last message handed to it.
+    */
+   synchronized void consumed() {
+      if (consumingSince != 0) {
+         processingNanos += clock.getAsLong() - consumingSince;
+         processedBytes += consumingBytes;
+         consumingSince = 0;
+      }
+   }
+
+   /**
+    * Resizes the window after the latest processing time, once a message is consumed.
+    * <p>
+    * The window grows by the credits of the consumed messages at most, i.e. it doubles every window as TCP's slow
+    * start, while it shrinks at once.
+    *
+    * @param credits the credits of the consumed message
+    * @return the credits to send back for it, after resizing: negative when the window shrank by more
+    */
+   synchronized int resize(final int credits) {
+      if (processedBytes == 0) {
+         return credits;
+      }
+      final double sample = (double) processingNanos / processedBytes;
+      nanosPerByte = nanosPerByte < 0 ? sample : nanosPerByte + (sample - nanosPerByte) / 8;
+      processingNanos = 0;
+      processedBytes = 0;
+      final long roundTripNanos = this.roundTripNanos;
+      if (roundTripNanos == 0) {
+         return credits;
+      }
+      final long target = nanosPerByte == 0 ? maxWindowSize : (long) (ROUND_TRIPS * roundTripNanos / nanosPerByte);
+      final int resized = clamp(Math.min(target, (long) windowSize + credits));
+      final int delta = resized - windowSize;
+      windowSize = resized;
+      return credits + delta;
+   }
+
+   /**
+    * The given credits are sent back to the server.
+    */
+   void creditsSent(final int credits) {
+      if (serverCredits.getAndAdd(credits) <= 0) {
+         creditsSentAt = clock.getAsLong();
+      }
+   }
+
+   /**
+    * The consumer was recreated on a server with the given credits.
+    */
+   synchronized void reset(final int credits) {
+      serverCredits.set(credits);
+      creditsSentAt = 0;
+      consumingSince = 0;
+   }
+}
@@ -20,7 +20,10 @@ import java.io.File;
 import java.io.IOException;
 import java.security.AccessController;
 import java.security.PrivilegedAction;
+import java.util.Deque;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedDeque;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
@@ -90,12 +93,23 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private final int clientWindowSize;
 
+   // set before the consumer receives any credits, when its window adapts to its processing time
+   private volatile AdaptiveConsumerWindow adaptiveWindow;
+
    private final int ackBatchSize;
 
    private final PriorityLinkedList<ClientMessageInternal> buffer = new PriorityLinkedListImpl<>(ClientConsumerImpl.NUM_PRIORITIES);
 
    private final Runner runner = new Runner();
 
+   // the receiveAsync calls waiting for a message, completed in order on the session executor
+   private final Deque<CompletableFuture<ClientMessage>> pendingReceives = new ConcurrentLinkedDeque<>();
+
+   private final Runnable asyncReceiver = this::completeReceives;
+
+   // the last large message completed by receiveAsync, whose body is discarded by the next call
+   private volatile ClientMessageInternal largeMessageCompleted;
+
    private LargeMessageControllerImpl currentLargeMessageController;
 
    // When receiving LargeMessages, the user may choose to not read the body, on this case we need to discard the body
@@ -124,7 +138,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    private volatile ClientMessageInternal lastAckedMessage;
 
-   private boolean stopped = false;
+   private volatile boolean stopped = false;
 
    private AtomicLong forceDeliveryCount = new AtomicLong(0);
 
@@ -205,6 +219,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       checkClosed();
 
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      if (adaptiveWindow != null) {
+         adaptiveWindow.consumed();
+      }
+
       if (largeMessageReceived != null) {
          if (logger.isTraceEnabled()) {
             logger.trace("{}::receive({}, {}) -> discard LargeMessage body for {}", this, timeout, forcingDelivery, largeMessageReceived);
@@ -397,6 +416,123 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       return receive(0, true);
    }
 
+   @Override
+   public CompletableFuture<ClientMessage> receiveAsync() throws ActiveMQException {
+      checkClosed();
+
+      if (handler != null) {
+         throw ActiveMQClientMessageBundle.BUNDLE.messageHandlerSet();
+      }
+
+      final ClientMessageInternal largeMessage = largeMessageCompleted;
+      if (largeMessage != null) {
+         largeMessageCompleted = null;
+         largeMessage.discardBody();
+      }
+
+      final CompletableFuture<ClientMessage> future = new CompletableFuture<>();
+      pendingReceives.add(future);
+
+      if (closed && pendingReceives.remove(future)) {
+         // closed meanwhile
+         future.complete(null);
+         return future;
+      }
+
+      if (clientWindowSize == 0) {
+         // each call pulls a single message, without waiting for the credit to be sent
+         sendCredits(1);
+      }
+
+      sessionExecutor.execute(asyncReceiver);
+
+      return future;
+   }
+
+   /**
+    * Completes the pending receiveAsync calls with the buffered messages, on the session executor.
+    */
+   private void completeReceives() {
+      while (!stopped && !closing) {
+         // the future is claimed before a message is taken, so a racing close cannot complete it with null
+         // after the message has left the buffer
+         final CompletableFuture<ClientMessage> future = pendingReceives.poll();
+         if (future == null) {
+            return;
+         }
+         if (!completeReceive(future)) {
+            unclaimReceive(future);
+            return;
+         }
+      }
+   }
+
+   /**
+    * @return {@code false} if no message could complete the claimed future
+    */
+   private boolean completeReceive(final CompletableFuture<ClientMessage> future) {
+      while (!stopped && !closing) {
+         final ClientMessageInternal message;
+         synchronized (this) {
+            message = buffer.poll();
+         }
+         if (message == null) {
+            return false;
+         }
+
+         if (message.containsProperty(ClientConsumerImpl.FORCED_DELIVERY_MESSAGE)) {
+            //Ignore, this could be a relic from a previous receiveImmediate();
+            continue;
+         }
+
+         session.workDone();
+
+         try {
+            if (rateLimiter != null) {
+               rateLimiter.limit();
+            }
+
+            final boolean expired = message.isExpired();
+
+            flowControlBeforeConsumption(message);
+
+            if (expired) {
+               message.discardBody();
+
+               session.expire(this, message);
+
+               if (clientWindowSize == 0) {
+                  sendCredits(1);
+               }
+               continue;
+            }
+         } catch (ActiveMQException e) {
+            future.completeExceptionally(e);
+            return true;
+         }
+
+         if (message.isLargeMessage()) {
+            largeMessageCompleted = message;
+         }
+
+         logger.trace("{}::Completing receiveAsync with {}", this, message);
+         future.complete(message);
+         return true;
+      }
+      return false;
+   }
+
+   /**
+    * Puts a claimed future back at the head of the pending receives, completing it if a close drained them meanwhile.
+    */
+   private void unclaimReceive(final CompletableFuture<ClientMessage> future) {
+      pendingReceives.addFirst(future);
+
+      if (closed && pendingReceives.remove(future)) {
+         future.complete(null);
+      }
+   }
+
    @Override
    public MessageHandler getMessageHandler() throws ActiveMQException {
       checkClosed();
@@ -426,7 +562,7 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
    public synchronized ClientConsumerImpl setMessageHandler(final MessageHandler theHandler) throws ActiveMQException {
       checkClosed();
 
-      if (receiverThread != null) {
+      if (receiverThread != null || !pendingReceives.isEmpty()) {
          throw ActiveMQClientMessageBundle.BUNDLE.inReceive();
       }
 
@@ -517,6 +653,12 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       creditsToSend = 0;
 
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      if (adaptiveWindow != null) {
+         // the consumer is recreated with the credits of half window
+         adaptiveWindow.reset(adaptiveWindow.getCreditsThreshold());
+      }
+
       failedOver = true;
 
       ackIndividually = false;
@@ -527,6 +669,10 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       stopped = false;
 
       requeueExecutors();
+
+      if (!pendingReceives.isEmpty()) {
+         sessionExecutor.execute(asyncReceiver);
+      }
    }
 
    @Override
@@ -588,6 +734,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
       message.onReceipt(this);
 
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      if (adaptiveWindow != null) {
+         adaptiveWindow.delivered(message.getFlowControlSize());
+      }
+
       if (!ackIndividually && message.getPriority() != 4 && !message.containsProperty(ClientConsumerImpl.FORCED_DELIVERY_MESSAGE)) {
          // We have messages of different priorities so we need to ack them individually since the order
          // of them in the ServerConsumerImpl delivery list might not be the same as the order they are
@@ -605,6 +756,10 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
          }
       } else {
          notify();
+
+         if (!stopped && !pendingReceives.isEmpty()) {
+            sessionExecutor.execute(asyncReceiver);
+         }
       }
    }
 
@@ -698,6 +853,10 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
       if (closing) {
          return;
       }
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      if (adaptiveWindow != null) {
+         adaptiveWindow.delivered(flowControlSize);
+      }
       if (currentLargeMessageController == null) {
          if (logger.isTraceEnabled()) {
             logger.trace("{}::Sending back credits for largeController = null {}", this, flowControlSize);
@@ -754,12 +913,22 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
 
    @Override
    public int getInitialWindowSize() {
-      return initialWindow;
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      return adaptiveWindow == null ? initialWindow : adaptiveWindow.getWindowSize();
    }
 
    @Override
    public int getClientWindowSize() {
-      return clientWindowSize;
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      return adaptiveWindow == null ? clientWindowSize : adaptiveWindow.getCreditsThreshold();
+   }
+
+   @Override
+   public void adaptWindowSize(final int minWindowSize, final int maxWindowSize, final long roundTripNanos) {
+      // neither unbounded nor slow consumers have a window to adapt
+      if (initialWindow > 1) {
+         adaptiveWindow = new AdaptiveConsumerWindow(initialWindow, minWindowSize, maxWindowSize, roundTripNanos);
+      }
    }
 
    @Override
@@ -816,7 +985,25 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
     */
    @Override
    public void flowControl(final int messageBytes, final boolean discountSlowConsumer) throws ActiveMQException {
-      if (clientWindowSize >= 0) {
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      if (adaptiveWindow != null) {
+         // a window shrinking by more than the consumed credits is paid back by the next ones
+         creditsToSend += adaptiveWindow.resize(messageBytes);
+
+         if (creditsToSend >= adaptiveWindow.getCreditsThreshold()) {
+            if (logger.isDebugEnabled()) {
+               logger.debug("Sending {} from flow-control, window size {}", creditsToSend, adaptiveWindow.getWindowSize());
+            }
+
+            final int credits = creditsToSend;
+
+            creditsToSend = 0;
+
+            adaptiveWindow.creditsSent(credits);
+
+            sendCredits(credits);
+         }
+      } else if (clientWindowSize >= 0) {
          creditsToSend += messageBytes;
 
          if (creditsToSend >= clientWindowSize) {
@@ -985,6 +1172,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
                try {
                   theHandler.onMessage(message);
                } finally {
+                  final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+                  if (adaptiveWindow != null) {
+                     adaptiveWindow.consumed();
+                  }
+
                   try {
                      safeRestoreContextClassLoader(originalLoader);
                   } catch (Exception e) {
@@ -1068,6 +1260,11 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
          // on large messages we should discount 1 on the first packets as we need continuity until the last packet
          flowControl(message.getFlowControlSize(), !message.isLargeMessage());
       }
+      final AdaptiveConsumerWindow adaptiveWindow = this.adaptiveWindow;
+      // the body of large messages is streamed while processing them, so only the regular ones are measured
+      if (adaptiveWindow != null && !message.isLargeMessage()) {
+         adaptiveWindow.consuming(message.getFlowControlSize());
+      }
    }
 
    private void doCleanUp(final boolean sendCloseMessage) throws ActiveMQException {
@@ -1099,6 +1296,12 @@ public final class ClientConsumerImpl implements ClientConsumerInternal {
             receiverThread = null;
          }
 
+         // as receive() returns null once closed
+         CompletableFuture<ClientMessage> pending;
+         while ((pending = pendingReceives.poll()) != null) {
+            pending.complete(null);
+         }
+
          flushAcks();
 
          clearBuffer();
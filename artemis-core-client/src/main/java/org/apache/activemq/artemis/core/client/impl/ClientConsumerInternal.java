@@ -60,6 +60,12 @@ public interface ClientConsumerInternal extends ClientConsumer {
 
    int getInitialWindowSize();
 
+   /**
+    * Lets the window of this consumer adapt to its processing time, between the given bounds, starting from the given
+    * round trip to the server, or 0 if unknown. Must be called before sending it the initial credits.
+    */
+   void adaptWindowSize(int minWindowSize, int maxWindowSize, long roundTripNanos);
+
    int getBufferSize();
 
    void cleanUp() throws ActiveMQException;
@@ -19,6 +19,10 @@ package org.apache.activemq.artemis.core.client.impl;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -144,7 +148,7 @@ public class ClientProducerImpl implements ClientProducerInternal {
          handler =  session.wrap(handler);
       }
 
-      doSend(address1, message, handler);
+      doSend(address1, message, handler, false);
 
       if (handler != null && !session.isConfirmationWindowEnabled()) {
          logger.debug("Handler was used on producing messages towards address {} however there is no confirmationWindowEnabled", address1);
@@ -159,6 +163,67 @@ public class ClientProducerImpl implements ClientProducerInternal {
       send(null, message, handler);
    }
 
+   @Override
+   public CompletableFuture<Void> sendAsync(final Message message) {
+      return sendAsync(null, message);
+   }
+
+   @Override
+   public CompletableFuture<Void> sendAsync(final SimpleString address1, final Message message) {
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      try {
+         if (session.isConfirmationWindowEnabled()) {
+            send(address1, message, new SendAcknowledgementHandler() {
+               @Override
+               public void sendAcknowledged(Message message) {
+                  future.complete(null);
+               }
+
+               @Override
+               public void sendFailed(Message message, Exception e) {
+                  future.completeExceptionally(e);
+               }
+            });
+         } else {
+            // the server won't acknowledge the message: only a blocking send tells it reached the server
+            checkClosed();
+            doSend(address1, message, null, true);
+            future.complete(null);
+         }
+      } catch (ActiveMQException e) {
+         future.completeExceptionally(e);
+      }
+      return future;
+   }
+
+   @Override
+   public void send(final Collection<? extends Message> messages) throws ActiveMQException {
+      checkClosed();
+
+      send(null, messages, sessionContext.getSendAcknowledgementHandler());
+   }
+
+   @Override
+   public void send(SimpleString address1,
+                    Collection<? extends Message> messages,
+                    SendAcknowledgementHandler handler) throws ActiveMQException {
+      checkClosed();
+
+      if (handler != null) {
+         handler =  session.wrap(handler);
+      }
+
+      doSend(address1, messages, handler);
+
+      if (handler != null && !session.isConfirmationWindowEnabled()) {
+         logger.debug("Handler was used on producing messages towards address {} however there is no confirmationWindowEnabled", address1);
+
+         for (Message message : messages) {
+            handler.sendAcknowledged(message);
+         }
+      }
+   }
+
    @Override
    public synchronized void close() throws ActiveMQException {
       if (closed) {
@@ -221,7 +286,8 @@ public class ClientProducerImpl implements ClientProducerInternal {
 
    private void doSend(SimpleString sendingAddress,
                        final Message msgToSend,
-                       final SendAcknowledgementHandler handler) throws ActiveMQException {
+                       final SendAcknowledgementHandler handler,
+                       final boolean forceBlocking) throws ActiveMQException {
       if (sendingAddress == null) {
          sendingAddress = this.address;
       }
@@ -233,16 +299,7 @@ public class ClientProducerImpl implements ClientProducerInternal {
 
          ClientProducerCredits theCredits;
 
-         boolean isLarge;
-         // a note about the second check on the writerIndexSize,
-         // If it's a server's message, it means this is being done through the bridge or some special consumer on the
-         // server's on which case we can't' convert the message into large at the servers
-         if (sessionContext.supportsLargeMessage() && (getBodyInputStream(msg) != null || msg.isLargeMessage() ||
-            msg.getBodyBuffer().writerIndex() > minLargeMessageSize)) {
-            isLarge = true;
-         } else {
-            isLarge = false;
-         }
+         boolean isLarge = isLarge(msg);
 
          if (!isLarge) {
             session.setAddress(msg, sendingAddress);
@@ -253,34 +310,110 @@ public class ClientProducerImpl implements ClientProducerInternal {
          // Anonymous
          theCredits = session.getCredits(sendingAddress, true);
 
-         if (rateLimiter != null) {
-            // Rate flow control
+         final boolean sendBlocking = prepareSend(msg, handler) || forceBlocking;
 
-            rateLimiter.limit();
+         if (isLarge) {
+            largeMessageSend(sendBlocking, msg, theCredits, handler);
+         } else {
+            sendRegularMessage(sendingAddress, msg, sendBlocking, theCredits, handler);
          }
+      } finally {
+         session.endCall();
+      }
+   }
 
-         if (groupID != null) {
-            msg.putStringProperty(Message.HDR_GROUP_ID, groupID);
-         }
+   private void doSend(SimpleString sendingAddress,
+                       final Collection<? extends Message> msgsToSend,
+                       final SendAcknowledgementHandler handler) throws ActiveMQException {
+      if (sendingAddress == null) {
+         sendingAddress = this.address;
+      }
+      session.startCall();
+
+      try {
+         // Anonymous
+         final ClientProducerCredits theCredits = session.getCredits(sendingAddress, true);
+
+         List<ICoreMessage> batch = new ArrayList<>();
+         int batchCredits = 0;
+         boolean batchBlocking = false;
+
+         for (Message msgToSend : msgsToSend) {
+            ICoreMessage msg = msgToSend.toCore();
+
+            if (isLarge(msg)) {
+               // the large messages are streamed on their own, after the ones batched before them
+               if (!batch.isEmpty()) {
+                  sendRegularMessages(sendingAddress, batch, batchBlocking, batchCredits, theCredits, handler);
+                  batch = new ArrayList<>();
+                  batchCredits = 0;
+                  batchBlocking = false;
+               }
+               msg.setAddress(sendingAddress);
+               largeMessageSend(prepareSend(msg, handler), msg, theCredits, handler);
+               continue;
+            }
 
-         final boolean sendBlockingConfig = msg.isDurable() ? blockOnDurableSend : blockOnNonDurableSend;
-         // if Handler != null, we will send non blocking
-         final boolean sendBlocking = sendBlockingConfig && handler == null && sessionContext.getSendAcknowledgementHandler() == null;
+            session.setAddress(msg, sendingAddress);
 
-         session.workDone();
+            final boolean sendBlocking = prepareSend(msg, handler);
 
-         msg.setConfirmed(false);
+            final int creditSize = sessionContext.getCreditsOnSendingFull(msg);
 
-         if (isLarge) {
-            largeMessageSend(sendBlocking, msg, theCredits, handler);
-         } else {
-            sendRegularMessage(sendingAddress, msg, sendBlocking, theCredits, handler);
+            // a batch isn't allowed to grow bigger than a large message
+            if (!batch.isEmpty() && batchCredits + creditSize > minLargeMessageSize) {
+               sendRegularMessages(sendingAddress, batch, batchBlocking, batchCredits, theCredits, handler);
+               batch = new ArrayList<>();
+               batchCredits = 0;
+               batchBlocking = false;
+            }
+
+            batch.add(msg);
+            batchCredits += creditSize;
+            batchBlocking |= sendBlocking;
+         }
+
+         if (!batch.isEmpty()) {
+            sendRegularMessages(sendingAddress, batch, batchBlocking, batchCredits, theCredits, handler);
          }
       } finally {
          session.endCall();
       }
    }
 
+   private boolean isLarge(ICoreMessage msg) {
+      // a note about the second check on the writerIndexSize,
+      // If it's a server's message, it means this is being done through the bridge or some special consumer on the
+      // server's on which case we can't' convert the message into large at the servers
+      return sessionContext.supportsLargeMessage() && (getBodyInputStream(msg) != null || msg.isLargeMessage() ||
+         msg.getBodyBuffer().writerIndex() > minLargeMessageSize);
+   }
+
+   /**
+    * @return whether the message has to be sent blocking
+    */
+   private boolean prepareSend(ICoreMessage msg, SendAcknowledgementHandler handler) {
+      if (rateLimiter != null) {
+         // Rate flow control
+
+         rateLimiter.limit();
+      }
+
+      if (groupID != null) {
+         msg.putStringProperty(Message.HDR_GROUP_ID, groupID);
+      }
+
+      final boolean sendBlockingConfig = msg.isDurable() ? blockOnDurableSend : blockOnNonDurableSend;
+      // if Handler != null, we will send non blocking
+      final boolean sendBlocking = sendBlockingConfig && handler == null && sessionContext.getSendAcknowledgementHandler() == null;
+
+      session.workDone();
+
+      msg.setConfirmed(false);
+
+      return sendBlocking;
+   }
+
    private InputStream getBodyInputStream(ICoreMessage msgI) {
       return msgI.getBodyInputStream();
    }
@@ -305,6 +438,19 @@ public class ClientProducerImpl implements ClientProducerInternal {
       sessionContext.sendFullMessage(msgI, sendBlocking, handler, address, id);
    }
 
+   private void sendRegularMessages(final SimpleString sendingAddress,
+                                    final List<ICoreMessage> msgs,
+                                    final boolean sendBlocking,
+                                    final int creditSize,
+                                    final ClientProducerCredits theCredits,
+                                    final SendAcknowledgementHandler handler) throws ActiveMQException {
+      logger.trace("sendRegularMessages::{} messages to {}, Blocking={}", msgs.size(), sendingAddress, sendBlocking);
+
+      theCredits.acquireCredits(creditSize);
+
+      sessionContext.sendFullMessages(msgs, sendBlocking, handler, address, id);
+   }
+
    private void checkClosed() throws ActiveMQException {
       if (closed) {
          throw ActiveMQClientMessageBundle.BUNDLE.producerClosed();
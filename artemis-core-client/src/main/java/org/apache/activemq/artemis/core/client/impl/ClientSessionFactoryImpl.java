@@ -826,6 +826,22 @@ public class ClientSessionFactoryImpl implements ClientSessionFactoryInternal, C
                                                final boolean preAcknowledge,
                                                final int ackBatchSize,
                                                final String clientID) throws ActiveMQException {
+      return createSession(this, rawUsername, rawPassword, xa, autoCommitSends, autoCommitAcks, preAcknowledge, ackBatchSize, clientID);
+   }
+
+   /**
+    * Creates a session over the connection of this factory, which is given {@code owner} as its factory: see
+    * {@link SharedClientSessionFactory}.
+    */
+   ClientSessionInternal createSession(final ClientSessionFactoryInternal owner,
+                                       final String rawUsername,
+                                       final String rawPassword,
+                                       final boolean xa,
+                                       final boolean autoCommitSends,
+                                       final boolean autoCommitAcks,
+                                       final boolean preAcknowledge,
+                                       final int ackBatchSize,
+                                       final String clientID) throws ActiveMQException {
       String username;
       String password;
       String name = UUIDGenerator.getInstance().generateStringUUID();
@@ -839,7 +855,7 @@ public class ClientSessionFactoryImpl implements ClientSessionFactoryInternal, C
 
       SessionContext context = createSessionChannel(name, username, password, xa, autoCommitSends, autoCommitAcks, preAcknowledge, clientID);
 
-      ClientSessionInternal session = new ClientSessionImpl(this, name, username, password, xa, autoCommitSends, autoCommitAcks, preAcknowledge, serverLocator.isBlockOnAcknowledge(), serverLocator.isAutoGroup(), ackBatchSize, serverLocator.getConsumerWindowSize(), serverLocator.getConsumerMaxRate(), serverLocator.getConfirmationWindowSize(), serverLocator.getProducerWindowSize(), serverLocator.getProducerMaxRate(), serverLocator.isBlockOnNonDurableSend(), serverLocator.isBlockOnDurableSend(), serverLocator.isCacheLargeMessagesClient(), serverLocator.getMinLargeMessageSize(), serverLocator.isCompressLargeMessage(), serverLocator.getCompressionLevel(), serverLocator.getInitialMessagePacketSize(), serverLocator.getGroupID(), serverLocator.getOnMessageCloseTimeout(), context, orderedExecutorFactory.getExecutor(), orderedExecutorFactory.getExecutor(), flowControlExecutor, orderedExecutorFactory.getExecutor());
+      ClientSessionInternal session = new ClientSessionImpl(owner, name, username, password, xa, autoCommitSends, autoCommitAcks, preAcknowledge, serverLocator.isBlockOnAcknowledge(), serverLocator.isAutoGroup(), ackBatchSize, serverLocator.getConsumerWindowSize(), serverLocator.getConsumerMaxRate(), serverLocator.getConsumerMinWindowSize(), serverLocator.getConsumerMaxWindowSize(), serverLocator.getConfirmationWindowSize(), serverLocator.getProducerWindowSize(), serverLocator.getProducerMaxRate(), serverLocator.isBlockOnNonDurableSend(), serverLocator.isBlockOnDurableSend(), serverLocator.isCacheLargeMessagesClient(), serverLocator.getMinLargeMessageSize(), serverLocator.isCompressLargeMessage(), serverLocator.getCompressionLevel(), serverLocator.getInitialMessagePacketSize(), serverLocator.getGroupID(), serverLocator.getOnMessageCloseTimeout(), context, orderedExecutorFactory.getExecutor(), orderedExecutorFactory.getExecutor(), flowControlExecutor, orderedExecutorFactory.getExecutor());
 
       synchronized (sessions) {
          if (closed || !clientProtocolManager.isAlive()) {
@@ -1193,6 +1209,11 @@ public class ClientSessionFactoryImpl implements ClientSessionFactoryInternal, C
       return confirmationWindowWarning;
    }
 
+   @Override
+   public long getPingRoundTripNanos() {
+      return clientProtocolManager.getPingRoundTripNanos();
+   }
+
    protected Connection openTransportConnection(final Connector connector) {
       connector.start();
 
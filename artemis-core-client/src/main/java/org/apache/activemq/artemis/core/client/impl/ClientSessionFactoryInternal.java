@@ -64,6 +64,11 @@ public interface ClientSessionFactoryInternal extends ClientSessionFactory {
 
    ConfirmationWindowWarning getConfirmationWindowWarning();
 
+   /**
+    * @return the round trip of the latest ping to the server, in nanoseconds, or 0 until one is answered
+    */
+   long getPingRoundTripNanos();
+
    Lock lockFailover();
 
    boolean waitForRetry(long interval);
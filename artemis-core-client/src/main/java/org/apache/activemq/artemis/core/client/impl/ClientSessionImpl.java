@@ -25,6 +25,7 @@ import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -111,6 +112,10 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
    private final int consumerMaxRate;
 
+   private final int consumerMinWindowSize;
+
+   private final int consumerMaxWindowSize;
+
    private final int confirmationWindowSize;
 
    private final int producerMaxRate;
@@ -180,6 +185,8 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
                      final int ackBatchSize,
                      final int consumerWindowSize,
                      final int consumerMaxRate,
+                     final int consumerMinWindowSize,
+                     final int consumerMaxWindowSize,
                      final int confirmationWindowSize,
                      final int producerWindowSize,
                      final int producerMaxRate,
@@ -229,6 +236,10 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
       this.consumerMaxRate = consumerMaxRate;
 
+      this.consumerMinWindowSize = consumerMinWindowSize;
+
+      this.consumerMaxWindowSize = consumerMaxWindowSize;
+
       this.confirmationWindowSize = confirmationWindowSize;
 
       this.producerMaxRate = producerMaxRate;
@@ -806,6 +817,22 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
    }
 
+   @Override
+   public CompletableFuture<QueueQuery> queueQueryAsync(final SimpleString queueName) {
+      try {
+         checkClosed();
+      } catch (ActiveMQException e) {
+         return CompletableFuture.failedFuture(e);
+      }
+
+      startCall();
+      try {
+         return completeOnConfirmationExecutor(sessionContext.queueQueryAsync(queueName));
+      } finally {
+         endCall();
+      }
+   }
+
    @Override
    public AddressQuery addressQuery(final SimpleString address) throws ActiveMQException {
       checkClosed();
@@ -1002,6 +1029,63 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
       workDone = false;
    }
 
+   @Override
+   public CompletableFuture<Void> commitAsync() {
+      final CompletableFuture<Void> commit;
+      try {
+         checkClosed();
+
+         logger.trace("Sending async commit");
+
+         if (rollbackOnly) {
+            rollbackOnFailover(true);
+         }
+
+         flushAcks();
+
+         if (rollbackOnly) {
+            rollbackOnFailover(true);
+         }
+
+         startCall();
+         try {
+            commit = sessionContext.commitAsync();
+         } finally {
+            endCall();
+         }
+      } catch (ActiveMQException e) {
+         return CompletableFuture.failedFuture(e);
+      }
+
+      // the work done from now on belongs to the next transaction
+      workDone = false;
+
+      final CompletableFuture<Void> result = new CompletableFuture<>();
+      commit.whenCompleteAsync((ignored, e) -> {
+         try {
+            if (e instanceof ActiveMQException activeMQException && (activeMQException.getType() == ActiveMQExceptionType.UNBLOCKED || activeMQException.getType() == ActiveMQExceptionType.CONNECTION_TIMEDOUT || rollbackOnly)) {
+               // as for commit(): failed over during the commit, so its outcome is unknown
+               rollbackOnFailover(false);
+            } else if (e != null) {
+               result.completeExceptionally(e);
+               return;
+            }
+            result.complete(null);
+         } catch (Throwable t) {
+            result.completeExceptionally(t);
+         }
+      }, confirmationExecutor);
+      return result;
+   }
+
+   /**
+    * Completes the stages of the asynchronous calls on the confirmation executor, so the application doesn't run on
+    * the threads handling the connection.
+    */
+   private <T> CompletableFuture<T> completeOnConfirmationExecutor(final CompletableFuture<T> future) {
+      return future.whenCompleteAsync((result, e) -> { }, confirmationExecutor);
+   }
+
    @Override
    public boolean isRollbackOnly() {
       return rollbackOnly;
@@ -2019,6 +2103,10 @@ public final class ClientSessionImpl implements ClientSessionInternal, FailureLi
 
       ClientConsumerInternal consumer = sessionContext.createConsumer(queueName, filterString, priority, windowSize, maxRate, ackBatchSize, browseOnly, executor, flowControlExecutor, onMessageCloseTimeout);
 
+      if (consumerMaxWindowSize > 0) {
+         consumer.adaptWindowSize(consumerMinWindowSize, consumerMaxWindowSize, sessionFactory.getPingRoundTripNanos());
+      }
+
       addConsumer(consumer);
 
       // Now we send window size credits to start the consumption
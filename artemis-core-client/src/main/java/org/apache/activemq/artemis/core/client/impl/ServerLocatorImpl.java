@@ -26,11 +26,15 @@ import java.security.PrivilegedAction;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -111,6 +115,12 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
 
    private final Set<ClientSessionFactoryInternal> connectingFactories = new HashSet<>();
 
+   // the factories whose connection is shared by the session factories created, with the number of shares
+   private final Map<ClientSessionFactoryInternal, Integer> sharedFactories = new HashMap<>();
+
+   // completed with the factory being connected to be shared, if any, guarded by sharedFactories
+   private transient CompletableFuture<ClientSessionFactoryInternal> connectingSharedFactory;
+
    private volatile TransportConfiguration[] initialConnectors;
 
    private final DiscoveryGroupConfiguration discoveryGroupConfiguration;
@@ -668,6 +678,89 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
 
    @Override
    public ClientSessionFactory createSessionFactory() throws ActiveMQException {
+      if (config.sessionFactoriesPerConnection == 1) {
+         return connectSessionFactory();
+      }
+
+      while (true) {
+         final CompletableFuture<ClientSessionFactoryInternal> connecting;
+         final boolean connect;
+         synchronized (sharedFactories) {
+            for (Map.Entry<ClientSessionFactoryInternal, Integer> entry : sharedFactories.entrySet()) {
+               if (!entry.getKey().isClosed() && entry.getKey().numConnections() > 0 &&
+                  (config.sessionFactoriesPerConnection < 0 || entry.getValue() < config.sessionFactoriesPerConnection)) {
+                  entry.setValue(entry.getValue() + 1);
+                  return new SharedClientSessionFactory(this, (ClientSessionFactoryImpl) entry.getKey());
+               }
+            }
+            // concurrent requests wait to share the connection being opened instead of opening more
+            connect = connectingSharedFactory == null;
+            if (connect) {
+               connectingSharedFactory = new CompletableFuture<>();
+            }
+            connecting = connectingSharedFactory;
+         }
+         if (connect) {
+            return connectSharedFactory(connecting);
+         }
+         try {
+            connecting.get();
+         } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ActiveMQInterruptedException(e);
+         } catch (ExecutionException e) {
+            // the connection this was waiting for has failed
+            if (e.getCause() instanceof ActiveMQException activeMQException) {
+               throw activeMQException;
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+               throw runtimeException;
+            }
+            throw new ActiveMQInternalErrorException(e.getCause().getMessage(), e.getCause());
+         }
+      }
+   }
+
+   /**
+    * Connects a new factory to be shared, without holding the lock of {@link #sharedFactories} meanwhile.
+    */
+   private ClientSessionFactory connectSharedFactory(final CompletableFuture<ClientSessionFactoryInternal> connecting) throws ActiveMQException {
+      final ClientSessionFactoryInternal factory;
+      try {
+         factory = connectSessionFactory();
+      } catch (Throwable t) {
+         synchronized (sharedFactories) {
+            connectingSharedFactory = null;
+         }
+         connecting.completeExceptionally(t);
+         throw t;
+      }
+      synchronized (sharedFactories) {
+         connectingSharedFactory = null;
+         sharedFactories.merge(factory, 1, Integer::sum);
+      }
+      connecting.complete(factory);
+      return new SharedClientSessionFactory(this, (ClientSessionFactoryImpl) factory);
+   }
+
+   /**
+    * Releases a share of a connection, closing it with the last one.
+    */
+   void sharedFactoryReleased(final ClientSessionFactoryInternal factory, final boolean close) {
+      final boolean last;
+      synchronized (sharedFactories) {
+         last = sharedFactories.computeIfPresent(factory, (f, shares) -> shares == 1 ? null : shares - 1) == null;
+      }
+      if (last) {
+         if (close) {
+            factory.close();
+         } else {
+            factory.cleanup();
+         }
+      }
+   }
+
+   private ClientSessionFactoryInternal connectSessionFactory() throws ActiveMQException {
       assertOpen();
 
       initialize();
@@ -987,6 +1080,30 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
       return this;
    }
 
+   @Override
+   public int getConsumerMinWindowSize() {
+      return config.consumerMinWindowSize;
+   }
+
+   @Override
+   public ServerLocatorImpl setConsumerMinWindowSize(final int consumerMinWindowSize) {
+      checkWrite();
+      this.config.consumerMinWindowSize = consumerMinWindowSize;
+      return this;
+   }
+
+   @Override
+   public int getConsumerMaxWindowSize() {
+      return config.consumerMaxWindowSize;
+   }
+
+   @Override
+   public ServerLocatorImpl setConsumerMaxWindowSize(final int consumerMaxWindowSize) {
+      checkWrite();
+      this.config.consumerMaxWindowSize = consumerMaxWindowSize;
+      return this;
+   }
+
    @Override
    public int getConsumerMaxRate() {
       return config.consumerMaxRate;
@@ -1309,6 +1426,18 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
       return this;
    }
 
+   @Override
+   public int getSessionFactoriesPerConnection() {
+      return config.sessionFactoriesPerConnection;
+   }
+
+   @Override
+   public ServerLocator setSessionFactoriesPerConnection(int sessionFactoriesPerConnection) {
+      checkWrite();
+      config.sessionFactoriesPerConnection = sessionFactoriesPerConnection;
+      return this;
+   }
+
    @Override
    public ServerLocatorImpl setGroupID(final String groupID) {
       checkWrite();
@@ -1453,6 +1582,10 @@ public final class ServerLocatorImpl implements ServerLocatorInternal, Discovery
          factories.clear();
       }
 
+      synchronized (sharedFactories) {
+         sharedFactories.clear();
+      }
+
       for (ClientSessionFactoryInternal factory : clonedFactory) {
          factory.causeExit();
       }
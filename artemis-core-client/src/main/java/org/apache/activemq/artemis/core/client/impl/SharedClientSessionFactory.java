@@ -0,0 +1,325 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.client.impl;
+
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.TransportConfiguration;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.FailoverEventListener;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.api.core.client.SessionFailureListener;
+import org.apache.activemq.artemis.core.client.ActiveMQClientLogger;
+import org.apache.activemq.artemis.core.client.ActiveMQClientMessageBundle;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.utils.ConfirmationWindowWarning;
+import org.apache.activemq.artemis.utils.collections.ConcurrentHashSet;
+
+/**
+ * A session factory sharing the connection of another one with other session factories, see
+ * {@link ServerLocator#setSessionFactoriesPerConnection(int)}.
+ * <p>
+ * The sessions of each shared factory have their own channels on the connection, which handles their failover and
+ * reconnection together. A shared factory keeps track of the sessions and listeners created through it, to close
+ * and remove them when it's closed, and releases the connection with the last one sharing it.
+ */
+final class SharedClientSessionFactory implements ClientSessionFactoryInternal {
+
+   private final ServerLocatorImpl serverLocator;
+
+   private final ClientSessionFactoryImpl connectionFactory;
+
+   private final Set<ClientSessionInternal> sessions = new ConcurrentHashSet<>();
+
+   private final Set<SessionFailureListener> listeners = new ConcurrentHashSet<>();
+
+   private final Set<FailoverEventListener> failoverListeners = new ConcurrentHashSet<>();
+
+   private volatile boolean closed;
+
+   SharedClientSessionFactory(final ServerLocatorImpl serverLocator, final ClientSessionFactoryImpl connectionFactory) {
+      this.serverLocator = serverLocator;
+      this.connectionFactory = connectionFactory;
+   }
+
+   @Override
+   public ClientSession createSession(final String username,
+                                      final String password,
+                                      final boolean xa,
+                                      final boolean autoCommitSends,
+                                      final boolean autoCommitAcks,
+                                      final boolean preAcknowledge,
+                                      final int ackBatchSize,
+                                      final String clientID) throws ActiveMQException {
+      return createSessionInternal(username, password, xa, autoCommitSends, autoCommitAcks, preAcknowledge, ackBatchSize, clientID);
+   }
+
+   @Override
+   public ClientSession createSession(final String username,
+                                      final String password,
+                                      final boolean xa,
+                                      final boolean autoCommitSends,
+                                      final boolean autoCommitAcks,
+                                      final boolean preAcknowledge,
+                                      final int ackBatchSize) throws ActiveMQException {
+      return createSessionInternal(username, password, xa, autoCommitSends, autoCommitAcks, preAcknowledge, ackBatchSize, null);
+   }
+
+   @Override
+   public ClientSession createSession(final boolean autoCommitSends,
+                                      final boolean autoCommitAcks,
+                                      final int ackBatchSize) throws ActiveMQException {
+      return createSessionInternal(null, null, false, autoCommitSends, autoCommitAcks, serverLocator.isPreAcknowledge(), ackBatchSize, null);
+   }
+
+   @Override
+   public ClientSession createXASession() throws ActiveMQException {
+      return createSessionInternal(null, null, true, false, false, serverLocator.isPreAcknowledge(), serverLocator.getAckBatchSize(), null);
+   }
+
+   @Override
+   public ClientSession createTransactedSession() throws ActiveMQException {
+      return createSessionInternal(null, null, false, false, false, serverLocator.isPreAcknowledge(), serverLocator.getAckBatchSize(), null);
+   }
+
+   @Override
+   public ClientSession createSession() throws ActiveMQException {
+      return createSessionInternal(null, null, false, true, true, serverLocator.isPreAcknowledge(), serverLocator.getAckBatchSize(), null);
+   }
+
+   @Override
+   public ClientSession createSession(final boolean autoCommitSends,
+                                      final boolean autoCommitAcks) throws ActiveMQException {
+      return createSessionInternal(null, null, false, autoCommitSends, autoCommitAcks, serverLocator.isPreAcknowledge(), serverLocator.getAckBatchSize(), null);
+   }
+
+   @Override
+   public ClientSession createSession(final boolean xa,
+                                      final boolean autoCommitSends,
+                                      final boolean autoCommitAcks) throws ActiveMQException {
+      return createSessionInternal(null, null, xa, autoCommitSends, autoCommitAcks, serverLocator.isPreAcknowledge(), serverLocator.getAckBatchSize(), null);
+   }
+
+   @Override
+   public ClientSession createSession(final boolean xa,
+                                      final boolean autoCommitSends,
+                                      final boolean autoCommitAcks,
+                                      final boolean preAcknowledge) throws ActiveMQException {
+      return createSessionInternal(null, null, xa, autoCommitSends, autoCommitAcks, preAcknowledge, serverLocator.getAckBatchSize(), null);
+   }
+
+   private ClientSession createSessionInternal(final String username,
+                                               final String password,
+                                               final boolean xa,
+                                               final boolean autoCommitSends,
+                                               final boolean autoCommitAcks,
+                                               final boolean preAcknowledge,
+                                               final int ackBatchSize,
+                                               final String clientID) throws ActiveMQException {
+      if (closed) {
+         throw ActiveMQClientMessageBundle.BUNDLE.unableToCreateSession();
+      }
+      ClientSessionInternal session = connectionFactory.createSession(this, username, password, xa, autoCommitSends, autoCommitAcks, preAcknowledge, ackBatchSize, clientID);
+      sessions.add(session);
+      if (closed) {
+         // raced with close
+         session.close();
+         throw ActiveMQClientMessageBundle.BUNDLE.unableToCreateSession();
+      }
+      return session;
+   }
+
+   @Override
+   public void close() {
+      release(true);
+   }
+
+   @Override
+   public void cleanup() {
+      release(false);
+   }
+
+   private void release(boolean close) {
+      synchronized (this) {
+         if (closed) {
+            return;
+         }
+         closed = true;
+      }
+
+      // work on a copy: the sessions remove themselves once closed
+      for (ClientSessionInternal session : new ArrayList<>(sessions)) {
+         try {
+            if (close) {
+               session.close();
+            } else {
+               session.cleanUp(false);
+            }
+         } catch (Exception e) {
+            ActiveMQClientLogger.LOGGER.unableToCloseSession(e);
+         }
+      }
+      sessions.clear();
+
+      for (SessionFailureListener listener : listeners) {
+         connectionFactory.removeFailureListener(listener);
+      }
+      listeners.clear();
+      for (FailoverEventListener listener : failoverListeners) {
+         connectionFactory.removeFailoverListener(listener);
+      }
+      failoverListeners.clear();
+
+      serverLocator.sharedFactoryReleased(connectionFactory, close);
+   }
+
+   @Override
+   public boolean isClosed() {
+      return closed || connectionFactory.isClosed();
+   }
+
+   @Override
+   public void removeSession(final ClientSessionInternal session, final boolean failingOver) {
+      sessions.remove(session);
+      connectionFactory.removeSession(session, failingOver);
+   }
+
+   @Override
+   public void addFailureListener(final SessionFailureListener listener) {
+      listeners.add(listener);
+      connectionFactory.addFailureListener(listener);
+   }
+
+   @Override
+   public boolean removeFailureListener(final SessionFailureListener listener) {
+      listeners.remove(listener);
+      return connectionFactory.removeFailureListener(listener);
+   }
+
+   @Override
+   public SharedClientSessionFactory addFailoverListener(final FailoverEventListener listener) {
+      failoverListeners.add(listener);
+      connectionFactory.addFailoverListener(listener);
+      return this;
+   }
+
+   @Override
+   public boolean removeFailoverListener(final FailoverEventListener listener) {
+      failoverListeners.remove(listener);
+      return connectionFactory.removeFailoverListener(listener);
+   }
+
+   @Override
+   public int numSessions() {
+      return sessions.size();
+   }
+
+   @Override
+   public int numConnections() {
+      return connectionFactory.numConnections();
+   }
+
+   @Override
+   public void causeExit() {
+      connectionFactory.causeExit();
+   }
+
+   @Override
+   public boolean waitForTopology(final long timeout, final TimeUnit unit) {
+      return connectionFactory.waitForTopology(timeout, unit);
+   }
+
+   @Override
+   public String getPrimaryNodeId() {
+      return connectionFactory.getPrimaryNodeId();
+   }
+
+   @Override
+   public void connect(final int reconnectAttempts) throws ActiveMQException {
+      connectionFactory.connect(reconnectAttempts);
+   }
+
+   @Deprecated
+   @Override
+   public void connect(final int reconnectAttempts, final boolean failoverOnInitialConnection) throws ActiveMQException {
+      connect(reconnectAttempts);
+   }
+
+   @Override
+   public void setBackupConnector(final TransportConfiguration live, final TransportConfiguration backUp) {
+      connectionFactory.setBackupConnector(live, backUp);
+   }
+
+   @Override
+   public Object getConnector() {
+      return connectionFactory.getConnector();
+   }
+
+   @Override
+   public Object getBackupConnector() {
+      return connectionFactory.getBackupConnector();
+   }
+
+   @Override
+   public void setReconnectAttempts(final int i) {
+      connectionFactory.setReconnectAttempts(i);
+   }
+
+   @Override
+   public ConfirmationWindowWarning getConfirmationWindowWarning() {
+      return connectionFactory.getConfirmationWindowWarning();
+   }
+
+   @Override
+   public long getPingRoundTripNanos() {
+      return connectionFactory.getPingRoundTripNanos();
+   }
+
+   @Override
+   public Lock lockFailover() {
+      return connectionFactory.lockFailover();
+   }
+
+   @Override
+   public boolean waitForRetry(final long interval) {
+      return connectionFactory.waitForRetry(interval);
+   }
+
+   @Override
+   public ServerLocator getServerLocator() {
+      return serverLocator;
+   }
+
+   @Override
+   public RemotingConnection getConnection() {
+      return connectionFactory.getConnection();
+   }
+
+   @Override
+   public TransportConfiguration getConnectorConfiguration() {
+      return connectionFactory.getConnectorConfiguration();
+   }
+
+   @Override
+   public String toString() {
+      return "SharedClientSessionFactory{connectionFactory=" + connectionFactory + ", closed=" + closed + "}";
+   }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.message;
 
+import java.io.File;
 import java.nio.ByteBuffer;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -63,4 +64,13 @@ public interface LargeBodyReader extends AutoCloseable {
     * This method must not be called directly by ActiveMQ Artemis clients.
     */
    long getSize() throws ActiveMQException;
+
+   /**
+    * This method must not be called directly by ActiveMQ Artemis clients.
+    *
+    * This is the file the body is read as it is from, if any: it can be sent without reading it.
+    */
+   default File getFile() {
+      return null;
+   }
 }
@@ -113,6 +113,9 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    protected volatile TypedProperties properties;
 
+   // the last property read from the encoded properties by getObjectPropertyForFilter
+   private volatile ScannedProperty scannedProperty;
+
    private final CoreMessageObjectPools coreMessageObjectPools;
 
    private volatile Object owner;
@@ -311,6 +314,10 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
 
    @Override
    public SimpleString getGroupID() {
+      // most messages have no group: the properties are decoded just once if they have
+      if (properties == null && getObjectPropertyForFilter(Message.HDR_GROUP_ID) == null) {
+         return null;
+      }
       return this.getSimpleStringProperty(Message.HDR_GROUP_ID);
    }
 
@@ -743,6 +750,7 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       priority = buffer.readByte();
       if (lazyProperties) {
          properties = null;
+         scannedProperty = null;
          propertiesLocation = buffer.readerIndex();
       } else {
          properties = new TypedProperties(INTERNAL_PROPERTY_NAMES_PREDICATE, AMQP_PROPERTY_PREDICATE);
@@ -1102,6 +1110,51 @@ public class CoreMessage extends RefCountMessage implements ICoreMessage {
       return getProperties().getProperty(key);
    }
 
+   /**
+    * Differently from {@link #getObjectProperty(SimpleString)}, this method won't decode the properties if not
+    * already decoded, reading just the value of the {@code key} property. The value read is kept until another
+    * property is read this way, as the filters of the many queues or consumers a message goes through usually read
+    * the same property.
+    */
+   @Override
+   public Object getObjectPropertyForFilter(final SimpleString key) {
+      TypedProperties properties = this.properties;
+      if (properties != null) {
+         return properties.getProperty(key);
+      }
+      final ScannedProperty scanned = this.scannedProperty;
+      if (scanned != null && scanned.key.equals(key)) {
+         return scanned.value;
+      }
+      synchronized (this) {
+         final ByteBuf buffer = this.buffer;
+         final int propertiesLocation = this.propertiesLocation;
+         // the properties could have been decoded meanwhile and the buffer not be valid anymore
+         if (this.properties != null || buffer == null || propertiesLocation < 0) {
+            return getProperties().getProperty(key);
+         }
+         final Object value;
+         try {
+            value = TypedProperties.searchPropertyValue(key, buffer, propertiesLocation);
+         } catch (Throwable e) {
+            throw onCheckPropertiesError(e);
+         }
+         scannedProperty = new ScannedProperty(key, value);
+         return value;
+      }
+   }
+
+   private static final class ScannedProperty {
+
+      final SimpleString key;
+      final Object value;
+
+      private ScannedProperty(SimpleString key, Object value) {
+         this.key = key;
+         this.value = value;
+      }
+   }
+
    @Override
    public CoreMessage putObjectProperty(final String key, final Object value) throws ActiveMQPropertyConversionException {
       return putObjectProperty(key(key), value);
@@ -279,6 +279,18 @@ public interface Channel {
     */
    int getConfirmationWindowSize();
 
+   /**
+    * Whether the body of a {@link org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage}
+    * can be sent straight from its file: the transport connection has to support file regions, while no packet can be
+    * kept for resending, because the file could be gone meanwhile, nor intercepted, because the packet has no body.
+    *
+    * @return {@code true} if a {@link org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage}
+    * can be sent on this channel
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
    /**
     * notifies the channel if it is transferring its connection. When true it is illegal to send messages.
     *
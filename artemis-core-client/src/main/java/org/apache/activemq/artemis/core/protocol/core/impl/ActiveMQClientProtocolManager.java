@@ -115,6 +115,11 @@ public class ActiveMQClientProtocolManager implements ClientProtocolManager {
 
    private final CountDownLatch waitLatch = new CountDownLatch(1);
 
+   // when the latest ping was sent, until the server sends it back
+   private volatile long pingSentAt;
+
+   private volatile long pingRoundTripNanos;
+
    public ActiveMQClientProtocolManager() {
    }
 
@@ -228,11 +233,18 @@ public class ActiveMQClientProtocolManager implements ClientProtocolManager {
 
       Ping ping = new Ping(connectionTTL);
 
+      pingSentAt = System.nanoTime();
+
       channel.send(ping);
 
       connection.flush();
    }
 
+   @Override
+   public long getPingRoundTripNanos() {
+      return pingRoundTripNanos;
+   }
+
    @Override
    public void sendSubscribeTopology(final boolean isServer) {
       getChannel0().send(new SubscribeClusterTopologyUpdatesMessageV2(isServer, VersionLoader.getVersion().getIncrementingVersion()));
@@ -493,6 +505,13 @@ public class ActiveMQClientProtocolManager implements ClientProtocolManager {
             ClusterTopologyChangeMessage_V4 topMessage = (ClusterTopologyChangeMessage_V4) packet;
             notifyTopologyChange(updateTransportConfiguration(topMessage));
             connection.setChannelVersion(topMessage.getServerVersion());
+         } else if (type == PacketImpl.PING) {
+            // the server sends the pings back as they are
+            final long sentAt = pingSentAt;
+            if (sentAt != 0) {
+               pingSentAt = 0;
+               pingRoundTripNanos = Math.max(1, System.nanoTime() - sentAt);
+            }
          } else if (type == PacketImpl.CHECK_FOR_FAILOVER_REPLY) {
             System.out.println("Channel0Handler.handlePacket");
          }
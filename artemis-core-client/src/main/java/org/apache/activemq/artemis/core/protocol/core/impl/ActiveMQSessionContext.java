@@ -26,6 +26,7 @@ import java.util.EnumSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
 
@@ -61,6 +62,7 @@ import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ResponseHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateAddressMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateProducerMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.CreateQueueMessage;
@@ -94,6 +96,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionInd
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsFailMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage_V3;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
@@ -104,6 +107,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSen
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendContinuationMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendContinuationMessage_V3;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendLargeMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_1X;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_V2;
@@ -232,6 +236,44 @@ public class ActiveMQSessionContext extends SessionContext {
             if (!scm.isContinues()) {
                callSendAck(scm.getHandler(), scm.getMessage(), activeMQException);
             }
+         } else if (packet.getType() == PacketImpl.SESS_SEND_BATCH) {
+            SessionSendBatchMessage ssbm = (SessionSendBatchMessage) packet;
+            final List<ICoreMessage> messages = ssbm.getMessages();
+            // the messages preceding the failed one have been routed
+            final int sent;
+            if (activeMQException == null) {
+               sent = messages.size();
+            } else if (response instanceof ActiveMQExceptionMessage_V2 exceptionResponse) {
+               sent = Math.max(0, exceptionResponse.getBatchIndex());
+            } else {
+               sent = 0;
+            }
+            for (int i = 0; i < messages.size(); i++) {
+               callSendAck(ssbm.getHandler(), messages.get(i), i < sent ? null : activeMQException);
+            }
+         } else if (packet.getType() == PacketImpl.SESS_COMMIT) {
+            if (packet instanceof SessionCommitMessage_V2 commit && commit.getFuture() != null) {
+               // a confirmation completes the commit as well, as exceptions are never confirmed
+               complete(commit.getFuture(), null, activeMQException);
+            }
+         } else if (packet.getType() == PacketImpl.SESS_QUEUEQUERY_V2) {
+            // never confirmed, so there's always a response
+            SessionQueueQueryMessage_V2 query = (SessionQueueQueryMessage_V2) packet;
+            if (activeMQException != null) {
+               complete(query.getFuture(), null, activeMQException);
+            } else if (response instanceof SessionQueueQueryResponseMessage queryResponse) {
+               complete(query.getFuture(), queryResponse.toQueueQuery(), null);
+            }
+         }
+      }
+
+      private <T> void complete(CompletableFuture<T> future, T value, final ActiveMQException exception) {
+         if (future != null) {
+            if (exception == null) {
+               future.complete(value);
+            } else {
+               future.completeExceptionally(exception);
+            }
          }
       }
 
@@ -370,6 +412,27 @@ public class ActiveMQSessionContext extends SessionContext {
       return response.toQueueQuery();
    }
 
+   @Override
+   public CompletableFuture<ClientSession.QueueQuery> queueQueryAsync(final SimpleString queueName) {
+      if (!isResponseAsyncSupported() || !sessionChannel.supports(PacketImpl.SESS_QUEUEQUERY_V2)) {
+         try {
+            return CompletableFuture.completedFuture(queueQuery(queueName));
+         } catch (ActiveMQException e) {
+            return CompletableFuture.failedFuture(e);
+         }
+      }
+      final CompletableFuture<ClientSession.QueueQuery> future = new CompletableFuture<>();
+      sessionChannel.send(new SessionQueueQueryMessage_V2(queueName, future));
+      return future;
+   }
+
+   /**
+    * The responses are correlated to their requests only when there is a confirmation window.
+    */
+   private boolean isResponseAsyncSupported() {
+      return confirmationWindow >= 0 && !sessionChannel.getConnection().isVersionBeforeAsyncResponseChange();
+   }
+
    @Override
    public boolean isWritable(ReadyListener callback) {
       return remotingConnection.isWritable(callback);
@@ -486,6 +549,21 @@ public class ActiveMQSessionContext extends SessionContext {
       }
    }
 
+   @Override
+   public CompletableFuture<Void> commitAsync() {
+      if (!isResponseAsyncSupported() || !sessionChannel.getConnection().isVersionSupportCommitV2()) {
+         try {
+            simpleCommit(true);
+            return CompletableFuture.completedFuture(null);
+         } catch (ActiveMQException e) {
+            return CompletableFuture.failedFuture(e);
+         }
+      }
+      final CompletableFuture<Void> future = new CompletableFuture<>();
+      sessionChannel.send(new SessionCommitMessage_V2(future));
+      return future;
+   }
+
    @Override
    public void simpleRollback(boolean lastMessageAsDelivered) throws ActiveMQException {
       sessionChannel.sendBlocking(new RollbackMessage(lastMessageAsDelivered), PacketImpl.NULL_RESPONSE);
@@ -590,6 +668,27 @@ public class ActiveMQSessionContext extends SessionContext {
       }
    }
 
+   @Override
+   public void sendFullMessages(List<ICoreMessage> msgs,
+                                boolean sendBlocking,
+                                SendAcknowledgementHandler handler,
+                                SimpleString defaultAddress,
+                                int senderID) throws ActiveMQException {
+      if (msgs.size() == 1 || !sessionChannel.supports(PacketImpl.SESS_SEND_BATCH)) {
+         for (ICoreMessage msgI : msgs) {
+            sendFullMessage(msgI, sendBlocking, handler, defaultAddress, senderID);
+         }
+         return;
+      }
+      boolean responseRequired = confirmationWindow != -1 || sendBlocking;
+      SessionSendBatchMessage packet = new SessionSendBatchMessage(msgs, responseRequired, handler, senderID);
+      if (sendBlocking) {
+         sessionChannel.sendBlocking(packet, PacketImpl.NULL_RESPONSE);
+      } else {
+         sessionChannel.sendBatched(packet);
+      }
+   }
+
    @Override
    public int sendInitialChunkOnLargeMessage(Message msgI) throws ActiveMQException {
       SessionSendLargeMessage initialChunk = new SessionSendLargeMessage(msgI);
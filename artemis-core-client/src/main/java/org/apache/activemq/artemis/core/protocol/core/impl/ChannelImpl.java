@@ -16,10 +16,11 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.EnumSet;
 import java.util.List;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
@@ -27,6 +28,8 @@ import java.util.concurrent.locks.Condition;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantLock;
 
+import io.netty.channel.FileRegion;
+
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -41,8 +44,11 @@ import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ResponseHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ActiveMQExceptionMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.PacketsConfirmedMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.utils.ConcurrentUtil;
+import org.apache.activemq.artemis.utils.collections.SingleProducerRingBuffer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
@@ -51,6 +57,7 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ADD
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_18_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_29_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_37_0_VERSION;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.ARTEMIS_2_40_0_VERSION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V3;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.CLUSTER_TOPOLOGY_V4;
@@ -66,6 +73,9 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_BINDINGQUERY_RESP_V5;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_RESP_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_RESP_V3;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_RESP_V4;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_V2;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_BATCH;
 
 public final class ChannelImpl implements Channel {
 
@@ -122,7 +132,7 @@ public final class ChannelImpl implements Channel {
 
    private Packet response;
 
-   private final java.util.Queue<Packet> resendCache;
+   private final SingleProducerRingBuffer<Packet> resendCache;
 
    private final ResponseCache responseAsyncCache;
 
@@ -144,7 +154,7 @@ public final class ChannelImpl implements Channel {
 
    private final Object sendBlockingLock = new Object();
 
-   private boolean failingOver;
+   private volatile boolean failingOver;
 
    private final int confWindowSize;
 
@@ -169,7 +179,7 @@ public final class ChannelImpl implements Channel {
       this.confWindowSize = confWindowSize;
 
       if (confWindowSize != -1) {
-         resendCache = new ConcurrentLinkedQueue<>();
+         resendCache = new SingleProducerRingBuffer<>();
          responseAsyncCache = new ResponseCache();
       } else {
          resendCache = null;
@@ -200,6 +210,7 @@ public final class ChannelImpl implements Channel {
          case SESS_QUEUEQUERY_RESP_V3, SESS_BINDINGQUERY_RESP_V4 -> version >= ADDRESSING_CHANGE_VERSION;
          case CLUSTER_TOPOLOGY_V4, CREATESESSION_V2, DISCONNECT_V3 -> version >= ARTEMIS_2_18_0_VERSION;
          case SESS_BINDINGQUERY_RESP_V5 -> version >= ARTEMIS_2_29_0_VERSION;
+         case SESS_SEND_BATCH, SESS_QUEUEQUERY_V2, SESS_QUEUEQUERY_RESP_V4 -> version >= ARTEMIS_2_40_0_VERSION;
          default -> true;
       };
    }
@@ -229,6 +240,11 @@ public final class ChannelImpl implements Channel {
       return confWindowSize;
    }
 
+   @Override
+   public boolean isFileRegionSupported() {
+      return confWindowSize == -1 && (interceptors == null || interceptors.isEmpty()) && connection.getTransportConnection().isFileRegionSupported();
+   }
+
    @Override
    public void returnBlocking() {
       returnBlocking(null);
@@ -262,70 +278,13 @@ public final class ChannelImpl implements Channel {
          return false;
       }
 
-      final ResponseCache responseAsyncCache = this.responseAsyncCache;
+      if (resendCache == null) {
+         // without a confirmation window the order of the concurrent sends doesn't matter
+         return doSend(packet, -1, flushConnection, false, true);
+      }
 
       synchronized (sendLock) {
-         packet.setChannelID(id);
-
-         if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
-            packet.setCorrelationID(responseAsyncCache.nextCorrelationID());
-         }
-
-         if (logger.isTraceEnabled()) {
-            logger.trace("RemotingConnectionID={} Sending packet nonblocking {} on channelID={}", connection.getID(), packet, id);
-         }
-
-         ActiveMQBuffer buffer = packet.encode(connection);
-
-         lock.lock();
-
-         try {
-            if (failingOver) {
-               waitForFailOver("RemotingConnectionID=" + connection.getID() + " timed-out waiting for fail-over condition on non-blocking send");
-            }
-
-            // Sanity check
-            if (transferring) {
-               throw ActiveMQClientMessageBundle.BUNDLE.cannotSendPacketDuringFailover();
-            }
-
-            if (resendCache != null && packet.isRequiresConfirmations()) {
-               addResendPacket(packet);
-            }
-
-         } finally {
-            lock.unlock();
-         }
-
-         if (logger.isTraceEnabled()) {
-            logger.trace("RemotingConnectionID={} Writing buffer for channelID={}", connection.getID(), id);
-         }
-
-         //We do this outside the lock as ResponseCache is threadsafe and allows responses to come in,
-         //As the send could block if the response cache cannot add, preventing responses to be handled.
-         if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
-            while (!responseAsyncCache.add(packet)) {
-               try {
-                  Thread.sleep(1);
-               } catch (Exception e) {
-                  // Ignore
-               }
-            }
-         }
-
-         // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
-         // buffer is full, preventing any incoming buffers being handled and blocking failover
-         try {
-            connection.getTransportConnection().write(buffer, flushConnection);
-         } catch (Throwable t) {
-            //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
-            //The client would get still know about this as the exception bubbles up the call stack instead.
-            if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
-               responseAsyncCache.remove(packet.getCorrelationID());
-            }
-            throw t;
-         }
-         return true;
+         return doSend(packet, -1, flushConnection, false, true);
       }
    }
 
@@ -375,25 +334,52 @@ public final class ChannelImpl implements Channel {
       }
    }
 
-   // This must never called by more than one thread concurrently
    private boolean send(final Packet packet, final int reconnectID, final boolean flush, final boolean batch) {
       if (invokeInterceptors(packet, interceptors, connection) != null) {
          return false;
       }
 
+      if (resendCache == null) {
+         // without a confirmation window the order of the concurrent sends doesn't matter
+         return doSend(packet, reconnectID, flush, batch, false);
+      }
+
       synchronized (sendLock) {
-         packet.setChannelID(id);
+         return doSend(packet, reconnectID, flush, batch, false);
+      }
+   }
 
-         if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
-            packet.setCorrelationID(responseAsyncCache.nextCorrelationID());
-         }
+   /**
+    * With a confirmation window this must never be called by more than one thread concurrently, because the packets
+    * must be cached in the same order they're written.
+    *
+    * @param requestFlush whether to write with {@link Connection#write(ActiveMQBuffer, boolean)}
+    */
+   private boolean doSend(final Packet packet,
+                          final int reconnectID,
+                          final boolean flush,
+                          final boolean batch,
+                          final boolean requestFlush) {
+      packet.setChannelID(id);
 
-         if (logger.isTraceEnabled()) {
-            logger.trace("RemotingConnectionID={} Sending packet nonblocking {} on channelID={}", connection.getID(), packet, id);
-         }
+      if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
+         packet.setCorrelationID(responseAsyncCache.nextCorrelationID());
+      }
 
-         ActiveMQBuffer buffer = packet.encode(connection);
+      if (logger.isTraceEnabled()) {
+         logger.trace("RemotingConnectionID={} Sending packet nonblocking {} on channelID={}", connection.getID(), packet, id);
+      }
+
+      final SessionReceiveFileContinuationMessage fileContinuation = fileContinuationOf(packet);
 
+      ActiveMQBuffer buffer = fileContinuation == null ? packet.encode(connection) : fileContinuation.encodeHeader(connection);
+
+      if (resendCache == null && !failingOver) {
+         // the common case doesn't need the lock: a fail-over starting meanwhile is detected by the reconnect ID
+         if (transferring) {
+            throw ActiveMQClientMessageBundle.BUNDLE.cannotSendPacketDuringFailover();
+         }
+      } else {
          lock.lock();
 
          try {
@@ -413,39 +399,66 @@ public final class ChannelImpl implements Channel {
          } finally {
             lock.unlock();
          }
+      }
 
-         if (logger.isTraceEnabled()) {
-            logger.trace("RemotingConnectionID={} Writing buffer for channelID={}", connection.getID(), id);
-         }
+      if (logger.isTraceEnabled()) {
+         logger.trace("RemotingConnectionID={} Writing buffer for channelID={}", connection.getID(), id);
+      }
 
-         checkReconnectID(reconnectID);
+      checkReconnectID(reconnectID);
 
-         //We do this outside the lock as ResponseCache is threadsafe and allows responses to come in,
-         //As the send could block if the response cache cannot add, preventing responses to be handled.
-         if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
-            while (!responseAsyncCache.add(packet)) {
-               try {
-                  Thread.sleep(1);
-               } catch (Exception e) {
-                  // Ignore
-               }
+      //We do this outside the lock as ResponseCache is threadsafe and allows responses to come in,
+      //As the send could block if the response cache cannot add, preventing responses to be handled.
+      if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
+         while (!responseAsyncCache.add(packet)) {
+            try {
+               Thread.sleep(1);
+            } catch (Exception e) {
+               // Ignore
             }
          }
+      }
 
-         // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
-         // buffer is full, preventing any incoming buffers being handled and blocking failover
-         try {
+      // The actual send must be outside the lock, or with OIO transport, the write can block if the tcp
+      // buffer is full, preventing any incoming buffers being handled and blocking failover
+      try {
+         if (fileContinuation != null) {
+            writeFileContinuation(fileContinuation, buffer);
+         } else if (requestFlush) {
+            connection.getTransportConnection().write(buffer, flush);
+         } else {
             connection.getTransportConnection().write(buffer, flush, batch);
-         } catch (Throwable t) {
-            //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
-            //The client would get still know about this as the exception bubbles up the call stack instead.
-            if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
-               responseAsyncCache.remove(packet.getCorrelationID());
-            }
-            throw t;
          }
-         return true;
+      } catch (Throwable t) {
+         //If runtime exception, we must remove from the cache to avoid filling up the cache causing it to be full.
+         //The client would get still know about this as the exception bubbles up the call stack instead.
+         if (responseAsyncCache != null && packet.isRequiresResponse() && packet.isResponseAsync()) {
+            responseAsyncCache.remove(packet.getCorrelationID());
+         }
+         throw t;
+      }
+      return true;
+   }
+
+   /**
+    * The sender of a {@link SessionReceiveFileContinuationMessage} has already checked {@link #isFileRegionSupported()}.
+    *
+    * @return {@code packet} if its body has to be sent as a file region, {@code null} if it has to be encoded as usual
+    */
+   private static SessionReceiveFileContinuationMessage fileContinuationOf(final Packet packet) {
+      return packet instanceof SessionReceiveFileContinuationMessage fileContinuation ? fileContinuation : null;
+   }
+
+   private void writeFileContinuation(final SessionReceiveFileContinuationMessage packet, final ActiveMQBuffer header) {
+      final Connection transportConnection = connection.getTransportConnection();
+      final FileRegion region;
+      try {
+         region = packet.newFileRegion();
+      } catch (IOException e) {
+         header.byteBuf().release();
+         throw new UncheckedIOException(e);
       }
+      transportConnection.write(header, region, packet.encodeTrailer(connection));
    }
 
    private void checkReconnectID(int reconnectID) {
@@ -722,9 +735,7 @@ public final class ChannelImpl implements Channel {
          }
          clearUpTo(otherLastConfirmedCommandID);
 
-         for (final Packet packet : resendCache) {
-            doWrite(packet);
-         }
+         resendCache.forEach(this::doWrite);
       }
    }
 
@@ -843,6 +854,12 @@ public final class ChannelImpl implements Channel {
             confirm(packet);
 
             handleAsyncResponse(packet);
+
+            if (packet.isResponseAsync() && packet.getCorrelationID() > 0) {
+               // blocking calls have negative correlation IDs: this response mustn't replace the one they wait for
+               return;
+            }
+
             lock.lock();
 
             try {
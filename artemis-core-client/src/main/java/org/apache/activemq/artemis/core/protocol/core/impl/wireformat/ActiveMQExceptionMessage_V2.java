@@ -24,6 +24,9 @@ public class ActiveMQExceptionMessage_V2 extends ActiveMQExceptionMessage {
 
    private long correlationID;
 
+   // the index of the message that failed in a SessionSendBatchMessage, or -1
+   private int batchIndex = -1;
+
 
 
    public ActiveMQExceptionMessage_V2(final long correlationID, final ActiveMQException exception) {
@@ -40,10 +43,27 @@ public class ActiveMQExceptionMessage_V2 extends ActiveMQExceptionMessage {
       return true;
    }
 
+   /**
+    * The messages of a {@link SessionSendBatchMessage} preceding this index have been routed, the others haven't.
+    *
+    * @return the index of the message that failed in the batch this is the response to, or -1 if unknown
+    */
+   public int getBatchIndex() {
+      return batchIndex;
+   }
+
+   public void setBatchIndex(int batchIndex) {
+      this.batchIndex = batchIndex;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       super.encodeRest(buffer);
       buffer.writeLong(correlationID);
+      // only responses to batches, which older clients never send, have it
+      if (batchIndex >= 0) {
+         buffer.writeInt(batchIndex);
+      }
    }
 
    @Override
@@ -52,6 +72,9 @@ public class ActiveMQExceptionMessage_V2 extends ActiveMQExceptionMessage {
       if (buffer.readableBytes() >= DataConstants.SIZE_LONG) {
          correlationID = buffer.readLong();
       }
+      if (buffer.readableBytes() >= DataConstants.SIZE_INT) {
+         batchIndex = buffer.readInt();
+      }
    }
 
    @Override
@@ -69,6 +92,7 @@ public class ActiveMQExceptionMessage_V2 extends ActiveMQExceptionMessage {
       final int prime = 31;
       int result = super.hashCode();
       result = prime * result + (int) (correlationID ^ (correlationID >>> 32));
+      result = prime * result + batchIndex;
       return result;
    }
 
@@ -86,6 +110,9 @@ public class ActiveMQExceptionMessage_V2 extends ActiveMQExceptionMessage {
       if (correlationID != other.correlationID) {
          return false;
       }
+      if (batchIndex != other.batchIndex) {
+         return false;
+      }
       return true;
    }
 }
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class PacketsConfirmedMessage extends PacketImpl {
 
@@ -37,6 +38,11 @@ public class PacketsConfirmedMessage extends PacketImpl {
       return commandID;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_INT;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeInt(commandID);
@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionAcknowledgeMessage extends PacketImpl {
 
@@ -54,6 +55,11 @@ public class SessionAcknowledgeMessage extends PacketImpl {
       return requiresResponse;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_LONG + DataConstants.SIZE_LONG + DataConstants.SIZE_BOOLEAN;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeLong(consumerID);
@@ -24,4 +24,9 @@ public class SessionCommitMessage extends PacketImpl {
       super(SESS_COMMIT);
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE;
+   }
+
 }
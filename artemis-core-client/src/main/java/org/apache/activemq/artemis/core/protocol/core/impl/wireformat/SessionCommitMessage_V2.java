@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 
+import java.util.concurrent.CompletableFuture;
+
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.utils.DataConstants;
 
@@ -23,6 +25,21 @@ public class SessionCommitMessage_V2 extends SessionCommitMessage {
 
    private long correlationID;
 
+   // completed by the response when committing asynchronously
+   private final transient CompletableFuture<Void> future;
+
+   public SessionCommitMessage_V2() {
+      this(null);
+   }
+
+   public SessionCommitMessage_V2(final CompletableFuture<Void> future) {
+      this.future = future;
+   }
+
+   public CompletableFuture<Void> getFuture() {
+      return future;
+   }
+
    @Override
    public long getCorrelationID() {
       return correlationID;
@@ -38,6 +55,11 @@ public class SessionCommitMessage_V2 extends SessionCommitMessage {
       return true;
    }
 
+   @Override
+   public boolean isRequiresResponse() {
+      return future != null;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       super.encodeRest(buffer);
@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionProducerCreditsMessage extends PacketImpl {
 
@@ -26,16 +27,29 @@ public class SessionProducerCreditsMessage extends PacketImpl {
 
    private SimpleString address;
 
+   private final SimpleString.ByteBufSimpleStringPool addressPool;
+
    public SessionProducerCreditsMessage(final int credits, final SimpleString address) {
       super(SESS_PRODUCER_CREDITS);
 
       this.credits = credits;
 
       this.address = address;
+
+      this.addressPool = null;
    }
 
    public SessionProducerCreditsMessage() {
+      this(null);
+   }
+
+   /**
+    * @param addressPool if not {@code null}, the decoded address is taken from it
+    */
+   public SessionProducerCreditsMessage(final SimpleString.ByteBufSimpleStringPool addressPool) {
       super(SESS_PRODUCER_CREDITS);
+
+      this.addressPool = addressPool;
    }
 
    public int getCredits() {
@@ -46,6 +60,11 @@ public class SessionProducerCreditsMessage extends PacketImpl {
       return address;
    }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + SimpleString.sizeofString(address);
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeInt(credits);
@@ -55,7 +74,7 @@ public class SessionProducerCreditsMessage extends PacketImpl {
    @Override
    public void decodeRest(final ActiveMQBuffer buffer) {
       credits = buffer.readInt();
-      address = buffer.readSimpleString();
+      address = SimpleString.readSimpleString(buffer.byteBuf(), addressPool);
    }
 
    @Override
@@ -31,6 +31,12 @@ public class SessionQueueQueryMessage extends QueueAbstractPacket {
       super(SESS_QUEUEQUERY);
    }
 
+   protected SessionQueueQueryMessage(final byte type, final SimpleString queueName) {
+      super(type);
+
+      this.queueName = queueName;
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeSimpleString(queueName);
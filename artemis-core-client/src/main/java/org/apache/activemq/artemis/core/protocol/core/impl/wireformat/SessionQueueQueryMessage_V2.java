@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.concurrent.CompletableFuture;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+
+/**
+ * A queue query answered asynchronously, through the correlation ID of a
+ * {@link SessionQueueQueryResponseMessage_V4}.
+ */
+public class SessionQueueQueryMessage_V2 extends SessionQueueQueryMessage {
+
+   private long correlationID;
+
+   private final transient CompletableFuture<ClientSession.QueueQuery> future;
+
+   public SessionQueueQueryMessage_V2(final SimpleString queueName,
+                                      final CompletableFuture<ClientSession.QueueQuery> future) {
+      super(SESS_QUEUEQUERY_V2, queueName);
+
+      this.future = future;
+   }
+
+   public SessionQueueQueryMessage_V2() {
+      super(SESS_QUEUEQUERY_V2, null);
+
+      this.future = null;
+   }
+
+   public CompletableFuture<ClientSession.QueueQuery> getFuture() {
+      return future;
+   }
+
+   @Override
+   public long getCorrelationID() {
+      return correlationID;
+   }
+
+   @Override
+   public void setCorrelationID(long correlationID) {
+      this.correlationID = correlationID;
+   }
+
+   @Override
+   public boolean isRequiresResponse() {
+      return true;
+   }
+
+   @Override
+   public boolean isResponseAsync() {
+      return true;
+   }
+
+   // a confirmation would take the query out of the response cache before its response arrives
+   @Override
+   public boolean isRequiresConfirmations() {
+      return false;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      super.encodeRest(buffer);
+      buffer.writeLong(correlationID);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      super.decodeRest(buffer);
+      correlationID = buffer.readLong();
+   }
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = super.hashCode();
+      result = prime * result + (int) (correlationID ^ (correlationID >>> 32));
+      return result;
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!super.equals(obj)) {
+         return false;
+      }
+      if (!(obj instanceof SessionQueueQueryMessage_V2 other)) {
+         return false;
+      }
+      return correlationID == other.correlationID;
+   }
+}
@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.server.QueueQueryResult;
+
+/**
+ * The response to a {@link SessionQueueQueryMessage_V2}, correlated to it instead of a blocking call.
+ */
+public class SessionQueueQueryResponseMessage_V4 extends SessionQueueQueryResponseMessage_V3 {
+
+   private long correlationID;
+
+   public SessionQueueQueryResponseMessage_V4(final QueueQueryResult result, final long correlationID) {
+      super(SESS_QUEUEQUERY_RESP_V4, result);
+
+      this.correlationID = correlationID;
+   }
+
+   public SessionQueueQueryResponseMessage_V4() {
+      super(SESS_QUEUEQUERY_RESP_V4);
+   }
+
+   @Override
+   public long getCorrelationID() {
+      return correlationID;
+   }
+
+   @Override
+   public void setCorrelationID(long correlationID) {
+      this.correlationID = correlationID;
+   }
+
+   @Override
+   public boolean isResponseAsync() {
+      return true;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      buffer.writeLong(correlationID);
+      super.encodeRest(buffer);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      correlationID = buffer.readLong();
+      super.decodeRest(buffer);
+   }
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = super.hashCode();
+      result = prime * result + (int) (correlationID ^ (correlationID >>> 32));
+      return result;
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj) {
+         return true;
+      }
+      if (!super.equals(obj)) {
+         return false;
+      }
+      if (!(obj instanceof SessionQueueQueryResponseMessage_V4 other)) {
+         return false;
+      }
+      return correlationID == other.correlationID;
+   }
+}
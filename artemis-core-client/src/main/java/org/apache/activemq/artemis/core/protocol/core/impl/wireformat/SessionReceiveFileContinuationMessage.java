@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.FileRegion;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.core.protocol.core.Channel;
+import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * A {@link SessionReceiveContinuationMessage} whose body is a region of a file, sent as a {@link FileRegion} between
+ * the {@link #encodeHeader(CoreRemotingConnection) header} and the {@link #encodeTrailer(CoreRemotingConnection) trailer}
+ * of the packet, without copying it into the heap: it can be sent only on a channel that
+ * {@link Channel#isFileRegionSupported() supports it}.
+ * <p>
+ * The encoding is the same of {@link SessionReceiveContinuationMessage}, that's what the receiving side decodes.
+ */
+public class SessionReceiveFileContinuationMessage extends SessionReceiveContinuationMessage {
+
+   private final File file;
+
+   private final long position;
+
+   private final int length;
+
+   public SessionReceiveFileContinuationMessage(final long consumerID,
+                                                final File file,
+                                                final long position,
+                                                final int length,
+                                                final boolean continues) {
+      super(consumerID, null, continues, false);
+      this.file = file;
+      this.position = position;
+      this.length = length;
+   }
+
+   public File getFile() {
+      return file;
+   }
+
+   public long getPosition() {
+      return position;
+   }
+
+   public int getLength() {
+      return length;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      return SESSION_RECEIVE_CONTINUATION_BASE_SIZE + length;
+   }
+
+   /**
+    * Encodes the packet up to the length of the body: the {@link #newFileRegion() body} and the
+    * {@link #encodeTrailer(CoreRemotingConnection) trailer} must follow.
+    */
+   public ActiveMQBuffer encodeHeader(final CoreRemotingConnection connection) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(PACKET_HEADERS_SIZE + DataConstants.SIZE_INT);
+      encodeHeader(buffer);
+      buffer.writeInt(length);
+      size = expectedEncodeSize();
+      // The length doesn't include the actual length byte
+      buffer.setInt(0, size - DataConstants.SIZE_INT);
+      return buffer;
+   }
+
+   /**
+    * The file is opened right away: the region can be written even if the file is deleted meanwhile.
+    */
+   public FileRegion newFileRegion() throws IOException {
+      final DefaultFileRegion region = new DefaultFileRegion(file, position, length);
+      region.open();
+      return region;
+   }
+
+   public ActiveMQBuffer encodeTrailer(final CoreRemotingConnection connection) {
+      final ActiveMQBuffer buffer = connection.createTransportBuffer(DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG);
+      buffer.writeBoolean(continues);
+      buffer.writeLong(getConsumerID());
+      return buffer;
+   }
+
+   /**
+    * Used if the body cannot be sent as a file region: it's read from the file into the packet.
+    */
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      buffer.writeInt(length);
+      final ByteBuffer body = ByteBuffer.allocate(length);
+      try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+         while (body.hasRemaining()) {
+            if (channel.read(body, position + body.position()) < 0) {
+               throw new IOException("Unexpected end of " + file + " reading " + length + " bytes from " + position);
+            }
+         }
+      } catch (IOException e) {
+         throw new UncheckedIOException(e);
+      }
+      buffer.writeBytes(body.array());
+      buffer.writeBoolean(continues);
+      buffer.writeLong(getConsumerID());
+   }
+
+   @Override
+   protected String getPacketString() {
+      return super.getPacketString() + ", file=" + file + ", position=" + position + ", length=" + length;
+   }
+}
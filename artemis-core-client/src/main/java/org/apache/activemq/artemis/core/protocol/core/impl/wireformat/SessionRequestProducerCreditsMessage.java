@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
 
 public class SessionRequestProducerCreditsMessage extends PacketImpl {
 
@@ -26,16 +27,29 @@ public class SessionRequestProducerCreditsMessage extends PacketImpl {
 
    private SimpleString address;
 
+   private final SimpleString.ByteBufSimpleStringPool addressPool;
+
    public SessionRequestProducerCreditsMessage(final int credits, final SimpleString address) {
       super(SESS_PRODUCER_REQUEST_CREDITS);
 
       this.credits = credits;
 
       this.address = address;
+
+      this.addressPool = null;
    }
 
    public SessionRequestProducerCreditsMessage() {
+      this(null);
+   }
+
+   /**
+    * @param addressPool if not {@code null}, the decoded address is taken from it
+    */
+   public SessionRequestProducerCreditsMessage(final SimpleString.ByteBufSimpleStringPool addressPool) {
       super(SESS_PRODUCER_REQUEST_CREDITS);
+
+      this.addressPool = addressPool;
    }
 
    public int getCredits() {
@@ -51,6 +65,11 @@ public class SessionRequestProducerCreditsMessage extends PacketImpl {
    // return false;
    // }
 
+   @Override
+   public int expectedEncodeSize() {
+      return PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + SimpleString.sizeofString(address);
+   }
+
    @Override
    public void encodeRest(final ActiveMQBuffer buffer) {
       buffer.writeInt(credits);
@@ -60,7 +79,7 @@ public class SessionRequestProducerCreditsMessage extends PacketImpl {
    @Override
    public void decodeRest(final ActiveMQBuffer buffer) {
       credits = buffer.readInt();
-      address = buffer.readSimpleString();
+      address = SimpleString.readSimpleString(buffer.byteBuf(), addressPool);
    }
 
    @Override
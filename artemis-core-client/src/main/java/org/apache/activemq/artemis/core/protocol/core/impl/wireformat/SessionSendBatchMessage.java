@@ -0,0 +1,180 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.protocol.core.impl.wireformat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.ICoreMessage;
+import org.apache.activemq.artemis.api.core.client.SendAcknowledgementHandler;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.utils.DataConstants;
+
+/**
+ * Many regular messages sent by the same producer in a single packet, routed by the server one after the other and
+ * confirmed or responded to as a whole.
+ */
+public class SessionSendBatchMessage extends PacketImpl {
+
+   private List<ICoreMessage> messages;
+
+   private boolean requiresResponse;
+
+   private long correlationID;
+
+   private int senderID;
+
+   /**
+    * This field is only used at the client side.
+    *
+    * @see SessionSendMessage#getHandler()
+    */
+   private final transient SendAcknowledgementHandler handler;
+
+   private final transient CoreMessageObjectPools coreMessageObjectPools;
+
+   public SessionSendBatchMessage(final List<ICoreMessage> messages,
+                                  final boolean requiresResponse,
+                                  final SendAcknowledgementHandler handler,
+                                  final int senderID) {
+      super(SESS_SEND_BATCH);
+      this.messages = messages;
+      this.requiresResponse = requiresResponse;
+      this.handler = handler;
+      this.senderID = senderID;
+      this.coreMessageObjectPools = null;
+   }
+
+   public SessionSendBatchMessage(final CoreMessageObjectPools coreMessageObjectPools) {
+      super(SESS_SEND_BATCH);
+      this.handler = null;
+      this.coreMessageObjectPools = coreMessageObjectPools;
+   }
+
+   public List<ICoreMessage> getMessages() {
+      return messages;
+   }
+
+   public SendAcknowledgementHandler getHandler() {
+      return handler;
+   }
+
+   public int getSenderID() {
+      return senderID;
+   }
+
+   @Override
+   public boolean isRequiresResponse() {
+      return requiresResponse;
+   }
+
+   @Override
+   public boolean isResponseAsync() {
+      return true;
+   }
+
+   @Override
+   public long getCorrelationID() {
+      return correlationID;
+   }
+
+   @Override
+   public void setCorrelationID(long correlationID) {
+      this.correlationID = correlationID;
+   }
+
+   @Override
+   public int expectedEncodeSize() {
+      int size = PACKET_HEADERS_SIZE + DataConstants.SIZE_INT + DataConstants.SIZE_BOOLEAN + DataConstants.SIZE_LONG + DataConstants.SIZE_INT;
+      for (ICoreMessage message : messages) {
+         size += DataConstants.SIZE_INT + message.getEncodeSize();
+      }
+      return size;
+   }
+
+   @Override
+   public void encodeRest(final ActiveMQBuffer buffer) {
+      final ByteBuf byteBuf = buffer.byteBuf();
+      byteBuf.writeInt(messages.size());
+      for (ICoreMessage message : messages) {
+         byteBuf.writeInt(message.getEncodeSize());
+         message.sendBuffer(byteBuf, 0);
+      }
+      buffer.writeBoolean(requiresResponse);
+      buffer.writeLong(correlationID);
+      buffer.writeInt(senderID);
+   }
+
+   @Override
+   public void decodeRest(final ActiveMQBuffer buffer) {
+      final ByteBuf byteBuf = buffer.byteBuf();
+      final int count = byteBuf.readInt();
+      messages = new ArrayList<>(count);
+      for (int i = 0; i < count; i++) {
+         final int size = byteBuf.readInt();
+         // each message owns its buffer, as the ones of SessionSendMessage do
+         final ByteBuf messageBuffer = Unpooled.buffer(size);
+         byteBuf.readBytes(messageBuffer, size);
+         final CoreMessage message = new CoreMessage(coreMessageObjectPools);
+         message.receiveBuffer(messageBuffer);
+         messages.add(message);
+      }
+      requiresResponse = buffer.readBoolean();
+      correlationID = buffer.readLong();
+      senderID = buffer.readInt();
+   }
+
+   @Override
+   public int hashCode() {
+      final int prime = 31;
+      int result = super.hashCode();
+      result = prime * result + (requiresResponse ? 1231 : 1237);
+      result = prime * result + (int) (correlationID ^ (correlationID >>> 32));
+      result = prime * result + senderID;
+      return result;
+   }
+
+   @Override
+   protected String getPacketString() {
+      StringBuilder sb = new StringBuilder(super.getPacketString());
+      sb.append(", messages=" + (messages == null ? 0 : messages.size()));
+      sb.append(", senderID=" + senderID);
+      return sb.toString();
+   }
+
+   @Override
+   public boolean equals(Object obj) {
+      if (this == obj)
+         return true;
+      if (!super.equals(obj))
+         return false;
+      if (!(obj instanceof SessionSendBatchMessage other))
+         return false;
+      if (requiresResponse != other.requiresResponse)
+         return false;
+      if (correlationID != other.correlationID)
+         return false;
+      if (senderID != other.senderID)
+         return false;
+      return true;
+   }
+}
@@ -23,7 +23,7 @@ import org.apache.activemq.artemis.core.client.ActiveMQClientLogger;
 import org.apache.activemq.artemis.utils.Env;
 
 /**
- * This class will check for Epoll or KQueue is available, and return false in case of NoClassDefFoundError
+ * This class will check for Epoll, KQueue or io_uring is available, and return false in case of NoClassDefFoundError
  * it could be improved to check for other cases eventually.
  */
 public class CheckDependencies {
@@ -51,4 +51,16 @@ public class CheckDependencies {
          return false;
       }
    }
+
+   public static final boolean isIoUringAvailable() {
+      try {
+         return Env.isLinuxOs() && IoUringTransport.isAvailable();
+      } catch (ClassNotFoundException | NoClassDefFoundError noClassDefFoundError) {
+         ActiveMQClientLogger.LOGGER.unableToCheckIoUringAvailabilityNoClass();
+         return false;
+      } catch (Throwable e) {
+         ActiveMQClientLogger.LOGGER.unableToCheckIoUringAvailability(e);
+         return false;
+      }
+   }
 }
@@ -0,0 +1,86 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.remoting.impl.netty;
+
+import java.util.concurrent.ThreadFactory;
+
+import io.netty.channel.Channel;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.ServerChannel;
+
+/**
+ * The io_uring transport of Netty 4.1 is shipped by the {@code netty-incubator-transport-native-io_uring} artifact,
+ * which isn't a dependency of the broker: it is loaded by name, if it's on the classpath.
+ */
+public final class IoUringTransport {
+
+   private static final String PACKAGE = "io.netty.incubator.channel.uring.";
+
+   static final String IO_URING = PACKAGE + "IOUring";
+
+   static final String EVENT_LOOP_GROUP = PACKAGE + "IOUringEventLoopGroup";
+
+   static final String SOCKET_CHANNEL = PACKAGE + "IOUringSocketChannel";
+
+   static final String SERVER_SOCKET_CHANNEL = PACKAGE + "IOUringServerSocketChannel";
+
+   private IoUringTransport() {
+   }
+
+   /**
+    * @throws ClassNotFoundException if the io_uring transport is not on the classpath
+    */
+   static boolean isAvailable() throws Exception {
+      return (Boolean) loadClass(IO_URING).getMethod("isAvailable").invoke(null);
+   }
+
+   public static EventLoopGroup newEventLoopGroup(int threads) {
+      try {
+         return (EventLoopGroup) loadClass(EVENT_LOOP_GROUP).getConstructor(int.class).newInstance(threads);
+      } catch (ReflectiveOperationException e) {
+         throw new IllegalStateException("Unable to create an io_uring event loop group", e);
+      }
+   }
+
+   public static EventLoopGroup newEventLoopGroup(int threads, ThreadFactory threadFactory) {
+      try {
+         return (EventLoopGroup) loadClass(EVENT_LOOP_GROUP).getConstructor(int.class, ThreadFactory.class).newInstance(threads, threadFactory);
+      } catch (ReflectiveOperationException e) {
+         throw new IllegalStateException("Unable to create an io_uring event loop group", e);
+      }
+   }
+
+   public static Class<? extends Channel> socketChannelClass() {
+      return loadChannelClass(SOCKET_CHANNEL, Channel.class);
+   }
+
+   public static Class<? extends ServerChannel> serverSocketChannelClass() {
+      return loadChannelClass(SERVER_SOCKET_CHANNEL, ServerChannel.class);
+   }
+
+   private static <T extends Channel> Class<? extends T> loadChannelClass(String name, Class<T> type) {
+      try {
+         return loadClass(name).asSubclass(type);
+      } catch (ClassNotFoundException e) {
+         throw new IllegalStateException("Unable to load " + name, e);
+      }
+   }
+
+   private static Class<?> loadClass(String name) throws ClassNotFoundException {
+      return Class.forName(name, true, IoUringTransport.class.getClassLoader());
+   }
+}
@@ -20,16 +20,25 @@ import java.net.SocketAddress;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 import java.util.concurrent.locks.LockSupport;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.Channel;
 import io.netty.channel.ChannelFuture;
 import io.netty.channel.ChannelFutureListener;
+import io.netty.channel.ChannelHandler;
+import io.netty.channel.ChannelOutboundHandler;
 import io.netty.channel.ChannelOutboundBuffer;
 import io.netty.channel.ChannelPromise;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.kqueue.KQueueSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.util.concurrent.FastThreadLocal;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQInterruptedException;
@@ -69,6 +78,38 @@ public class NettyConnection implements Connection {
 
    private final boolean batchingEnabled;
 
+   /**
+    * if {@code true} the writes issued while the event loop is busy are flushed all together once it gets to them,
+    * see {@link #coalesceWrite}.
+    */
+   private final boolean coalesceFlushes;
+
+   private static final AtomicLongFieldUpdater<NettyConnection> FLUSH_STATE_UPDATER = AtomicLongFieldUpdater.newUpdater(NettyConnection.class, "flushState");
+
+   private static final long FLUSH_IDLE = 0;
+   private static final long FLUSH_SUBMITTING = 1;
+   private static final long FLUSH_SUBMITTED = 2;
+   private static final long FLUSH_PHASE_MASK = 3;
+
+   // the phase of flushCoalescedWrites in the lowest 2 bits, the number of times it was submitted in the others
+   private volatile long flushState;
+
+   // writes issued outside of the event loop, waiting for flushCoalescedWrites
+   private final ConcurrentLinkedQueue<CoalescedWrite> coalescedWrites;
+
+   private static final AtomicLongFieldUpdater<NettyConnection> QUEUED_BYTES_UPDATER = AtomicLongFieldUpdater.newUpdater(NettyConnection.class, "queuedBytes");
+
+   // the bytes of coalescedWrites, bounded by the write buffer high water mark of the channel
+   private volatile long queuedBytes;
+
+   private final Runnable flushCoalescedWrites = this::flushCoalescedWrites;
+
+   // updated by the event loop only
+   private volatile long coalescedWriteCount;
+   private volatile long coalescedBytes;
+   private volatile long coalescedFlushCount;
+   private volatile long fileRegionCount;
+
    private boolean closed;
    private RemotingConnection protocolConnection;
 
@@ -90,6 +131,10 @@ public class NettyConnection implements Connection {
       this.directDeliver = directDeliver;
 
       this.batchingEnabled = batchingEnabled;
+
+      this.coalesceFlushes = ConfigurationHelper.getBooleanProperty(TransportConstants.COALESCE_FLUSHES, TransportConstants.DEFAULT_COALESCE_FLUSHES, configuration);
+
+      this.coalescedWrites = coalesceFlushes ? new ConcurrentLinkedQueue<>() : null;
    }
 
    @Override
@@ -242,6 +287,10 @@ public class NettyConnection implements Connection {
 
       closed = true;
 
+      if (coalesceFlushes) {
+         logger.debug("Connection {} flushed {} writes and {} bytes with {} coalesced flushes", this, coalescedWriteCount, coalescedBytes, coalescedFlushCount);
+      }
+
       listener.connectionDestroyed(getID(), false);
    }
 
@@ -283,7 +332,9 @@ public class NettyConnection implements Connection {
    public void write(ActiveMQBuffer buffer, boolean requestFlush) {
       final Channel channel = this.channel;
       final ByteBuf bytes = buffer.byteBuf();
-      if (requestFlush) {
+      if (requestFlush && coalesceFlushes) {
+         coalesceWrite(bytes, channel.voidPromise());
+      } else if (requestFlush) {
          channel.writeAndFlush(bytes, channel.voidPromise());
       } else {
          channel.write(bytes, channel.voidPromise());
@@ -371,6 +422,8 @@ public class NettyConnection implements Connection {
       final boolean batchingEnabled = this.batchingEnabled;
       if (batchingEnabled && batched && !flush && channel.isWritable()) {
          future = channel.write(bytes, promise);
+      } else if (coalesceFlushes && !flush) {
+         future = coalesceWrite(bytes, promise);
       } else {
          future = channel.writeAndFlush(bytes, promise);
       }
@@ -383,6 +436,190 @@ public class NettyConnection implements Connection {
       }
    }
 
+   /**
+    * File regions are sent with {@code sendfile} by the NIO, epoll and kqueue socket channels (not by io_uring), but
+    * they cannot go through any handler encoding or wrapping the outgoing bytes, e.g. SSL or websockets.
+    */
+   @Override
+   public boolean isFileRegionSupported() {
+      final Channel channel = this.channel;
+      if (!(channel instanceof NioSocketChannel || channel instanceof EpollSocketChannel || channel instanceof KQueueSocketChannel)) {
+         return false;
+      }
+      for (Map.Entry<String, ChannelHandler> entry : channel.pipeline()) {
+         final ChannelHandler handler = entry.getValue();
+         if (handler instanceof ChannelOutboundHandler && !(handler instanceof ActiveMQChannelHandler)) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   @Override
+   public void write(ActiveMQBuffer header, FileRegion region, ActiveMQBuffer trailer) {
+      final Channel channel = this.channel;
+      final EventLoop eventLoop = channel.eventLoop();
+      // the 3 writes cannot be interleaved with the ones of other threads
+      if (eventLoop.inEventLoop()) {
+         writeFileRegion(channel, header.byteBuf(), region, trailer.byteBuf());
+      } else {
+         try {
+            eventLoop.execute(() -> writeFileRegion(channel, header.byteBuf(), region, trailer.byteBuf()));
+         } catch (RejectedExecutionException e) {
+            // the event loop is shutting down: the channel is going to be closed anyway
+            header.byteBuf().release();
+            region.release();
+            trailer.byteBuf().release();
+         }
+      }
+   }
+
+   private void writeFileRegion(Channel channel, ByteBuf header, FileRegion region, ByteBuf trailer) {
+      fileRegionCount++;
+      channel.write(header, channel.voidPromise());
+      channel.write(region, channel.voidPromise());
+      channel.writeAndFlush(trailer, channel.voidPromise());
+   }
+
+   /**
+    * Writes {@code bytes} and makes sure they are flushed once the event loop is done with the task it is running
+    * and with the ones queued before this write: any write issued meanwhile, e.g. the deliveries of an ordered executor
+    * task, is flushed at the same time.
+    * <p>
+    * Writes issued outside of the event loop are queued here instead of submitting a write task each to the event
+    * loop: the order of the writes issued by the same thread doesn't change, because this method doesn't return before
+    * the task writing the queued ones is submitted, so any other write of the thread is submitted after it.
+    * <p>
+    * Netty doesn't know about the queued writes, so they don't count against the writability of the channel: once the
+    * queued bytes reach the write buffer high water mark, the writes are submitted to the event loop as usual instead,
+    * making the channel not writable if the event loop cannot keep up.
+    */
+   private ChannelFuture coalesceWrite(final ByteBuf bytes, final ChannelPromise promise) {
+      final Channel channel = this.channel;
+      final EventLoop eventLoop = channel.eventLoop();
+      final boolean inEventLoop = eventLoop.inEventLoop();
+      final ChannelFuture future;
+      if (inEventLoop) {
+         coalescedWriteCount++;
+         coalescedBytes += bytes.readableBytes();
+         future = channel.write(bytes, promise);
+      } else {
+         final int size = bytes.readableBytes();
+         if (QUEUED_BYTES_UPDATER.addAndGet(this, size) > channel.config().getWriteBufferHighWaterMark()) {
+            QUEUED_BYTES_UPDATER.addAndGet(this, -size);
+            // the flush of the writes queued before is already submitted
+            return channel.writeAndFlush(bytes, promise);
+         }
+         coalescedWrites.add(new CoalescedWrite(bytes, promise));
+         future = promise;
+      }
+      submitFlush(eventLoop, inEventLoop);
+      return future;
+   }
+
+   /**
+    * Makes sure flushCoalescedWrites is submitted to the event loop after the last write, unless it is already.
+    */
+   private void submitFlush(final EventLoop eventLoop, final boolean inEventLoop) {
+      long state;
+      while (((state = flushState) & FLUSH_PHASE_MASK) != FLUSH_SUBMITTED) {
+         if ((state & FLUSH_PHASE_MASK) == FLUSH_IDLE) {
+            // counting the submissions prevents a submitter from mistaking a later submission for its own
+            final long submitting = ((state & ~FLUSH_PHASE_MASK) + FLUSH_PHASE_MASK + 1) | FLUSH_SUBMITTING;
+            if (FLUSH_STATE_UPDATER.compareAndSet(this, state, submitting)) {
+               try {
+                  eventLoop.execute(flushCoalescedWrites);
+                  // unless flushCoalescedWrites is already running
+                  FLUSH_STATE_UPDATER.compareAndSet(this, submitting, (submitting & ~FLUSH_PHASE_MASK) | FLUSH_SUBMITTED);
+               } catch (RejectedExecutionException e) {
+                  // the event loop is shutting down: the channel is going to be closed anyway
+                  FLUSH_STATE_UPDATER.compareAndSet(this, submitting, submitting & ~FLUSH_PHASE_MASK);
+                  CoalescedWrite write;
+                  while ((write = coalescedWrites.poll()) != null) {
+                     QUEUED_BYTES_UPDATER.addAndGet(this, -write.bytes.readableBytes());
+                     write.bytes.release();
+                     write.promise.tryFailure(e);
+                  }
+               }
+               return;
+            }
+         } else if (inEventLoop) {
+            // the write is already on the channel, and the flush being submitted runs after the current task
+            return;
+         } else {
+            // another thread is submitting the flush: the next writes of this thread must not be submitted before it
+            Thread.onSpinWait();
+         }
+      }
+   }
+
+   private void flushCoalescedWrites() {
+      // any write coming after this submits another flush
+      FLUSH_STATE_UPDATER.getAndUpdate(this, state -> state & ~FLUSH_PHASE_MASK);
+      final Channel channel = this.channel;
+      // flush every high water mark bytes to bound the latency and the memory used by a large burst of writes
+      final int maxUnflushedBytes = channel.config().getWriteBufferHighWaterMark();
+      int unflushedBytes = 0;
+      CoalescedWrite write;
+      while ((write = coalescedWrites.poll()) != null) {
+         final int bytes = write.bytes.readableBytes();
+         QUEUED_BYTES_UPDATER.addAndGet(this, -bytes);
+         coalescedWriteCount++;
+         coalescedBytes += bytes;
+         channel.write(write.bytes, write.promise);
+         unflushedBytes += bytes;
+         if (unflushedBytes >= maxUnflushedBytes) {
+            coalescedFlushCount++;
+            channel.flush();
+            unflushedBytes = 0;
+         }
+      }
+      coalescedFlushCount++;
+      channel.flush();
+   }
+
+   /**
+    * @return the number of writes flushed by {@link TransportConstants#COALESCE_FLUSHES flush coalescing}
+    */
+   public final long getCoalescedWriteCount() {
+      return coalescedWriteCount;
+   }
+
+   /**
+    * @return the number of bytes flushed by {@link TransportConstants#COALESCE_FLUSHES flush coalescing}
+    */
+   public final long getCoalescedBytes() {
+      return coalescedBytes;
+   }
+
+   /**
+    * {@link #getCoalescedWriteCount()} and {@link #getCoalescedBytes()} divided by this are the average writes and
+    * bytes per flush.
+    *
+    * @return the number of flushes performed by {@link TransportConstants#COALESCE_FLUSHES flush coalescing}
+    */
+   public final long getCoalescedFlushCount() {
+      return coalescedFlushCount;
+   }
+
+   /**
+    * @return the number of {@link #write(ActiveMQBuffer, FileRegion, ActiveMQBuffer) file regions written}
+    */
+   public final long getFileRegionCount() {
+      return fileRegionCount;
+   }
+
+   private static final class CoalescedWrite {
+
+      final ByteBuf bytes;
+      final ChannelPromise promise;
+
+      CoalescedWrite(ByteBuf bytes, ChannelPromise promise) {
+         this.bytes = bytes;
+         this.promise = promise;
+      }
+   }
+
    private static void flushAndWait(final Channel channel, final ChannelPromise promise) {
       if (!channel.eventLoop().inEventLoop()) {
          waitFor(promise, DEFAULT_WAIT_MILLIS);
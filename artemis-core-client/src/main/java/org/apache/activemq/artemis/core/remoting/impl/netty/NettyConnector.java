@@ -137,6 +137,7 @@ public class NettyConnector extends AbstractConnector {
    public static String NIO_CONNECTOR_TYPE = "NIO";
    public static String EPOLL_CONNECTOR_TYPE = "EPOLL";
    public static String KQUEUE_CONNECTOR_TYPE = "KQUEUE";
+   public static String IO_URING_CONNECTOR_TYPE = "IO_URING";
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
@@ -295,6 +296,8 @@ public class NettyConnector extends AbstractConnector {
 
    private boolean useKQueue;
 
+   private boolean useIoUring;
+
    private int remotingThreads;
 
    private boolean useGlobalWorkerPool;
@@ -404,6 +407,7 @@ public class NettyConnector extends AbstractConnector {
 
       useEpoll = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_EPOLL_PROP_NAME, TransportConstants.DEFAULT_USE_EPOLL, configuration);
       useKQueue = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_KQUEUE_PROP_NAME, TransportConstants.DEFAULT_USE_KQUEUE, configuration);
+      useIoUring = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_IO_URING_PROP_NAME, TransportConstants.DEFAULT_USE_IO_URING, configuration);
 
       useServlet = ConfigurationHelper.getBooleanProperty(TransportConstants.USE_SERVLET_PROP_NAME, TransportConstants.DEFAULT_USE_SERVLET, configuration);
       host = ConfigurationHelper.getStringProperty(TransportConstants.HOST_PROP_NAME, TransportConstants.DEFAULT_HOST, configuration);
@@ -535,7 +539,16 @@ public class NettyConnector extends AbstractConnector {
 
       String connectorType;
 
-      if (useEpoll && CheckDependencies.isEpollAvailable()) {
+      if (useIoUring && CheckDependencies.isIoUringAvailable()) {
+         if (useGlobalWorkerPool) {
+            group = SharedEventLoopGroup.getInstance((threadFactory -> IoUringTransport.newEventLoopGroup(remotingThreads, threadFactory)));
+         } else {
+            group = IoUringTransport.newEventLoopGroup(remotingThreads);
+         }
+         connectorType = IO_URING_CONNECTOR_TYPE;
+         channelClazz = IoUringTransport.socketChannelClass();
+         logger.debug("Connector {} using native io_uring", this);
+      } else if (useEpoll && CheckDependencies.isEpollAvailable()) {
          if (useGlobalWorkerPool) {
             group = SharedEventLoopGroup.getInstance((threadFactory -> new EpollEventLoopGroup(remotingThreads, threadFactory)));
          } else {
@@ -68,6 +68,8 @@ public class TransportConstants {
 
    public static final String USE_KQUEUE_PROP_NAME = "useKQueue";
 
+   public static final String USE_IO_URING_PROP_NAME = "useIoUring";
+
    @Deprecated
    /**
     * @deprecated Use USE_GLOBAL_WORKER_POOL_PROP_NAME
@@ -176,6 +178,8 @@ public class TransportConstants {
 
    public static final String DIRECT_DELIVER = "directDeliver";
 
+   public static final String COALESCE_FLUSHES = "coalesceFlushes";
+
    public static final String CLUSTER_CONNECTION = "clusterConnection";
 
    @Deprecated
@@ -213,6 +217,8 @@ public class TransportConstants {
 
    public static final boolean DEFAULT_USE_KQUEUE = true;
 
+   public static final boolean DEFAULT_USE_IO_URING = false;
+
    public static final boolean DEFAULT_USE_INVM = false;
 
    public static final boolean DEFAULT_USE_SERVLET = false;
@@ -303,6 +309,8 @@ public class TransportConstants {
 
    public static final boolean DEFAULT_DIRECT_DELIVER = true;
 
+   public static final boolean DEFAULT_COALESCE_FLUSHES = false;
+
    public static final Set<String> ALLOWABLE_CONNECTOR_KEYS;
 
    public static final Set<String> ALLOWABLE_ACCEPTOR_KEYS;
@@ -418,6 +426,7 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.USE_NIO_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_EPOLL_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_KQUEUE_PROP_NAME);
+      allowableAcceptorKeys.add(TransportConstants.USE_IO_URING_PROP_NAME);
       allowableAcceptorKeys.add(TransportConstants.USE_INVM_PROP_NAME);
       //noinspection deprecation
       allowableAcceptorKeys.add(TransportConstants.PROTOCOL_PROP_NAME);
@@ -449,6 +458,7 @@ public class TransportConstants {
       allowableAcceptorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableAcceptorKeys.add(TransportConstants.BATCH_DELAY);
       allowableAcceptorKeys.add(TransportConstants.DIRECT_DELIVER);
+      allowableAcceptorKeys.add(TransportConstants.COALESCE_FLUSHES);
       allowableAcceptorKeys.add(TransportConstants.CLUSTER_CONNECTION);
       allowableAcceptorKeys.add(TransportConstants.STOMP_CONSUMERS_CREDIT);
       allowableAcceptorKeys.add(TransportConstants.STOMP_CONSUMER_WINDOW_SIZE);
@@ -493,6 +503,7 @@ public class TransportConstants {
       allowableConnectorKeys.add(TransportConstants.USE_NIO_GLOBAL_WORKER_POOL_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.USE_EPOLL_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.USE_KQUEUE_PROP_NAME);
+      allowableConnectorKeys.add(TransportConstants.USE_IO_URING_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.USE_GLOBAL_WORKER_POOL_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.HOST_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PORT_PROP_NAME);
@@ -521,6 +532,7 @@ public class TransportConstants {
       allowableConnectorKeys.add(TransportConstants.NIO_REMOTING_THREADS_PROPNAME);
       allowableConnectorKeys.add(TransportConstants.REMOTING_THREADS_PROPNAME);
       allowableConnectorKeys.add(TransportConstants.BATCH_DELAY);
+      allowableConnectorKeys.add(TransportConstants.COALESCE_FLUSHES);
       allowableConnectorKeys.add(TransportConstants.PROXY_ENABLED_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PROXY_HOST_PROP_NAME);
       allowableConnectorKeys.add(TransportConstants.PROXY_PORT_PROP_NAME);
@@ -61,6 +61,13 @@ public interface ClientProtocolManager {
 
    void ping(long connectionTTL);
 
+   /**
+    * @return the round trip of the latest ping answered by the server, in nanoseconds, or 0 if unknown
+    */
+   default long getPingRoundTripNanos() {
+      return 0;
+   }
+
    SessionContext createSessionContext(String name,
                                        String username,
                                        String password,
@@ -20,6 +20,7 @@ import java.util.concurrent.TimeUnit;
 
 import io.netty.channel.ChannelFutureListener;
 import io.netty.channel.EventLoop;
+import io.netty.channel.FileRegion;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.security.ActiveMQPrincipal;
@@ -119,6 +120,26 @@ public interface Connection {
     */
    void write(ActiveMQBuffer buffer);
 
+   /**
+    * @return {@code true} if {@link #write(ActiveMQBuffer, FileRegion, ActiveMQBuffer)} is supported
+    */
+   default boolean isFileRegionSupported() {
+      return false;
+   }
+
+   /**
+    * writes the header, the file region and the trailer to the connection, one right after the other, and request to
+    * flush them into the wire: if the transport allows it, the region is sent without copying it into the user space.
+    *
+    * @param header  the buffer to write before the region
+    * @param region  the file region to write
+    * @param trailer the buffer to write after the region
+    * @throws UnsupportedOperationException if {@link #isFileRegionSupported()} is {@code false}
+    */
+   default void write(ActiveMQBuffer header, FileRegion region, ActiveMQBuffer trailer) {
+      throw new UnsupportedOperationException();
+   }
+
    /**
     * This should close the internal channel without calling any listeners.
     * This is to avoid a situation where the broker is busy writing on an internal thread.
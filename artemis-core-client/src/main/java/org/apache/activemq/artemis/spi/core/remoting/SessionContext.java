@@ -19,8 +19,10 @@ package org.apache.activemq.artemis.spi.core.remoting;
 import javax.transaction.xa.XAException;
 import javax.transaction.xa.Xid;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.Executor;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -146,6 +148,15 @@ public abstract class SessionContext {
                                         SimpleString defaultAddress,
                                         int senderID) throws ActiveMQException;
 
+   /**
+    * Sends many regular messages of the same producer at once, in a single packet if the server supports it.
+    */
+   public abstract void sendFullMessages(List<ICoreMessage> msgs,
+                                         boolean sendBlocking,
+                                         SendAcknowledgementHandler handler,
+                                         SimpleString defaultAddress,
+                                         int senderID) throws ActiveMQException;
+
    /**
     * it should return the number of credits (or bytes) used to send this packet
     *
@@ -277,6 +288,11 @@ public abstract class SessionContext {
 
    public abstract ClientSession.QueueQuery queueQuery(SimpleString queueName) throws ActiveMQException;
 
+   /**
+    * Queries a queue without waiting for the response when the server supports it, blocking otherwise.
+    */
+   public abstract CompletableFuture<ClientSession.QueueQuery> queueQueryAsync(SimpleString queueName);
+
    public abstract void forceDelivery(ClientConsumer consumer, long sequence) throws ActiveMQException;
 
    public abstract ClientSession.AddressQuery addressQuery(SimpleString address) throws ActiveMQException;
@@ -285,6 +301,11 @@ public abstract class SessionContext {
 
    public abstract void simpleCommit(boolean block) throws ActiveMQException;
 
+   /**
+    * Commits without waiting for the response when the server supports it, blocking otherwise.
+    */
+   public abstract CompletableFuture<Void> commitAsync();
+
 
    /**
     * If we are doing a simple rollback on the RA, we need to ack the last message sent to the consumer,
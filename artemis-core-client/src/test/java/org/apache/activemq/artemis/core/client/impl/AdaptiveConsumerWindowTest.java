@@ -0,0 +1,130 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.client.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+public class AdaptiveConsumerWindowTest {
+
+   private static final long ROUND_TRIP = TimeUnit.MILLISECONDS.toNanos(1);
+
+   private long now = 1;
+
+   private void consume(AdaptiveConsumerWindow window, int messages, int bytes, long processingNanos) {
+      for (int i = 0; i < messages; i++) {
+         window.consuming(bytes);
+         now += processingNanos;
+         window.consumed();
+      }
+   }
+
+   @Test
+   public void testBounds() {
+      assertEquals(1024, new AdaptiveConsumerWindow(100, 1024, 4096, ROUND_TRIP, () -> now).getWindowSize());
+      assertEquals(4096, new AdaptiveConsumerWindow(8192, 1024, 4096, ROUND_TRIP, () -> now).getWindowSize());
+      assertEquals(1, new AdaptiveConsumerWindow(8192, -1, -1, ROUND_TRIP, () -> now).getWindowSize());
+      assertEquals(1, new AdaptiveConsumerWindow(8192, -1, 1, ROUND_TRIP, () -> now).getCreditsThreshold());
+   }
+
+   @Test
+   public void testUnmeasuredKeepsWindow() {
+      AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(64 * 1024, 1024, 1024 * 1024, ROUND_TRIP, () -> now);
+      assertEquals(1000, window.resize(1000));
+      assertEquals(64 * 1024, window.getWindowSize());
+   }
+
+   @Test
+   public void testUnknownRoundTrip() {
+      AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(64 * 1024, 1024, 1024 * 1024, 0, () -> now);
+
+      // the processing time alone doesn't tell how many bytes a round trip is worth
+      consume(window, 1, 100, TimeUnit.MILLISECONDS.toNanos(10));
+      assertEquals(100, window.resize(100));
+      assertEquals(64 * 1024, window.getWindowSize());
+
+      // the server ran out of credits: the first round trip is taken as it is
+      window.delivered(64 * 1024);
+      window.creditsSent(1024);
+      now += ROUND_TRIP;
+      window.delivered(1024);
+      assertEquals(ROUND_TRIP, window.getRoundTripNanos());
+
+      consume(window, 1, 100, TimeUnit.MILLISECONDS.toNanos(10));
+      window.resize(100);
+      assertEquals(1024, window.getWindowSize());
+   }
+
+   @Test
+   public void testSlowConsumerShrinks() {
+      AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(1024 * 1024, 1024, 4 * 1024 * 1024, ROUND_TRIP, () -> now);
+
+      // 10 ms to process 100 bytes: a round trip is worth 10 bytes
+      consume(window, 1, 100, TimeUnit.MILLISECONDS.toNanos(10));
+
+      final int credits = window.resize(100);
+      assertEquals(1024, window.getWindowSize());
+      assertEquals(512, window.getCreditsThreshold());
+      // the consumer owes the credits the window shrank by
+      assertEquals(100 + 1024 - 1024 * 1024, credits);
+   }
+
+   @Test
+   public void testFastConsumerGrows() {
+      AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(64 * 1024, 1024, 1024 * 1024, ROUND_TRIP, () -> now);
+
+      // 1 us to process 1000 bytes: a round trip is worth 2 MB, but the window grows by the consumed credits
+      consume(window, 1, 1000, 1000);
+      assertEquals(2000, window.resize(1000));
+      assertEquals(64 * 1024 + 1000, window.getWindowSize());
+
+      for (int i = 0; i < 1000; i++) {
+         consume(window, 1, 1000, 1000);
+         assertTrue(window.resize(1000) >= 1000);
+      }
+      assertEquals(1024 * 1024, window.getWindowSize());
+   }
+
+   @Test
+   public void testRoundTrip() {
+      AdaptiveConsumerWindow window = new AdaptiveConsumerWindow(64 * 1024, 1024, 1024 * 1024, ROUND_TRIP, () -> now);
+
+      // the server has credits left: the next message doesn't tell the round trip
+      window.creditsSent(1024);
+      now += TimeUnit.MILLISECONDS.toNanos(5);
+      window.delivered(1024);
+      assertEquals(ROUND_TRIP, window.getRoundTripNanos());
+
+      // the server ran out of credits
+      window.delivered(65 * 1024);
+      window.creditsSent(1024);
+      now += TimeUnit.MILLISECONDS.toNanos(2);
+      window.delivered(1024);
+      final long roundTrip = ROUND_TRIP + (2 * ROUND_TRIP - ROUND_TRIP) / 8;
+      assertEquals(roundTrip, window.getRoundTripNanos());
+
+      // a long wait, e.g. for the queue to be refilled, counts as 4 round trips at most
+      window.creditsSent(1024);
+      now += TimeUnit.SECONDS.toNanos(10);
+      window.delivered(1024);
+      assertEquals(roundTrip + (4 * roundTrip - roundTrip) / 8, window.getRoundTripNanos());
+   }
+}
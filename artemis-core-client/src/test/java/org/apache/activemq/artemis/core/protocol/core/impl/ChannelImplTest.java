@@ -17,7 +17,11 @@
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import io.netty.buffer.Unpooled;
@@ -27,9 +31,11 @@ import org.apache.activemq.artemis.core.protocol.core.CoreRemotingConnection;
 import org.apache.activemq.artemis.core.protocol.core.Packet;
 import org.apache.activemq.artemis.core.protocol.core.ResponseHandler;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.PacketsConfirmedMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
 import org.mockito.Mockito;
 
 public class ChannelImplTest {
@@ -97,4 +103,55 @@ public class ChannelImplTest {
 
       assertEquals(0, channel.getCache().size());
    }
-}
\ No newline at end of file
+
+   @Test
+   public void testConcurrentSendsWithoutConfirmationWindow() throws Exception {
+      final int threads = 4;
+      final int sends = 1000;
+      final AtomicInteger written = new AtomicInteger();
+      final ChannelImpl channel = newChannel(-1, written);
+
+      final CountDownLatch done = new CountDownLatch(threads);
+      for (int t = 0; t < threads; t++) {
+         new Thread(() -> {
+            for (int i = 0; i < sends; i++) {
+               channel.send(new SessionConsumerFlowCreditMessage(i, 1));
+            }
+            done.countDown();
+         }).start();
+      }
+
+      assertTrue(done.await(30, TimeUnit.SECONDS));
+      assertEquals(threads * sends, written.get());
+   }
+
+   @Test
+   public void testSendWaitsForFailOverWithoutConfirmationWindow() throws Exception {
+      final AtomicInteger written = new AtomicInteger();
+      final ChannelImpl channel = newChannel(-1, written);
+
+      channel.lock();
+      final CountDownLatch sent = new CountDownLatch(1);
+      new Thread(() -> {
+         channel.send(new SessionConsumerFlowCreditMessage(1, 1));
+         sent.countDown();
+      }).start();
+
+      assertFalse(sent.await(100, TimeUnit.MILLISECONDS));
+      assertEquals(0, written.get());
+
+      channel.unlock();
+      assertTrue(sent.await(10, TimeUnit.SECONDS));
+      assertEquals(1, written.get());
+   }
+
+   private static ChannelImpl newChannel(int confWindowSize, AtomicInteger written) {
+      CoreRemotingConnection coreRC = Mockito.mock(CoreRemotingConnection.class);
+      Mockito.when(coreRC.createTransportBuffer(ArgumentMatchers.anyInt())).thenAnswer(invocation -> new ChannelBufferWrapper(Unpooled.buffer(invocation.getArgument(0))));
+      Mockito.when(coreRC.getBlockingCallFailoverTimeout()).thenReturn(-1L);
+      Connection connection = Mockito.mock(Connection.class);
+      Mockito.doAnswer(invocation -> written.incrementAndGet()).when(connection).write(ArgumentMatchers.any(), ArgumentMatchers.anyBoolean(), ArgumentMatchers.anyBoolean());
+      Mockito.when(coreRC.getTransportConnection()).thenReturn(connection);
+      return new ChannelImpl(coreRC, 1, confWindowSize, null);
+   }
+}
@@ -19,6 +19,8 @@ package org.apache.activemq.artemis.message;
 import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -391,6 +393,70 @@ public class CoreMessageTest {
       assertEquals(copy.getEncodeSize(), copy.getBuffer().capacity());
    }
 
+   @Test
+   public void testGetPropertyForFilterWithoutDecoding() {
+      final CoreMessage msg = new CoreMessage(1, 100);
+      msg.setAddress(ADDRESS);
+      msg.putIntProperty("int", 10);
+      msg.putLongProperty("long", 11L);
+      msg.putDoubleProperty("double", 12.5);
+      msg.putBooleanProperty("boolean", true);
+      msg.putBytesProperty("bytes", new byte[]{1, 2});
+      msg.putStringProperty("string", "value");
+      msg.putStringProperty("null", (String) null);
+      msg.setGroupID("group");
+      final ByteBuf buffer = Unpooled.buffer(msg.getEncodeSize());
+      msg.sendBuffer(buffer, 0);
+
+      final CoreMessage received = new CoreMessage() {
+         @Override
+         public String toString() {
+            return properties == null ? "not decoded" : "decoded";
+         }
+      };
+      received.receiveBuffer(buffer);
+      assertEquals(10, received.getObjectPropertyForFilter(SimpleString.of("int")));
+      assertEquals(11L, received.getObjectPropertyForFilter(SimpleString.of("long")));
+      assertEquals(12.5, received.getObjectPropertyForFilter(SimpleString.of("double")));
+      assertEquals(true, received.getObjectPropertyForFilter(SimpleString.of("boolean")));
+      assertArrayEquals(new byte[]{1, 2}, (byte[]) received.getObjectPropertyForFilter(SimpleString.of("bytes")));
+      assertEquals(SimpleString.of("value"), received.getObjectPropertyForFilter(SimpleString.of("string")));
+      assertNull(received.getObjectPropertyForFilter(SimpleString.of("null")));
+      assertNull(received.getObjectPropertyForFilter(SimpleString.of("missing")));
+      assertEquals("not decoded", received.toString());
+      // the same property is read over and over by filters
+      assertSame(received.getObjectPropertyForFilter(SimpleString.of("string")), received.getObjectPropertyForFilter(SimpleString.of("string")));
+
+      // a group is read over and over too, so the properties are decoded once
+      assertEquals(SimpleString.of("group"), received.getGroupID());
+      assertEquals("decoded", received.toString());
+
+      received.putIntProperty("int", 20);
+      assertEquals("decoded", received.toString());
+      assertEquals(20, received.getObjectPropertyForFilter(SimpleString.of("int")));
+      assertEquals(SimpleString.of("group"), received.getGroupID());
+   }
+
+   @Test
+   public void testGetGroupIDWithoutGroupWithoutDecoding() {
+      final CoreMessage msg = new CoreMessage(1, 100);
+      msg.setAddress(ADDRESS);
+      msg.putStringProperty("string", "value");
+      final ByteBuf buffer = Unpooled.buffer(msg.getEncodeSize());
+      msg.sendBuffer(buffer, 0);
+
+      final CoreMessage received = new CoreMessage() {
+         @Override
+         public String toString() {
+            return properties == null ? "not decoded" : "decoded";
+         }
+      };
+      received.receiveBuffer(buffer);
+      assertNull(received.getGroupID());
+      assertNull(received.getGroupID());
+      assertEquals("not decoded", received.toString());
+   }
+
    private void printVariable(String body, String encode) {
       System.out.println("// body = \"" + body + "\";");
       System.out.println("private final String STRING_ENCODE = \"" + encode + "\";");
@@ -595,6 +595,15 @@ public class ActiveMQConnectionFactory extends JNDIStorable implements Connectio
       return serverLocator.getUseTopologyForLoadBalancing();
    }
 
+   public synchronized int getSessionFactoriesPerConnection() {
+      return serverLocator.getSessionFactoriesPerConnection();
+   }
+
+   public synchronized void setSessionFactoriesPerConnection(final int sessionFactoriesPerConnection) {
+      checkWrite();
+      serverLocator.setSessionFactoriesPerConnection(sessionFactoriesPerConnection);
+   }
+
    public synchronized int getConsumerWindowSize() {
       return serverLocator.getConsumerWindowSize();
    }
@@ -604,6 +613,24 @@ public class ActiveMQConnectionFactory extends JNDIStorable implements Connectio
       serverLocator.setConsumerWindowSize(consumerWindowSize);
    }
 
+   public synchronized int getConsumerMinWindowSize() {
+      return serverLocator.getConsumerMinWindowSize();
+   }
+
+   public synchronized void setConsumerMinWindowSize(final int consumerMinWindowSize) {
+      checkWrite();
+      serverLocator.setConsumerMinWindowSize(consumerMinWindowSize);
+   }
+
+   public synchronized int getConsumerMaxWindowSize() {
+      return serverLocator.getConsumerMaxWindowSize();
+   }
+
+   public synchronized void setConsumerMaxWindowSize(final int consumerMaxWindowSize) {
+      checkWrite();
+      serverLocator.setConsumerMaxWindowSize(consumerMaxWindowSize);
+   }
+
    public synchronized int getConsumerMaxRate() {
       return serverLocator.getConsumerMaxRate();
    }
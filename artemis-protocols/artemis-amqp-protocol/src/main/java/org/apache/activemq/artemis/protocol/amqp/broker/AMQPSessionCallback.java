@@ -19,6 +19,7 @@ package org.apache.activemq.artemis.protocol.amqp.broker;
 import static org.apache.activemq.artemis.protocol.amqp.proton.AmqpSupport.getReceiverPriority;
 
 import java.lang.invoke.MethodHandles;
+import java.util.Collection;
 import java.util.concurrent.Executor;
 
 import org.apache.activemq.artemis.api.config.ActiveMQDefaultConfiguration;
@@ -491,6 +492,23 @@ public class AMQPSessionCallback implements SessionCallback {
       }
    }
 
+   public void ack(Transaction transaction, Object brokerConsumer, Collection<Message> messages) throws Exception {
+      if (transaction == null) {
+         transaction = serverSession.getCurrentTransaction();
+      }
+      final long[] messageIDs = new long[messages.size()];
+      int count = 0;
+      for (Message message : messages) {
+         messageIDs[count++] = message.getMessageID();
+      }
+      OperationContext oldContext = recoverContext();
+      try {
+         ((ServerConsumer) brokerConsumer).individualAcknowledge(transaction, messageIDs, count);
+      } finally {
+         resetContext(oldContext);
+      }
+   }
+
    public void cancel(Object brokerConsumer, Message message, boolean updateCounts) throws Exception {
       OperationContext oldContext = recoverContext();
       try {
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.protocol.amqp.proton;
 
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -67,6 +69,11 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
 
    private final ConnectionFlushIOCallback connectionFlusher = new ConnectionFlushIOCallback();
 
+   // accepted dispositions read from the same input are acknowledged together once it has been processed, and their
+   // deliveries settled only then
+   private final Map<Delivery, Message> pendingAcks = new IdentityHashMap<>();
+   private final Runnable acksFlusher = this::flushAcks;
+
    protected final AMQPSessionContext protonSession;
    protected final Sender sender;
    protected final AMQPConnectionContext connection;
@@ -262,6 +269,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
          protonSession.removeSender(sender);
 
          connection.runNow(() -> {
+            flushAcks();
             sender.close();
             controller.close(condition);
             try {
@@ -289,6 +297,7 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
          // as a result the returning references have to be done later after they
          // had their chance to finish and clear the runnable
          connection.runLater(() -> {
+            flushAcks();
             try {
                protonSession.removeSender(sender);
                sessionSPI.closeSender(brokerConsumer);
@@ -322,11 +331,10 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
             // separately acknowledging again would show an exception but would have no negative effect
             // but best to handle anyway.
             if (!delivery.isSettled()) {
-               doAck(message);
-
-               delivery.settle();
+               doAck(delivery, message);
             }
          } else {
+            flushAcks();
             handleExtendedDeliveryOutcomes(message, delivery, remoteState);
          }
 
@@ -339,14 +347,38 @@ public class ProtonServerSenderContext extends ProtonInitializable implements Pr
       }
    }
 
-   protected void doAck(Message message) throws ActiveMQAMQPIllegalStateException {
+   protected void doAck(Delivery delivery, Message message) {
       // An AMQP peer can send back dispositions for any of the dispatched messages in
       // any order so the broker must use individual acknowledgement instead of batched
+      // (but the ones of a disposition range or of the same read are acked together)
+      if (pendingAcks.isEmpty()) {
+         connection.afterFlush(acksFlusher);
+      }
+      pendingAcks.put(delivery, message);
+   }
+
+   private void flushAcks() {
+      if (pendingAcks.isEmpty()) {
+         return;
+      }
+      final OperationContext oldContext = sessionSPI.recoverContext();
       try {
-         sessionSPI.ack(null, brokerConsumer, message);
+         sessionSPI.ack(null, brokerConsumer, pendingAcks.values());
+         pendingAcks.keySet().forEach(Delivery::settle);
       } catch (Exception e) {
          logger.warn(e.toString(), e);
-         throw ActiveMQAMQPProtocolMessageBundle.BUNDLE.errorAcknowledgingMessage(message.toString(), e.getMessage());
+         // the deliveries are left unsettled: their messages are redelivered once the consumer is closed
+         final ActiveMQAMQPIllegalStateException error = ActiveMQAMQPProtocolMessageBundle.BUNDLE.errorAcknowledgingMessage(pendingAcks.values().toString(), e.getMessage());
+         pendingAcks.clear();
+         try {
+            close(new ErrorCondition(error.getAmqpError(), error.getMessage()));
+         } catch (ActiveMQAMQPException closeError) {
+            logger.warn(closeError.getMessage(), closeError);
+         }
+      } finally {
+         pendingAcks.clear();
+         sessionSPI.afterIO(connectionFlusher);
+         sessionSPI.resetContext(oldContext);
       }
    }
 
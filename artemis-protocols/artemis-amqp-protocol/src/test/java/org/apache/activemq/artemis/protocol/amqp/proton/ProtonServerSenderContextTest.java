@@ -16,25 +16,41 @@
  */
 package org.apache.activemq.artemis.protocol.amqp.proton;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import org.apache.activemq.artemis.api.core.ActiveMQIllegalStateException;
+import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.AddressQueryResult;
+import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.protocol.amqp.broker.AMQPSessionCallback;
 import org.apache.activemq.artemis.protocol.amqp.broker.ProtonProtocolManager;
 import org.apache.activemq.artemis.protocol.amqp.exceptions.ActiveMQAMQPNotFoundException;
 import org.apache.activemq.artemis.protocol.amqp.proton.handler.ProtonHandler;
+import org.apache.qpid.proton.amqp.messaging.Accepted;
 import org.apache.qpid.proton.amqp.messaging.Source;
+import org.apache.qpid.proton.amqp.transport.AmqpError;
+import org.apache.qpid.proton.amqp.transport.ErrorCondition;
 import org.apache.qpid.proton.engine.Connection;
+import org.apache.qpid.proton.engine.Delivery;
 import org.apache.qpid.proton.engine.EndpointState;
 import org.apache.qpid.proton.engine.Sender;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.List;
 
 public class ProtonServerSenderContextTest {
 
@@ -72,4 +88,78 @@ public class ProtonServerSenderContextTest {
          sc.initialize();
       });
    }
+
+   @Test
+   public void testAcceptedDeliveriesSettledOnceAcknowledged() throws Exception {
+      final List<Runnable> afterFlush = new ArrayList<>();
+      final List<Integer> acked = new ArrayList<>();
+      final AMQPSessionCallback sessionSPI = mock(AMQPSessionCallback.class);
+      doAnswer(invocation -> acked.add(((Collection<?>) invocation.getArgument(2)).size())).when(sessionSPI).ack(any(), any(), any(Collection.class));
+      final Sender sender = mock(Sender.class);
+      final ProtonServerSenderContext sc = createSenderContext(sender, sessionSPI, afterFlush);
+
+      final Delivery first = acceptedDelivery();
+      final Delivery second = acceptedDelivery();
+      sc.onMessage(first);
+      sc.onMessage(second);
+
+      // nothing is acknowledged nor settled until the input has been processed
+      assertEquals(0, acked.size());
+      verify(first, never()).settle();
+      assertEquals(1, afterFlush.size());
+
+      afterFlush.get(0).run();
+
+      // a single acknowledgement for both
+      assertEquals(List.of(2), acked);
+      verify(first).settle();
+      verify(second).settle();
+      verify(sender, never()).close();
+   }
+
+   @Test
+   public void testAcknowledgeFailureClosesTheLink() throws Exception {
+      final List<Runnable> afterFlush = new ArrayList<>();
+      final AMQPSessionCallback sessionSPI = mock(AMQPSessionCallback.class);
+      doThrow(new ActiveMQIllegalStateException("no reference")).when(sessionSPI).ack(any(), any(), any(Collection.class));
+      final Sender sender = mock(Sender.class);
+      final ProtonServerSenderContext sc = createSenderContext(sender, sessionSPI, afterFlush);
+
+      final Delivery delivery = acceptedDelivery();
+      sc.onMessage(delivery);
+      afterFlush.get(0).run();
+
+      // the delivery isn't settled and the failure is reported to the peer
+      verify(delivery, never()).settle();
+      final ArgumentCaptor<ErrorCondition> condition = ArgumentCaptor.forClass(ErrorCondition.class);
+      verify(sender).setCondition(condition.capture());
+      assertEquals(AmqpError.ILLEGAL_STATE, condition.getValue().getCondition());
+      verify(sender).close();
+   }
+
+   private static ProtonServerSenderContext createSenderContext(Sender sender, AMQPSessionCallback sessionSPI, List<Runnable> afterFlush) {
+      ProtonProtocolManager protocolManager = mock(ProtonProtocolManager.class);
+      AMQPConnectionContext connection = mock(AMQPConnectionContext.class);
+      when(connection.getProtocolManager()).thenReturn(protocolManager);
+      doAnswer(invocation -> afterFlush.add(invocation.getArgument(0))).when(connection).afterFlush(any());
+      doAnswer(invocation -> {
+         ((Runnable) invocation.getArgument(0)).run();
+         return null;
+      }).when(connection).runNow(any());
+
+      AMQPSessionContext session = mock(AMQPSessionContext.class);
+      when(session.getSessionSPI()).thenReturn(sessionSPI);
+      when(session.getAMQPConnectionContext()).thenReturn(connection);
+
+      return new ProtonServerSenderContext(connection, sender, session, sessionSPI, mock(SenderController.class));
+   }
+
+   private static Delivery acceptedDelivery() {
+      MessageReference reference = mock(MessageReference.class);
+      when(reference.getMessage()).thenReturn(mock(Message.class));
+      Delivery delivery = mock(Delivery.class);
+      when(delivery.getContext()).thenReturn(reference);
+      when(delivery.getRemoteState()).thenReturn(Accepted.getInstance());
+      return delivery;
+   }
 }
@@ -114,6 +114,12 @@ public class MQTTSessionCallback implements SessionCallback {
       }
    }
 
+   @Override
+   public boolean hasReferenceDependentCredits() {
+      // only durable messages are flow controlled
+      return true;
+   }
+
    @Override
    public void sendProducerCreditsMessage(int credits, SimpleString address) {
    }
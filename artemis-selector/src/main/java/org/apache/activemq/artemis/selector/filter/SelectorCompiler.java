@@ -0,0 +1,411 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Compiles a parsed selector into an expression specialized for evaluation:
+ * <ul>
+ * <li>comparisons of a property with a numeric literal are performed on primitives
+ * <li>equality of a property with a string literal doesn't go through the generic comparison
+ * <li>consecutive comparisons of the same property in AND and OR, e.g. {@code BETWEEN}, fetch it just once
+ * <li>AND, OR and NOT are evaluated over the compiled operands
+ * </ul>
+ * Anything else, e.g. XPath and XQuery, is left to the interpreter. A compiled selector evaluates exactly as the
+ * parsed one.
+ */
+public final class SelectorCompiler {
+
+   private SelectorCompiler() {
+   }
+
+   public static BooleanExpression compile(final BooleanExpression expression) {
+      final BooleanExpression compiled = compileBoolean(expression);
+      return compiled == expression ? expression : new CompiledSelector(expression, compiled);
+   }
+
+   private static BooleanExpression compileBoolean(final BooleanExpression expression) {
+      if (expression instanceof LogicExpression logic) {
+         final boolean and = "AND".equals(logic.getExpressionSymbol());
+         final List<BooleanExpression> operands = new ArrayList<>(logic.expressions.size());
+         final List<PropertyTest> tests = new ArrayList<>();
+         for (BooleanExpression operand : logic.expressions) {
+            final BooleanExpression compiled = compileBoolean(operand);
+            if (!tests.isEmpty() && !(compiled instanceof PropertyTest test && test.property.equals(tests.get(0).property))) {
+               operands.add(group(tests, and));
+               tests.clear();
+            }
+            if (compiled instanceof PropertyTest test) {
+               tests.add(test);
+            } else {
+               operands.add(compiled);
+            }
+         }
+         if (!tests.isEmpty()) {
+            operands.add(group(tests, and));
+         }
+         final BooleanExpression[] array = operands.toArray(new BooleanExpression[0]);
+         if (array.length == 1) {
+            return array[0];
+         }
+         return and ? new And(logic, array) : new Or(logic, array);
+      }
+      if (expression instanceof UnaryExpression unary && "NOT".equals(unary.getExpressionSymbol()) &&
+         unary.getRight() instanceof BooleanExpression operand) {
+         return new Not(unary, compileBoolean(operand));
+      }
+      if (expression instanceof ComparisonExpression comparison &&
+         comparison.getLeft() instanceof PropertyExpression property &&
+         comparison.getRight() instanceof ConstantExpression constant) {
+         final String symbol = comparison.getExpressionSymbol();
+         final Object value = constant.getValue();
+         if (value instanceof Integer || value instanceof Long || value instanceof Double) {
+            switch (symbol) {
+               case "=":
+               case "<":
+               case "<=":
+               case ">":
+               case ">=":
+                  return new NumericComparison(comparison, property, (Number) value);
+               default:
+                  break;
+            }
+         } else if (value instanceof String string && "=".equals(symbol)) {
+            return new StringEquality(comparison, property, string);
+         }
+      }
+      return expression;
+   }
+
+   private static BooleanExpression group(List<PropertyTest> tests, boolean and) {
+      if (tests.size() == 1) {
+         return tests.get(0);
+      }
+      return new PropertyTests(tests.toArray(new PropertyTest[0]), and);
+   }
+
+   /**
+    * The root of a compiled selector.
+    */
+   private static final class CompiledSelector implements BooleanExpression {
+
+      private final BooleanExpression parsed;
+      private final BooleanExpression compiled;
+
+      private CompiledSelector(BooleanExpression parsed, BooleanExpression compiled) {
+         this.parsed = parsed;
+         this.compiled = compiled;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         return compiled.evaluate(message);
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return compiled.matches(message);
+      }
+
+      @Override
+      public String toString() {
+         return parsed.toString();
+      }
+   }
+
+   private static final class And implements BooleanExpression {
+
+      private final LogicExpression parsed;
+      private final BooleanExpression[] operands;
+
+      private And(LogicExpression parsed, BooleanExpression[] operands) {
+         this.parsed = parsed;
+         this.operands = operands;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         boolean someNulls = false;
+         for (BooleanExpression operand : operands) {
+            final Boolean value = (Boolean) operand.evaluate(message);
+            if (value == null) {
+               someNulls = true;
+            } else if (!value) {
+               return Boolean.FALSE;
+            }
+         }
+         return someNulls ? null : Boolean.TRUE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         for (BooleanExpression operand : operands) {
+            if (!operand.matches(message)) {
+               return false;
+            }
+         }
+         return true;
+      }
+
+      @Override
+      public String toString() {
+         return parsed.toString();
+      }
+   }
+
+   private static final class Or implements BooleanExpression {
+
+      private final LogicExpression parsed;
+      private final BooleanExpression[] operands;
+
+      private Or(LogicExpression parsed, BooleanExpression[] operands) {
+         this.parsed = parsed;
+         this.operands = operands;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         boolean someNulls = false;
+         for (BooleanExpression operand : operands) {
+            final Boolean value = (Boolean) operand.evaluate(message);
+            if (value == null) {
+               someNulls = true;
+            } else if (value) {
+               return Boolean.TRUE;
+            }
+         }
+         return someNulls ? null : Boolean.FALSE;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         for (BooleanExpression operand : operands) {
+            if (operand.matches(message)) {
+               return true;
+            }
+         }
+         return false;
+      }
+
+      @Override
+      public String toString() {
+         return parsed.toString();
+      }
+   }
+
+   private static final class Not implements BooleanExpression {
+
+      private final UnaryExpression parsed;
+      private final BooleanExpression operand;
+
+      private Not(UnaryExpression parsed, BooleanExpression operand) {
+         this.parsed = parsed;
+         this.operand = operand;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Boolean value = (Boolean) operand.evaluate(message);
+         return value == null ? null : !value;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         final Boolean value = (Boolean) operand.evaluate(message);
+         // NOT NULL returns NULL that eventually fails the selector
+         return value != null && !value;
+      }
+
+      @Override
+      public String toString() {
+         return parsed.toString();
+      }
+   }
+
+   /**
+    * Consecutive tests of the same property combined with AND or OR: the property is fetched just once.
+    */
+   private static final class PropertyTests implements BooleanExpression {
+
+      private final PropertyExpression property;
+      private final PropertyTest[] tests;
+      private final boolean and;
+
+      private PropertyTests(PropertyTest[] tests, boolean and) {
+         this.property = tests[0].property;
+         this.tests = tests;
+         this.and = and;
+      }
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         final Object value = property.evaluate(message);
+         boolean someNulls = false;
+         for (PropertyTest test : tests) {
+            final Boolean result = test.test(value);
+            if (result == null) {
+               someNulls = true;
+            } else if (result != and) {
+               return result;
+            }
+         }
+         return someNulls ? null : and;
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         final Object value = property.evaluate(message);
+         for (PropertyTest test : tests) {
+            if ((test.test(value) == Boolean.TRUE) != and) {
+               return !and;
+            }
+         }
+         return and;
+      }
+
+      @Override
+      public String toString() {
+         return property.toString();
+      }
+   }
+
+   /**
+    * A test of the value of a property against a literal.
+    */
+   private abstract static class PropertyTest implements BooleanExpression {
+
+      final ComparisonExpression parsed;
+      final PropertyExpression property;
+
+      PropertyTest(ComparisonExpression parsed, PropertyExpression property) {
+         this.parsed = parsed;
+         this.property = property;
+      }
+
+      abstract Boolean test(Object value);
+
+      @Override
+      public Object evaluate(Filterable message) throws FilterException {
+         return test(property.evaluate(message));
+      }
+
+      @Override
+      public boolean matches(Filterable message) throws FilterException {
+         return test(property.evaluate(message)) == Boolean.TRUE;
+      }
+
+      @Override
+      public String toString() {
+         return parsed.toString();
+      }
+   }
+
+   /**
+    * {@code property op literal} where the literal is an {@link Integer}, a {@link Long} or a {@link Double}: numeric
+    * property values are compared following the same promotions of {@link ComparisonExpression#compare}, without
+    * boxing.
+    */
+   private static final class NumericComparison extends PropertyTest {
+
+      private final Number boxedValue;
+      private final Class<?> valueClass;
+      private final int intValue;
+      private final long longValue;
+      private final float floatValue;
+      private final double doubleValue;
+
+      private NumericComparison(ComparisonExpression parsed, PropertyExpression property, Number value) {
+         super(parsed, property);
+         this.boxedValue = value;
+         this.valueClass = value.getClass();
+         this.intValue = value.intValue();
+         this.longValue = value.longValue();
+         this.floatValue = value.floatValue();
+         this.doubleValue = value.doubleValue();
+      }
+
+      @Override
+      Boolean test(Object value) {
+         if (value == null) {
+            return null;
+         }
+         final Class<?> propertyClass = value.getClass();
+         final int answer;
+         if (propertyClass == Double.class) {
+            answer = Double.compare((Double) value, doubleValue);
+         } else if (valueClass == Double.class && (propertyClass == Float.class || propertyClass == Long.class ||
+            propertyClass == Integer.class || propertyClass == Short.class || propertyClass == Byte.class)) {
+            answer = Double.compare(((Number) value).doubleValue(), doubleValue);
+         } else if (propertyClass == Float.class) {
+            answer = Float.compare((Float) value, floatValue);
+         } else if (propertyClass == Long.class || valueClass == Long.class &&
+            (propertyClass == Integer.class || propertyClass == Short.class || propertyClass == Byte.class)) {
+            answer = Long.compare(((Number) value).longValue(), longValue);
+         } else if (propertyClass == Integer.class || propertyClass == Short.class || propertyClass == Byte.class) {
+            answer = Integer.compare(((Number) value).intValue(), intValue);
+         } else {
+            return fallback(value);
+         }
+         return parsed.asBoolean(answer) ? Boolean.TRUE : Boolean.FALSE;
+      }
+
+      private Boolean fallback(Object value) {
+         if (!"=".equals(parsed.getExpressionSymbol())) {
+            return parsed.compare((Comparable) value, (Comparable) boxedValue);
+         }
+         if (value.equals(boxedValue)) {
+            return Boolean.TRUE;
+         }
+         if (value instanceof Comparable comparable) {
+            return parsed.compare(comparable, (Comparable) boxedValue);
+         }
+         return Boolean.FALSE;
+      }
+   }
+
+   /**
+    * {@code property = 'literal'}.
+    */
+   private static final class StringEquality extends PropertyTest {
+
+      private final String value;
+
+      private StringEquality(ComparisonExpression parsed, PropertyExpression property, String value) {
+         super(parsed, property);
+         this.value = value;
+      }
+
+      @Override
+      Boolean test(Object propertyValue) {
+         if (propertyValue == null) {
+            return null;
+         }
+         if (propertyValue.equals(value)) {
+            return Boolean.TRUE;
+         }
+         if (propertyValue.getClass() == String.class) {
+            return Boolean.FALSE;
+         }
+         if (propertyValue instanceof Comparable comparable) {
+            return parsed.compare(comparable, value);
+         }
+         return Boolean.FALSE;
+      }
+   }
+}
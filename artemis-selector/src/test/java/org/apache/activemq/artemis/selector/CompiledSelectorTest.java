@@ -0,0 +1,113 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.selector;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs all the {@link SelectorTest} selectors compiled, checking they evaluate as the interpreted ones.
+ */
+public class CompiledSelectorTest extends SelectorTest {
+
+   private static final String[] NUMERIC_SELECTORS = {"value = 10", "value <> 10", "value > 10", "value >= 10",
+      "value < 10", "value <= 10", "value = 10000000000", "value > 10000000000", "value < 10.5", "value = 10.0",
+      "value BETWEEN 5 AND 15", "value NOT BETWEEN 5 AND 15", "value = 'ten'", "value <> 'ten'", "value IS NULL",
+      "value IS NOT NULL", "NOT (value > 10 OR value < 5)", "value > 5 AND missing > 5", "value > 5 OR missing > 5"};
+
+   private static final Object[] VALUES = {null, (byte) 10, (short) 10, 10, 11, 9, 10L, 10000000000L, 10000000001L,
+      10.0f, 10.5f, Float.NaN, 10.0d, 10.4d, -0.0d, Double.NaN, new BigDecimal("10"), "10", "ten", "TEN", true};
+
+   @Override
+   protected void assertSelector(MockMessage message, String text, boolean expected) throws FilterException {
+      super.assertSelector(message, text, expected);
+      BooleanExpression selector = SelectorParser.parse(text);
+      BooleanExpression compiled = SelectorCompiler.compile(selector);
+      assertEquals(expected, compiled.matches(message), "Compiled selector for: " + text);
+      assertEquals(selector.evaluate(message), compiled.evaluate(message), "Compiled selector for: " + text);
+   }
+
+   @Test
+   public void testNumericPromotions() throws Exception {
+      for (String prefix : new String[]{"", "convert_string_expressions:"}) {
+         for (String text : NUMERIC_SELECTORS) {
+            BooleanExpression selector = SelectorParser.parse(prefix + text);
+            BooleanExpression compiled = SelectorCompiler.compile(selector);
+            for (Object value : VALUES) {
+               MockMessage message = new MockMessage();
+               message.setObjectProperty("value", value);
+               String description = prefix + text + " with " + (value == null ? null : value.getClass().getSimpleName() + " " + value);
+               assertEquals(selector.evaluate(message), compiled.evaluate(message), description);
+               assertEquals(selector.matches(message), compiled.matches(message), description);
+            }
+         }
+      }
+   }
+
+   @Test
+   public void testSamePropertyTests() throws Exception {
+      final String[] selectors = {"a = 1 AND a > 0 AND b = 'x'", "a = 1 OR a > 5 OR b = 'x'", "b = 'x' OR b = 'y' OR a = 1",
+         "b = 'x' AND b = 'y'", "NOT (a > 1 AND a < 5)", "a > 1 AND a IS NOT NULL AND a < 5"};
+      final Object[][] values = {{null, null}, {1, "x"}, {1, "y"}, {3, null}, {null, "x"}, {6, "z"}, {1L, 2}, {"1", "x"}};
+      for (String text : selectors) {
+         BooleanExpression selector = SelectorParser.parse(text);
+         BooleanExpression compiled = SelectorCompiler.compile(selector);
+         for (Object[] value : values) {
+            MockMessage message = new MockMessage();
+            message.setObjectProperty("a", value[0]);
+            message.setObjectProperty("b", value[1]);
+            String description = text + " with a=" + value[0] + ", b=" + value[1];
+            assertEquals(selector.evaluate(message), compiled.evaluate(message), description);
+            assertEquals(selector.matches(message), compiled.matches(message), description);
+         }
+      }
+   }
+
+   @Test
+   public void testPropertyFetchedOnce() throws Exception {
+      final AtomicInteger fetches = new AtomicInteger();
+      MockMessage message = new MockMessage() {
+         @Override
+         public Object getProperty(SimpleString name) {
+            fetches.incrementAndGet();
+            return super.getProperty(name);
+         }
+      };
+      message.setIntProperty("rank", 7);
+      message.setStringProperty("color", "red");
+
+      BooleanExpression selector = SelectorParser.parse("rank BETWEEN 5 AND 10 AND (color = 'blue' OR color = 'red')");
+      assertTrue(selector.matches(message));
+      assertEquals(4, fetches.get());
+
+      fetches.set(0);
+      BooleanExpression compiled = SelectorCompiler.compile(selector);
+      assertTrue(compiled.matches(message));
+      assertEquals(2, fetches.get());
+      assertEquals(selector.toString(), compiled.toString());
+   }
+}
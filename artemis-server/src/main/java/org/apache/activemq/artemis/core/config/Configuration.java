@@ -163,6 +163,22 @@ public interface Configuration {
     */
    Configuration setJournalDatasync(boolean enable);
 
+   /**
+    * Whether the references of a durable message routed to more than one queue are stored on a single journal record,
+    * instead of one record per queue. A journal with such records can't be loaded by a broker not supporting them.
+    *
+    * @return a boolean
+    */
+   boolean isJournalBatchReferences();
+
+   /**
+    * documented at {@link #isJournalBatchReferences()}
+    *
+    * @param enable
+    * @return this
+    */
+   Configuration setJournalBatchReferences(boolean enable);
+
    /**
     * @return usernames mapped to ResourceLimitSettings
     */
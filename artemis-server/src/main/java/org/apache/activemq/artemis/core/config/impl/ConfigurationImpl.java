@@ -155,6 +155,8 @@ public class ConfigurationImpl implements Configuration, Serializable {
 
    private boolean journalDatasync = ActiveMQDefaultConfiguration.isDefaultJournalDatasync();
 
+   private boolean journalBatchReferences = ActiveMQDefaultConfiguration.isDefaultJournalBatchReferences();
+
    protected long fileDeploymentScanPeriod = ActiveMQDefaultConfiguration.getDefaultFileDeployerScanPeriod();
 
    private boolean persistDeliveryCountBeforeDelivery = ActiveMQDefaultConfiguration.isDefaultPersistDeliveryCountBeforeDelivery();
@@ -1086,6 +1088,17 @@ public class ConfigurationImpl implements Configuration, Serializable {
       return this;
    }
 
+   @Override
+   public boolean isJournalBatchReferences() {
+      return journalBatchReferences;
+   }
+
+   @Override
+   public ConfigurationImpl setJournalBatchReferences(boolean enable) {
+      journalBatchReferences = enable;
+      return this;
+   }
+
    @Override
    public long getFileDeployerScanPeriod() {
       return fileDeploymentScanPeriod;
@@ -2960,6 +2973,9 @@ public class ConfigurationImpl implements Configuration, Serializable {
       if (journalDatasync != other.journalDatasync) {
          return false;
       }
+      if (journalBatchReferences != other.journalBatchReferences) {
+         return false;
+      }
 
       if (globalMaxSize != null && !globalMaxSize.equals(other.globalMaxSize)) {
          return false;
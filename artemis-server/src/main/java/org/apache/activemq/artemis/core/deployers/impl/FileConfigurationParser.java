@@ -394,6 +394,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
    private static final String INITIAL_QUEUE_BUFFER_SIZE = "initial-queue-buffer-size";
 
+   private static final String CONSISTENT_HASH_GROUP_REBALANCE = "consistent-hash-group-rebalance";
+
+   private static final String ID_CACHE_FILTER = "id-cache-filter";
+
+   private static final String MAX_DIRECT_DELIVERY_QUEUES = "max-direct-delivery-queues";
+
    private boolean validateAIO = false;
 
    private boolean printPageMaxSizeUsed = false;
@@ -771,6 +777,8 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
 
       config.setJournalDatasync(getBoolean(e, "journal-datasync", config.isJournalDatasync()));
 
+      config.setJournalBatchReferences(getBoolean(e, "journal-batch-references", config.isJournalBatchReferences()));
+
       config.setJournalSyncTransactional(getBoolean(e, "journal-sync-transactional", config.isJournalSyncTransactional()));
 
       config.setJournalSyncNonTransactional(getBoolean(e, "journal-sync-non-transactional", config.isJournalSyncNonTransactional()));
@@ -1484,6 +1492,12 @@ public final class FileConfigurationParser extends XMLConfigurationUtil {
             addressSettings.setIDCacheSize(GE_ZERO.validate(ID_CACHE_SIZE, XMLUtil.parseInt(child)).intValue());
          } else if (INITIAL_QUEUE_BUFFER_SIZE.equalsIgnoreCase(name)) {
             addressSettings.setInitialQueueBufferSize(POSITIVE_POWER_OF_TWO.validate(INITIAL_QUEUE_BUFFER_SIZE, XMLUtil.parseInt(child)).intValue());
+         } else if (CONSISTENT_HASH_GROUP_REBALANCE.equalsIgnoreCase(name)) {
+            addressSettings.setConsistentHashGroupRebalance(XMLUtil.parseBoolean(child));
+         } else if (ID_CACHE_FILTER.equalsIgnoreCase(name)) {
+            addressSettings.setIDCacheFilter(XMLUtil.parseBoolean(child));
+         } else if (MAX_DIRECT_DELIVERY_QUEUES.equalsIgnoreCase(name)) {
+            addressSettings.setMaxDirectDeliveryQueues(MINUS_ONE_OR_GE_ZERO.validate(MAX_DIRECT_DELIVERY_QUEUES, XMLUtil.parseInt(child)).intValue());
          }
       }
       return setting;
@@ -16,7 +16,10 @@
  */
 package org.apache.activemq.artemis.core.filter.impl;
 
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.FilterConstants;
@@ -27,8 +30,13 @@ import org.apache.activemq.artemis.core.server.ActiveMQMessageBundle;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.federation.address.FederatedAddress;
 import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.ComparisonExpression;
+import org.apache.activemq.artemis.selector.filter.ConstantExpression;
+import org.apache.activemq.artemis.selector.filter.Expression;
 import org.apache.activemq.artemis.selector.filter.FilterException;
 import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.PropertyExpression;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
 import org.apache.activemq.artemis.selector.impl.SelectorParser;
 import org.apache.activemq.artemis.utils.ByteUtil;
 import org.slf4j.Logger;
@@ -59,10 +67,23 @@ public class FilterImpl implements Filter {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
+   // evaluate the filters with the compiled form of their selector
+   private static final boolean COMPILE_SELECTORS = Boolean.parseBoolean(System.getProperty("ARTEMIS_COMPILE_SELECTORS", "false"));
+
+   // the filters in use, shared by any queue, consumer or divert using the same filter string
+   private static final ConcurrentHashMap<SimpleString, FilterReference> FILTERS = new ConcurrentHashMap<>();
+
+   private static final ReferenceQueue<FilterImpl> COLLECTED_FILTERS = new ReferenceQueue<>();
+
    private final SimpleString sfilterString;
 
    private final BooleanExpression booleanExpression;
 
+   // not null if the filter is just property = 'value'
+   private final SimpleString equalsProperty;
+
+   private final String equalsValue;
+
 
    /**
     * @return null if <code>filterStr</code> is null or an empty String and a valid filter else
@@ -73,6 +94,8 @@ public class FilterImpl implements Filter {
    }
 
    /**
+    * Filters are immutable: any live filter created with the same string is returned instead of parsing it again.
+    *
     * @return null if <code>filterStr</code> is null or an empty String and a valid filter else
     * @throws ActiveMQException if the string does not correspond to a valid filter
     */
@@ -81,6 +104,41 @@ public class FilterImpl implements Filter {
          return null;
       }
 
+      expungeCollectedFilters();
+
+      final FilterReference existing = FILTERS.get(filterStr);
+      if (existing != null) {
+         final FilterImpl filter = existing.get();
+         if (filter != null) {
+            return filter;
+         }
+      }
+
+      final FilterImpl filter = parseFilter(filterStr);
+      final FilterReference reference = new FilterReference(filter);
+      while (true) {
+         final FilterReference current = FILTERS.putIfAbsent(filterStr, reference);
+         if (current == null) {
+            return filter;
+         }
+         final FilterImpl currentFilter = current.get();
+         if (currentFilter != null) {
+            return currentFilter;
+         }
+         if (FILTERS.replace(filterStr, current, reference)) {
+            return filter;
+         }
+      }
+   }
+
+   private static void expungeCollectedFilters() {
+      FilterReference collected;
+      while ((collected = (FilterReference) COLLECTED_FILTERS.poll()) != null) {
+         FILTERS.remove(collected.filterString, collected);
+      }
+   }
+
+   private static FilterImpl parseFilter(final SimpleString filterStr) throws ActiveMQException {
       BooleanExpression booleanExpression;
       try {
          booleanExpression = SelectorParser.parse(filterStr.toString());
@@ -94,7 +152,63 @@ public class FilterImpl implements Filter {
 
    private FilterImpl(final SimpleString str, final BooleanExpression expression) {
       sfilterString = str;
-      this.booleanExpression = expression;
+      this.booleanExpression = COMPILE_SELECTORS ? SelectorCompiler.compile(expression) : expression;
+      SimpleString property = null;
+      String value = null;
+      if (expression instanceof ComparisonExpression comparison && "=".equals(comparison.getExpressionSymbol())) {
+         final Expression left = comparison.getLeft();
+         final Expression right = comparison.getRight();
+         if (left instanceof PropertyExpression p && right instanceof ConstantExpression c && c.getValue() instanceof String s) {
+            property = SimpleString.of(p.getName());
+            value = s;
+         } else if (right instanceof PropertyExpression p && left instanceof ConstantExpression c && c.getValue() instanceof String s) {
+            property = SimpleString.of(p.getName());
+            value = s;
+         }
+      }
+      this.equalsProperty = property;
+      this.equalsValue = value;
+   }
+
+   /**
+    * If this filter is just {@code property = 'value'} it matches a message if and only if
+    * {@link #getFilterProperty(Message, SimpleString)} returns {@code value} or, if it returns something that is
+    * neither {@code null} nor a {@link String}, {@link #match(Message)} returns {@code true}.
+    *
+    * @return the property compared by this filter if it is just {@code property = 'value'}, {@code null} otherwise
+    */
+   public SimpleString getEqualsProperty() {
+      return equalsProperty;
+   }
+
+   /**
+    * @return the value compared by this filter if it is just {@code property = 'value'}, {@code null} otherwise
+    */
+   public String getEqualsValue() {
+      return equalsValue;
+   }
+
+   /**
+    * @return the value of the property {@code name} of {@code message}, as evaluated by any filter
+    */
+   public static Object getFilterProperty(final Message message, final SimpleString name) {
+      Object result = null;
+      if (name.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
+         result = getHeaderFieldValue(message, name);
+      }
+      if (name.startsWith(FederatedAddress.HDR_HOPS)) {
+         byte[] bytes = message.getExtraBytesProperty(FederatedAddress.HDR_HOPS);
+         result = bytes == null ? null : ByteUtil.bytesToInt(bytes);
+      }
+      if (result == null) {
+         result = message.getObjectPropertyForFilter(name);
+      }
+      if (result != null) {
+         if (result.getClass() == SimpleString.class) {
+            result = result.toString();
+         }
+      }
+      return result;
    }
 
    // Filter implementation ---------------------------------------------------------------------
@@ -116,7 +230,9 @@ public class FilterImpl implements Filter {
 
 
    @Override
-   public synchronized boolean match(final Filterable filterable) {
+   public boolean match(final Filterable filterable) {
+      // the selector expressions are immutable and XPath evaluation is guarded by the evaluator itself:
+      // a filter shared by many queues can be evaluated concurrently
       try {
          return booleanExpression.matches(filterable);
       } catch (Exception e) {
@@ -195,6 +311,16 @@ public class FilterImpl implements Filter {
       }
    }
 
+   private static final class FilterReference extends WeakReference<FilterImpl> {
+
+      private final SimpleString filterString;
+
+      private FilterReference(FilterImpl filter) {
+         super(filter, COLLECTED_FILTERS);
+         this.filterString = filter.sfilterString;
+      }
+   }
+
    private static class FilterableMap implements Filterable {
 
       private final Map<String, String> map;
@@ -229,23 +355,7 @@ public class FilterImpl implements Filter {
 
       @Override
       public Object getProperty(SimpleString id) {
-         Object result = null;
-         if (id.startsWith(FilterConstants.ACTIVEMQ_PREFIX)) {
-            result = getHeaderFieldValue(message, id);
-         }
-         if (id.startsWith(FederatedAddress.HDR_HOPS)) {
-            byte[] bytes = message.getExtraBytesProperty(FederatedAddress.HDR_HOPS);
-            result = bytes == null ? null : ByteUtil.bytesToInt(bytes);
-         }
-         if (result == null) {
-            result = message.getObjectPropertyForFilter(id);
-         }
-         if (result != null) {
-            if (result.getClass() == SimpleString.class) {
-               result = result.toString();
-            }
-         }
-         return result;
+         return getFilterProperty(message, id);
       }
 
       @Override
@@ -1898,6 +1898,21 @@ public class QueueControlImpl extends AbstractControl implements QueueControl {
       }
    }
 
+   @Override
+   public long getGroupsRebalanced() {
+      if (AuditLogger.isBaseLoggingEnabled()) {
+         AuditLogger.getGroupsRebalanced(queue);
+      }
+      checkStarted();
+
+      clearIO();
+      try {
+         return queue.getGroupsRebalanced();
+      } finally {
+         blockOnIO();
+      }
+   }
+
    @Override
    public String listGroupsAsJSON() throws Exception {
       // prevent parallel tasks running
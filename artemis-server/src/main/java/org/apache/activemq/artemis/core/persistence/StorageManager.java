@@ -190,6 +190,15 @@ public interface StorageManager extends MapStorageManager, IDGenerator, ActiveMQ
 
    void storeReference(long queueID, long messageID, boolean last) throws Exception;
 
+   /**
+    * Stores the references of a message to all {@code queueIDs}, possibly as a single record.
+    */
+   default void storeReferences(long[] queueIDs, long messageID, boolean last) throws Exception {
+      for (int i = 0; i < queueIDs.length; i++) {
+         storeReference(queueIDs[i], messageID, last && i == queueIDs.length - 1);
+      }
+   }
+
    void deleteMessage(long messageID) throws Exception;
 
    void storeAcknowledge(long queueID, long messageID) throws Exception;
@@ -208,6 +217,15 @@ public interface StorageManager extends MapStorageManager, IDGenerator, ActiveMQ
 
    void storeReferenceTransactional(long txID, long queueID, long messageID) throws Exception;
 
+   /**
+    * Stores the references of a message to all {@code queueIDs}, possibly as a single record.
+    */
+   default void storeReferencesTransactional(long txID, long[] queueIDs, long messageID) throws Exception {
+      for (long queueID : queueIDs) {
+         storeReferenceTransactional(txID, queueID, messageID);
+      }
+   }
+
    void storeAcknowledgeTransactional(long txID, long queueID, long messageID) throws Exception;
 
    void storeCursorAcknowledgeTransactional(long txID, long queueID, PagePosition position) throws Exception;
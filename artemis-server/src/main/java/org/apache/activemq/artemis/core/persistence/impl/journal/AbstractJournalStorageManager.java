@@ -97,6 +97,7 @@ import org.apache.activemq.artemis.core.persistence.impl.journal.codec.Persisten
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentQueueBindingEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.QueueStatusEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefsEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.ScheduledDeliveryEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.XidEncoding;
 import org.apache.activemq.artemis.core.postoffice.Binding;
@@ -213,6 +214,8 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
    private final boolean syncNonTransactional;
 
+   private final boolean batchReferences;
+
    protected boolean journalLoaded = false;
 
    protected final IOCriticalErrorListener ioCriticalErrorListener;
@@ -271,6 +274,8 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       executor = executorFactory.getExecutor();
 
       syncNonTransactional = config.isJournalSyncNonTransactional();
+
+      batchReferences = config.isJournalBatchReferences();
       syncTransactional = config.isJournalSyncTransactional();
 
       init(config, criticalErrorListener);
@@ -458,6 +463,17 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       }
    }
 
+   @Override
+   public void storeReferences(final long[] queueIDs, final long messageID, final boolean last) throws Exception {
+      if (!batchReferences || queueIDs.length == 1) {
+         StorageManager.super.storeReferences(queueIDs, messageID, last);
+         return;
+      }
+      try (ArtemisCloseable lock = closeableReadLock()) {
+         messageJournal.tryAppendUpdateRecord(messageID, JournalRecordIds.ADD_REFS, new RefsEncoding(queueIDs), last && syncNonTransactional, false, this::messageUpdateCallback, getContext(last && syncNonTransactional));
+      }
+   }
+
    @Override
    public ArtemisCloseable closeableReadLock() {
       if (reentrant.get()) {
@@ -597,6 +613,17 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       }
    }
 
+   @Override
+   public void storeReferencesTransactional(final long txID, final long[] queueIDs, final long messageID) throws Exception {
+      if (!batchReferences || queueIDs.length == 1) {
+         StorageManager.super.storeReferencesTransactional(txID, queueIDs, messageID);
+         return;
+      }
+      try (ArtemisCloseable lock = closeableReadLock()) {
+         messageJournal.appendUpdateRecordTransactional(txID, messageID, JournalRecordIds.ADD_REFS, new RefsEncoding(queueIDs));
+      }
+   }
+
    @Override
    public void storeAcknowledgeTransactional(final long txID,
                                              final long queueID,
@@ -1121,26 +1148,21 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
                      break;
                   }
                   case JournalRecordIds.ADD_REF: {
-                     long messageID = record.id;
-
                      RefEncoding encoding = new RefEncoding();
 
                      encoding.decode(buff);
 
-                     Map<Long, AddMessageRecord> queueMessages = queueMap.get(encoding.queueID);
-
-                     if (queueMessages == null) {
-                        queueMessages = new LinkedHashMap<>();
+                     loadReference(queueMap, messages, record.id, encoding.queueID);
 
-                        queueMap.put(encoding.queueID, queueMessages);
-                     }
+                     break;
+                  }
+                  case JournalRecordIds.ADD_REFS: {
+                     RefsEncoding encoding = new RefsEncoding();
 
-                     Message message = messages.get(messageID);
+                     encoding.decode(buff);
 
-                     if (message == null) {
-                        ActiveMQServerLogger.LOGGER.cannotFindMessage(record.id);
-                     } else {
-                        queueMessages.put(messageID, new AddMessageRecord(message));
+                     for (long queueID : encoding.queueIDs) {
+                        loadReference(queueMap, messages, record.id, queueID);
                      }
 
                      break;
@@ -1439,6 +1461,27 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
       }
    }
 
+   private static void loadReference(final Map<Long, Map<Long, AddMessageRecord>> queueMap,
+                                     final Map<Long, Message> messages,
+                                     final long messageID,
+                                     final long queueID) {
+      Map<Long, AddMessageRecord> queueMessages = queueMap.get(queueID);
+
+      if (queueMessages == null) {
+         queueMessages = new LinkedHashMap<>();
+
+         queueMap.put(queueID, queueMessages);
+      }
+
+      Message message = messages.get(messageID);
+
+      if (message == null) {
+         ActiveMQServerLogger.LOGGER.cannotFindMessage(messageID);
+      } else {
+         queueMessages.put(messageID, new AddMessageRecord(message));
+      }
+   }
+
    private Message decodeMessage(CoreMessageObjectPools pools, ActiveMQBuffer buff) {
       Message message = MessagePersister.getInstance().decode(buff, null, pools, this);
       return message;
@@ -1983,6 +2026,25 @@ public abstract class AbstractJournalStorageManager extends CriticalComponentImp
 
                break;
             }
+            case JournalRecordIds.ADD_REFS: {
+               long messageID = record.id;
+
+               RefsEncoding encoding = new RefsEncoding();
+
+               encoding.decode(buff);
+
+               Message message = messages.get(messageID);
+
+               if (message == null) {
+                  throw new IllegalStateException("Cannot find message with id " + messageID);
+               }
+
+               for (long queueID : encoding.queueIDs) {
+                  journalLoader.handlePreparedSendMessage(message, tx, queueID);
+               }
+
+               break;
+            }
             case JournalRecordIds.ACKNOWLEDGE_REF: {
                long messageID = record.id;
 
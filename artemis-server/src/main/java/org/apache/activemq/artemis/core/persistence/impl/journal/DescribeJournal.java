@@ -61,6 +61,7 @@ import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PendingLa
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentAddressBindingEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.PersistentQueueBindingEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefEncoding;
+import org.apache.activemq.artemis.core.persistence.impl.journal.codec.RefsEncoding;
 import org.apache.activemq.artemis.core.persistence.impl.journal.codec.ScheduledDeliveryEncoding;
 import org.apache.activemq.artemis.core.server.LargeServerMessage;
 import org.apache.activemq.artemis.spi.core.protocol.MessagePersister;
@@ -419,6 +420,10 @@ public final class DescribeJournal {
                messageRefCounts.put(ref.refEncoding.queueID, count);
             }
             count.value++;
+         } else if (userRecordType == JournalRecordIds.ADD_REFS) {
+            for (long queueID : ((RefsEncoding) o).queueIDs) {
+               messageRefCounts.computeIfAbsent(queueID, id -> new Count(0)).value++;
+            }
          } else if (userRecordType == JournalRecordIds.ACKNOWLEDGE_REF) {
             AckDescribe ref = (AckDescribe) o;
             Count count = messageRefCounts.get(ref.refEncoding.queueID);
@@ -486,6 +491,10 @@ public final class DescribeJournal {
                   preparedMessageRefCount.put(ref.refEncoding.queueID, count);
                }
                count.value++;
+            } else if (userRecordType == JournalRecordIds.ADD_REFS) {
+               for (long queueID : ((RefsEncoding) o).queueIDs) {
+                  preparedMessageRefCount.computeIfAbsent(queueID, id -> new Count(0)).value++;
+               }
             }
          }
 
@@ -634,6 +643,12 @@ public final class DescribeJournal {
             return new ReferenceDescribe(encoding);
          }
 
+         case JournalRecordIds.ADD_REFS: {
+            final RefsEncoding encoding = new RefsEncoding();
+            encoding.decode(buffer);
+            return encoding;
+         }
+
          case ACKNOWLEDGE_REF: {
             final RefEncoding encoding = new RefEncoding();
             encoding.decode(buffer);
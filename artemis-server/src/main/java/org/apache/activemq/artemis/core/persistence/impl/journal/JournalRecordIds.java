@@ -108,4 +108,9 @@ public final class JournalRecordIds {
    public static final byte ADDRESS_SETTING_RECORD_JSON = 52;
 
    public static final byte ACK_RETRY = 53;
+
+   /**
+    * The references of a message to many queues: the same as an {@link #ADD_REF} for each of them.
+    */
+   public static final byte ADD_REFS = 54;
 }
@@ -46,6 +46,11 @@ public interface AddressManager {
     */
    Binding removeBinding(SimpleString uniqueName, Transaction tx) throws Exception;
 
+   /**
+    * To be called once the filter of a binding has been updated, to inform all the bindings it belongs to.
+    */
+   void bindingUpdated(Binding binding) throws Exception;
+
    Bindings getExistingBindingsForRoutingAddress(SimpleString address) throws Exception;
 
    Bindings getBindingsForRoutingAddress(SimpleString address) throws Exception;
@@ -28,8 +28,8 @@ import org.apache.activemq.artemis.core.server.group.UnproposalListener;
 
 public interface Bindings extends UnproposalListener {
 
-   // this is to inform the parent there was an update on the bindings
-   void updated(QueueBinding binding);
+   // this is to inform the parent there was an update on the bindings, e.g. the filter of one of them
+   void updated(Binding binding);
 
    Collection<Binding> getBindings();
 
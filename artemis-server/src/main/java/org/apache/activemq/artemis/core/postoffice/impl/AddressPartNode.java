@@ -17,7 +17,6 @@
 
 package org.apache.activemq.artemis.core.postoffice.impl;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
@@ -33,6 +32,9 @@ public final class AddressPartNode<T> {
    private final List<T> values = new CopyOnWriteArrayList<>();
    private final Map<String, AddressPartNode<T>> childNodes = new ConcurrentHashMap<>();
    private final String path;
+   // direct references to the wildcard children, looked up on every level of any match
+   private volatile AddressPartNode<T> anyChildNode;
+   private volatile AddressPartNode<T> anyDescendentNode;
 
    public AddressPartNode(final String path, final AddressPartNode<T> parent) {
       this.parent = parent;
@@ -67,12 +69,21 @@ public final class AddressPartNode<T> {
    public AddressPartNode<T> getChildOrCreate(final String path) {
       AddressPartNode<T> answer = childNodes.get(path);
       if (answer == null) {
-         answer = new AddressPartNode<>(path, this);
-         childNodes.put(path, answer);
+         answer = childNodes.computeIfAbsent(path, this::createChild);
       }
       return answer;
    }
 
+   private AddressPartNode<T> createChild(final String path) {
+      final AddressPartNode<T> child = new AddressPartNode<>(path, this);
+      if (ANY_CHILD == child.getPath()) {
+         anyChildNode = child;
+      } else if (ANY_DESCENDENT == child.getPath()) {
+         anyDescendentNode = child;
+      }
+      return child;
+   }
+
    public void add(final String[] paths, final int idx, final T value) {
       if (idx >= paths.length) {
          values.add(value);
@@ -138,30 +149,28 @@ public final class AddressPartNode<T> {
       }
 
       // look for a path match after 0-N skips among immediate children
-      List<AddressPartNode> visitedSet = new ArrayList<>(paths.length);
       for (int i = startIndex; i < paths.length; i++) {
          final AddressPartNode<T> match = getChild(paths[i]);
          if (match != null) {
             match.visitMatchingWildcards(paths, i + 1, collector);
-            visitedSet.add(match);
          }
       }
 
       // walk the rest of the sub tree to find a tail path match
       for (AddressPartNode<T> child : childNodes.values()) {
-         if (alreadyVisited(child, visitedSet)) {
+         if (alreadyVisited(child, paths, startIndex)) {
             continue;
          }
          child.visitPathTailMatch(paths, startIndex, collector);
       }
    }
 
-   private boolean alreadyVisited(final AddressPartNode<T> child, final List<AddressPartNode> matches) {
-      if (!matches.isEmpty()) {
-         for (AddressPartNode alreadyMatched : matches) {
-            if (child == alreadyMatched) {
-               return true;
-            }
+   // a child is keyed by its path: no need to collect the matches above
+   private static boolean alreadyVisited(final AddressPartNode<?> child, final String[] paths, final int startIndex) {
+      final String childPath = child.getPath();
+      for (int i = startIndex; i < paths.length; i++) {
+         if (childPath.equals(paths[i])) {
+            return true;
          }
       }
       return false;
@@ -233,7 +242,7 @@ public final class AddressPartNode<T> {
 
          final String path = paths[i];
 
-         anyDescendentNode = node.getChild(ANY_DESCENDENT);
+         anyDescendentNode = node.anyDescendentNode;
          if (anyDescendentNode != null) {
 
             anyDescendentNode.visitValues(collector);
@@ -241,7 +250,7 @@ public final class AddressPartNode<T> {
             anyDescendentNode.visitPathTailMatch(paths, i, collector);
          }
 
-         anyChildNode = node.getChild(ANY_CHILD);
+         anyChildNode = node.anyChildNode;
          if (anyChildNode != null) {
             anyChildNode.visitMatchingWildcards(paths, i + 1, collector);
          }
@@ -259,7 +268,7 @@ public final class AddressPartNode<T> {
          node.visitValues(collector);
 
          // allow zero node any descendant at the end of path node
-         anyDescendentNode = node.getChild(ANY_DESCENDENT);
+         anyDescendentNode = node.anyDescendentNode;
          if (anyDescendentNode != null) {
             anyDescendentNode.visitValues(collector);
          }
@@ -283,13 +292,21 @@ public final class AddressPartNode<T> {
    }
 
    protected void removeChild(final AddressPartNode<T> node) {
-      childNodes.remove(node.getPath());
+      if (childNodes.remove(node.getPath(), node)) {
+         if (anyChildNode == node) {
+            anyChildNode = null;
+         } else if (anyDescendentNode == node) {
+            anyDescendentNode = null;
+         }
+      }
       pruneIfEmpty();
    }
 
    public void reset() {
       values.clear();
       childNodes.clear();
+      anyChildNode = null;
+      anyDescendentNode = null;
    }
 }
 
@@ -21,6 +21,8 @@ import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -34,10 +36,10 @@ import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.Bindings;
-import org.apache.activemq.artemis.core.postoffice.QueueBinding;
 import org.apache.activemq.artemis.core.server.ActiveMQServerLogger;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RoutingContext;
@@ -85,7 +87,7 @@ public final class BindingsImpl implements Bindings {
    private static final AtomicInteger sequenceVersion = new AtomicInteger(Integer.MIN_VALUE);
 
    /**
-    * This has a version about adds and removes
+    * This has a version about adds, removes and filter updates
     */
    private volatile int version;
 
@@ -94,6 +96,8 @@ public final class BindingsImpl implements Bindings {
 
    private volatile boolean hasLocal;
 
+   private volatile RoutingPlan routingPlan = RoutingPlan.EMPTY;
+
    public BindingsImpl(final SimpleString name, final GroupingHandler groupingHandler, StorageManager storageManager) {
       this.groupingHandler = groupingHandler;
       this.storageManager = storageManager;
@@ -158,7 +162,7 @@ public final class BindingsImpl implements Bindings {
    }
 
    @Override
-   public void updated(QueueBinding binding) {
+   public void updated(Binding binding) {
       updated();
    }
 
@@ -345,7 +349,7 @@ public final class BindingsImpl implements Bindings {
          } else if (CompositeAddress.isFullyQualified(message.getAddress())) {
             context.clear().setReusable(false);
             final Binding theBinding = bindingsNameMap.get(String.valueOf(CompositeAddress.extractQueueName(message.getAddressSimpleString())));
-            if (theBinding != null && (theBinding.getFilter() == null || theBinding.getFilter().match(message))) {
+            if (theBinding != null && context.match(theBinding.getFilter(), message)) {
                theBinding.route(message, context);
             }
          } else {
@@ -366,8 +370,7 @@ public final class BindingsImpl implements Bindings {
             context.clear().setReusable(false);
             hasExclusives = true;
          }
-         final Filter filter = binding.getFilter();
-         if (filter == null || filter.match(message)) {
+         if (context.match(binding.getFilter(), message)) {
             if (!(binding instanceof DivertBinding && context.isDivertDisabled())) {
                binding.getBindable().route(message, context);
             }
@@ -406,8 +409,14 @@ public final class BindingsImpl implements Bindings {
          logger.trace("Routing message {} on binding={} current context::{}", message, this, context);
       }
 
+      final RoutingPlan plan = getRoutingPlan(currentVersion);
+      if (plan.bindings != null) {
+         routeUsingPlan(message, context, currentVersion, plan);
+         return;
+      }
+
       routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
-         final Binding nextBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+         final Binding nextBinding = getNextBinding(message, context, bindings, nextPosition, getMessageLoadBalancingType(context));
          if (nextBinding != null && nextBinding.getFilter() == null && nextBinding.isLocal() && bindings.length == 1) {
             context.setReusable(true, currentVersion);
          } else {
@@ -423,6 +432,73 @@ public final class BindingsImpl implements Bindings {
       });
    }
 
+   private RoutingPlan getRoutingPlan(final int currentVersion) {
+      RoutingPlan plan = routingPlan;
+      if (plan.version != currentVersion) {
+         // any concurrent change will bump the version again, so a stale plan cannot survive the next routing
+         plan = RoutingPlan.of(routingNameBindingMap, currentVersion);
+         routingPlan = plan;
+      }
+      return plan;
+   }
+
+   /**
+    * Same as {@link #simpleRouting} but for routing names with a single non-remote binding, where
+    * {@link #getNextBinding} cannot pick anything else than the binding itself if its filter matches.
+    */
+   private static void routeUsingPlan(final Message message,
+                                      final RoutingContext context,
+                                      final int currentVersion,
+                                      final RoutingPlan plan) throws Exception {
+      context.setReusable(plan.reusable, currentVersion);
+      routeMatching(message, context, plan.bindings, plan.filters);
+      for (PropertyDispatch dispatch : plan.dispatches) {
+         final Object value = FilterImpl.getFilterProperty(message, dispatch.property);
+         if (value instanceof String) {
+            final Binding[] matching = dispatch.bindingsByValue.get(value);
+            if (matching != null) {
+               for (Binding binding : matching) {
+                  route(message, context, binding);
+               }
+            }
+         } else if (value != null) {
+            // the filters could still match converting the value: let them decide
+            routeMatching(message, context, dispatch.bindings, dispatch.filters);
+         }
+      }
+   }
+
+   private static void routeMatching(final Message message,
+                                     final RoutingContext context,
+                                     final Binding[] bindings,
+                                     final Filter[] filters) throws Exception {
+      Filter previousFilter = null;
+      boolean previousMatch = false;
+      for (int i = 0; i < bindings.length; i++) {
+         final Filter filter = filters[i];
+         final boolean match;
+         if (filter == null) {
+            match = true;
+         } else if (filter == previousFilter || filter.equals(previousFilter)) {
+            // the plan groups equal filters together: evaluate each one just once
+            match = previousMatch;
+         } else {
+            match = filter.match(message);
+            previousFilter = filter;
+            previousMatch = match;
+         }
+         if (match) {
+            route(message, context, bindings[i]);
+         }
+      }
+   }
+
+   private static void route(final Message message, final RoutingContext context, final Binding binding) throws Exception {
+      if (!(context.isDivertDisabled() && binding instanceof DivertBinding)) {
+         binding.route(message, context);
+      }
+   }
+
    @Override
    public String toString() {
       return "BindingsImpl [name=" + name + "]";
@@ -437,6 +513,7 @@ public final class BindingsImpl implements Bindings {
     * (depending if you are using multi-thread), and not lose messages.
     */
    private Binding getNextBinding(final Message message,
+                                  final RoutingContext context,
                                   final Binding[] bindings,
                                   final CopyOnWriteBindings.BindingIndex bindingIndex,
                                   final MessageLoadBalancingType loadBalancingType) {
@@ -453,7 +530,7 @@ public final class BindingsImpl implements Bindings {
 
       for (int i = 0; i < bindingsCount; i++) {
          final Binding binding = bindings[nextPosition];
-         if (matchBinding(message, binding, loadBalancingType)) {
+         if (matchBinding(message, context, binding, loadBalancingType)) {
             // bindings.length == 1 ==> only a local queue so we don't check for matching consumers (it's an
             // unnecessary overhead)
             if (bindingsCount == 1 || (binding.isConnected() && (loadBalancingType.equals(MessageLoadBalancingType.STRICT) || binding.isHighAcceptPriority(message)))) {
@@ -483,6 +560,7 @@ public final class BindingsImpl implements Bindings {
    }
 
    private static boolean matchBinding(final Message message,
+                                       final RoutingContext context,
                                        final Binding binding,
                                        final MessageLoadBalancingType loadBalancingType) {
       if (loadBalancingType.equals(MessageLoadBalancingType.OFF) || loadBalancingType.equals(MessageLoadBalancingType.OFF_WITH_REDISTRIBUTION)) {
@@ -495,12 +573,8 @@ public final class BindingsImpl implements Bindings {
          return false;
       }
 
-      final Filter filter = binding.getFilter();
-
-      if (filter == null || filter.match(message)) {
-         return true;
-      }
-      return false;
+      // remote bindings of the same queue share its filter: the context evaluates it just once
+      return context.match(binding.getFilter(), message);
    }
 
    private void routeUsingStrictOrdering(final Message message,
@@ -519,7 +593,7 @@ public final class BindingsImpl implements Bindings {
 
          if (resp == null) {
             // ok let's find the next binding to propose
-            Binding theBinding = getNextBinding(message, bindings, nextPosition, getMessageLoadBalancingType(context));
+            Binding theBinding = getNextBinding(message, context, bindings, nextPosition, getMessageLoadBalancingType(context));
             if (theBinding == null) {
                return;
             }
@@ -677,6 +751,115 @@ public final class BindingsImpl implements Bindings {
       return position;
    }
 
+   /**
+    * The bindings to route to, computed once per bindings version.
+    * <p>
+    * Bindings filtering on a single property being equal to a string are dispatched by the value of that property,
+    * looked up once per message. The others are evaluated one by one: unfiltered ones first, followed by the filtered
+    * ones ordered by filter. {@code bindings} is {@code null} if any routing name requires load balancing.
+    */
+   private static final class RoutingPlan {
+
+      private static final PropertyDispatch[] NO_DISPATCHES = new PropertyDispatch[0];
+
+      static final RoutingPlan EMPTY = new RoutingPlan(0, null, null, NO_DISPATCHES, false);
+
+      final int version;
+      final Binding[] bindings;
+      final Filter[] filters;
+      final PropertyDispatch[] dispatches;
+      final boolean reusable;
+
+      private RoutingPlan(int version,
+                          Binding[] bindings,
+                          Filter[] filters,
+                          PropertyDispatch[] dispatches,
+                          boolean reusable) {
+         this.version = version;
+         this.bindings = bindings;
+         this.filters = filters;
+         this.dispatches = dispatches;
+         this.reusable = reusable;
+      }
+
+      static RoutingPlan of(CopyOnWriteBindings routingNameBindingMap, int version) {
+         final List<Binding> planned = new ArrayList<>();
+         final boolean[] plannable = {true};
+         routingNameBindingMap.forEachBindings((bindings, nextPosition) -> {
+            final Binding binding = bindings[0];
+            if (bindings.length > 1 || binding instanceof RemoteQueueBinding) {
+               plannable[0] = false;
+            } else {
+               planned.add(binding);
+            }
+         });
+         if (!plannable[0] || planned.isEmpty()) {
+            return new RoutingPlan(version, null, null, NO_DISPATCHES, false);
+         }
+         final List<Binding> unfiltered = new ArrayList<>();
+         final List<Binding> filtered = new ArrayList<>();
+         final Map<SimpleString, List<Binding>> byProperty = new HashMap<>();
+         boolean reusable = true;
+         for (Binding binding : planned) {
+            final Filter filter = binding.getFilter();
+            if (filter == null) {
+               unfiltered.add(binding);
+               reusable &= binding.isLocal();
+            } else {
+               reusable = false;
+               if (filter instanceof FilterImpl filterImpl && filterImpl.getEqualsProperty() != null) {
+                  byProperty.computeIfAbsent(filterImpl.getEqualsProperty(), property -> new ArrayList<>()).add(binding);
+               } else {
+                  filtered.add(binding);
+               }
+            }
+         }
+         final Comparator<Binding> byFilter = Comparator.comparing(binding -> String.valueOf(Filter.toFilterString(binding.getFilter())));
+         filtered.sort(byFilter);
+         unfiltered.addAll(filtered);
+         final Binding[] bindings = unfiltered.toArray(new Binding[0]);
+         final PropertyDispatch[] dispatches = new PropertyDispatch[byProperty.size()];
+         int i = 0;
+         for (Map.Entry<SimpleString, List<Binding>> entry : byProperty.entrySet()) {
+            final List<Binding> propertyBindings = entry.getValue();
+            propertyBindings.sort(byFilter);
+            dispatches[i++] = new PropertyDispatch(entry.getKey(), propertyBindings.toArray(new Binding[0]));
+         }
+         return new RoutingPlan(version, bindings, filtersOf(bindings), dispatches, reusable);
+      }
+   }
+
+   /**
+    * The bindings filtering on the same property being equal to some string, indexed by that string.
+    */
+   private static final class PropertyDispatch {
+
+      final SimpleString property;
+      final Map<String, Binding[]> bindingsByValue;
+      final Binding[] bindings;
+      final Filter[] filters;
+
+      private PropertyDispatch(SimpleString property, Binding[] bindings) {
+         this.property = property;
+         this.bindings = bindings;
+         this.filters = filtersOf(bindings);
+         final Map<String, List<Binding>> byValue = new HashMap<>();
+         for (Binding binding : bindings) {
+            byValue.computeIfAbsent(((FilterImpl) binding.getFilter()).getEqualsValue(), value -> new ArrayList<>()).add(binding);
+         }
+         this.bindingsByValue = new HashMap<>(byValue.size() * 2);
+         byValue.forEach((value, valueBindings) -> bindingsByValue.put(value, valueBindings.toArray(new Binding[0])));
+      }
+   }
+
+   private static Filter[] filtersOf(Binding[] bindings) {
+      final Filter[] filters = new Filter[bindings.length];
+      for (int i = 0; i < bindings.length; i++) {
+         filters[i] = bindings[i].getFilter();
+      }
+      return filters;
+   }
+
    /**
     * debug method: used just for tests!!
     * @return
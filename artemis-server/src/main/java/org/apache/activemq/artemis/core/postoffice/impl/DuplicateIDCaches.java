@@ -29,18 +29,35 @@ public final class DuplicateIDCaches {
    public static DuplicateIDCache persistent(final SimpleString address,
                                              final int size,
                                              final StorageManager storageManager) {
+      return persistent(address, size, storageManager, false);
+   }
+
+   /**
+    * @param useFilter whether to front the cache with a probabilistic filter, saving to look up ids surely missing
+    */
+   public static DuplicateIDCache persistent(final SimpleString address,
+                                             final int size,
+                                             final StorageManager storageManager,
+                                             final boolean useFilter) {
       if (size == 0) {
          return new NoOpDuplicateIDCache();
       } else {
-         return new PersistentDuplicateIDCache(address, size, storageManager);
+         return new PersistentDuplicateIDCache(address, size, storageManager, useFilter);
       }
    }
 
    public static DuplicateIDCache inMemory(final SimpleString address, final int size) {
+      return inMemory(address, size, false);
+   }
+
+   /**
+    * @param useFilter whether to front the cache with a probabilistic filter, saving to look up ids surely missing
+    */
+   public static DuplicateIDCache inMemory(final SimpleString address, final int size, final boolean useFilter) {
       if (size == 0) {
          return new NoOpDuplicateIDCache();
       } else {
-         return new InMemoryDuplicateIDCache(address, size);
+         return new InMemoryDuplicateIDCache(address, size, useFilter);
       }
    }
 }
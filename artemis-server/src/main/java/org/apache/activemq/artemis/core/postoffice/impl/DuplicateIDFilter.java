@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counting Bloom filter fronting a {@link DuplicateIDIndex}: if it says an id is missing the index doesn't need to be
+ * looked up, which is the common case for any producer not resending. It allows the index to keep just the ring
+ * positions, instead of the ids and their hashes too, at the cost of reading the ids from the ring when probing.
+ * <p>
+ * Each id is mapped to a single 64 bits word, holding 16 4-bits counters, and to 4 counters within it: any lookup
+ * touches a single word, ie 8 bytes per expected id. A saturated counter is never decremented, ending up being a
+ * false positive forever, which is still correct.
+ * <p>
+ * Lookups are lock-free, while any modification is expected to be performed by a single thread at time (the owning
+ * cache is holding its monitor).
+ */
+final class DuplicateIDFilter {
+
+   private static final int COUNTERS = 4;
+   private static final long COUNTER_MASK = 0xFL;
+
+   private final AtomicLongArray words;
+   private final int mask;
+
+   DuplicateIDFilter(int expectedItems) {
+      final int size = DuplicateIDIndex.alignToPowerOfTwo(Math.max(2, expectedItems));
+      this.words = new AtomicLongArray(size);
+      this.mask = size - 1;
+   }
+
+   /**
+    * @return {@code false} if {@code id} has surely never been added, {@code true} if it may have been
+    */
+   boolean mightContain(byte[] id) {
+      final int hash = DuplicateIDIndex.hash(id);
+      final long word = words.get(hash & mask);
+      int shifts = counters(hash);
+      for (int i = 0; i < COUNTERS; i++) {
+         if (((word >>> ((shifts & 0xF) << 2)) & COUNTER_MASK) == 0) {
+            return false;
+         }
+         shifts >>>= 4;
+      }
+      return true;
+   }
+
+   void add(byte[] id) {
+      final int hash = DuplicateIDIndex.hash(id);
+      final int index = hash & mask;
+      long word = words.get(index);
+      int shifts = counters(hash);
+      for (int i = 0; i < COUNTERS; i++) {
+         final int shift = (shifts & 0xF) << 2;
+         final long counter = (word >>> shift) & COUNTER_MASK;
+         if (counter != COUNTER_MASK) {
+            word += 1L << shift;
+         }
+         shifts >>>= 4;
+      }
+      words.set(index, word);
+   }
+
+   void remove(byte[] id) {
+      final int hash = DuplicateIDIndex.hash(id);
+      final int index = hash & mask;
+      long word = words.get(index);
+      int shifts = counters(hash);
+      for (int i = 0; i < COUNTERS; i++) {
+         final int shift = (shifts & 0xF) << 2;
+         final long counter = (word >>> shift) & COUNTER_MASK;
+         if (counter != 0 && counter != COUNTER_MASK) {
+            word -= 1L << shift;
+         }
+         shifts >>>= 4;
+      }
+      words.set(index, word);
+   }
+
+   void clear() {
+      for (int i = 0; i < words.length(); i++) {
+         words.set(i, 0);
+      }
+   }
+
+   /**
+    * Derives the counters selection from the same hash used to pick the word, decorrelating them.
+    */
+   private static int counters(int hash) {
+      int h = hash;
+      h ^= h >>> 16;
+      h *= 0x85EBCA6B;
+      h ^= h >>> 13;
+      h *= 0xC2B2AE35;
+      return h ^ (h >>> 16);
+   }
+}
@@ -0,0 +1,393 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.IntFunction;
+
+import org.apache.activemq.artemis.utils.ByteUtil;
+
+import static org.apache.activemq.artemis.utils.Preconditions.checkArgument;
+import static org.apache.activemq.artemis.utils.Preconditions.checkNotNull;
+
+/**
+ * Index from a duplicate ID to its position on the FIFO ring of a {@link InMemoryDuplicateIDCache} or
+ * {@link PersistentDuplicateIDCache}.
+ * <p>
+ * It is an open hash table with linear probing, split into sections each guarded by its own {@link StampedLock}:
+ * <ol>
+ * <li>No wrapper allocation per lookup nor per entry: the ids are hashed and compared as they are
+ * <li>No boxing: hashes, ids and positions are kept in parallel arrays
+ * <li>Lookups are optimistic and don't need to synchronize on the owning cache
+ * </ol>
+ * When the owning cache is fronted by a {@link DuplicateIDFilter}, the index can be given access to the ring instead:
+ * it then keeps just the positions, reading the ids from the ring, because the filter saves most of the probes.
+ */
+final class DuplicateIDIndex {
+
+   static final int NOT_FOUND = -1;
+
+   private static final float FILL_FACTOR = 0.66f;
+
+   private static final int MAX_INITIAL_ITEMS = 1024;
+   private static final int DEFAULT_SECTIONS = 16;
+
+   private final Section[] sections;
+
+   /**
+    * The index starts small and grows with its content, because most caches never get filled.
+    */
+   DuplicateIDIndex(int expectedItems) {
+      this(Math.min(expectedItems, MAX_INITIAL_ITEMS), DEFAULT_SECTIONS, null);
+   }
+
+   /**
+    * @param ring the id at each position of the ring, or {@code null} if not at any: the index won't store the ids,
+    *             while any modification is expected to be performed holding the lock of the ring
+    */
+   DuplicateIDIndex(int expectedItems, IntFunction<byte[]> ring) {
+      this(Math.min(expectedItems, MAX_INITIAL_ITEMS), DEFAULT_SECTIONS, ring);
+   }
+
+   DuplicateIDIndex(int expectedItems, int numSections) {
+      this(expectedItems, numSections, null);
+   }
+
+   DuplicateIDIndex(int expectedItems, int numSections, IntFunction<byte[]> ring) {
+      checkArgument(numSections > 0 && Integer.bitCount(numSections) == 1, "numSections must be a positive power of 2");
+      if (expectedItems < numSections) {
+         expectedItems = numSections;
+      }
+      final int perSectionCapacity = (int) ((expectedItems / numSections) / FILL_FACTOR);
+      this.sections = new Section[numSections];
+      for (int i = 0; i < numSections; i++) {
+         sections[i] = new Section(perSectionCapacity, ring);
+      }
+   }
+
+   boolean containsKey(byte[] id) {
+      return get(id) != NOT_FOUND;
+   }
+
+   /**
+    * @return the position indexed for {@code id} or {@link #NOT_FOUND}
+    */
+   int get(byte[] id) {
+      final int hash = hash(id);
+      return getSection(hash).get(id, hash);
+   }
+
+   /**
+    * @return the position previously indexed for {@code id} or {@link #NOT_FOUND}
+    */
+   int put(byte[] id, int position) {
+      checkNotNull(id);
+      checkArgument(position >= 0, "position must be >= 0");
+      final int hash = hash(id);
+      return getSection(hash).put(id, hash, position);
+   }
+
+   /**
+    * @return the position indexed for the removed {@code id} or {@link #NOT_FOUND}
+    */
+   int remove(byte[] id) {
+      final int hash = hash(id);
+      return getSection(hash).remove(id, hash, NOT_FOUND);
+   }
+
+   /**
+    * Removes the entry for {@code id} only if it is still indexing {@code position}.
+    *
+    * @return {@code true} if the entry has been removed
+    */
+   boolean remove(byte[] id, int position) {
+      final int hash = hash(id);
+      return getSection(hash).remove(id, hash, position) != NOT_FOUND;
+   }
+
+   int size() {
+      int size = 0;
+      for (Section s : sections) {
+         size += s.size();
+      }
+      return size;
+   }
+
+   boolean isEmpty() {
+      for (Section s : sections) {
+         if (s.size() != 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   void clear() {
+      for (Section s : sections) {
+         s.clear();
+      }
+   }
+
+   private Section getSection(int hash) {
+      // the most significant bits select the section, the least significant ones the bucket
+      return sections[(int) (((hash & 0xFFFFFFFFL) * sections.length) >>> 32)];
+   }
+
+   static int hash(byte[] id) {
+      final int h = ByteUtil.hashCode(id) * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+   private static final class Table {
+
+      final int mask;
+      // NOT_FOUND marks the free buckets
+      final int[] positions;
+      // both null if the ids are read from the ring
+      final int[] hashes;
+      final byte[][] ids;
+      final IntFunction<byte[]> ring;
+
+      Table(int capacity, IntFunction<byte[]> ring) {
+         this.mask = capacity - 1;
+         this.positions = new int[capacity];
+         Arrays.fill(positions, NOT_FOUND);
+         this.ring = ring;
+         if (ring == null) {
+            this.hashes = new int[capacity];
+            this.ids = new byte[capacity][];
+         } else {
+            this.hashes = null;
+            this.ids = null;
+         }
+      }
+
+      int capacity() {
+         return positions.length;
+      }
+
+      boolean isFree(int bucket) {
+         return positions[bucket] == NOT_FOUND;
+      }
+
+      int hashAt(int bucket) {
+         return hashes != null ? hashes[bucket] : hash(ring.apply(positions[bucket]));
+      }
+
+      void set(int bucket, byte[] id, int hash, int position) {
+         positions[bucket] = position;
+         if (ids != null) {
+            hashes[bucket] = hash;
+            ids[bucket] = id;
+         }
+      }
+
+      void move(int from, int to) {
+         positions[to] = positions[from];
+         if (ids != null) {
+            hashes[to] = hashes[from];
+            ids[to] = ids[from];
+         }
+      }
+
+      void free(int bucket) {
+         positions[bucket] = NOT_FOUND;
+         if (ids != null) {
+            hashes[bucket] = 0;
+            ids[bucket] = null;
+         }
+      }
+
+      boolean matches(int bucket, byte[] id, int hash) {
+         if (ids != null) {
+            return hashes[bucket] == hash && ByteUtil.equals(ids[bucket], id);
+         }
+         // the ring can be read while being modified by an optimistic reader: it just returns null then
+         final byte[] storedId = ring.apply(positions[bucket]);
+         return storedId != null && ByteUtil.equals(storedId, id);
+      }
+
+      int find(byte[] id, int hash) {
+         int bucket = hash & mask;
+         // bounded: an optimistic reader can observe a table while it is being modified
+         for (int i = 0; i <= mask; i++) {
+            if (isFree(bucket)) {
+               return -1;
+            }
+            if (matches(bucket, id, hash)) {
+               return bucket;
+            }
+            bucket = (bucket + 1) & mask;
+         }
+         return -1;
+      }
+   }
+
+   // A section is a portion of the index that is covered by a single lock
+   @SuppressWarnings("serial")
+   private static final class Section extends StampedLock {
+
+      private final int initialCapacity;
+      private final IntFunction<byte[]> ring;
+      private Table table;
+      private int size;
+      private int resizeThreshold;
+
+      Section(int capacity, IntFunction<byte[]> ring) {
+         this.initialCapacity = alignToPowerOfTwo(Math.max(2, capacity));
+         this.ring = ring;
+         resetTable(initialCapacity);
+      }
+
+      private void resetTable(int capacity) {
+         this.table = new Table(capacity, ring);
+         this.resizeThreshold = (int) (capacity * FILL_FACTOR);
+      }
+
+      int size() {
+         long stamp = tryOptimisticRead();
+         int size = this.size;
+         if (!validate(stamp)) {
+            stamp = readLock();
+            try {
+               size = this.size;
+            } finally {
+               unlockRead(stamp);
+            }
+         }
+         return size;
+      }
+
+      int get(byte[] id, int hash) {
+         long stamp = tryOptimisticRead();
+         if (stamp != 0) {
+            final Table table = this.table;
+            final int bucket = table.find(id, hash);
+            final int position = bucket >= 0 ? table.positions[bucket] : NOT_FOUND;
+            if (validate(stamp)) {
+               return position;
+            }
+         }
+         stamp = readLock();
+         try {
+            final Table table = this.table;
+            final int bucket = table.find(id, hash);
+            return bucket >= 0 ? table.positions[bucket] : NOT_FOUND;
+         } finally {
+            unlockRead(stamp);
+         }
+      }
+
+      int put(byte[] id, int hash, int position) {
+         final long stamp = writeLock();
+         try {
+            final Table table = this.table;
+            final int mask = table.mask;
+            int bucket = hash & mask;
+            while (true) {
+               if (table.isFree(bucket)) {
+                  table.set(bucket, id, hash, position);
+                  if (++size > resizeThreshold) {
+                     rehash();
+                  }
+                  return NOT_FOUND;
+               }
+               if (table.matches(bucket, id, hash)) {
+                  final int storedPosition = table.positions[bucket];
+                  table.set(bucket, id, hash, position);
+                  return storedPosition;
+               }
+               bucket = (bucket + 1) & mask;
+            }
+         } finally {
+            unlockWrite(stamp);
+         }
+      }
+
+      int remove(byte[] id, int hash, int expectedPosition) {
+         final long stamp = writeLock();
+         try {
+            final Table table = this.table;
+            final int bucket = table.find(id, hash);
+            if (bucket < 0) {
+               return NOT_FOUND;
+            }
+            final int position = table.positions[bucket];
+            if (expectedPosition != NOT_FOUND && position != expectedPosition) {
+               return NOT_FOUND;
+            }
+            removeAt(table, bucket);
+            size--;
+            return position;
+         } finally {
+            unlockWrite(stamp);
+         }
+      }
+
+      /**
+       * Backward shift deletion: it doesn't leave tombstones behind, that would otherwise pile up with FIFO evictions.
+       */
+      private static void removeAt(Table table, int bucket) {
+         final int mask = table.mask;
+         int hole = bucket;
+         int next = (hole + 1) & mask;
+         while (!table.isFree(next)) {
+            final int ideal = table.hashAt(next) & mask;
+            // the entry can fill the hole only if its ideal bucket isn't cyclically within (hole, next]
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+               table.move(next, hole);
+               hole = next;
+            }
+            next = (next + 1) & mask;
+         }
+         table.free(hole);
+      }
+
+      void clear() {
+         final long stamp = writeLock();
+         try {
+            resetTable(initialCapacity);
+            size = 0;
+         } finally {
+            unlockWrite(stamp);
+         }
+      }
+
+      private void rehash() {
+         final Table oldTable = this.table;
+         final Table newTable = new Table(oldTable.capacity() * 2, ring);
+         final int mask = newTable.mask;
+         for (int i = 0; i < oldTable.capacity(); i++) {
+            if (!oldTable.isFree(i)) {
+               final int hash = oldTable.hashAt(i);
+               int bucket = hash & mask;
+               while (!newTable.isFree(bucket)) {
+                  bucket = (bucket + 1) & mask;
+               }
+               newTable.set(bucket, oldTable.ids != null ? oldTable.ids[i] : null, hash, oldTable.positions[i]);
+            }
+         }
+         this.table = newTable;
+         this.resizeThreshold = (int) (newTable.capacity() * FILL_FACTOR);
+      }
+   }
+
+   static int alignToPowerOfTwo(int n) {
+      return 1 << (32 - Integer.numberOfLeadingZeros(n - 1));
+   }
+}
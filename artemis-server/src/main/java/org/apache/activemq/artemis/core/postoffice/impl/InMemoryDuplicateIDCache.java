@@ -17,10 +17,8 @@
 package org.apache.activemq.artemis.core.postoffice.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.IntFunction;
 
 import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
 import org.apache.activemq.artemis.api.core.Pair;
@@ -35,8 +33,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 
-import static org.apache.activemq.artemis.core.postoffice.impl.IntegerCache.boxedInts;
-
 /**
  * {@link InMemoryDuplicateIDCache} and {@link PersistentDuplicateIDCache} impls have been separated for performance
  * and memory footprint reasons.<br>
@@ -48,26 +44,38 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-   private final Map<ByteArray, Integer> cache = new ConcurrentHashMap<>();
+   private static final int INITIAL_RING_CAPACITY = 1024;
+
+   private final DuplicateIDIndex cache;
+
+   // null if disabled
+   private final DuplicateIDFilter filter;
 
    private final SimpleString address;
 
-   private final List<ByteArray> ids;
+   // FIFO ring of the cached ids, grown up to cacheSize on demand
+   private byte[][] ids;
 
-   private final IntFunction<Integer> cachedBoxedInts;
+   private int idsSize;
 
    private int pos;
 
    private final int cacheSize;
 
-   InMemoryDuplicateIDCache(final SimpleString address, final int size) {
+   // guards the ring, while the index and the filter are safe to be looked up without it
+   private final Object ringLock = new Object();
+
+   InMemoryDuplicateIDCache(final SimpleString address, final int size, final boolean useFilter) {
       this.address = address;
 
       cacheSize = size;
 
-      ids = new ArrayList<>(size);
+      ids = new byte[Math.min(size, INITIAL_RING_CAPACITY)][];
+
+      // the filter saves most of the probes, so the index can read the ids from the ring instead of storing them
+      cache = useFilter ? new DuplicateIDIndex(size, this::ringIdAt) : new DuplicateIDIndex(size);
 
-      cachedBoxedInts = boxedInts(size);
+      filter = useFilter ? new DuplicateIDFilter(size) : null;
    }
 
    @Override
@@ -76,28 +84,22 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
    }
 
    @Override
-   public void deleteFromCache(byte[] duplicateID) {
-      deleteFromCache(new ByteArray(duplicateID));
-   }
-
-   private void deleteFromCache(final ByteArray duplicateID) {
+   public void deleteFromCache(final byte[] duplicateID) {
       if (logger.isTraceEnabled()) {
-         logger.trace("deleting id = {}", describeID(duplicateID.bytes));
+         logger.trace("deleting id = {}", describeID(duplicateID));
       }
 
-      Integer posUsed = cache.remove(duplicateID);
-
-      if (posUsed != null) {
-         ByteArray id;
-
-         synchronized (this) {
-            final int index = posUsed.intValue();
-            id = ids.get(index);
+      synchronized (ringLock) {
+         final int posUsed = cache.remove(duplicateID);
 
-            if (id.equals(duplicateID)) {
-               ids.set(index, null);
+         if (posUsed != DuplicateIDIndex.NOT_FOUND) {
+            if (ByteUtil.equals(duplicateID, ids[posUsed])) {
+               ids[posUsed] = null;
+               if (filter != null) {
+                  filter.remove(duplicateID);
+               }
                if (logger.isTraceEnabled()) {
-                  logger.trace("address = {} deleting id={}", address, describeID(duplicateID.bytes));
+                  logger.trace("address = {} deleting id={}", address, describeID(duplicateID));
                }
             }
          }
@@ -105,21 +107,29 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
 
    }
 
+   /**
+    * @return the id at {@code position} of the ring or {@code null} if none, even if the ring is being modified
+    */
+   private byte[] ringIdAt(final int position) {
+      final byte[][] ids = this.ids;
+      return position >= 0 && position < ids.length ? ids[position] : null;
+   }
+
    private static String describeID(byte[] duplicateID) {
       return ByteUtil.bytesToHex(duplicateID, 4) + ", simpleString=" + ByteUtil.toSimpleString(duplicateID);
    }
 
    @Override
    public boolean contains(final byte[] duplID) {
-      return contains(new ByteArray(duplID));
-   }
+      if (filter != null && !filter.mightContain(duplID)) {
+         return false;
+      }
 
-   private boolean contains(final ByteArray id) {
-      boolean contains = cache.containsKey(id);
+      boolean contains = cache.containsKey(duplID);
 
       if (logger.isTraceEnabled()) {
          if (contains) {
-            logger.trace("address = {} found a duplicate {}", address, describeID(id.bytes));
+            logger.trace("address = {} found a duplicate {}", address, describeID(duplID));
          }
       }
       return contains;
@@ -136,123 +146,157 @@ final class InMemoryDuplicateIDCache implements DuplicateIDCache {
    }
 
    @Override
-   public synchronized boolean atomicVerify(final byte[] duplID, final Transaction tx) {
-      final ByteArray holder = new ByteArray(duplID);
-      if (contains(holder)) {
+   public boolean atomicVerify(final byte[] duplID, final Transaction tx) {
+      // a duplicate is found without locking: the ring lock is needed only to add a missing id
+      if (contains(duplID) || !addToCacheInMemory(duplID, true)) {
          if (tx != null) {
             tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
          }
          return false;
       }
-      addToCache(holder, tx, true);
+      if (tx != null) {
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address, describeID(duplID), tx);
+         }
+         tx.addOperation(new AddDuplicateIDOperation(duplID, false));
+      }
       return true;
    }
 
    @Override
-   public synchronized void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) throws Exception {
-      addToCache(new ByteArray(duplID), tx, instantAdd);
-   }
-
-   private synchronized void addToCache(final ByteArray holder, final Transaction tx, boolean instantAdd) {
+   public void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) {
       if (tx == null) {
-         addToCacheInMemory(holder);
+         addToCacheInMemory(duplID, false);
       } else {
          if (logger.isTraceEnabled()) {
-            logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address, describeID(holder.bytes), tx);
+            logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address, describeID(duplID), tx);
          }
 
          if (instantAdd) {
-            addToCacheInMemory(holder);
-            tx.addOperation(new AddDuplicateIDOperation(holder, false));
+            addToCacheInMemory(duplID, false);
+            tx.addOperation(new AddDuplicateIDOperation(duplID, false));
          } else {
             // For a tx, it's important that the entry is not added to the cache until commit
             // since if the client fails then resends them tx we don't want it to get rejected
-            tx.afterStore(new AddDuplicateIDOperation(holder, true));
+            tx.afterStore(new AddDuplicateIDOperation(duplID, true));
          }
       }
    }
 
    @Override
    public void load(final Transaction tx, final byte[] duplID) {
-      tx.addOperation(new AddDuplicateIDOperation(new ByteArray(duplID), true));
+      tx.addOperation(new AddDuplicateIDOperation(duplID, true));
    }
 
-   private synchronized void addToCacheInMemory(final ByteArray holder) {
-      if (logger.isTraceEnabled()) {
-         logger.trace("address = {} adding {}", address, describeID(holder.bytes));
-      }
+   /**
+    * Adds {@code duplID} to the ring, holding its lock just for the time needed to update it and the index.
+    *
+    * @param ifAbsent whether to check, atomically with the addition, that the id isn't already cached
+    * @return {@code false} if {@code ifAbsent} and the id is already cached
+    */
+   private boolean addToCacheInMemory(final byte[] duplID, final boolean ifAbsent) {
+      synchronized (ringLock) {
+         if (ifAbsent && cache.containsKey(duplID)) {
+            return false;
+         }
+
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} adding {}", address, describeID(duplID));
+         }
+
+         if (pos < idsSize) {
+            final byte[] id = ids[pos];
+
+            // The id here might be null if it was explicit deleted
+            if (id != null) {
+               if (logger.isTraceEnabled()) {
+                  logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(id));
+               }
 
-      cache.put(holder, cachedBoxedInts.apply(pos));
+               // the same id could have been added again later on
+               cache.remove(id, pos);
 
-      if (pos < ids.size()) {
-         // Need fast array style access here -hence ArrayList typing
-         final ByteArray id = ids.set(pos, holder);
+               if (filter != null) {
+                  filter.remove(id);
+               }
+            }
+
+            ids[pos] = duplID;
 
-         // The id here might be null if it was explicit deleted
-         if (id != null) {
             if (logger.isTraceEnabled()) {
-               logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(id.bytes));
+               logger.trace("address = {} replacing old duplicateID by {}", address, describeID(duplID));
             }
 
-            cache.remove(id);
-         }
+         } else {
+            if (logger.isTraceEnabled()) {
+               logger.trace("address = {} adding new duplicateID {}", address, describeID(duplID));
+            }
 
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} replacing old duplicateID by {}", address, describeID(holder.bytes));
+            if (idsSize == ids.length) {
+               ids = Arrays.copyOf(ids, Math.min(cacheSize, idsSize * 2));
+            }
+            ids[idsSize++] = duplID;
          }
 
-      } else {
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} adding new duplicateID {}", address, describeID(holder.bytes));
+         if (filter != null) {
+            filter.add(duplID);
          }
 
-         ids.add(holder);
-      }
+         cache.put(duplID, pos);
 
-      if (pos++ == cacheSize - 1) {
-         pos = 0;
+         if (pos++ == cacheSize - 1) {
+            pos = 0;
+         }
+         return true;
       }
    }
 
    @Override
-   public synchronized void clear() throws Exception {
+   public void clear() throws Exception {
       logger.debug("address = {} removing duplicate ID data", address);
 
-      ids.clear();
-      cache.clear();
-      pos = 0;
+      synchronized (ringLock) {
+         ids = new byte[Math.min(cacheSize, INITIAL_RING_CAPACITY)][];
+         idsSize = 0;
+         cache.clear();
+         if (filter != null) {
+            filter.clear();
+         }
+         pos = 0;
+      }
    }
 
    @Override
-   public synchronized List<Pair<byte[], Long>> getMap() {
-      final int idsSize = ids.size();
-      List<Pair<byte[], Long>> copy = new ArrayList<>(idsSize);
-      for (int i = 0; i < idsSize; i++) {
-         final ByteArray id = ids.get(i);
-         // in case the id has been removed
-         if (id != null) {
-            copy.add(new Pair<>(id.bytes, null));
+   public List<Pair<byte[], Long>> getMap() {
+      synchronized (ringLock) {
+         List<Pair<byte[], Long>> copy = new ArrayList<>(idsSize);
+         for (int i = 0; i < idsSize; i++) {
+            final byte[] id = ids[i];
+            // in case the id has been removed
+            if (id != null) {
+               copy.add(new Pair<>(id, null));
+            }
          }
+         return copy;
       }
-      return copy;
    }
 
    private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
 
-      final ByteArray id;
+      final byte[] id;
 
       volatile boolean done;
 
       private final boolean afterCommit;
 
-      AddDuplicateIDOperation(final ByteArray id, boolean afterCommit) {
+      AddDuplicateIDOperation(final byte[] id, boolean afterCommit) {
          this.id = id;
          this.afterCommit = afterCommit;
       }
 
       private void process() {
          if (!done) {
-            addToCacheInMemory(id);
+            addToCacheInMemory(id, false);
 
             done = true;
          }
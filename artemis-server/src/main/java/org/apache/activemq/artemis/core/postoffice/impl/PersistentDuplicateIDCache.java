@@ -17,14 +17,11 @@
 package org.apache.activemq.artemis.core.postoffice.impl;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.Objects;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.function.IntFunction;
 
 import org.apache.activemq.artemis.api.core.ActiveMQDuplicateIdException;
-import org.apache.activemq.artemis.api.core.ObjLongPair;
 import org.apache.activemq.artemis.api.core.Pair;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.StorageManager;
@@ -39,8 +36,6 @@ import org.slf4j.LoggerFactory;
 import java.lang.invoke.MethodHandles;
 
 import static org.apache.activemq.artemis.api.core.ObjLongPair.NIL;
-import static org.apache.activemq.artemis.core.postoffice.impl.IntegerCache.boxedInts;
-
 /**
  * {@link InMemoryDuplicateIDCache} and {@link PersistentDuplicateIDCache} impls have been separated for performance
  * and memory footprint reasons.<br>
@@ -52,13 +47,21 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
-   private final Map<ByteArray, Integer> cache = new ConcurrentHashMap<>();
+   private static final int INITIAL_RING_CAPACITY = 1024;
+
+   private final DuplicateIDIndex cache;
+
+   // null if disabled
+   private final DuplicateIDFilter filter;
 
    private final SimpleString address;
 
-   private final List<ObjLongPair<ByteArray>> ids;
+   // FIFO ring of the cached ids and their record IDs, grown up to cacheSize on demand
+   private byte[][] ids;
+
+   private long[] recordIDs;
 
-   private final IntFunction<Integer> cachedBoxedInts;
+   private int idsSize;
 
    private int pos;
 
@@ -66,105 +69,131 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    private final StorageManager storageManager;
 
-   PersistentDuplicateIDCache(final SimpleString address, final int size, final StorageManager storageManager) {
+   // guards the ring, while the index and the filter are safe to be looked up without it
+   private final Object ringLock = new Object();
+
+   PersistentDuplicateIDCache(final SimpleString address,
+                              final int size,
+                              final StorageManager storageManager,
+                              final boolean useFilter) {
       this.address = address;
 
       cacheSize = size;
 
-      ids = new ArrayList<>(size);
+      resetRing();
+
+      // the filter saves most of the probes, so the index can read the ids from the ring instead of storing them
+      cache = useFilter ? new DuplicateIDIndex(size, this::ringIdAt) : new DuplicateIDIndex(size);
 
-      cachedBoxedInts = boxedInts(size);
+      filter = useFilter ? new DuplicateIDFilter(size) : null;
 
       this.storageManager = storageManager;
    }
 
-   @Override
-   public synchronized void load(final List<Pair<byte[], Long>> ids) throws Exception {
-      if (!cache.isEmpty()) {
-         throw new IllegalStateException("load is valid only on empty cache");
+   private void resetRing() {
+      final int initialCapacity = Math.min(cacheSize, INITIAL_RING_CAPACITY);
+      ids = new byte[initialCapacity][];
+      recordIDs = new long[initialCapacity];
+      idsSize = 0;
+   }
+
+   private void appendToRing(final byte[] duplID, final long recordID) {
+      if (idsSize == ids.length) {
+         final int capacity = Math.min(cacheSize, idsSize * 2);
+         ids = Arrays.copyOf(ids, capacity);
+         recordIDs = Arrays.copyOf(recordIDs, capacity);
       }
-      // load only ids that fit this cache:
-      // - in term of remaining capacity
-      // - ignoring (and reporting) ids unpaired with record ID
-      // Then, delete the exceeding ones.
+      ids[idsSize] = duplID;
+      recordIDs[idsSize] = recordID;
+      idsSize++;
+   }
 
-      long txID = -1;
+   @Override
+   public void load(final List<Pair<byte[], Long>> ids) throws Exception {
+      synchronized (ringLock) {
+         if (!cache.isEmpty()) {
+            throw new IllegalStateException("load is valid only on empty cache");
+         }
+         // load only ids that fit this cache:
+         // - in term of remaining capacity
+         // - ignoring (and reporting) ids unpaired with record ID
+         // Then, delete the exceeding ones.
 
-      int toNotBeAdded = ids.size() - cacheSize;
-      if (toNotBeAdded < 0) {
-         toNotBeAdded = 0;
-      }
+         long txID = -1;
 
-      for (Pair<byte[], Long> id : ids) {
-         if (id.getB() == null) {
-            if (logger.isTraceEnabled()) {
-               logger.trace("ignoring id = {} because without record ID", describeID(id.getA()));
-            }
-            if (toNotBeAdded > 0) {
-               toNotBeAdded--;
-            }
-            continue;
+         int toNotBeAdded = ids.size() - cacheSize;
+         if (toNotBeAdded < 0) {
+            toNotBeAdded = 0;
          }
-         assert id.getB() != null && id.getB().longValue() != NIL;
-         if (toNotBeAdded > 0) {
-            if (txID == -1) {
-               txID = storageManager.generateID();
-            }
-            if (logger.isTraceEnabled()) {
-               logger.trace("deleting id = {}", describeID(id.getA(), id.getB()));
-            }
 
-            storageManager.deleteDuplicateIDTransactional(txID, id.getB());
-            toNotBeAdded--;
-         } else {
-            ByteArray bah = new ByteArray(id.getA());
+         for (Pair<byte[], Long> id : ids) {
+            if (id.getB() == null) {
+               if (logger.isTraceEnabled()) {
+                  logger.trace("ignoring id = {} because without record ID", describeID(id.getA()));
+               }
+               if (toNotBeAdded > 0) {
+                  toNotBeAdded--;
+               }
+               continue;
+            }
+            assert id.getB() != null && id.getB().longValue() != NIL;
+            if (toNotBeAdded > 0) {
+               if (txID == -1) {
+                  txID = storageManager.generateID();
+               }
+               if (logger.isTraceEnabled()) {
+                  logger.trace("deleting id = {}", describeID(id.getA(), id.getB()));
+               }
 
-            ObjLongPair<ByteArray> pair = new ObjLongPair<>(bah, id.getB());
+               storageManager.deleteDuplicateIDTransactional(txID, id.getB());
+               toNotBeAdded--;
+            } else {
+               if (filter != null) {
+                  filter.add(id.getA());
+               }
 
-            cache.put(bah, cachedBoxedInts.apply(this.ids.size()));
+               // the ring first: the index could read the id from it
+               appendToRing(id.getA(), id.getB());
 
-            this.ids.add(pair);
-            if (logger.isTraceEnabled()) {
-               logger.trace("loading id = {}", describeID(id.getA(), id.getB()));
+               cache.put(id.getA(), idsSize - 1);
+               if (logger.isTraceEnabled()) {
+                  logger.trace("loading id = {}", describeID(id.getA(), id.getB()));
+               }
             }
-         }
 
-      }
+         }
 
-      if (txID != -1) {
-         storageManager.commit(txID);
-      }
+         if (txID != -1) {
+            storageManager.commit(txID);
+         }
 
-      pos = this.ids.size();
+         pos = idsSize;
 
-      if (pos == cacheSize) {
-         pos = 0;
+         if (pos == cacheSize) {
+            pos = 0;
+         }
       }
-
    }
 
    @Override
-   public void deleteFromCache(byte[] duplicateID) throws Exception {
-      deleteFromCache(new ByteArray(duplicateID));
-   }
-
-   private void deleteFromCache(final ByteArray duplicateID) throws Exception {
+   public void deleteFromCache(final byte[] duplicateID) throws Exception {
       if (logger.isTraceEnabled()) {
-         logger.trace("deleting id = {}", describeID(duplicateID.bytes));
+         logger.trace("deleting id = {}", describeID(duplicateID));
       }
 
-      final Integer posUsed = cache.remove(duplicateID);
-
-      if (posUsed != null) {
-         synchronized (this) {
-            final ObjLongPair<ByteArray> id = ids.get(posUsed.intValue());
+      synchronized (ringLock) {
+         final int posUsed = cache.remove(duplicateID);
 
-            if (id.getA().equals(duplicateID)) {
-               final long recordID = id.getB();
-               id.setA(null);
-               id.setB(NIL);
+         if (posUsed != DuplicateIDIndex.NOT_FOUND) {
+            if (ByteUtil.equals(duplicateID, ids[posUsed])) {
+               final long recordID = recordIDs[posUsed];
+               ids[posUsed] = null;
+               recordIDs[posUsed] = NIL;
+               if (filter != null) {
+                  filter.remove(duplicateID);
+               }
                if (logger.isTraceEnabled()) {
-                  logger.trace("address = {} deleting id = {}", address, describeID(duplicateID.bytes, id.getB()));
+                  logger.trace("address = {} deleting id = {}", address, describeID(duplicateID, recordID));
                }
                storageManager.deleteDuplicateID(recordID);
             }
@@ -173,6 +202,14 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    }
 
+   /**
+    * @return the id at {@code position} of the ring or {@code null} if none, even if the ring is being modified
+    */
+   private byte[] ringIdAt(final int position) {
+      final byte[][] ids = this.ids;
+      return position >= 0 && position < ids.length ? ids[position] : null;
+   }
+
    private static String describeID(byte[] duplicateID) {
       return ByteUtil.bytesToHex(duplicateID, 4) + ", simpleString=" + ByteUtil.toSimpleString(duplicateID);
    }
@@ -183,14 +220,14 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
    @Override
    public boolean contains(final byte[] duplID) {
-      return contains(new ByteArray(duplID));
-   }
+      if (filter != null && !filter.mightContain(duplID)) {
+         return false;
+      }
 
-   private boolean contains(final ByteArray duplID) {
       final boolean contains = cache.containsKey(duplID);
       if (contains) {
          if (logger.isTraceEnabled()) {
-            logger.trace("address = {} found a duplicate {}", address, describeID(duplID.bytes));
+            logger.trace("address = {} found a duplicate {}", address, describeID(duplID));
          }
       }
 
@@ -208,153 +245,193 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
    }
 
    @Override
-   public synchronized boolean atomicVerify(final byte[] duplID, final Transaction tx) throws Exception {
-      final ByteArray holder = new ByteArray(duplID);
-      if (contains(holder)) {
+   public boolean atomicVerify(final byte[] duplID, final Transaction tx) throws Exception {
+      // a duplicate is found without locking: the ring lock is needed only to add a missing id, after storing it
+      if (contains(duplID)) {
          if (tx != null) {
             tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
          }
          return false;
       }
-      addToCache(holder, tx, true);
+      final long recordID = storeDuplicateID(duplID, tx);
+      if (!addToCacheInMemory(duplID, recordID, true)) {
+         // lost the race against a concurrent addition of the same id
+         if (tx == null) {
+            storageManager.deleteDuplicateID(recordID);
+         } else {
+            // the transactional record is rolled back with tx
+            tx.markAsRollbackOnly(new ActiveMQDuplicateIdException());
+         }
+         return false;
+      }
+      if (tx != null) {
+         tx.addOperation(new AddDuplicateIDOperation(duplID, recordID, false));
+      }
       return true;
    }
 
    @Override
-   public synchronized void addToCache(final byte[] duplID, final Transaction tx, boolean instantAdd) throws Exception {
-      addToCache(new ByteArray(duplID), tx, instantAdd);
+   public void addToCache(final byte[] duplID,
+                          final Transaction tx,
+                          boolean instantAdd) throws Exception {
+      final long recordID = storeDuplicateID(duplID, tx);
+      if (tx == null) {
+         addToCacheInMemory(duplID, recordID, false);
+      } else {
+         if (instantAdd) {
+            addToCacheInMemory(duplID, recordID, false);
+            tx.addOperation(new AddDuplicateIDOperation(duplID, recordID, false));
+         } else {
+            // For a tx, it's important that the entry is not added to the cache until commit
+            // since if the client fails then resends them tx we don't want it to get rejected
+            tx.afterStore(new AddDuplicateIDOperation(duplID, recordID, true));
+         }
+      }
    }
 
-   private synchronized void addToCache(final ByteArray holder,
-                                        final Transaction tx,
-                                        boolean instantAdd) throws Exception {
+   private long storeDuplicateID(final byte[] duplID, final Transaction tx) throws Exception {
       final long recordID = storageManager.generateID();
       if (tx == null) {
-         storageManager.storeDuplicateID(address, holder.bytes, recordID);
-
-         addToCacheInMemory(holder, recordID);
+         storageManager.storeDuplicateID(address, duplID, recordID);
       } else {
-         storageManager.storeDuplicateIDTransactional(tx.getID(), address, holder.bytes, recordID);
+         storageManager.storeDuplicateIDTransactional(tx.getID(), address, duplID, recordID);
 
          tx.setContainsPersistent();
 
          if (logger.isTraceEnabled()) {
             logger.trace("address = {} adding duplicateID TX operation for {}, tx = {}", address,
-                          describeID(holder.bytes, recordID), tx);
-         }
-
-         if (instantAdd) {
-            addToCacheInMemory(holder, recordID);
-            tx.addOperation(new AddDuplicateIDOperation(holder, recordID, false));
-         } else {
-            // For a tx, it's important that the entry is not added to the cache until commit
-            // since if the client fails then resends them tx we don't want it to get rejected
-            tx.afterStore(new AddDuplicateIDOperation(holder, recordID, true));
+                          describeID(duplID, recordID), tx);
          }
       }
+      return recordID;
    }
 
    @Override
    public void load(final Transaction tx, final byte[] duplID) {
-      tx.addOperation(new AddDuplicateIDOperation(new ByteArray(duplID), tx.getID(), true));
+      tx.addOperation(new AddDuplicateIDOperation(duplID, tx.getID(), true));
    }
 
-   private synchronized void addToCacheInMemory(final ByteArray holder, final long recordID) {
-      Objects.requireNonNull(holder, "holder must be not null");
+   /**
+    * Adds {@code duplID} to the ring, holding its lock just for the time needed to update it and the index: the record
+    * of the id it replaces is deleted after releasing it.
+    *
+    * @param ifAbsent whether to check, atomically with the addition, that the id isn't already cached
+    * @return {@code false} if {@code ifAbsent} and the id is already cached
+    */
+   private boolean addToCacheInMemory(final byte[] duplID, final long recordID, final boolean ifAbsent) {
+      Objects.requireNonNull(duplID, "duplID must be not null");
       if (recordID < 0) {
          throw new IllegalArgumentException("recordID must be >= 0");
       }
-      if (logger.isTraceEnabled()) {
-         logger.trace("address = {} adding {}", address, describeID(holder.bytes, recordID));
-      }
+      long oldRecordID = NIL;
+      synchronized (ringLock) {
+         if (ifAbsent && cache.containsKey(duplID)) {
+            return false;
+         }
+         if (logger.isTraceEnabled()) {
+            logger.trace("address = {} adding {}", address, describeID(duplID, recordID));
+         }
 
-      cache.put(holder, cachedBoxedInts.apply(pos));
+         if (pos < idsSize) {
+            final byte[] id = ids[pos];
 
-      ObjLongPair<ByteArray> id;
+            // The id here might be null if it was explicit deleted
+            if (id != null) {
+               oldRecordID = recordIDs[pos];
+               if (logger.isTraceEnabled()) {
+                  logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(id, oldRecordID));
+               }
 
-      if (pos < ids.size()) {
-         // Need fast array style access here -hence ArrayList typing
-         id = ids.get(pos);
+               // the same id could have been added again later on
+               cache.remove(id, pos);
 
-         // The id here might be null if it was explicit deleted
-         if (id.getA() != null) {
-            if (logger.isTraceEnabled()) {
-               logger.trace("address = {} removing excess duplicateDetection {}", address, describeID(id.getA().bytes, id.getB()));
+               if (filter != null) {
+                  filter.remove(id);
+               }
+
+               assert oldRecordID != NIL;
             }
 
-            cache.remove(id.getA());
+            ids[pos] = duplID;
+
+            recordIDs[pos] = recordID;
 
-            assert id.getB() != NIL;
-            try {
-               storageManager.deleteDuplicateID(id.getB());
-            } catch (Exception e) {
-               ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
+            if (logger.isTraceEnabled()) {
+               logger.trace("address = {} replacing old duplicateID by {}", address, describeID(duplID, recordID));
             }
-         }
 
-         id.setA(holder);
+         } else {
+            if (logger.isTraceEnabled()) {
+               logger.trace("address = {} adding new duplicateID {}", address, describeID(duplID, recordID));
+            }
 
-         id.setB(recordID);
+            appendToRing(duplID, recordID);
 
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} replacing old duplicateID by {}", address, describeID(id.getA().bytes, id.getB()));
          }
 
-      } else {
-         id = new ObjLongPair<>(holder, recordID);
-
-         if (logger.isTraceEnabled()) {
-            logger.trace("address = {} adding new duplicateID {}", address, describeID(id.getA().bytes, id.getB()));
+         if (filter != null) {
+            filter.add(duplID);
          }
 
-         ids.add(id);
+         cache.put(duplID, pos);
 
+         if (pos++ == cacheSize - 1) {
+            pos = 0;
+         }
       }
-
-      if (pos++ == cacheSize - 1) {
-         pos = 0;
+      if (oldRecordID != NIL) {
+         try {
+            storageManager.deleteDuplicateID(oldRecordID);
+         } catch (Exception e) {
+            ActiveMQServerLogger.LOGGER.errorDeletingDuplicateCache(e);
+         }
       }
+      return true;
    }
 
    @Override
-   public synchronized void clear() throws Exception {
+   public void clear() throws Exception {
       logger.debug("address = {} removing duplicate ID data", address);
-      final int idsSize = ids.size();
-      if (idsSize > 0) {
-         long tx = storageManager.generateID();
-         for (int i = 0; i < idsSize; i++) {
-            final ObjLongPair<ByteArray> id = ids.get(i);
-            if (id.getA() != null) {
-               assert id.getB() != NIL;
-               storageManager.deleteDuplicateIDTransactional(tx, id.getB());
+      synchronized (ringLock) {
+         if (idsSize > 0) {
+            long tx = storageManager.generateID();
+            for (int i = 0; i < idsSize; i++) {
+               if (ids[i] != null) {
+                  assert recordIDs[i] != NIL;
+                  storageManager.deleteDuplicateIDTransactional(tx, recordIDs[i]);
+               }
             }
+            storageManager.commit(tx);
          }
-         storageManager.commit(tx);
-      }
 
-      ids.clear();
-      cache.clear();
-      pos = 0;
+         resetRing();
+         cache.clear();
+         if (filter != null) {
+            filter.clear();
+         }
+         pos = 0;
+      }
    }
 
    @Override
-   public synchronized List<Pair<byte[], Long>> getMap() {
-      final int idsSize = ids.size();
-      List<Pair<byte[], Long>> copy = new ArrayList<>(idsSize);
-      for (int i = 0; i < idsSize; i++) {
-         final ObjLongPair<ByteArray> id = ids.get(i);
-         // in case the pair has been removed
-         if (id.getA() != null) {
-            assert id.getB() != NIL;
-            copy.add(new Pair<>(id.getA().bytes, id.getB()));
+   public List<Pair<byte[], Long>> getMap() {
+      synchronized (ringLock) {
+         List<Pair<byte[], Long>> copy = new ArrayList<>(idsSize);
+         for (int i = 0; i < idsSize; i++) {
+            final byte[] id = ids[i];
+            // in case the pair has been removed
+            if (id != null) {
+               assert recordIDs[i] != NIL;
+               copy.add(new Pair<>(id, recordIDs[i]));
+            }
          }
+         return copy;
       }
-      return copy;
    }
 
    private final class AddDuplicateIDOperation extends TransactionOperationAbstract {
 
-      final ByteArray holder;
+      final byte[] duplID;
 
       final long recordID;
 
@@ -362,15 +439,15 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
 
       private final boolean afterCommit;
 
-      AddDuplicateIDOperation(final ByteArray holder, final long recordID, boolean afterCommit) {
-         this.holder = holder;
+      AddDuplicateIDOperation(final byte[] duplID, final long recordID, boolean afterCommit) {
+         this.duplID = duplID;
          this.recordID = recordID;
          this.afterCommit = afterCommit;
       }
 
       private void process() {
          if (!done) {
-            addToCacheInMemory(holder, recordID);
+            addToCacheInMemory(duplID, recordID, false);
 
             done = true;
          }
@@ -386,7 +463,7 @@ final class PersistentDuplicateIDCache implements DuplicateIDCache {
       @Override
       public void beforeRollback(Transaction tx) throws Exception {
          if (!afterCommit) {
-            deleteFromCache(holder);
+            deleteFromCache(duplID);
          }
       }
 
@@ -797,6 +797,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             if ((forceUpdate || newFilter != oldFilter) && !Objects.equals(oldFilter, newFilter)) {
                changed = true;
                queue.setFilter(newFilter);
+               addressManager.bindingUpdated(queueBinding);
                notifyBindingUpdatedForQueue(queueBinding);
             }
             if ((forceUpdate || queueConfiguration.isConfigurationManaged() != null) && !Objects.equals(queueConfiguration.isConfigurationManaged(), queue.isConfigurationManaged())) {
@@ -1241,7 +1242,7 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
             finalStatus = status;
             try {
                if (context.getQueueCount() > 0) {
-                  processRoute(message, context, direct);
+                  processRoute(message, context, direct && isDirectDeliveryAllowed(settings, context));
                } else {
                   if (message.isLargeMessage()) {
                      ((LargeServerMessage) message).deleteFile();
@@ -1271,6 +1272,18 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
    }
 
+   /**
+    * A large fan-out is delivered by the executors of its queues, in parallel, instead of one queue after the other
+    * by the producer's thread: each queue still receives its references in order.
+    */
+   private static boolean isDirectDeliveryAllowed(AddressSettings settings, RoutingContext context) {
+      if (settings == null) {
+         return true;
+      }
+      final int maxDirectDeliveryQueues = settings.getMaxDirectDeliveryQueues();
+      return maxDirectDeliveryQueues < 0 || context.getQueueCount() <= maxDirectDeliveryQueues;
+   }
+
    private AddressInfo checkAddress(RoutingContext context, SimpleString address) throws Exception {
       AddressInfo addressInfo = addressManager.getAddressInfo(address);
       if (addressInfo == null && context.getServerSession() != null) {
@@ -1471,13 +1484,14 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       DuplicateIDCache cache = duplicateIDCaches.get(address);
 
       if (cache == null) {
+         final boolean useFilter = addressSettingsRepository.getMatch(address.toString()).isIDCacheFilter();
          if (persistIDCache) {
             if (allowRegistration) {
                registerCacheSize(address, cacheSizeToUse);
             }
-            cache = DuplicateIDCaches.persistent(address, cacheSizeToUse, storageManager);
+            cache = DuplicateIDCaches.persistent(address, cacheSizeToUse, storageManager, useFilter);
          } else {
-            cache = DuplicateIDCaches.inMemory(address, cacheSizeToUse);
+            cache = DuplicateIDCaches.inMemory(address, cacheSizeToUse, useFilter);
          }
 
          DuplicateIDCache oldCache = duplicateIDCaches.putIfAbsent(address, cache);
@@ -1750,6 +1764,10 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
                                             final List<Queue> durableQueues,
                                             final ArrayList<MessageReference> refs) throws Exception {
       final int durableQueuesCount = durableQueues.size();
+      if (durableQueuesCount > 1 && message.isDurable()) {
+         processRouteToManyDurableQueues(message, context, deliveryTime, tx, durableQueues, refs);
+         return;
+      }
       refs.ensureCapacity(durableQueuesCount);
       final Iterator<Queue> iter = durableQueues.iterator();
       for (int i = 0; i < durableQueuesCount; i++) {
@@ -1779,6 +1797,62 @@ public class PostOfficeImpl implements PostOffice, NotificationListener, Binding
       }
    }
 
+   /**
+    * Same as {@link #processRouteToDurableQueues} but all the references are stored at once, allowing the
+    * {@link StorageManager} to use a single record for all of them.
+    */
+   private void processRouteToManyDurableQueues(final Message message,
+                                                final RoutingContext context,
+                                                final Long deliveryTime,
+                                                final Transaction tx,
+                                                final List<Queue> durableQueues,
+                                                final ArrayList<MessageReference> refs) throws Exception {
+      final int durableQueuesCount = durableQueues.size();
+      final int firstRef = refs.size();
+      refs.ensureCapacity(firstRef + durableQueuesCount);
+      final long[] queueIDs = new long[durableQueuesCount];
+      final Iterator<Queue> iter = durableQueues.iterator();
+      for (int i = 0; i < durableQueuesCount; i++) {
+         final Queue queue = iter.next();
+         final MessageReference reference = MessageReference.Factory.createReference(message, queue);
+         if (context.isAlreadyAcked(message, queue)) {
+            reference.setAlreadyAcked();
+            if (tx != null) {
+               queue.acknowledge(tx, reference);
+            }
+         }
+         if (deliveryTime != null) {
+            reference.setScheduledDeliveryTime(deliveryTime);
+         }
+         refs.add(reference);
+         queue.refUp(reference);
+         if (queue.durableUp(message) == 1) {
+            if (tx != null) {
+               storageManager.storeMessageTransactional(tx.getID(), message);
+            } else {
+               storageManager.storeMessage(message);
+            }
+         }
+         queueIDs[i] = queue.getID();
+      }
+      if (tx != null) {
+         storageManager.storeReferencesTransactional(tx.getID(), queueIDs, message.getMessageID());
+         tx.setContainsPersistent();
+      } else {
+         storageManager.storeReferences(queueIDs, message.getMessageID(), true);
+      }
+      if (deliveryTime != null && deliveryTime > 0) {
+         // the scheduled delivery times are loaded against the references: they must follow them
+         for (int i = firstRef; i < refs.size(); i++) {
+            if (tx != null) {
+               storageManager.updateScheduledDeliveryTimeTransactional(tx.getID(), refs.get(i));
+            } else {
+               storageManager.updateScheduledDeliveryTime(refs.get(i));
+            }
+         }
+      }
+   }
+
    public static void storeDurableReference(StorageManager storageManager, Message message,
                           Transaction tx,
                           Queue queue, boolean sync) throws Exception {
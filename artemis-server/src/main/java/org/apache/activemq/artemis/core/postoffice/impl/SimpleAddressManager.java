@@ -140,6 +140,14 @@ public class SimpleAddressManager implements AddressManager {
       return binding.getA();
    }
 
+   @Override
+   public void bindingUpdated(final Binding binding) throws Exception {
+      final Bindings bindings = mappings.get(CompositeAddress.extractAddressName(binding.getAddress()));
+      if (bindings != null) {
+         bindings.updated(binding);
+      }
+   }
+
    @Override
    public Bindings getExistingBindingsForRoutingAddress(final SimpleString address) throws Exception {
       return mappings.get(CompositeAddress.extractAddressName(address));
@@ -133,6 +133,16 @@ public class WildcardAddressManager extends SimpleAddressManager {
       return binding;
    }
 
+   @Override
+   public void bindingUpdated(final Binding binding) throws Exception {
+      super.bindingUpdated(binding);
+      final SimpleString address = binding.getAddress();
+      if (isAWildcardAddress(address)) {
+         // copies of the binding have been added to the matching addresses
+         addressMap.visitMatching(address, bindings -> bindings.updated(binding));
+      }
+   }
+
    private boolean isAWildcardAddress(SimpleString address) {
       return address.containsEitherOf(wildcardConfiguration.getAnyWords(), wildcardConfiguration.getSingleWord());
    }
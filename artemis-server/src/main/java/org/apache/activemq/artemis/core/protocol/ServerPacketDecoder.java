@@ -56,6 +56,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.ScaleDownA
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_1X;
@@ -91,6 +92,7 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_FLOWTOKEN;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_PRODUCER_REQUEST_CREDITS;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_BATCH;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_LARGE;
 
 public class ServerPacketDecoder extends ClientPacketDecoder {
@@ -127,8 +129,8 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
       return acknowledgeMessage;
    }
 
-   private static SessionRequestProducerCreditsMessage decodeRequestProducerCreditsMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
-      final SessionRequestProducerCreditsMessage requestProducerCreditsMessage = new SessionRequestProducerCreditsMessage();
+   private SessionRequestProducerCreditsMessage decodeRequestProducerCreditsMessage(final ActiveMQBuffer in, CoreRemotingConnection connection) {
+      final SessionRequestProducerCreditsMessage requestProducerCreditsMessage = new SessionRequestProducerCreditsMessage(this.coreMessageObjectPools.getAddressDecoderPool());
       requestProducerCreditsMessage.decode(in);
       return requestProducerCreditsMessage;
    }
@@ -163,6 +165,10 @@ public class ServerPacketDecoder extends ClientPacketDecoder {
             packet = new SessionSendLargeMessage(new CoreMessage());
             break;
          }
+         case SESS_SEND_BATCH: {
+            packet = new SessionSendBatchMessage(this.coreMessageObjectPools);
+            break;
+         }
          case REPLICATION_APPEND: {
             packet = new ReplicationAddMessage(connection.isBeforeTwoEighteen());
             break;
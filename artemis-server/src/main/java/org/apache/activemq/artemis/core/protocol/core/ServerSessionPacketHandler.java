@@ -18,6 +18,7 @@ package org.apache.activemq.artemis.core.protocol.core;
 
 import javax.transaction.xa.XAResource;
 import javax.transaction.xa.Xid;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Objects;
 
@@ -70,7 +71,9 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQue
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage_V2;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage_V3;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionQueueQueryResponseMessage_V4;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendBatchMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
@@ -133,8 +136,10 @@ import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SES
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_INDIVIDUAL_ACKNOWLEDGE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_PRODUCER_REQUEST_CREDITS;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_QUEUEQUERY_V2;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_ROLLBACK;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND;
+import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_BATCH;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_CONTINUATION;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_SEND_LARGE;
 import static org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl.SESS_START;
@@ -157,6 +162,8 @@ public class ServerSessionPacketHandler implements ChannelHandler {
 
    private static final int MAX_CACHED_NULL_RESPONSES = 32;
 
+   private static final int MAX_BATCHED_INDIVIDUAL_ACKS = 256;
+
    private static final Logger logger = LoggerFactory.getLogger(MethodHandles.lookup().lookupClass());
 
    private static final String PRODUCER_ID_PREFIX = "artemis:sender:ID:";
@@ -188,6 +195,13 @@ public class ServerSessionPacketHandler implements ChannelHandler {
 
    private final IntObjectHashMap<String> producers = new IntObjectHashMap<>();
 
+   // non-blocking individual acks of the same consumer are coalesced while more packets are waiting on packetActor,
+   // to be acknowledged with a single transaction: they are only accessed by packetActor, which acknowledges them
+   // before running out of packets, so none is left behind once it stops
+   private final SessionIndividualAcknowledgeMessage[] pendingIndividualAcks = new SessionIndividualAcknowledgeMessage[MAX_BATCHED_INDIVIDUAL_ACKS];
+   private final long[] pendingIndividualAckIDs = new long[MAX_BATCHED_INDIVIDUAL_ACKS];
+   private int pendingIndividualAcksCount;
+
    public ServerSessionPacketHandler(final ActiveMQServer server,
                                      final ServerSession session,
                                      final Channel channel) {
@@ -297,11 +311,22 @@ public class ServerSessionPacketHandler implements ChannelHandler {
          AuditLogger.setCurrentCaller(remotingConnection.getSubject());
       }
       final byte type = packet.getType();
+      if (pendingIndividualAcksCount > 0 && type != SESS_INDIVIDUAL_ACKNOWLEDGE) {
+         flushIndividualAcknowledges();
+      }
       switch (type) {
          case SESS_SEND: {
             onSessionSend(packet);
             break;
          }
+         case SESS_SEND_BATCH: {
+            onSessionSendBatch(packet);
+            break;
+         }
+         case SESS_INDIVIDUAL_ACKNOWLEDGE: {
+            onSessionIndividualAcknowledge(packet);
+            break;
+         }
          case SESS_ACKNOWLEDGE: {
             onSessionAcknowledge(packet);
             break;
@@ -437,7 +462,8 @@ public class ServerSessionPacketHandler implements ChannelHandler {
                   response = createNullResponseMessage(packet);
                   break;
                }
-               case SESS_QUEUEQUERY: {
+               case SESS_QUEUEQUERY:
+               case SESS_QUEUEQUERY_V2: {
                   requiresResponse = true;
                   SessionQueueQueryMessage request = (SessionQueueQueryMessage) packet;
                   QueueQueryResult result = session.executeQueueQuery(request.getQueueName());
@@ -446,7 +472,9 @@ public class ServerSessionPacketHandler implements ChannelHandler {
                      result.setAddress(SessionQueueQueryMessage.getOldPrefixedAddress(result.getAddress(), result.getRoutingType()));
                   }
 
-                  if (channel.supports(PacketImpl.SESS_QUEUEQUERY_RESP_V3)) {
+                  if (type == SESS_QUEUEQUERY_V2) {
+                     response = new SessionQueueQueryResponseMessage_V4(result, packet.getCorrelationID());
+                  } else if (channel.supports(PacketImpl.SESS_QUEUEQUERY_RESP_V3)) {
                      response = new SessionQueueQueryResponseMessage_V3(result);
                   } else if (channel.supports(PacketImpl.SESS_QUEUEQUERY_RESP_V2)) {
                      response = new SessionQueueQueryResponseMessage_V2(result);
@@ -784,6 +812,67 @@ public class ServerSessionPacketHandler implements ChannelHandler {
       }
    }
 
+   private void onSessionIndividualAcknowledge(Packet packet) {
+      final SessionIndividualAcknowledgeMessage message = (SessionIndividualAcknowledgeMessage) packet;
+      if (pendingIndividualAcksCount > 0 && (message.isRequiresResponse() || pendingIndividualAcks[0].getConsumerID() != message.getConsumerID())) {
+         flushIndividualAcknowledges();
+      }
+      if (message.isRequiresResponse()) {
+         slowPacketHandler(packet);
+         return;
+      }
+      pendingIndividualAcks[pendingIndividualAcksCount] = message;
+      pendingIndividualAckIDs[pendingIndividualAcksCount] = message.getMessageID();
+      pendingIndividualAcksCount++;
+      // there is no need to wait any longer if nothing else is already in line
+      if (pendingIndividualAcksCount == MAX_BATCHED_INDIVIDUAL_ACKS || !packetActor.hasPendingTasks()) {
+         flushIndividualAcknowledges();
+      }
+   }
+
+   private void flushIndividualAcknowledges() {
+      final int count = pendingIndividualAcksCount;
+      final SessionIndividualAcknowledgeMessage[] acks = Arrays.copyOf(pendingIndividualAcks, count);
+      Arrays.fill(pendingIndividualAcks, 0, count, null);
+      pendingIndividualAcksCount = 0;
+
+      logger.trace("ServerSessionPacketHandler::flushing {} individual acks", count);
+
+      final Packet lastAck = acks[count - 1];
+      this.storageManager.setContext(session.getSessionContext());
+      try {
+         try {
+            this.session.individualAcknowledge(acks[0].getConsumerID(), pendingIndividualAckIDs, count);
+         } catch (ActiveMQIOErrorException e) {
+            onActiveMQIOErrorExceptionWhileHandlePacket(lastAck, e, false, null, this.session);
+         } catch (ActiveMQException e) {
+            onActiveMQExceptionWhileHandlePacket(lastAck, e, false, null);
+         } catch (Throwable t) {
+            onCatchThrowableWhileHandlePacket(lastAck, t, false, null, this.session);
+         }
+         storageManager.afterCompleteOperations(new IOCallback() {
+            @Override
+            public void onError(final int errorCode, final String errorMessage) {
+               ActiveMQServerLogger.LOGGER.errorProcessingIOCallback(errorCode, errorMessage);
+
+               for (SessionIndividualAcknowledgeMessage ack : acks) {
+                  Packet exceptionPacket = convertToExceptionPacket(ack, ActiveMQExceptionType.createException(errorCode, errorMessage));
+                  doConfirmAndResponse(ack, exceptionPacket, false, false);
+               }
+            }
+
+            @Override
+            public void done() {
+               for (SessionIndividualAcknowledgeMessage ack : acks) {
+                  doConfirmAndResponse(ack, null, false, false);
+               }
+            }
+         });
+      } finally {
+         this.storageManager.clearContext();
+      }
+   }
+
    private void onSessionSend(Packet packet) {
       this.storageManager.setContext(session.getSessionContext());
       try {
@@ -813,6 +902,57 @@ public class ServerSessionPacketHandler implements ChannelHandler {
       }
    }
 
+   private void onSessionSendBatch(Packet packet) {
+      this.storageManager.setContext(session.getSessionContext());
+      try {
+         Packet response = null;
+         boolean requiresResponse = false;
+         int failedIndex = -1;
+         try {
+            final SessionSendBatchMessage message = (SessionSendBatchMessage) packet;
+            requiresResponse = message.isRequiresResponse();
+            final String senderName = producers.get(message.getSenderID());
+            final List<ICoreMessage> messages = message.getMessages();
+            for (int i = 0; i < messages.size(); i++) {
+               try {
+                  this.session.send(EmbedMessageUtil.extractEmbedded(messages.get(i), storageManager), this.direct, senderName);
+               } catch (Exception e) {
+                  // the first failure stops the batch, the messages already routed are kept
+                  failedIndex = i;
+                  throw batchSendFailed(e, i, messages.size());
+               }
+            }
+            if (requiresResponse) {
+               response = createNullResponseMessage(packet);
+            }
+         } catch (ActiveMQIOErrorException e) {
+            response = onActiveMQIOErrorExceptionWhileHandlePacket(packet, e, requiresResponse, response, this.session);
+         } catch (ActiveMQException e) {
+            response = onActiveMQExceptionWhileHandlePacket(packet, e, requiresResponse, response);
+         } catch (Throwable t) {
+            response = onCatchThrowableWhileHandlePacket(packet, t, requiresResponse, response, this.session);
+         }
+         if (failedIndex >= 0 && response instanceof ActiveMQExceptionMessage_V2 exceptionResponse) {
+            // the client tells which messages have been routed
+            exceptionResponse.setBatchIndex(failedIndex);
+         }
+         // a single response, once all the messages of the batch are stored
+         sendResponse(packet, response, false, false);
+      } finally {
+         this.storageManager.clearContext();
+      }
+   }
+
+   /**
+    * Tells the client which message of a batch failed, with the same type of exception of the failure.
+    */
+   private static ActiveMQException batchSendFailed(Exception e, int index, int size) {
+      final ActiveMQExceptionType type = e instanceof ActiveMQException activeMQException ? activeMQException.getType() : ActiveMQExceptionType.INTERNAL_ERROR;
+      final ActiveMQException failure = type.createException(ActiveMQMessageBundle.BUNDLE.batchSendFailed(index, size, e.getMessage()));
+      failure.initCause(e);
+      return failure;
+   }
+
    private void onSessionRequestProducerCredits(Packet packet) {
       this.storageManager.setContext(session.getSessionContext());
       try {
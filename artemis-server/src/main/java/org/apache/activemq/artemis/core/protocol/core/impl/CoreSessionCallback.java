@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.core.protocol.core.impl;
 
+import java.io.File;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.persistence.CoreMessageObjectPools;
 import org.apache.activemq.artemis.core.protocol.core.Channel;
@@ -25,6 +27,7 @@ import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.Disconnect
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsFailMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveFileContinuationMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveLargeMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
 import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage_1X;
@@ -111,6 +114,23 @@ public final class CoreSessionCallback implements SessionCallback {
       return packet.getPacketSize();
    }
 
+   @Override
+   public int sendLargeMessageContinuation(ServerConsumer consumer,
+                                           File file,
+                                           long position,
+                                           int length,
+                                           boolean continues) {
+      if (!channel.isFileRegionSupported()) {
+         return -1;
+      }
+
+      Packet packet = new SessionReceiveFileContinuationMessage(consumer.getID(), file, position, length, continues);
+
+      channel.send(packet);
+
+      return packet.getPacketSize();
+   }
+
    @Override
    public int sendMessage(MessageReference ref, ServerConsumer consumer, int deliveryCount)  {
 
@@ -53,6 +53,16 @@ public interface Consumer extends PriorityAware {
    default void promptDelivery() {
    }
 
+   /**
+    * A consumer returning {@code true} won't accept any other reference after {@link #handle(MessageReference)}
+    * returned {@link HandleStatus#BUSY}, until it calls {@link #promptDelivery()} on its queue once ready again.
+    * <p>
+    * The queue can then skip it for the rest of a delivery round instead of probing it for every message.
+    */
+   default boolean isBusyReferenceIndependent() {
+      return false;
+   }
+
    default boolean isClosed() {
       return false;
    }
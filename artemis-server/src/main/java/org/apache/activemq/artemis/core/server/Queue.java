@@ -407,6 +407,13 @@ public interface Queue extends Bindable, CriticalComponent {
 
    int getGroupCount();
 
+   /**
+    * @return the number of groups reset or moved to a new consumer by group rebalances since the queue was created
+    */
+   default long getGroupsRebalanced() {
+      return 0;
+   }
+
    /**
     *
     * @param ref
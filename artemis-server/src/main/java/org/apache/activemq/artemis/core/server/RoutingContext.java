@@ -23,6 +23,7 @@ import java.util.function.Consumer;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.server.cluster.impl.MessageLoadBalancingType;
 import org.apache.activemq.artemis.core.server.mirror.MirrorController;
 import org.apache.activemq.artemis.core.transaction.Transaction;
@@ -104,6 +105,14 @@ public interface RoutingContext {
 
    boolean isReusable(Message message, int version);
 
+   /**
+    * Evaluates {@code filter} against {@code message}, remembering the result until the context is cleared or used for
+    * another message: bindings sharing the same filter evaluate it just once per message.
+    *
+    * @return {@code true} if {@code filter} is {@code null} or matches {@code message}
+    */
+   boolean match(Filter filter, Message message);
+
    boolean isDuplicateDetection();
 
    RoutingContext setDuplicateDetection(boolean value);
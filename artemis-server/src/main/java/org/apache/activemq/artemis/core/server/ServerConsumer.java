@@ -97,6 +97,16 @@ public interface ServerConsumer extends Consumer, ConsumerInfo {
 
    void individualAcknowledge(Transaction tx, long messageID) throws Exception;
 
+   /**
+    * Acknowledges the first {@code count} {@code messageIDs} as a whole: if {@code tx} is {@code null} they are all
+    * committed with a single transaction, instead of one transaction per message.
+    */
+   default void individualAcknowledge(Transaction tx, long[] messageIDs, int count) throws Exception {
+      for (int i = 0; i < count; i++) {
+         individualAcknowledge(tx, messageIDs[i]);
+      }
+   }
+
    void reject(long messageID) throws Exception;
 
    void individualCancel(long messageID, boolean failed) throws Exception;
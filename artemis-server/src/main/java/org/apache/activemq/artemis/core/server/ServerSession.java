@@ -70,6 +70,8 @@ public interface ServerSession extends SecurityAuth {
 
    void individualAcknowledge(long consumerID, long messageID) throws Exception;
 
+   void individualAcknowledge(long consumerID, long[] messageIDs, int count) throws Exception;
+
    void individualCancel(long consumerID, long messageID, boolean failed) throws Exception;
 
    void expire(long consumerID, long messageID) throws Exception;
@@ -39,6 +39,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -2935,12 +2936,9 @@ public class ActiveMQServerImpl implements ActiveMQServer {
       final Divert divert = divertBinding.getDivert();
 
       Filter filter = FilterImpl.createFilter(config.getFilterString());
-      if (filter == null) {
-         divert.setFilter(null);
-      } else {
-         if (!filter.equals(divert.getFilter())) {
-            divert.setFilter(filter);
-         }
+      if (!Objects.equals(filter, divert.getFilter())) {
+         divert.setFilter(filter);
+         postOffice.getAddressManager().bindingUpdated(divertBinding);
       }
 
       if (config.getTransformerConfiguration() != null) {
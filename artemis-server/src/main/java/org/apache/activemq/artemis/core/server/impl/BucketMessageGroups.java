@@ -157,6 +157,45 @@ public class BucketMessageGroups<C> implements MessageGroups<C> {
       }
    }
 
+   @Override
+   public int rebalance(C consumer, long consumerID, long[] otherConsumerIDs) {
+      if (buckets == null || size == 0) {
+         return 0;
+      }
+      int moved = 0;
+      for (int bucket = 0; bucket < buckets.length; bucket++) {
+         final C current = buckets[bucket];
+         if (current != null && current != consumer && MessageGroups.isRendezvousWinner(bucket, consumerID, otherConsumerIDs)) {
+            moveBucket(bucket, consumer);
+            moved++;
+         }
+      }
+      return moved;
+   }
+
+   @Override
+   public int rebalanceRemoved(C consumer, long[] consumerIDs, C[] consumers) {
+      if (buckets == null || size == 0) {
+         return 0;
+      }
+      int moved = 0;
+      for (int bucket = 0; bucket < buckets.length; bucket++) {
+         if (consumer.equals(buckets[bucket])) {
+            moveBucket(bucket, consumers[MessageGroups.rendezvousWinner(bucket, consumerIDs)]);
+            moved++;
+         }
+      }
+      return moved;
+   }
+
+   private void moveBucket(int bucket, C consumer) {
+      if (consumer == null) {
+         remove(bucket);
+      } else {
+         buckets[bucket] = consumer;
+      }
+   }
+
    static SimpleString toGroupBucketIntKey(int i) {
       return _AMQ_GROUP_BUCKET_INT_KEY.concat(Integer.toString(i));
    }
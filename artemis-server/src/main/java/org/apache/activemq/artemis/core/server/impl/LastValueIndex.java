@@ -0,0 +1,347 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.locks.StampedLock;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.server.MessageReference;
+
+import static org.apache.activemq.artemis.utils.Preconditions.checkArgument;
+import static org.apache.activemq.artemis.utils.Preconditions.checkNotNull;
+
+/**
+ * Index from a last-value key to the current {@link MessageReference} of a {@link LastValueQueue}.
+ * <p>
+ * It is an open hash table with linear probing, split into sections each guarded by its own {@link StampedLock}:
+ * <ol>
+ * <li>No node allocation per entry: key hashes, keys and references are kept in parallel arrays
+ * <li>The stored key is the {@link SimpleString} already owned by the indexed message, replaced together with it
+ * <li>Lookups are optimistic and conditional removals don't need to synchronize on the owning queue
+ * </ol>
+ */
+public final class LastValueIndex {
+
+   private static final float FILL_FACTOR = 0.66f;
+
+   private static final int DEFAULT_EXPECTED_ITEMS = 256;
+   private static final int DEFAULT_SECTIONS = 16;
+
+   private final Section[] sections;
+
+   public LastValueIndex() {
+      this(DEFAULT_EXPECTED_ITEMS, DEFAULT_SECTIONS);
+   }
+
+   public LastValueIndex(int expectedItems, int numSections) {
+      checkArgument(numSections > 0 && Integer.bitCount(numSections) == 1, "numSections must be a positive power of 2");
+      if (expectedItems < numSections) {
+         expectedItems = numSections;
+      }
+      final int perSectionCapacity = (int) ((expectedItems / numSections) / FILL_FACTOR);
+      this.sections = new Section[numSections];
+      for (int i = 0; i < numSections; i++) {
+         sections[i] = new Section(perSectionCapacity);
+      }
+   }
+
+   public MessageReference get(SimpleString key) {
+      final int hash = hash(key);
+      return getSection(hash).get(key, hash);
+   }
+
+   /**
+    * @return the reference previously indexed for {@code key}, if any
+    */
+   public MessageReference put(SimpleString key, MessageReference ref) {
+      checkNotNull(ref);
+      final int hash = hash(key);
+      return getSection(hash).put(key, hash, ref, false);
+   }
+
+   /**
+    * @return the reference already indexed for {@code key} or {@code null} if {@code ref} has been indexed
+    */
+   public MessageReference putIfAbsent(SimpleString key, MessageReference ref) {
+      checkNotNull(ref);
+      final int hash = hash(key);
+      return getSection(hash).put(key, hash, ref, true);
+   }
+
+   /**
+    * Removes the entry for {@code key} only if it is still indexing {@code ref}.
+    *
+    * @return {@code true} if the entry has been removed
+    */
+   public boolean remove(SimpleString key, MessageReference ref) {
+      checkNotNull(ref);
+      final int hash = hash(key);
+      return getSection(hash).remove(key, hash, ref);
+   }
+
+   public int size() {
+      int size = 0;
+      for (Section s : sections) {
+         size += s.size();
+      }
+      return size;
+   }
+
+   public boolean isEmpty() {
+      for (Section s : sections) {
+         if (s.size() != 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @return a new set of all keys (makes a copy)
+    */
+   public Set<SimpleString> keys() {
+      final Set<SimpleString> keys = new HashSet<>();
+      for (Section s : sections) {
+         s.collectKeys(keys);
+      }
+      return keys;
+   }
+
+   public void clear() {
+      for (Section s : sections) {
+         s.clear();
+      }
+   }
+
+   private Section getSection(int hash) {
+      // the most significant bits select the section, the least significant ones the bucket
+      return sections[(int) (((hash & 0xFFFFFFFFL) * sections.length) >>> 32)];
+   }
+
+   static int hash(SimpleString key) {
+      // SimpleString caches its hash code: just spread it
+      final int h = key.hashCode() * 0x9E3779B9;
+      return h ^ (h >>> 16);
+   }
+
+   private static final class Table {
+
+      final int mask;
+      final int[] hashes;
+      final SimpleString[] keys;
+      final MessageReference[] values;
+
+      Table(int capacity) {
+         this.mask = capacity - 1;
+         this.hashes = new int[capacity];
+         this.keys = new SimpleString[capacity];
+         this.values = new MessageReference[capacity];
+      }
+
+      int find(SimpleString key, int hash) {
+         int bucket = hash & mask;
+         // bounded: an optimistic reader can observe a table while it is being modified
+         for (int i = 0; i <= mask; i++) {
+            final SimpleString storedKey = keys[bucket];
+            if (storedKey == null) {
+               return -1;
+            }
+            if (hashes[bucket] == hash && storedKey.equals(key)) {
+               return bucket;
+            }
+            bucket = (bucket + 1) & mask;
+         }
+         return -1;
+      }
+   }
+
+   // A section is a portion of the index that is covered by a single lock
+   @SuppressWarnings("serial")
+   private static final class Section extends StampedLock {
+
+      private final int initialCapacity;
+      private Table table;
+      private int size;
+      private int resizeThreshold;
+
+      Section(int capacity) {
+         this.initialCapacity = alignToPowerOfTwo(Math.max(2, capacity));
+         resetTable(initialCapacity);
+      }
+
+      private void resetTable(int capacity) {
+         this.table = new Table(capacity);
+         this.resizeThreshold = (int) (capacity * FILL_FACTOR);
+      }
+
+      int size() {
+         long stamp = tryOptimisticRead();
+         int size = this.size;
+         if (!validate(stamp)) {
+            stamp = readLock();
+            try {
+               size = this.size;
+            } finally {
+               unlockRead(stamp);
+            }
+         }
+         return size;
+      }
+
+      MessageReference get(SimpleString key, int hash) {
+         long stamp = tryOptimisticRead();
+         if (stamp != 0) {
+            final Table table = this.table;
+            final int bucket = table.find(key, hash);
+            final MessageReference value = bucket >= 0 ? table.values[bucket] : null;
+            if (validate(stamp)) {
+               return value;
+            }
+         }
+         stamp = readLock();
+         try {
+            final Table table = this.table;
+            final int bucket = table.find(key, hash);
+            return bucket >= 0 ? table.values[bucket] : null;
+         } finally {
+            unlockRead(stamp);
+         }
+      }
+
+      MessageReference put(SimpleString key, int hash, MessageReference value, boolean onlyIfAbsent) {
+         final long stamp = writeLock();
+         try {
+            final Table table = this.table;
+            final int mask = table.mask;
+            int bucket = hash & mask;
+            while (true) {
+               final SimpleString storedKey = table.keys[bucket];
+               if (storedKey == null) {
+                  table.hashes[bucket] = hash;
+                  table.keys[bucket] = key;
+                  table.values[bucket] = value;
+                  if (++size > resizeThreshold) {
+                     rehash();
+                  }
+                  return null;
+               }
+               if (table.hashes[bucket] == hash && storedKey.equals(key)) {
+                  final MessageReference storedValue = table.values[bucket];
+                  if (!onlyIfAbsent) {
+                     // the new key belongs to the new message: don't retain the old one
+                     table.keys[bucket] = key;
+                     table.values[bucket] = value;
+                  }
+                  return storedValue;
+               }
+               bucket = (bucket + 1) & mask;
+            }
+         } finally {
+            unlockWrite(stamp);
+         }
+      }
+
+      boolean remove(SimpleString key, int hash, MessageReference expected) {
+         final long stamp = writeLock();
+         try {
+            final Table table = this.table;
+            final int bucket = table.find(key, hash);
+            if (bucket < 0 || table.values[bucket] != expected) {
+               return false;
+            }
+            removeAt(table, bucket);
+            size--;
+            return true;
+         } finally {
+            unlockWrite(stamp);
+         }
+      }
+
+      /**
+       * Backward shift deletion: it doesn't leave tombstones behind, that would otherwise pile up with keys churn.
+       */
+      private static void removeAt(Table table, int bucket) {
+         final int mask = table.mask;
+         int hole = bucket;
+         int next = (hole + 1) & mask;
+         while (table.keys[next] != null) {
+            final int ideal = table.hashes[next] & mask;
+            // the entry can fill the hole only if its ideal bucket isn't cyclically within (hole, next]
+            if (((next - ideal) & mask) >= ((next - hole) & mask)) {
+               table.hashes[hole] = table.hashes[next];
+               table.keys[hole] = table.keys[next];
+               table.values[hole] = table.values[next];
+               hole = next;
+            }
+            next = (next + 1) & mask;
+         }
+         table.hashes[hole] = 0;
+         table.keys[hole] = null;
+         table.values[hole] = null;
+      }
+
+      void collectKeys(Set<SimpleString> keys) {
+         final long stamp = readLock();
+         try {
+            for (SimpleString key : table.keys) {
+               if (key != null) {
+                  keys.add(key);
+               }
+            }
+         } finally {
+            unlockRead(stamp);
+         }
+      }
+
+      void clear() {
+         final long stamp = writeLock();
+         try {
+            resetTable(initialCapacity);
+            size = 0;
+         } finally {
+            unlockWrite(stamp);
+         }
+      }
+
+      private void rehash() {
+         final Table oldTable = this.table;
+         final Table newTable = new Table(oldTable.keys.length * 2);
+         final int mask = newTable.mask;
+         for (int i = 0; i < oldTable.keys.length; i++) {
+            final SimpleString key = oldTable.keys[i];
+            if (key != null) {
+               final int hash = oldTable.hashes[i];
+               int bucket = hash & mask;
+               while (newTable.keys[bucket] != null) {
+                  bucket = (bucket + 1) & mask;
+               }
+               newTable.hashes[bucket] = hash;
+               newTable.keys[bucket] = key;
+               newTable.values[bucket] = oldTable.values[i];
+            }
+         }
+         this.table = newTable;
+         this.resizeThreshold = (int) (newTable.keys.length * FILL_FACTOR);
+      }
+   }
+
+   static int alignToPowerOfTwo(int n) {
+      return 1 << (32 - Integer.numberOfLeadingZeros(n - 1));
+   }
+}
@@ -17,9 +17,7 @@
 package org.apache.activemq.artemis.core.server.impl;
 
 import java.util.Collections;
-import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledExecutorService;
 
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -51,7 +49,7 @@ import org.apache.activemq.artemis.utils.collections.LinkedListIterator;
 @SuppressWarnings("ALL")
 public class LastValueQueue extends QueueImpl {
 
-   private final Map<SimpleString, MessageReference> map = new ConcurrentHashMap<>();
+   private final LastValueIndex index = new LastValueIndex();
 
    public LastValueQueue(final QueueConfiguration queueConfiguration,
                          final Filter filter,
@@ -68,7 +66,8 @@ public class LastValueQueue extends QueueImpl {
    }
 
    @Override
-   public synchronized void addTail(final MessageReference ref, final boolean direct) {
+   public void addTail(final MessageReference ref, final boolean direct) {
+      // the index is thread-safe and the references it replaces are pruned while delivering, holding the queue lock
       if (!scheduleIfPossible(ref)) {
          trackLastValue(ref);
          super.addTail(ref, isNonDestructive() ? false : direct);
@@ -96,14 +95,14 @@ public class LastValueQueue extends QueueImpl {
    private void trackLastValue(MessageReference ref) {
       final SimpleString lastValueProperty = ref.getLastValueProperty();
       if (lastValueProperty != null) {
-         map.put(lastValueProperty, ref);
+         index.put(lastValueProperty, ref);
       }
    }
 
    private void trackLastValueIfAbsent(MessageReference ref) {
       final SimpleString lastValueProperty = ref.getLastValueProperty();
       if (lastValueProperty != null) {
-         map.putIfAbsent(lastValueProperty, ref);
+         index.putIfAbsent(lastValueProperty, ref);
       }
    }
 
@@ -143,7 +142,7 @@ public class LastValueQueue extends QueueImpl {
       boolean currentLastValue = false;
       SimpleString lastValueProp = ref.getLastValueProperty();
       if (lastValueProp != null) {
-         MessageReference current = map.get(lastValueProp);
+         MessageReference current = index.get(lastValueProp);
          if (current == ref) {
             currentLastValue = true;
          }
@@ -185,13 +184,11 @@ public class LastValueQueue extends QueueImpl {
       super.reload(newRef);
    }
 
-   private synchronized void removeIfCurrent(MessageReference ref) {
+   private void removeIfCurrent(MessageReference ref) {
       SimpleString lastValueProp = ref.getLastValueProperty();
       if (lastValueProp != null) {
-         MessageReference current = map.get(lastValueProp);
-         if (current == ref) {
-            map.remove(lastValueProp);
-         }
+         // the index is atomically checking the current value: no need to hold the queue lock
+         index.remove(lastValueProp, ref);
       }
    }
 
@@ -208,36 +205,6 @@ public class LastValueQueue extends QueueImpl {
    }
 
    public synchronized Set<SimpleString> getLastValueKeys() {
-      return Collections.unmodifiableSet(map.keySet());
-   }
-
-   @Override
-   public int hashCode() {
-      final int prime = 31;
-      int result = super.hashCode();
-      result = prime * result + ((map == null) ? 0 : map.hashCode());
-      return result;
-   }
-
-   @Override
-   public boolean equals(Object obj) {
-      if (this == obj) {
-         return true;
-      }
-      if (!super.equals(obj)) {
-         return false;
-      }
-      if (!(obj instanceof LastValueQueue)) {
-         return false;
-      }
-      LastValueQueue other = (LastValueQueue) obj;
-      if (map == null) {
-         if (other.map != null) {
-            return false;
-         }
-      } else if (!map.equals(other.map)) {
-         return false;
-      }
-      return true;
+      return Collections.unmodifiableSet(index.keys());
    }
 }
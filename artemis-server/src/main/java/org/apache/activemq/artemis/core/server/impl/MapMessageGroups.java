@@ -17,6 +17,7 @@
 package org.apache.activemq.artemis.core.server.impl;
 
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
 import java.util.function.Predicate;
 import org.apache.activemq.artemis.api.core.SimpleString;
@@ -66,4 +67,38 @@ abstract class MapMessageGroups<C> implements MessageGroups<C> {
    public Map<SimpleString, C> toMap() {
       return new HashMap<>(groups);
    }
+
+   @Override
+   public int rebalance(C consumer, long consumerID, long[] otherConsumerIDs) {
+      int moved = 0;
+      for (Iterator<Map.Entry<SimpleString, C>> iterator = groups.entrySet().iterator(); iterator.hasNext(); ) {
+         final Map.Entry<SimpleString, C> group = iterator.next();
+         if (group.getValue() != consumer && MessageGroups.isRendezvousWinner(group.getKey().hashCode(), consumerID, otherConsumerIDs)) {
+            moveGroup(iterator, group, consumer);
+            moved++;
+         }
+      }
+      return moved;
+   }
+
+   @Override
+   public int rebalanceRemoved(C consumer, long[] consumerIDs, C[] consumers) {
+      int moved = 0;
+      for (Iterator<Map.Entry<SimpleString, C>> iterator = groups.entrySet().iterator(); iterator.hasNext(); ) {
+         final Map.Entry<SimpleString, C> group = iterator.next();
+         if (consumer.equals(group.getValue())) {
+            moveGroup(iterator, group, consumers[MessageGroups.rendezvousWinner(group.getKey().hashCode(), consumerIDs)]);
+            moved++;
+         }
+      }
+      return moved;
+   }
+
+   private static <C> void moveGroup(Iterator<Map.Entry<SimpleString, C>> iterator, Map.Entry<SimpleString, C> group, C consumer) {
+      if (consumer == null) {
+         iterator.remove();
+      } else {
+         group.setValue(consumer);
+      }
+   }
 }
@@ -36,5 +36,60 @@ public interface MessageGroups<C> {
 
    Map<SimpleString, C> toMap();
 
+   /**
+    * Moves to {@code consumer}, just added, the groups it wins by rendezvous (highest random weight) hashing against
+    * the other consumers: on average only {@code 1 / (otherConsumerIDs.length + 1)} of the groups move, while the
+    * remaining ones stick to their current consumer.
+    * <p>
+    * A {@code null} consumer unbinds those groups instead, e.g. when the new consumer has a filter: the next message
+    * of each of them binds it again to a consumer accepting it.
+    *
+    * @return the number of groups moved or unbound
+    */
+   int rebalance(C consumer, long consumerID, long[] otherConsumerIDs);
 
+   /**
+    * Moves the groups of {@code consumer}, just removed, to the remaining consumer each of them wins by rendezvous
+    * hashing, i.e. {@code consumers[i]} of ID {@code consumerIDs[i]}, or unbinds them if that is {@code null}.
+    *
+    * @return the number of groups moved or unbound
+    */
+   int rebalanceRemoved(C consumer, long[] consumerIDs, C[] consumers);
+
+   /**
+    * @return {@code true} if {@code consumerID} has the highest rendezvous weight for {@code groupHash}
+    */
+   static boolean isRendezvousWinner(int groupHash, long consumerID, long[] otherConsumerIDs) {
+      final long weight = rendezvousWeight(groupHash, consumerID);
+      for (long otherConsumerID : otherConsumerIDs) {
+         if (otherConsumerID != consumerID && Long.compareUnsigned(rendezvousWeight(groupHash, otherConsumerID), weight) >= 0) {
+            return false;
+         }
+      }
+      return true;
+   }
+
+   /**
+    * @return the index of the consumer ID with the highest rendezvous weight for {@code groupHash}
+    */
+   static int rendezvousWinner(int groupHash, long[] consumerIDs) {
+      int winner = 0;
+      long winnerWeight = rendezvousWeight(groupHash, consumerIDs[0]);
+      for (int i = 1; i < consumerIDs.length; i++) {
+         final long weight = rendezvousWeight(groupHash, consumerIDs[i]);
+         if (Long.compareUnsigned(weight, winnerWeight) > 0) {
+            winner = i;
+            winnerWeight = weight;
+         }
+      }
+      return winner;
+   }
+
+   private static long rendezvousWeight(int groupHash, long consumerID) {
+      // SplitMix64 finalizer: any bit of both the group and the consumer affects all the bits of the weight
+      long z = (consumerID + 0x9E3779B97F4A7C15L) ^ ((long) groupHash << 32 | (groupHash & 0xFFFFFFFFL));
+      z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+      z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+      return z ^ (z >>> 31);
+   }
 }
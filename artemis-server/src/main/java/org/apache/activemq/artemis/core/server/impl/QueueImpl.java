@@ -238,6 +238,8 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final AtomicLong messagesReplaced = new AtomicLong(0);
 
+   private final AtomicLong groupsRebalanced = new AtomicLong(0);
+
    private boolean paused;
 
    private long pauseStatusRecord = -1;
@@ -252,6 +254,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
    private final Runnable deliverRunner = new DeliverRunner();
 
+   // identifies a deliver() round: consumers found busy on it are tracked with it on their ConsumerHolder
+   private long deliveryRound;
+
    //This lock is used to prevent deadlocks between direct and async deliveries
    private final ReentrantLock deliverLock = new ReentrantLock();
 
@@ -1186,7 +1191,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                if (queueConfiguration.isGroupRebalancePauseDispatch()) {
                   stopDispatch();
                }
-               groups.removeAll();
+               rebalanceGroups(consumer);
             }
 
             ConsumerHolder<Consumer> newConsumerHolder = new ConsumerHolder<>(consumer, this);
@@ -1200,6 +1205,32 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       }
    }
 
+   private void rebalanceGroups(Consumer consumer) {
+      if (cachedAddressSettings.isConsistentHashGroupRebalance()) {
+         final long[] otherConsumerIDs = new long[consumers.size()];
+         int i = 0;
+         for (ConsumerHolder<? extends Consumer> holder : consumers) {
+            otherConsumerIDs[i++] = holder.consumer.sequentialID();
+         }
+         // the groups can't be bound to a consumer that could filter out their messages: they're bound again on delivery
+         groupsRebalanced.addAndGet(groups.rebalance(consumer.getFilter() == null ? consumer : null, consumer.sequentialID(), otherConsumerIDs));
+      } else {
+         groupsRebalanced.addAndGet(groups.size());
+         groups.removeAll();
+      }
+   }
+
+   private void rebalanceGroupsOf(Consumer removedConsumer) {
+      final long[] consumerIDs = new long[consumers.size()];
+      final Consumer[] filterlessConsumers = new Consumer[consumerIDs.length];
+      int i = 0;
+      for (ConsumerHolder<? extends Consumer> holder : consumers) {
+         consumerIDs[i] = holder.consumer.sequentialID();
+         filterlessConsumers[i++] = holder.consumer.getFilter() == null ? holder.consumer : null;
+      }
+      groupsRebalanced.addAndGet(groups.rebalanceRemoved(removedConsumer, consumerIDs, filterlessConsumers));
+   }
+
    @Override
    public void addLingerSession(String sessionId) {
       lingerSessionIds.add(sessionId);
@@ -1259,7 +1290,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                });
             }
 
-            groups.removeIf(consumer::equals);
+            if (queueConfiguration.isGroupRebalance() && cachedAddressSettings.isConsistentHashGroupRebalance() && !consumers.isEmpty()) {
+               rebalanceGroupsOf(consumer);
+            } else {
+               groups.removeIf(consumer::equals);
+            }
 
          }
       }
@@ -1415,6 +1450,11 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
       return groups.size();
    }
 
+   @Override
+   public long getGroupsRebalanced() {
+      return groupsRebalanced.get();
+   }
+
    @Override
    public boolean hasMatchingConsumer(final Message message) {
       for (ConsumerHolder holder : consumers) {
@@ -2902,6 +2942,10 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       int handled = 0;
 
+      // consumers busy regardless of the reference are skipped for the rest of this round, instead of being probed
+      // again for every message: they will prompt a new delivery once ready
+      final long deliveryRound = ++this.deliveryRound;
+
       long timeout = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(DELIVERY_TIMEOUT);
       consumers.reset();
       while (true) {
@@ -2967,7 +3011,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                return false;
             }
 
-            if (holderIterator.hasNext()) {
+            if (holder.busyRound == deliveryRound) {
+               ref = null;
+            } else if (holderIterator.hasNext()) {
                ref = holderIterator.next();
             } else {
                ref = null;
@@ -3030,6 +3076,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
                   noDelivery++;
                   numNoMatch = 0;
                   numAttempts = 0;
+                  if (groupConsumer == null && consumer.isBusyReferenceIndependent()) {
+                     holder.busyRound = deliveryRound;
+                  }
                   // no consumers.reset() b/c we skip this consumer
                } else if (status == HandleStatus.NO_MATCH) {
                   consumers.reset();
@@ -3173,7 +3222,7 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
    }
 
    private SimpleString extractGroupID(MessageReference ref) {
-      if (queueConfiguration.isInternal() || queueConfiguration.isExclusive() || queueConfiguration.getGroupBuckets() == 0) {
+      if (queueConfiguration.isExclusive() || !isGrouping()) {
          return null;
       } else {
          try {
@@ -3748,43 +3797,81 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
             return true;
          }
 
+         if (consumers.isEmpty()) {
+            logger.trace("Queue {} is out of direct delivery as it has no consumers", queueConfiguration.getName());
+            return false;
+         }
+
+         // read once per reference: it can't change while holding the queue lock
+         final SimpleString groupID = extractGroupID(ref);
+         if (queueConfiguration.isExclusive() || groupID != null) {
+            return deliverGrouped(ref, groupID);
+         }
+
+         // no group nor exclusive consumer to resolve: plain round-robin
          consumers.reset();
 
          while (consumers.hasNext()) {
+            final Consumer consumer = consumers.next().consumer;
 
-            ConsumerHolder<? extends Consumer> holder = consumers.next();
-            Consumer consumer = holder.consumer;
+            if (handle(ref, consumer) == HandleStatus.HANDLED) {
+               proceedDirectDeliver(ref, consumer);
+               return true;
+            }
+         }
 
-            final SimpleString groupID = extractGroupID(ref);
-            Consumer groupConsumer = getGroupConsumer(groupID);
+         logger.trace("Queue {} is out of direct delivery as no consumers handled a delivery", queueConfiguration.getName());
 
-            if (groupConsumer != null) {
-               consumer = groupConsumer;
-            }
+         return false;
+      }
+   }
 
-            HandleStatus status = handle(ref, consumer);
-            if (status == HandleStatus.HANDLED) {
-               final MessageReference reference = handleMessageGroup(ref, consumer, groupConsumer, groupID);
+   private boolean deliverGrouped(final MessageReference ref, final SimpleString groupID) {
+      // resolved once per reference: it can't change while holding the queue lock
+      final Consumer groupConsumer = getGroupConsumer(groupID);
 
-               incrementMesssagesAdded();
+      consumers.reset();
 
-               deliveriesInTransit.countUp();
-               reference.setInDelivery(true);
-               proceedDeliver(consumer, reference);
-               consumers.reset();
-               reference.setSequence(queueSequence.incrementAndGet());
-               return true;
-            }
+      while (consumers.hasNext()) {
 
-            if (groupConsumer != null) {
-               break;
-            }
+         ConsumerHolder<? extends Consumer> holder = consumers.next();
+         Consumer consumer = holder.consumer;
+
+         if (groupConsumer != null) {
+            consumer = groupConsumer;
          }
 
-         logger.trace("Queue {} is out of direct delivery as no consumers handled a delivery", queueConfiguration.getName());
+         HandleStatus status = handle(ref, consumer);
+         if (status == HandleStatus.HANDLED) {
+            proceedDirectDeliver(handleMessageGroup(ref, consumer, groupConsumer, groupID), consumer);
+            return true;
+         }
 
-         return false;
+         if (groupConsumer != null) {
+            break;
+         }
       }
+
+      logger.trace("Queue {} is out of direct delivery as no consumers handled a delivery", queueConfiguration.getName());
+
+      return false;
+   }
+
+   private void proceedDirectDeliver(final MessageReference reference, final Consumer consumer) {
+      incrementMesssagesAdded();
+
+      deliveriesInTransit.countUp();
+      reference.setInDelivery(true);
+      proceedDeliver(consumer, reference);
+      consumers.reset();
+      reference.setSequence(queueSequence.incrementAndGet());
+   }
+
+   /**
+    * Whether messages can be grouped on this queue, i.e. their group ID has to be read.
+    */
+   private boolean isGrouping() {
+      return !queueConfiguration.isInternal() && queueConfiguration.getGroupBuckets() != 0;
    }
 
    private Consumer getGroupConsumer(SimpleString groupID) {
@@ -4096,6 +4183,9 @@ public class QueueImpl extends CriticalComponentImpl implements Queue {
 
       LinkedListIterator<MessageReference> iter;
 
+      // the last QueueImpl::deliver round this consumer was found busy
+      long busyRound;
+
       private void resetIterator() {
          if (iter != null) {
             iter.close();
@@ -20,12 +20,14 @@ import java.io.PrintWriter;
 import java.io.StringWriter;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.Filter;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.core.server.RouteContextList;
 import org.apache.activemq.artemis.core.server.RoutingContext;
@@ -71,6 +73,11 @@ public class RoutingContextImpl implements RoutingContext {
 
    private ServerSession serverSession;
 
+   // the message the filter results are related to
+   private Message filteredMessage;
+
+   private IdentityHashMap<Filter, Boolean> filterResults;
+
    @Override
    public boolean isDuplicateDetection() {
       return duplicateDetection;
@@ -179,6 +186,8 @@ public class RoutingContextImpl implements RoutingContext {
 
       this.internalOnly = null;
 
+      clearFilterResults();
+
       // once we set to disabled, we keep it always disabled.
       // This is because the routing object used to route commands will disable this
       // and it should stay that way no matter what
@@ -274,6 +283,35 @@ public class RoutingContextImpl implements RoutingContext {
       return isReusable() && queueCount > 0 && address.equals(previousAddress) && previousRoutingType == routingType;
    }
 
+   @Override
+   public boolean match(Filter filter, Message message) {
+      if (filter == null) {
+         return true;
+      }
+      if (filteredMessage != message) {
+         clearFilterResults();
+         filteredMessage = message;
+      }
+      if (filterResults == null) {
+         filterResults = new IdentityHashMap<>();
+      } else {
+         final Boolean result = filterResults.get(filter);
+         if (result != null) {
+            return result;
+         }
+      }
+      final boolean result = filter.match(message);
+      filterResults.put(filter, result);
+      return result;
+   }
+
+   private void clearFilterResults() {
+      filteredMessage = null;
+      if (filterResults != null) {
+         filterResults.clear();
+      }
+   }
+
    @Override
    public void setAddress(SimpleString address) {
       if (this.address == null || !this.address.equals(address)) {
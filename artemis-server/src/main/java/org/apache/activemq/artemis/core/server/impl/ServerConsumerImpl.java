@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.core.server.impl;
 
+import java.io.File;
 import java.math.BigDecimal;
 import java.nio.ByteBuffer;
 import java.util.ArrayDeque;
@@ -411,6 +412,12 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       messageQueue.errorProcessing(this, e, deliveryObject);
    }
 
+   @Override
+   public boolean isBusyReferenceIndependent() {
+      // credits, writability, started/transferring and large message delivery: all of them prompt a delivery on change
+      return callback == null || !callback.hasReferenceDependentCredits();
+   }
+
    @Override
    public HandleStatus handle(final MessageReference ref) throws Exception {
       // available credits can be set back to null with a flow control option.
@@ -992,48 +999,122 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
       }
 
       try {
+         ActiveMQIllegalStateException ils = individualAcknowledgeReference(tx, messageID);
 
-         MessageReference ref;
-         ref = removeReferenceByID(messageID);
-
-         if (logger.isTraceEnabled()) {
-            logger.trace("ACKing ref {} on tx={}, consumer={}", ref, tx, this);
-         }
-
-         if (ref == null) {
-            ActiveMQIllegalStateException ils = ActiveMQMessageBundle.BUNDLE.consumerNoReference(id, messageID, messageQueue.getName());
+         if (ils != null) {
             tx.markAsRollbackOnly(ils);
             throw ils;
          }
 
-         if (RefCountMessage.isRefTraceEnabled()) {
-            RefCountMessage.deferredDebug(ref.getMessage(), "Individually acked on tx={}", tx.getID());
+         if (startedTransaction) {
+            tx.commit();
          }
+      } catch (Throwable e) {
+         throw individualAcknowledgeFailed(tx, startedTransaction, e);
+      }
 
-         metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
-         ref.acknowledge(tx, this);
+   }
 
-         if (startedTransaction) {
-            tx.commit();
+   @Override
+   public synchronized void individualAcknowledge(Transaction tx, final long[] messageIDs, final int count) throws Exception {
+      if (browseOnly) {
+         return;
+      }
+
+      if (count == 1) {
+         individualAcknowledge(tx, messageIDs[0]);
+         return;
+      }
+
+      boolean startedTransaction = false;
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("individualACK {} messages", count);
+      }
+
+      if (tx == null) {
+         logger.trace("individualACK starting new TX");
+
+         startedTransaction = true;
+         tx = new TransactionImpl(storageManager);
+      }
+
+      // on a transaction of our own, a missing reference doesn't prevent the others to be acked, as if they were
+      // acknowledged one by one
+      ActiveMQIllegalStateException missingReference = null;
+
+      try {
+
+         for (int i = 0; i < count; i++) {
+            ActiveMQIllegalStateException ils = individualAcknowledgeReference(tx, messageIDs[i]);
+
+            if (ils != null) {
+               if (!startedTransaction) {
+                  tx.markAsRollbackOnly(ils);
+                  throw ils;
+               }
+               if (missingReference == null) {
+                  missingReference = ils;
+               }
+            }
          }
-      } catch (ActiveMQException e) {
+
          if (startedTransaction) {
-            tx.rollback();
-         } else if (tx != null) {
-            tx.markAsRollbackOnly(e);
+            tx.commit();
          }
-         throw e;
       } catch (Throwable e) {
-         ActiveMQServerLogger.LOGGER.errorAckingMessage((Exception) e);
-         ActiveMQIllegalStateException hqex = new ActiveMQIllegalStateException(e.getMessage());
-         if (startedTransaction) {
-            tx.rollback();
-         } else if (tx != null) {
-            tx.markAsRollbackOnly(hqex);
-         }
-         throw hqex;
+         throw individualAcknowledgeFailed(tx, startedTransaction, e);
       }
 
+      if (missingReference != null) {
+         throw missingReference;
+      }
+   }
+
+   /**
+    * Acknowledges on {@code tx} the reference delivered to this consumer with the given message ID.
+    *
+    * @return the exception reporting that this consumer has no such reference, or {@code null} if it was acknowledged
+    */
+   private ActiveMQIllegalStateException individualAcknowledgeReference(Transaction tx, long messageID) throws Exception {
+      MessageReference ref = removeReferenceByID(messageID);
+
+      if (logger.isTraceEnabled()) {
+         logger.trace("ACKing ref {} on tx={}, consumer={}", ref, tx, this);
+      }
+
+      if (ref == null) {
+         return ActiveMQMessageBundle.BUNDLE.consumerNoReference(id, messageID, messageQueue.getName());
+      }
+
+      if (RefCountMessage.isRefTraceEnabled()) {
+         RefCountMessage.deferredDebug(ref.getMessage(), "Individually acked on tx={}", tx.getID());
+      }
+
+      metrics.addAcknowledge(ref.getMessage().getEncodeSize(), tx);
+      ref.acknowledge(tx, this);
+      return null;
+   }
+
+   /**
+    * Rolls back the transaction of a failed individual acknowledgement, if started by it, or marks it as rollback only.
+    *
+    * @return the exception to be thrown
+    */
+   private ActiveMQException individualAcknowledgeFailed(Transaction tx, boolean startedTransaction, Throwable e) throws Exception {
+      final ActiveMQException failure;
+      if (e instanceof ActiveMQException activeMQException) {
+         failure = activeMQException;
+      } else {
+         ActiveMQServerLogger.LOGGER.errorAckingMessage((Exception) e);
+         failure = new ActiveMQIllegalStateException(e.getMessage());
+      }
+      if (startedTransaction) {
+         tx.rollback();
+      } else {
+         tx.markAsRollbackOnly(failure);
+      }
+      return failure;
    }
 
    @Override
@@ -1369,26 +1450,37 @@ public class ServerConsumerImpl implements ServerConsumer, ReadyListener {
 
                final int localChunkLen = (int) Math.min(sizePendingLargeMessage - positionPendingLargeMessage, minLargeMessageSize);
 
-               final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
+               final boolean continues = positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage;
+
+               final File file = context.getFile();
+
+               int packetSize = file == null ? -1 : callback.sendLargeMessageContinuation(ServerConsumerImpl.this, file, positionPendingLargeMessage, localChunkLen, continues);
 
-               assert bodyBuffer.remaining() == localChunkLen;
+               if (packetSize >= 0) {
+                  // the chunk has been sent straight from the file, without reading it
+                  context.position(positionPendingLargeMessage + localChunkLen);
+               } else {
+                  final ByteBuffer bodyBuffer = acquireHeapBodyBuffer(localChunkLen);
 
-               final int readBytes = context.readInto(bodyBuffer);
+                  assert bodyBuffer.remaining() == localChunkLen;
 
-               assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
+                  final int readBytes = context.readInto(bodyBuffer);
 
+                  assert readBytes == localChunkLen : "readBytes = " + readBytes + ", localChunkLen=" + localChunkLen + " on large message " + largeMessage.getMessageID() + ", hash = " + System.identityHashCode(largeMessage);
 
-               final byte[] body = bodyBuffer.array();
 
-               assert body.length == readBytes;
+                  final byte[] body = bodyBuffer.array();
 
-               //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
-               //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
-               //resendCache != null && packet.isRequiresConfirmations()
+                  assert body.length == readBytes;
 
-               int packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, positionPendingLargeMessage + localChunkLen < sizePendingLargeMessage, false);
+                  //It is possible to recycle the same heap body buffer because it won't be cached by sendLargeMessageContinuation
+                  //given that requiresResponse is false: ChannelImpl::send will use the resend cache only if
+                  //resendCache != null && packet.isRequiresConfirmations()
+
+                  packetSize = callback.sendLargeMessageContinuation(ServerConsumerImpl.this, body, continues, false);
+               }
 
-               int chunkLen = body.length;
+               int chunkLen = localChunkLen;
 
                if (availableCredits != null) {
                   final int credits = availableCredits.addAndGet(-packetSize);
@@ -1317,6 +1317,17 @@ public class ServerSessionImpl implements ServerSession, FailureListener {
 
    }
 
+   @Override
+   public void individualAcknowledge(final long consumerID, final long[] messageIDs, final int count) throws Exception {
+      if (tx != null && tx.getState() == State.ROLLEDBACK) {
+         for (int i = 0; i < count; i++) {
+            individualAcknowledge(consumerID, messageIDs[i]);
+         }
+      } else {
+         findConsumer(consumerID).individualAcknowledge(autoCommitAcks ? null : tx, messageIDs, count);
+      }
+   }
+
    @Override
    public void individualCancel(final long consumerID, final long messageID, boolean failed) throws Exception {
       ServerConsumer consumer = locateConsumer(consumerID);
@@ -348,6 +348,7 @@ public class ManagementServiceImpl implements ManagementService {
                builder.build(QueueMetricNames.MESSAGES_KILLED, queue, metrics -> (double) queue.getMessagesKilled(), QueueControl.MESSAGES_KILLED_DESCRIPTION, Collections.emptyList());
                builder.build(QueueMetricNames.MESSAGES_EXPIRED, queue, metrics -> (double) queue.getMessagesExpired(), QueueControl.MESSAGES_EXPIRED_DESCRIPTION, Collections.emptyList());
                builder.build(QueueMetricNames.CONSUMER_COUNT, queue, metrics -> (double) queue.getConsumerCount(), QueueControl.CONSUMER_COUNT_DESCRIPTION, Collections.emptyList());
+               builder.build(QueueMetricNames.GROUPS_REBALANCED, queue, metrics -> (double) queue.getGroupsRebalanced(), QueueControl.GROUPS_REBALANCED_DESCRIPTION, Collections.emptyList());
             });
          }
       }
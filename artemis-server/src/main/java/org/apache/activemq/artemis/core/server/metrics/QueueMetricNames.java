@@ -38,4 +38,5 @@ public class QueueMetricNames {
    public static final String MESSAGES_KILLED = "messages.killed";
    public static final String MESSAGES_EXPIRED = "messages.expired";
    public static final String CONSUMER_COUNT = "consumer.count";
+   public static final String GROUPS_REBALANCED = "groups.rebalanced";
 }
@@ -16,6 +16,8 @@
  */
 package org.apache.activemq.artemis.spi.core.protocol;
 
+import java.io.File;
+
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.server.MessageReference;
 import org.apache.activemq.artemis.core.server.ServerConsumer;
@@ -48,6 +50,14 @@ public interface SessionCallback {
       return hasCredits(consumerID);
    }
 
+   /**
+    * @return {@code true} if {@link #hasCredits(ServerConsumer, MessageReference)} can return a different value
+    * depending on the reference
+    */
+   default boolean hasReferenceDependentCredits() {
+      return false;
+   }
+
    /**
     * This can be used to complete certain operations outside of the lock,
     * like acks or other operations.
@@ -80,6 +90,20 @@ public interface SessionCallback {
                                     boolean continues,
                                     boolean requiresResponse);
 
+   /**
+    * Sends {@code length} bytes of the body of a large message, stored from {@code position} of {@code file}, without
+    * reading them: it's an optional alternative to {@link #sendLargeMessageContinuation(ServerConsumer, byte[], boolean, boolean)}.
+    *
+    * @return the size of the packet sent or {@code -1} if the body has to be read and sent as usual
+    */
+   default int sendLargeMessageContinuation(ServerConsumer consumer,
+                                            File file,
+                                            long position,
+                                            int length,
+                                            boolean continues) {
+      return -1;
+   }
+
    void closed();
 
    void disconnect(ServerConsumer consumerId, String errorMessage);
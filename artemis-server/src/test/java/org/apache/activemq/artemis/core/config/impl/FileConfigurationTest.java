@@ -540,6 +540,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertTrue(conf.getAddressSettings().get("a1").isEnableIngressTimestamp());
       assertNull(conf.getAddressSettings().get("a1").getIDCacheSize());
       assertNull(conf.getAddressSettings().get("a1").getInitialQueueBufferSize());
+      assertFalse(conf.getAddressSettings().get("a1").isConsistentHashGroupRebalance());
+      assertFalse(conf.getAddressSettings().get("a1").isIDCacheFilter());
+      assertEquals(AddressSettings.DEFAULT_MAX_DIRECT_DELIVERY_QUEUES, conf.getAddressSettings().get("a1").getMaxDirectDeliveryQueues());
 
       assertEquals("a2.1", conf.getAddressSettings().get("a2").getDeadLetterAddress().toString());
       assertTrue(conf.getAddressSettings().get("a2").isAutoCreateDeadLetterResources());
@@ -583,6 +586,9 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertFalse(conf.getAddressSettings().get("a2").isEnableIngressTimestamp());
       assertEquals(Integer.valueOf(500), conf.getAddressSettings().get("a2").getIDCacheSize());
       assertEquals(Integer.valueOf(128), conf.getAddressSettings().get("a2").getInitialQueueBufferSize());
+      assertTrue(conf.getAddressSettings().get("a2").isConsistentHashGroupRebalance());
+      assertTrue(conf.getAddressSettings().get("a2").isIDCacheFilter());
+      assertEquals(100, conf.getAddressSettings().get("a2").getMaxDirectDeliveryQueues());
 
       assertEquals(111, conf.getMirrorAckManagerQueueAttempts());
       assertTrue(conf.isMirrorAckManagerWarnUnacked());
@@ -649,6 +655,7 @@ public class FileConfigurationTest extends AbstractConfigurationTestBase {
       assertEquals(CriticalAnalyzerPolicy.HALT, conf.getCriticalAnalyzerPolicy());
 
       assertFalse(conf.isJournalDatasync());
+      assertTrue(conf.isJournalBatchReferences());
 
       // keep test for backwards compatibility
       ActiveMQMetricsPlugin metricsPlugin = conf.getMetricsPlugin();
@@ -17,7 +17,9 @@
 package org.apache.activemq.artemis.core.filter.impl;
 
 import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
 
@@ -69,6 +71,15 @@ public class FilterTest extends SilentTestCase {
       assertFalse(filter.match(message));
    }
 
+   @Test
+   public void testSameFilterShared() throws Exception {
+      filter = FilterImpl.createFilter(SimpleString.of("color = 'RED'"));
+
+      assertSame(filter, FilterImpl.createFilter("color = 'RED'"));
+      assertSame(filter, FilterImpl.createFilter(" color = 'RED' "));
+      assertNotSame(filter, FilterImpl.createFilter("color = 'BLUE'"));
+   }
+
    @Test
    public void testInvalidString() throws Exception {
       testInvalidFilter("color = 'red");
@@ -0,0 +1,234 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.postoffice.impl;
+
+import static org.apache.activemq.artemis.core.postoffice.impl.DuplicateIDIndex.NOT_FOUND;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.postoffice.DuplicateIDCache;
+import org.junit.jupiter.api.Test;
+
+public class DuplicateIDIndexTest {
+
+   private static byte[] id(String id) {
+      return id.getBytes(StandardCharsets.UTF_8);
+   }
+
+   @Test
+   public void testPutGetRemove() {
+      DuplicateIDIndex index = new DuplicateIDIndex(16, 1);
+
+      assertTrue(index.isEmpty());
+      assertEquals(NOT_FOUND, index.put(id("id"), 3));
+      // lookups don't need the same instance
+      assertEquals(3, index.get(id("id")));
+      assertTrue(index.containsKey(id("id")));
+      assertEquals(1, index.size());
+
+      assertEquals(3, index.put(id("id"), 5));
+      assertEquals(5, index.get(id("id")));
+      assertEquals(1, index.size());
+
+      // only the current position can be removed
+      assertFalse(index.remove(id("id"), 3));
+      assertTrue(index.remove(id("id"), 5));
+      assertFalse(index.containsKey(id("id")));
+
+      index.put(id("id"), 7);
+      assertEquals(7, index.remove(id("id")));
+      assertEquals(NOT_FOUND, index.remove(id("id")));
+      assertTrue(index.isEmpty());
+   }
+
+   @Test
+   public void testRandomOperationsMatchHashMap() {
+      // few sections and a small initial capacity to stress probing, rehashing and deletions
+      DuplicateIDIndex index = new DuplicateIDIndex(2, 2);
+      Map<String, Integer> expected = new HashMap<>();
+      Random random = new Random(0);
+      for (int i = 0; i < 100_000; i++) {
+         String key = "id" + random.nextInt(2_000);
+         switch (random.nextInt(3)) {
+            case 0: {
+               final int position = random.nextInt(1_000);
+               final Integer previous = expected.put(key, position);
+               assertEquals(previous == null ? NOT_FOUND : previous, index.put(id(key), position));
+               break;
+            }
+            case 1: {
+               final Integer removed = expected.remove(key);
+               assertEquals(removed == null ? NOT_FOUND : removed, index.remove(id(key)));
+               break;
+            }
+            default: {
+               final Integer position = expected.get(key);
+               assertEquals(position == null ? NOT_FOUND : position, index.get(id(key)));
+            }
+         }
+      }
+      assertEquals(expected.size(), index.size());
+      expected.forEach((key, position) -> assertEquals(position, index.get(id(key))));
+      index.clear();
+      assertTrue(index.isEmpty());
+   }
+
+   @Test
+   public void testRandomOperationsOnRingMatchHashSet() {
+      // the index reads the ids from the ring: each id is kept at the same position
+      final byte[][] ring = new byte[2_000][];
+      for (int i = 0; i < ring.length; i++) {
+         ring[i] = id("id" + i);
+      }
+      DuplicateIDIndex index = new DuplicateIDIndex(2, 2, position -> ring[position]);
+      Set<Integer> expected = new HashSet<>();
+      Random random = new Random(0);
+      for (int i = 0; i < 100_000; i++) {
+         final int position = random.nextInt(ring.length);
+         final byte[] id = id("id" + position);
+         switch (random.nextInt(3)) {
+            case 0:
+               assertEquals(expected.add(position) ? NOT_FOUND : position, index.put(id, position));
+               break;
+            case 1:
+               assertEquals(expected.remove(position) ? position : NOT_FOUND, index.remove(id));
+               break;
+            default:
+               assertEquals(expected.contains(position) ? position : NOT_FOUND, index.get(id));
+         }
+      }
+      assertEquals(expected.size(), index.size());
+      expected.forEach(position -> assertEquals(position, index.get(id("id" + position))));
+   }
+
+   @Test
+   public void testFilterHasNoFalseNegatives() {
+      final int size = 1_000;
+      DuplicateIDFilter filter = new DuplicateIDFilter(size);
+      for (int i = 0; i < size; i++) {
+         filter.add(id("id" + i));
+      }
+      int falsePositives = 0;
+      for (int i = 0; i < size; i++) {
+         assertTrue(filter.mightContain(id("id" + i)));
+         if (filter.mightContain(id("missing" + i))) {
+            falsePositives++;
+         }
+      }
+      assertTrue(falsePositives < size / 10, "too many false positives: " + falsePositives);
+
+      // removing an id must not hide the others sharing its counters
+      for (int i = 0; i < size; i += 2) {
+         filter.remove(id("id" + i));
+      }
+      for (int i = 1; i < size; i += 2) {
+         assertTrue(filter.mightContain(id("id" + i)));
+      }
+
+      filter.clear();
+      for (int i = 0; i < size; i++) {
+         assertFalse(filter.mightContain(id("id" + i)));
+      }
+   }
+
+   @Test
+   public void testCachesEvictFirstIn() throws Exception {
+      final int size = 100;
+      for (DuplicateIDCache cache : new DuplicateIDCache[] {
+         DuplicateIDCaches.inMemory(SimpleString.of("address"), size),
+         DuplicateIDCaches.persistent(SimpleString.of("address"), size, new NullStorageManager()),
+         DuplicateIDCaches.inMemory(SimpleString.of("address"), size, true),
+         DuplicateIDCaches.persistent(SimpleString.of("address"), size, new NullStorageManager(), true)}) {
+         for (int i = 0; i < size; i++) {
+            assertTrue(cache.atomicVerify(id("id" + i), null));
+         }
+         // an id added again must be retained until its last addition gets evicted
+         cache.addToCache(id("id1"));
+         assertFalse(cache.contains(id("id0")));
+         for (int i = size; i < size * 2 - 1; i++) {
+            assertTrue(cache.atomicVerify(id("id" + i), null));
+            if (i > size) {
+               assertFalse(cache.contains(id("id" + (i - size + 1))));
+            }
+         }
+         assertTrue(cache.contains(id("id1")));
+         assertFalse(cache.atomicVerify(id("id" + (size * 2 - 2)), null));
+         assertEquals(size, cache.getMap().size());
+
+         cache.deleteFromCache(id("id1"));
+         assertFalse(cache.contains(id("id1")));
+         assertEquals(size - 1, cache.getMap().size());
+
+         cache.clear();
+         assertTrue(cache.getMap().isEmpty());
+         assertTrue(cache.atomicVerify(id("id1"), null));
+      }
+   }
+
+   @Test
+   public void testConcurrentAtomicVerifyAcceptsOnce() throws Exception {
+      final int size = 10_000;
+      final int threads = 4;
+      final ExecutorService executor = Executors.newFixedThreadPool(threads);
+      try {
+         for (DuplicateIDCache cache : new DuplicateIDCache[] {
+            DuplicateIDCaches.inMemory(SimpleString.of("address"), size),
+            DuplicateIDCaches.persistent(SimpleString.of("address"), size, new NullStorageManager()),
+            DuplicateIDCaches.inMemory(SimpleString.of("address"), size, true),
+            DuplicateIDCaches.persistent(SimpleString.of("address"), size, new NullStorageManager(), true)}) {
+            final AtomicInteger accepted = new AtomicInteger();
+            final CyclicBarrier barrier = new CyclicBarrier(threads);
+            final Future<?>[] tasks = new Future<?>[threads];
+            for (int t = 0; t < threads; t++) {
+               tasks[t] = executor.submit(() -> {
+                  barrier.await();
+                  for (int i = 0; i < size; i++) {
+                     if (cache.atomicVerify(id("id" + i), null)) {
+                        accepted.incrementAndGet();
+                     }
+                  }
+                  return null;
+               });
+            }
+            for (Future<?> task : tasks) {
+               task.get(30, TimeUnit.SECONDS);
+            }
+            // every id is accepted by a single producer
+            assertEquals(size, accepted.get());
+            assertEquals(size, cache.getMap().size());
+         }
+      } finally {
+         executor.shutdownNow();
+      }
+   }
+}
@@ -196,4 +196,86 @@ public class BucketMessageGroupsTest {
 
    }
 
-}
\ No newline at end of file
+   @Test
+   public void testRebalanceMovesOnlyTheGroupsWonByTheNewConsumer() {
+      final int buckets = 1024;
+      MessageGroups<String> messageGroups = new BucketMessageGroups<>(buckets);
+      for (int i = 0; i < buckets; i++) {
+         messageGroups.put(toGroupBucketIntKey(i), "consumer" + (i % 3));
+      }
+
+      int moved = messageGroups.rebalance("consumer3", 3, new long[] {0, 1, 2, 3});
+
+      // on average a quarter of the buckets should move to the new consumer
+      assertTrue(moved > buckets / 8 && moved < buckets / 2, "moved " + moved);
+      assertEquals(buckets, messageGroups.size());
+      int owned = 0;
+      for (int i = 0; i < buckets; i++) {
+         String consumer = messageGroups.get(toGroupBucketIntKey(i));
+         if ("consumer3".equals(consumer)) {
+            owned++;
+         } else {
+            // the other buckets stick to their consumer
+            assertEquals("consumer" + (i % 3), consumer);
+         }
+      }
+      assertEquals(moved, owned);
+
+      // nothing else to move on a repeated rebalance
+      assertEquals(0, messageGroups.rebalance("consumer3", 3, new long[] {0, 1, 2, 3}));
+   }
+
+   @Test
+   public void testRebalanceWithoutConsumerUnbindsTheGroupsWon() {
+      final int buckets = 1024;
+      MessageGroups<String> messageGroups = new BucketMessageGroups<>(buckets);
+      for (int i = 0; i < buckets; i++) {
+         messageGroups.put(toGroupBucketIntKey(i), "consumer" + (i % 3));
+      }
+
+      // as for a new consumer with a filter
+      int unbound = messageGroups.rebalance(null, 3, new long[] {0, 1, 2, 3});
+
+      assertTrue(unbound > buckets / 8 && unbound < buckets / 2, "unbound " + unbound);
+      assertEquals(buckets - unbound, messageGroups.size());
+      for (int i = 0; i < buckets; i++) {
+         String consumer = messageGroups.get(toGroupBucketIntKey(i));
+         if (consumer != null) {
+            assertEquals("consumer" + (i % 3), consumer);
+         }
+      }
+   }
+
+   @Test
+   public void testRebalanceRemovedMovesOnlyItsGroups() {
+      final int buckets = 1024;
+      MessageGroups<String> messageGroups = new BucketMessageGroups<>(buckets);
+      for (int i = 0; i < buckets; i++) {
+         messageGroups.put(toGroupBucketIntKey(i), "consumer" + (i % 3));
+      }
+
+      // consumer1 has a filter, so the groups it wins are unbound
+      int moved = messageGroups.rebalanceRemoved("consumer2", new long[] {0, 1}, new String[] {"consumer0", null});
+
+      int removedGroups = (buckets + 1) / 3;
+      assertEquals(removedGroups, moved);
+      int unbound = 0;
+      for (int i = 0; i < buckets; i++) {
+         String consumer = messageGroups.get(toGroupBucketIntKey(i));
+         if (i % 3 != 2) {
+            // the other buckets stick to their consumer
+            assertEquals("consumer" + (i % 3), consumer);
+         } else if (consumer == null) {
+            unbound++;
+         } else {
+            assertEquals("consumer0", consumer);
+         }
+      }
+      assertTrue(unbound > removedGroups / 4 && unbound < removedGroups * 3 / 4, "unbound " + unbound);
+      assertEquals(buckets - unbound, messageGroups.size());
+
+      // nothing else to move
+      assertEquals(0, messageGroups.rebalanceRemoved("consumer2", new long[] {0, 1}, new String[] {"consumer0", null}));
+   }
+
+}
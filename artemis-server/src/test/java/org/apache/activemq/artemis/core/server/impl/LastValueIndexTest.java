@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.core.server.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.junit.jupiter.api.Test;
+
+public class LastValueIndexTest {
+
+   @Test
+   public void testPutGetRemove() {
+      LastValueIndex index = new LastValueIndex(16, 1);
+      SimpleString key = SimpleString.of("key");
+      MessageReference first = new MessageReferenceImpl();
+      MessageReference second = new MessageReferenceImpl();
+
+      assertTrue(index.isEmpty());
+      assertNull(index.put(key, first));
+      assertSame(first, index.get(SimpleString.of("key")));
+      assertEquals(1, index.size());
+
+      assertSame(first, index.putIfAbsent(key, second));
+      assertSame(first, index.get(key));
+
+      assertSame(first, index.put(key, second));
+      assertSame(second, index.get(key));
+      assertEquals(1, index.size());
+
+      // only the current value can be removed
+      assertFalse(index.remove(key, first));
+      assertSame(second, index.get(key));
+      assertTrue(index.remove(key, second));
+      assertNull(index.get(key));
+      assertTrue(index.isEmpty());
+
+      assertNull(index.putIfAbsent(key, first));
+      assertSame(first, index.get(key));
+   }
+
+   @Test
+   public void testKeysAndClear() {
+      LastValueIndex index = new LastValueIndex();
+      for (int i = 0; i < 1000; i++) {
+         index.put(SimpleString.of("key" + i), new MessageReferenceImpl());
+      }
+      Set<SimpleString> keys = index.keys();
+      assertEquals(1000, keys.size());
+      for (int i = 0; i < 1000; i++) {
+         assertTrue(keys.contains(SimpleString.of("key" + i)));
+      }
+      index.clear();
+      assertTrue(index.isEmpty());
+      assertTrue(index.keys().isEmpty());
+      assertNull(index.get(SimpleString.of("key0")));
+   }
+
+   @Test
+   public void testRandomOperationsMatchHashMap() {
+      // few sections and a small initial capacity to stress probing, rehashing and deletions
+      LastValueIndex index = new LastValueIndex(2, 2);
+      Map<SimpleString, MessageReference> expected = new HashMap<>();
+      Random random = new Random(0);
+      for (int i = 0; i < 100_000; i++) {
+         SimpleString key = SimpleString.of("key" + random.nextInt(2_000));
+         switch (random.nextInt(3)) {
+            case 0: {
+               MessageReference ref = new MessageReferenceImpl();
+               assertSame(expected.put(key, ref), index.put(key, ref));
+               break;
+            }
+            case 1: {
+               MessageReference current = expected.get(key);
+               if (current != null) {
+                  assertFalse(index.remove(key, new MessageReferenceImpl()));
+                  assertTrue(index.remove(key, current));
+                  expected.remove(key);
+               } else {
+                  assertFalse(index.remove(key, new MessageReferenceImpl()));
+               }
+               break;
+            }
+            default:
+               assertSame(expected.get(key), index.get(key));
+         }
+      }
+      assertEquals(expected.size(), index.size());
+      expected.forEach((key, ref) -> assertSame(ref, index.get(key)));
+   }
+}
@@ -24,6 +24,7 @@ import static org.junit.jupiter.api.Assertions.fail;
 import java.lang.invoke.MethodHandles;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 
@@ -50,6 +51,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.spi.core.remoting.ConsumerContext;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
 import org.apache.activemq.artemis.utils.UUID;
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
@@ -96,6 +98,48 @@ public class AcknowledgeTest extends ActiveMQTestBase {
       sendSession.close();
    }
 
+   @Test
+   public void testNonBlockingIndividualAcksOutOfOrder() throws Exception {
+      ActiveMQServer server = createServer(true);
+      server.start();
+      ServerLocator locator = createInVMNonHALocator().setBlockOnAcknowledge(false);
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession sendSession = cf.createSession(false, true, true);
+      ClientSession session = cf.createSession(false, true, true);
+      sendSession.createQueue(QueueConfiguration.of(queueA).setAddress(addressA));
+      ClientProducer cp = sendSession.createProducer(addressA);
+      ClientConsumer cc = session.createConsumer(queueA);
+      int numMessages = 1000;
+      for (int i = 0; i < numMessages; i++) {
+         cp.send(sendSession.createMessage(true));
+      }
+      session.start();
+      ClientMessage[] messages = new ClientMessage[numMessages];
+      for (int i = 0; i < numMessages; i++) {
+         messages[i] = cc.receive(5000);
+         assertNotNull(messages[i]);
+      }
+      // consecutive acks can be coalesced by the broker: ack them out of order
+      for (int i = 1; i < numMessages; i += 2) {
+         messages[i].individualAcknowledge();
+      }
+      for (int i = 0; i < numMessages; i += 2) {
+         messages[i].individualAcknowledge();
+      }
+      Queue q = (Queue) server.getPostOffice().getBinding(queueA).getBindable();
+
+      Wait.assertEquals(0L, q::getMessageCount);
+      Wait.assertEquals(0, q::getDeliveringCount);
+      assertEquals(numMessages, q.getMessagesAcknowledged());
+      session.close();
+      sendSession.close();
+
+      server.stop();
+      server.start();
+      q = (Queue) server.getPostOffice().getBinding(queueA).getBindable();
+      assertEquals(0L, q.getMessageCount());
+   }
+
    @Test
    public void testAsyncConsumerNoAck() throws Exception {
       ActiveMQServer server = createServer(false);
@@ -303,6 +347,11 @@ public class AcknowledgeTest extends ActiveMQTestBase {
          return null;
       }
 
+      @Override
+      public CompletionStage<ClientMessage> receiveAsync() throws ActiveMQException {
+         return null;
+      }
+
       @Override
       public MessageHandler getMessageHandler() throws ActiveMQException {
          return null;
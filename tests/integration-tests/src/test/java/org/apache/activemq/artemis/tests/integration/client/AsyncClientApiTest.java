@@ -0,0 +1,260 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.Interceptor;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * The non blocking counterparts of the core client calls, e.g. {@link ClientProducer#sendAsync}.
+ */
+public class AsyncClientApiTest extends ActiveMQTestBase {
+
+   private static final SimpleString QUEUE = SimpleString.of("AsyncClientApiTest");
+
+   private ActiveMQServer server;
+
+   private final AtomicInteger asyncQueries = new AtomicInteger();
+
+   private final AtomicInteger blockingSends = new AtomicInteger();
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true, true);
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+      server.getRemotingService().addIncomingInterceptor((Interceptor) (packet, connection) -> {
+         if (packet.getType() == PacketImpl.SESS_QUEUEQUERY_V2) {
+            asyncQueries.incrementAndGet();
+         } else if (packet.getType() == PacketImpl.SESS_SEND && ((SessionSendMessage) packet).isRequiresResponse()) {
+            blockingSends.incrementAndGet();
+         }
+         return true;
+      });
+   }
+
+   private ClientSessionFactory createSessionFactory(int confirmationWindowSize) throws Exception {
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setConfirmationWindowSize(confirmationWindowSize));
+      return addSessionFactory(locator.createSessionFactory());
+   }
+
+   private void sendAsync(ClientSession session, int numberOfMessages) throws Exception {
+      ClientProducer producer = session.createProducer(QUEUE);
+      List<CompletableFuture<Void>> sends = new ArrayList<>();
+      for (int i = 0; i < numberOfMessages; i++) {
+         sends.add(producer.sendAsync(session.createMessage(true).putIntProperty("i", i)).toCompletableFuture());
+      }
+      CompletableFuture.allOf(sends.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+   }
+
+   @Test
+   public void testSendAsync() throws Exception {
+      ClientSession session = addClientSession(createSessionFactory(1024 * 1024).createSession());
+
+      sendAsync(session, 1000);
+
+      Wait.assertEquals(1000L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testSendAsyncWithoutConfirmationWindow() throws Exception {
+      ClientSession session = addClientSession(createSessionFactory(-1).createSession());
+
+      sendAsync(session, 100);
+
+      Wait.assertEquals(100L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testSendAsyncWithoutConfirmationWindowBlocks() throws Exception {
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setConfirmationWindowSize(-1).setBlockOnDurableSend(false).setBlockOnNonDurableSend(false));
+      ClientSession session = addClientSession(addSessionFactory(locator.createSessionFactory()).createSession());
+      ClientProducer producer = session.createProducer(QUEUE);
+
+      for (int i = 0; i < 10; i++) {
+         CompletableFuture<Void> send = producer.sendAsync(session.createMessage(i % 2 == 0)).toCompletableFuture();
+         // nothing would tell the message reached the server later on
+         assertTrue(send.isDone());
+         send.get();
+         assertEquals(i + 1, blockingSends.get());
+      }
+      Wait.assertEquals(10L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testCommitAsync() throws Exception {
+      ClientSession session = addClientSession(createSessionFactory(1024 * 1024).createSession(false, false));
+      ClientProducer producer = session.createProducer(QUEUE);
+
+      for (int i = 0; i < 10; i++) {
+         producer.send(session.createMessage(true));
+      }
+      CompletableFuture<Void> commit = session.commitAsync().toCompletableFuture();
+      // the next transaction
+      producer.send(session.createMessage(true));
+
+      commit.get(10, TimeUnit.SECONDS);
+      Wait.assertEquals(10L, () -> getMessageCount(server.locateQueue(QUEUE)));
+
+      session.commitAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+      Wait.assertEquals(11L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testQueueQueryAsync() throws Exception {
+      ClientSession session = addClientSession(createSessionFactory(1024 * 1024).createSession());
+
+      ClientSession.QueueQuery query = session.queueQueryAsync(QUEUE).toCompletableFuture().get(10, TimeUnit.SECONDS);
+      assertTrue(query.isExists());
+      assertEquals(QUEUE, query.getAddress());
+      assertEquals(RoutingType.ANYCAST, query.getRoutingType());
+
+      assertFalse(session.queueQueryAsync(SimpleString.of("none")).toCompletableFuture().get(10, TimeUnit.SECONDS).isExists());
+      assertEquals(2, asyncQueries.get());
+   }
+
+   @Test
+   public void testAsyncResponsesDontUnblockBlockingCalls() throws Exception {
+      ClientSession session = addClientSession(createSessionFactory(1024 * 1024).createSession());
+      ClientProducer producer = session.createProducer(QUEUE);
+
+      List<CompletableFuture<?>> calls = new ArrayList<>();
+      for (int i = 0; i < 200; i++) {
+         calls.add(producer.sendAsync(session.createMessage(true)).toCompletableFuture());
+         calls.add(session.queueQueryAsync(QUEUE).toCompletableFuture());
+         // responded while the asynchronous calls are being responded
+         assertTrue(session.queueQuery(QUEUE).isExists());
+      }
+      CompletableFuture.allOf(calls.toArray(new CompletableFuture[0])).get(10, TimeUnit.SECONDS);
+      Wait.assertEquals(200L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testReceiveAsync() throws Exception {
+      final int numberOfMessages = 100;
+      ClientSession session = addClientSession(createSessionFactory(1024 * 1024).createSession());
+      ClientConsumer consumer = session.createConsumer(QUEUE);
+
+      List<CompletableFuture<ClientMessage>> receives = new ArrayList<>();
+      for (int i = 0; i < numberOfMessages; i++) {
+         receives.add(consumer.receiveAsync().toCompletableFuture());
+      }
+
+      sendAsync(session, numberOfMessages);
+      // not started yet
+      assertFalse(receives.get(0).isDone());
+
+      session.start();
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = receives.get(i).get(10, TimeUnit.SECONDS);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+
+      CompletableFuture<ClientMessage> pending = consumer.receiveAsync().toCompletableFuture();
+      assertThrows(ActiveMQException.class, () -> consumer.setMessageHandler(message -> { }));
+      consumer.close();
+      assertNull(pending.get(10, TimeUnit.SECONDS));
+      assertThrows(ActiveMQException.class, consumer::receiveAsync);
+
+      session.commit();
+      Wait.assertEquals(0L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testCloseRacingReceiveAsync() throws Exception {
+      ClientSession session = addClientSession(createSessionFactory(1024 * 1024).createSession());
+      ClientProducer producer = session.createProducer(QUEUE);
+      session.start();
+
+      for (int i = 0; i < 100; i++) {
+         ClientConsumer consumer = session.createConsumer(QUEUE);
+         CompletableFuture<ClientMessage> pending = consumer.receiveAsync().toCompletableFuture();
+         producer.send(session.createMessage(true).putIntProperty("i", i));
+         consumer.close();
+
+         // either the pending receive got the message or it is still there for the next consumer
+         ClientMessage message = pending.get(10, TimeUnit.SECONDS);
+         if (message != null) {
+            assertEquals(i, message.getIntProperty("i"));
+         }
+         ClientConsumer next = session.createConsumer(QUEUE);
+         message = next.receive(5000);
+         assertNotNull(message);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+         next.close();
+      }
+      Wait.assertEquals(0L, () -> getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testReceiveAsyncWithoutWindow() throws Exception {
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setConfirmationWindowSize(1024 * 1024).setConsumerWindowSize(0));
+      ClientSession session = addClientSession(addSessionFactory(locator.createSessionFactory()).createSession());
+      sendAsync(session, 10);
+
+      ClientConsumer slowConsumer = session.createConsumer(QUEUE);
+      session.start();
+      for (int i = 0; i < 2; i++) {
+         ClientMessage message = slowConsumer.receiveAsync().toCompletableFuture().get(10, TimeUnit.SECONDS);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+
+      // the slow consumer didn't buffer the other messages
+      ClientConsumer consumer = session.createConsumer(QUEUE);
+      for (int i = 2; i < 10; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         assertEquals(i, message.getIntProperty("i"));
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+}
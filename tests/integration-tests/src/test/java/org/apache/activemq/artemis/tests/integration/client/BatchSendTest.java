@@ -0,0 +1,238 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.ActiveMQException;
+import org.apache.activemq.artemis.api.core.ActiveMQSecurityException;
+import org.apache.activemq.artemis.api.core.Interceptor;
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.SendAcknowledgementHandler;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ServerSession;
+import org.apache.activemq.artemis.core.server.plugin.ActiveMQServerMessagePlugin;
+import org.apache.activemq.artemis.core.transaction.Transaction;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Messages sent in batches, see {@link ClientProducer#send(java.util.Collection)}.
+ */
+public class BatchSendTest extends ActiveMQTestBase {
+
+   private static final SimpleString QUEUE = SimpleString.of("BatchSendTest");
+
+   private ActiveMQServer server;
+
+   private final AtomicInteger sends = new AtomicInteger();
+
+   private final AtomicInteger batches = new AtomicInteger();
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(true, true);
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+      server.getRemotingService().addIncomingInterceptor((Interceptor) (packet, connection) -> {
+         if (packet.getType() == PacketImpl.SESS_SEND) {
+            sends.incrementAndGet();
+         } else if (packet.getType() == PacketImpl.SESS_SEND_BATCH) {
+            batches.incrementAndGet();
+         }
+         return true;
+      });
+   }
+
+   @Test
+   public void testSendBatch() throws Exception {
+      final int numberOfMessages = 500;
+      final int largeMessage = 250;
+      final int largeMessageSize = 200 * 1024;
+
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setBlockOnDurableSend(true));
+      ClientSessionFactory sf = addSessionFactory(locator.createSessionFactory());
+      ClientSession session = addClientSession(sf.createSession());
+      ClientProducer producer = session.createProducer(QUEUE);
+
+      List<Message> messages = new ArrayList<>();
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = session.createMessage(true).putIntProperty("i", i);
+         message.getBodyBuffer().writeBytes(new byte[i == largeMessage ? largeMessageSize : 100]);
+         messages.add(message);
+      }
+      producer.send(messages);
+
+      // the large message is streamed between two batches
+      assertEquals(0, sends.get());
+      assertEquals(2, batches.get());
+      assertEquals(numberOfMessages, getMessageCount(server.locateQueue(QUEUE)));
+
+      ClientConsumer consumer = session.createConsumer(QUEUE);
+      session.start();
+      for (int i = 0; i < numberOfMessages; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         assertEquals(i, message.getIntProperty("i"));
+         assertEquals(i == largeMessage ? largeMessageSize : 100, message.getBodySize());
+         message.acknowledge();
+      }
+      assertNull(consumer.receiveImmediate());
+   }
+
+   @Test
+   public void testSendBatchFailure() throws Exception {
+      final int numberOfMessages = 10;
+      final int rejected = 3;
+      server.registerBrokerPlugin(new ActiveMQServerMessagePlugin() {
+         @Override
+         public void beforeSend(ServerSession session, Transaction tx, Message message, boolean direct, boolean noAutoCreateQueue) throws ActiveMQException {
+            if (message.getIntProperty("i") == rejected) {
+               throw new ActiveMQSecurityException("rejected");
+            }
+         }
+      });
+
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setBlockOnDurableSend(true));
+      ClientSessionFactory sf = addSessionFactory(locator.createSessionFactory());
+      ClientSession session = addClientSession(sf.createSession());
+      ClientProducer producer = session.createProducer(QUEUE);
+
+      List<Message> messages = new ArrayList<>();
+      for (int i = 0; i < numberOfMessages; i++) {
+         messages.add(session.createMessage(true).putIntProperty("i", i));
+      }
+      ActiveMQSecurityException e = assertThrows(ActiveMQSecurityException.class, () -> producer.send(messages));
+      assertTrue(e.getMessage().contains("index " + rejected + " of a batch of " + numberOfMessages), e.getMessage());
+
+      // the messages preceding the failed one have been sent
+      assertEquals(1, batches.get());
+      assertEquals(rejected, getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testSendBatchWithAcknowledgementHandler() throws Exception {
+      final int numberOfMessages = 200;
+
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setConfirmationWindowSize(1024 * 1024));
+      ClientSessionFactory sf = addSessionFactory(locator.createSessionFactory());
+      ClientSession session = addClientSession(sf.createSession());
+      ClientProducer producer = session.createProducer();
+
+      List<Message> messages = new ArrayList<>();
+      for (int i = 0; i < numberOfMessages; i++) {
+         messages.add(session.createMessage(true).putIntProperty("i", i));
+      }
+
+      final CountDownLatch latch = new CountDownLatch(numberOfMessages);
+      final List<Integer> acknowledged = new ArrayList<>();
+      producer.send(QUEUE, messages, new SendAcknowledgementHandler() {
+         @Override
+         public void sendAcknowledged(Message message) {
+            synchronized (acknowledged) {
+               acknowledged.add(message.getIntProperty("i"));
+            }
+            latch.countDown();
+         }
+      });
+
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertEquals(1, batches.get());
+      assertEquals(0, sends.get());
+      for (int i = 0; i < numberOfMessages; i++) {
+         assertEquals(i, acknowledged.get(i));
+      }
+      assertEquals(numberOfMessages, getMessageCount(server.locateQueue(QUEUE)));
+   }
+
+   @Test
+   public void testSendBatchFailureWithAcknowledgementHandler() throws Exception {
+      final int numberOfMessages = 10;
+      final int rejected = 3;
+      server.registerBrokerPlugin(new ActiveMQServerMessagePlugin() {
+         @Override
+         public void beforeSend(ServerSession session, Transaction tx, Message message, boolean direct, boolean noAutoCreateQueue) throws ActiveMQException {
+            if (message.getIntProperty("i") == rejected) {
+               throw new ActiveMQSecurityException("rejected");
+            }
+         }
+      });
+
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setConfirmationWindowSize(1024 * 1024));
+      ClientSessionFactory sf = addSessionFactory(locator.createSessionFactory());
+      ClientSession session = addClientSession(sf.createSession());
+      ClientProducer producer = session.createProducer();
+
+      List<Message> messages = new ArrayList<>();
+      for (int i = 0; i < numberOfMessages; i++) {
+         messages.add(session.createMessage(true).putIntProperty("i", i));
+      }
+
+      final CountDownLatch latch = new CountDownLatch(numberOfMessages);
+      final List<Integer> acknowledged = new ArrayList<>();
+      final List<Integer> failed = new ArrayList<>();
+      producer.send(QUEUE, messages, new SendAcknowledgementHandler() {
+         @Override
+         public void sendAcknowledged(Message message) {
+            synchronized (acknowledged) {
+               acknowledged.add(message.getIntProperty("i"));
+            }
+            latch.countDown();
+         }
+
+         @Override
+         public void sendFailed(Message message, Exception e) {
+            assertInstanceOf(ActiveMQSecurityException.class, e);
+            synchronized (failed) {
+               failed.add(message.getIntProperty("i"));
+            }
+            latch.countDown();
+         }
+      });
+
+      assertTrue(latch.await(10, TimeUnit.SECONDS));
+      assertEquals(1, batches.get());
+      // the messages preceding the rejected one have been routed, the others haven't
+      assertEquals(List.of(0, 1, 2), acknowledged);
+      assertEquals(List.of(3, 4, 5, 6, 7, 8, 9), failed);
+      assertEquals(rejected, getMessageCount(server.locateQueue(QUEUE)));
+   }
+}
@@ -45,6 +45,7 @@ import org.apache.activemq.artemis.api.core.client.MessageHandler;
 import org.apache.activemq.artemis.api.core.client.ServerLocator;
 import org.apache.activemq.artemis.core.client.impl.ClientConsumerImpl;
 import org.apache.activemq.artemis.core.client.impl.ClientConsumerInternal;
+import org.apache.activemq.artemis.core.client.impl.ClientSessionFactoryInternal;
 import org.apache.activemq.artemis.core.client.impl.ClientSessionImpl;
 import org.apache.activemq.artemis.core.postoffice.Binding;
 import org.apache.activemq.artemis.core.postoffice.Bindings;
@@ -1471,4 +1472,49 @@ public class ConsumerWindowSizeTest extends ActiveMQTestBase {
       assertEquals(defaultConsumerWindowSize / 2, consumer.getClientWindowSize());
       assertEquals(defaultConsumerWindowSize / 2, consumer2.getClientWindowSize());
    }
+
+   @Test
+   public void testAdaptiveWindowSize() throws Exception {
+      ActiveMQServer messagingService = createServer(false, isNetty());
+
+      messagingService.start();
+      messagingService.createQueue(QueueConfiguration.of(queueA).setRoutingType(RoutingType.ANYCAST));
+
+      final int windowSize = 16 * 1024;
+      final int minWindowSize = 1024;
+      locator.setConsumerWindowSize(windowSize).setConsumerMinWindowSize(minWindowSize).setConsumerMaxWindowSize(1024 * 1024);
+
+      ClientSessionFactory cf = createSessionFactory(locator);
+      ClientSession session = cf.createSession(false, true, true);
+      ClientProducer producer = session.createProducer(queueA);
+      for (int i = 0; i < 2000; i++) {
+         ClientMessage message = session.createMessage(false);
+         message.getBodyBuffer().writeBytes(new byte[100]);
+         producer.send(message);
+      }
+
+      ClientConsumerInternal fastConsumer = (ClientConsumerInternal) session.createConsumer(queueA);
+      assertEquals(windowSize / 2, fastConsumer.getClientWindowSize());
+      session.start();
+      for (int i = 0; i < 1000; i++) {
+         ClientMessage message = fastConsumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+      }
+      // the window grows with the consumed credits, as long as the consumer keeps up
+      assertTrue(fastConsumer.getClientWindowSize() > windowSize / 2, "window " + fastConsumer.getClientWindowSize());
+      fastConsumer.close();
+
+      // the slow consumer never lets the server run out of credits: its window starts from the round trip of a ping
+      Wait.assertTrue(() -> ((ClientSessionFactoryInternal) cf).getPingRoundTripNanos() > 0);
+      ClientConsumerInternal slowConsumer = (ClientConsumerInternal) session.createConsumer(queueA);
+      for (int i = 0; i < 10; i++) {
+         ClientMessage message = slowConsumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+         Thread.sleep(20);
+      }
+      // processing a message takes much longer than a round trip
+      assertEquals(minWindowSize / 2, slowConsumer.getClientWindowSize());
+   }
 }
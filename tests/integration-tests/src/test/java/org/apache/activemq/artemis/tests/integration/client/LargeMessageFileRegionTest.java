@@ -0,0 +1,145 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.Interceptor;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.core.config.StoreConfiguration;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveContinuationMessage;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
+import org.apache.activemq.artemis.tests.extensions.parameterized.ParameterizedTestExtension;
+import org.apache.activemq.artemis.tests.integration.largemessage.LargeMessageTestBase;
+import org.junit.jupiter.api.TestTemplate;
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Large messages sent to Core consumers straight from the large message files.
+ */
+//Parameters set in superclass
+@ExtendWith(ParameterizedTestExtension.class)
+public class LargeMessageFileRegionTest extends LargeMessageTestBase {
+
+   public LargeMessageFileRegionTest(StoreConfiguration.StoreType storeType) {
+      super(storeType);
+   }
+
+   @Override
+   protected boolean isNetty() {
+      return true;
+   }
+
+   @TestTemplate
+   public void testReceiveLargeMessage() throws Exception {
+      final long fileRegions = receiveLargeMessage(null);
+
+      if (storeType == StoreConfiguration.StoreType.FILE) {
+         assertTrue(fileRegions > 0);
+      } else {
+         // the database doesn't store the body in a file
+         assertEquals(0, fileRegions);
+      }
+   }
+
+   @TestTemplate
+   public void testReceiveLargeMessageWithConfirmationWindow() throws Exception {
+      locator.setConfirmationWindowSize(1024 * 1024);
+
+      assertEquals(0, receiveLargeMessage(null));
+   }
+
+   @TestTemplate
+   public void testReceiveLargeMessageWithOutgoingInterceptor() throws Exception {
+      Set<Class<?>> continuations = ConcurrentHashMap.newKeySet();
+      Interceptor interceptor = (packet, connection) -> {
+         if (packet instanceof SessionReceiveContinuationMessage continuation) {
+            continuations.add(packet.getClass());
+            assertNotNull(continuation.getBody());
+         }
+         return true;
+      };
+
+      assertEquals(0, receiveLargeMessage(interceptor));
+
+      // the interceptors are given the body of every continuation
+      assertEquals(Set.of(SessionReceiveContinuationMessage.class), continuations);
+   }
+
+   /**
+    * @return the number of file regions sent by the server
+    */
+   private long receiveLargeMessage(Interceptor outgoingInterceptor) throws Exception {
+      final int messageSize = (int) (5.5 * locator.getMinLargeMessageSize());
+
+      ActiveMQServer server = createServer(true, isNetty(), storeType);
+      server.start();
+
+      if (outgoingInterceptor != null) {
+         server.getRemotingService().addOutgoingInterceptor(outgoingInterceptor);
+      }
+
+      ClientSessionFactory sf = addSessionFactory(createSessionFactory(locator));
+
+      ClientSession session = addClientSession(sf.createSession(false, true, true));
+
+      session.createQueue(QueueConfiguration.of(ADDRESS));
+
+      ClientProducer producer = session.createProducer(ADDRESS);
+
+      producer.send(createLargeClientMessageStreaming(session, messageSize, true));
+
+      session.start();
+
+      ClientConsumer consumer = session.createConsumer(ADDRESS);
+
+      ClientMessage message = consumer.receive(5000);
+      assertNotNull(message);
+      assertTrue(message.isLargeMessage());
+      assertEquals(messageSize, message.getBodySize());
+
+      ActiveMQBuffer body = message.getBodyBuffer();
+      for (int i = 0; i < messageSize; i++) {
+         assertEquals(getSamplebyte(i), body.readByte());
+      }
+      message.acknowledge();
+
+      long fileRegions = 0;
+      for (RemotingConnection connection : server.getRemotingService().getConnections()) {
+         fileRegions += ((NettyConnection) connection.getTransportConnection()).getFileRegionCount();
+      }
+
+      session.close();
+
+      validateNoFilesOnLargeDir();
+
+      return fileRegions;
+   }
+}
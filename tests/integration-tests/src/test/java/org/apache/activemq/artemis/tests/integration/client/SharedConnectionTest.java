@@ -0,0 +1,175 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.client;
+
+import javax.jms.Connection;
+import javax.jms.MessageConsumer;
+import javax.jms.Queue;
+import javax.jms.Session;
+import javax.jms.TextMessage;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Session factories sharing their connections, see {@link ServerLocator#setSessionFactoriesPerConnection(int)}.
+ */
+public class SharedConnectionTest extends ActiveMQTestBase {
+
+   private static final SimpleString QUEUE = SimpleString.of("SharedConnectionTest");
+
+   private ActiveMQServer server;
+
+   @Override
+   @BeforeEach
+   public void setUp() throws Exception {
+      super.setUp();
+      server = createServer(false, true);
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST));
+   }
+
+   @Test
+   public void testSessionFactoriesShareConnection() throws Exception {
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setSessionFactoriesPerConnection(2));
+
+      ClientSessionFactory sf1 = addSessionFactory(locator.createSessionFactory());
+      ClientSessionFactory sf2 = addSessionFactory(locator.createSessionFactory());
+      ClientSessionFactory sf3 = addSessionFactory(locator.createSessionFactory());
+
+      assertSame(sf1.getConnection(), sf2.getConnection());
+      assertNotSame(sf1.getConnection(), sf3.getConnection());
+      Wait.assertEquals(2, () -> server.getRemotingService().getConnections().size());
+
+      ClientSession producerSession = addClientSession(sf1.createSession());
+      ClientSession consumerSession = addClientSession(sf2.createSession());
+      assertSame(producerSession.getSessionFactory(), sf1);
+      assertSame(consumerSession.getSessionFactory(), sf2);
+
+      ClientProducer producer = producerSession.createProducer(QUEUE);
+      ClientConsumer consumer = consumerSession.createConsumer(QUEUE);
+      consumerSession.start();
+
+      producer.send(producerSession.createMessage(true).putIntProperty("i", 0));
+      ClientMessage message = consumer.receive(5000);
+      assertNotNull(message);
+      assertEquals(0, message.getIntProperty("i"));
+
+      // closing a factory closes just its own sessions
+      sf1.close();
+      assertTrue(sf1.isClosed());
+      assertTrue(producerSession.isClosed());
+      assertFalse(sf2.isClosed());
+      assertFalse(consumerSession.isClosed());
+      assertEquals(2, server.getRemotingService().getConnections().size());
+
+      ClientSession session = addClientSession(sf2.createSession());
+      session.createProducer(QUEUE).send(session.createMessage(true).putIntProperty("i", 1));
+      message = consumer.receive(5000);
+      assertNotNull(message);
+      assertEquals(1, message.getIntProperty("i"));
+
+      // the connection is closed with the last factory sharing it
+      sf2.close();
+      assertTrue(consumerSession.isClosed());
+      Wait.assertEquals(1, () -> server.getRemotingService().getConnections().size());
+      assertFalse(sf3.isClosed());
+
+      // a new factory shares the remaining connection
+      ClientSessionFactory sf4 = addSessionFactory(locator.createSessionFactory());
+      assertSame(sf3.getConnection(), sf4.getConnection());
+   }
+
+   @Test
+   public void testConcurrentSessionFactoriesShareConnection() throws Exception {
+      ServerLocator locator = addServerLocator(createNettyNonHALocator().setSessionFactoriesPerConnection(-1));
+
+      final int factories = 10;
+      final CyclicBarrier barrier = new CyclicBarrier(factories);
+      final ExecutorService executor = Executors.newFixedThreadPool(factories);
+      runAfter(executor::shutdownNow);
+      final List<Future<ClientSessionFactory>> created = new ArrayList<>();
+      for (int i = 0; i < factories; i++) {
+         created.add(executor.submit(() -> {
+            barrier.await();
+            return addSessionFactory(locator.createSessionFactory());
+         }));
+      }
+      // the requests issued while the first connection is being opened wait to share it
+      final Object connection = created.get(0).get(10, TimeUnit.SECONDS).getConnection();
+      for (Future<ClientSessionFactory> factory : created) {
+         assertSame(connection, factory.get(10, TimeUnit.SECONDS).getConnection());
+      }
+      assertEquals(1, server.getRemotingService().getConnections().size());
+   }
+
+   @Test
+   public void testJMSConnectionsShareConnection() throws Exception {
+      try (ActiveMQConnectionFactory cf = new ActiveMQConnectionFactory("tcp://localhost:61616?sessionFactoriesPerConnection=-1")) {
+         assertEquals(-1, cf.getSessionFactoriesPerConnection());
+
+         Connection[] connections = new Connection[5];
+         for (int i = 0; i < connections.length; i++) {
+            connections[i] = cf.createConnection();
+         }
+         Wait.assertEquals(1, () -> server.getRemotingService().getConnections().size());
+
+         Session producerSession = connections[0].createSession(false, Session.AUTO_ACKNOWLEDGE);
+         Queue queue = producerSession.createQueue(QUEUE.toString());
+         Session consumerSession = connections[connections.length - 1].createSession(false, Session.AUTO_ACKNOWLEDGE);
+         MessageConsumer consumer = consumerSession.createConsumer(queue);
+         connections[connections.length - 1].start();
+
+         producerSession.createProducer(queue).send(producerSession.createTextMessage("shared"));
+         TextMessage message = (TextMessage) consumer.receive(5000);
+         assertNotNull(message);
+         assertEquals("shared", message.getText());
+
+         for (Connection connection : connections) {
+            connection.close();
+         }
+         Wait.assertEquals(0, () -> server.getRemotingService().getConnections().size());
+      }
+   }
+}
@@ -20,6 +20,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assumptions.assumeFalse;
@@ -37,6 +38,8 @@ import javax.jms.MessageProducer;
 import javax.jms.Queue;
 import javax.jms.Session;
 import javax.jms.TextMessage;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.UUID;
 
 import org.apache.activemq.artemis.api.core.ActiveMQNotConnectedException;
@@ -44,12 +47,15 @@ import org.apache.activemq.artemis.api.core.QueueConfiguration;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.postoffice.QueueBinding;
+import org.apache.activemq.artemis.core.server.Consumer;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.jms.client.ActiveMQConnectionFactory;
 import org.apache.activemq.artemis.jms.client.ActiveMQDestination;
 import org.apache.activemq.artemis.jms.client.ActiveMQMessage;
 import org.apache.activemq.artemis.jms.client.ActiveMQTextMessage;
 import org.apache.activemq.artemis.spi.core.protocol.RemotingConnection;
 import org.apache.activemq.artemis.tests.util.JMSTestBase;
+import org.apache.activemq.artemis.tests.util.Wait;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
@@ -526,6 +532,114 @@ public class GroupingTest extends JMSTestBase {
       ctx.close();
    }
 
+   @Test
+   public void testGroupRebalanceConsistentHash() throws Exception {
+      ConnectionFactory fact = getCF();
+      assumeFalse(((ActiveMQConnectionFactory) fact).isAutoGroup(), "only makes sense withOUT auto-group");
+      assumeTrue(((ActiveMQConnectionFactory) fact).getGroupID() == null, "only makes sense withOUT explicit group-id");
+      String testQueueName = getName() + "_group_rebalance_consistent_hash";
+
+      server.getAddressSettingsRepository().addMatch(testQueueName, new AddressSettings().setConsistentHashGroupRebalance(true));
+      org.apache.activemq.artemis.core.server.Queue serverQueue = server.createQueue(QueueConfiguration.of(testQueueName).setRoutingType(RoutingType.ANYCAST).setGroupRebalance(true).setGroupBuckets(64));
+
+      JMSContext ctx = addContext(getCF().createContext(JMSContext.SESSION_TRANSACTED));
+
+      Queue testQueue = ctx.createQueue(testQueueName);
+      JMSProducer producer = ctx.createProducer();
+
+      ctx.createConsumer(testQueue);
+      ctx.createConsumer(testQueue);
+
+      ctx.start();
+
+      for (int j = 0; j < 200; j++) {
+         producer.setProperty("JMSXGroupID", "group" + j);
+         send(ctx, testQueue, "group" + j, producer, j);
+      }
+      ctx.commit();
+
+      Wait.assertEquals(200, serverQueue::getDeliveringCount);
+      Map<SimpleString, Consumer> before = new HashMap<>(serverQueue.getGroups());
+      assertTrue(before.size() > 1);
+      assertEquals(0, serverQueue.getGroupsRebalanced());
+
+      //Add new consumer, that should move to it only the groups it wins
+      JMSConsumer added = ctx.createConsumer(testQueue);
+
+      Map<SimpleString, Consumer> after = serverQueue.getGroups();
+      assertEquals(before.size(), after.size());
+      Consumer newConsumer = null;
+      int moved = 0;
+      for (Map.Entry<SimpleString, Consumer> group : after.entrySet()) {
+         Consumer previous = before.get(group.getKey());
+         if (previous != group.getValue()) {
+            assertFalse(before.containsValue(group.getValue()));
+            if (newConsumer == null) {
+               newConsumer = group.getValue();
+            }
+            assertNotSame(previous, newConsumer);
+            assertEquals(newConsumer, group.getValue());
+            moved++;
+         }
+      }
+      assertTrue(moved > 0 && moved < before.size(), "moved " + moved);
+      assertEquals(moved, serverQueue.getGroupsRebalanced());
+
+      //Remove it, that should move its groups to the remaining consumers
+      added.close();
+
+      Map<SimpleString, Consumer> afterRemoval = serverQueue.getGroups();
+      assertEquals(before.size(), afterRemoval.size());
+      for (Consumer consumer : afterRemoval.values()) {
+         assertTrue(before.containsValue(consumer));
+      }
+      assertEquals(moved * 2, serverQueue.getGroupsRebalanced());
+
+      ctx.close();
+   }
+
+   @Test
+   public void testGroupRebalanceConsistentHashWithFilter() throws Exception {
+      ConnectionFactory fact = getCF();
+      assumeFalse(((ActiveMQConnectionFactory) fact).isAutoGroup(), "only makes sense withOUT auto-group");
+      assumeTrue(((ActiveMQConnectionFactory) fact).getGroupID() == null, "only makes sense withOUT explicit group-id");
+      String testQueueName = getName() + "_group_rebalance_consistent_hash_filter";
+
+      server.getAddressSettingsRepository().addMatch(testQueueName, new AddressSettings().setConsistentHashGroupRebalance(true));
+      org.apache.activemq.artemis.core.server.Queue serverQueue = server.createQueue(QueueConfiguration.of(testQueueName).setRoutingType(RoutingType.ANYCAST).setGroupRebalance(true).setGroupBuckets(64));
+
+      JMSContext ctx = addContext(getCF().createContext(JMSContext.SESSION_TRANSACTED));
+
+      Queue testQueue = ctx.createQueue(testQueueName);
+      JMSProducer producer = ctx.createProducer();
+
+      ctx.createConsumer(testQueue);
+
+      ctx.start();
+
+      for (int j = 0; j < 200; j++) {
+         producer.setProperty("JMSXGroupID", "group" + j);
+         send(ctx, testQueue, "group" + j, producer, j);
+      }
+      ctx.commit();
+
+      Wait.assertEquals(200, serverQueue::getDeliveringCount);
+      Map<SimpleString, Consumer> before = new HashMap<>(serverQueue.getGroups());
+
+      //Add new consumer with a filter: the groups it wins are unbound rather than moved to it
+      ctx.createConsumer(testQueue, "JMSXGroupID = 'none'");
+
+      Map<SimpleString, Consumer> after = serverQueue.getGroups();
+      int unbound = before.size() - after.size();
+      assertTrue(unbound > 0, "unbound " + unbound);
+      for (Map.Entry<SimpleString, Consumer> group : after.entrySet()) {
+         assertSame(before.get(group.getKey()), group.getValue());
+      }
+      assertEquals(unbound, serverQueue.getGroupsRebalanced());
+
+      ctx.close();
+   }
+
    /**
     * This tests ensures that when we have group rebalance and pause dispatch,
     * the broker pauses dispatch of new messages to consumers whilst rebalance and awaits existing inflight messages to be handled before restarting dispatch with new reblanced group allocations,
@@ -109,6 +109,11 @@ public class QueueControlUsingCoreTest extends QueueControlTest {
             }
          }
 
+         @Override
+         public long getGroupsRebalanced() {
+            return ((Number) proxy.retrieveAttributeValue("groupsRebalanced")).longValue();
+         }
+
          @Override
          public String listGroupsAsJSON() throws Exception {
             return (String) proxy.invokeOperation("listGroupsAsJSON");
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.integration.persistence;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.HashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.transaction.xa.XAResource;
+import javax.transaction.xa.Xid;
+
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.persistence.impl.journal.JournalRecordIds;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.junit.jupiter.api.Test;
+
+public class BatchReferencesRestartTest extends ActiveMQTestBase {
+
+   private static final String ADDRESS = "fanout";
+
+   private static final int QUEUES = 3;
+
+   @Test
+   public void testLoadBatchReferences() throws Exception {
+      final int numMessages = 10;
+
+      ActiveMQServer server = createServer(true);
+      server.getConfiguration().setJournalBatchReferences(true);
+      server.start();
+
+      ServerLocator locator = createInVMNonHALocator().setBlockOnDurableSend(true);
+      ClientSessionFactory factory = createSessionFactory(locator);
+      ClientSession session = addClientSession(factory.createSession(false, true, true));
+
+      for (int i = 0; i < QUEUES; i++) {
+         session.createQueue(QueueConfiguration.of(ADDRESS + i).setAddress(ADDRESS).setRoutingType(RoutingType.MULTICAST));
+      }
+
+      ClientProducer producer = session.createProducer(ADDRESS);
+      for (int i = 0; i < numMessages; i++) {
+         producer.send(createMessage(session, i));
+      }
+
+      ClientSession txSession = addClientSession(factory.createSession(false, false, false));
+      ClientProducer txProducer = txSession.createProducer(ADDRESS);
+      for (int i = numMessages; i < numMessages * 2; i++) {
+         txProducer.send(createMessage(txSession, i));
+      }
+      txSession.commit();
+
+      ClientSession xaSession = addClientSession(factory.createSession(true, false, false));
+      Xid xid = newXID();
+      xaSession.start(xid, XAResource.TMNOFLAGS);
+      xaSession.createProducer(ADDRESS).send(createMessage(xaSession, numMessages * 2));
+      xaSession.end(xid, XAResource.TMSUCCESS);
+      xaSession.prepare(xid);
+
+      // the references of the first queue are acked, the others are still there
+      session.start();
+      ClientConsumer consumer = session.createConsumer(ADDRESS + 0);
+      for (int i = 0; i < numMessages * 2; i++) {
+         ClientMessage message = consumer.receive(5000);
+         assertNotNull(message);
+         message.acknowledge();
+      }
+      consumer.close();
+
+      locator.close();
+      server.stop();
+
+      HashMap<Integer, AtomicInteger> counters = countJournal(server.getConfiguration());
+      assertEquals(numMessages * 2 + 1, getCounter(JournalRecordIds.ADD_REFS, counters));
+      assertEquals(0, getCounter(JournalRecordIds.ADD_REF, counters));
+
+      server.start();
+
+      assertEquals(0, getMessageCount(server.locateQueue(SimpleString.of(ADDRESS + 0))));
+      for (int i = 1; i < QUEUES; i++) {
+         assertEquals(numMessages * 2, getMessageCount(server.locateQueue(SimpleString.of(ADDRESS + i))));
+      }
+
+      locator = createInVMNonHALocator();
+      factory = createSessionFactory(locator);
+      xaSession = addClientSession(factory.createSession(true, false, false));
+      xaSession.commit(xid, false);
+
+      session = addClientSession(factory.createSession(false, true, true));
+      session.start();
+      for (int q = 0; q < QUEUES; q++) {
+         final int expectedMessages = q == 0 ? 1 : numMessages * 2 + 1;
+         final int firstMessage = numMessages * 2 + 1 - expectedMessages;
+         consumer = session.createConsumer(ADDRESS + q);
+         for (int i = 0; i < expectedMessages; i++) {
+            ClientMessage message = consumer.receive(5000);
+            assertNotNull(message);
+            assertEquals(firstMessage + i, message.getIntProperty("i").intValue());
+            message.acknowledge();
+         }
+         assertNull(consumer.receiveImmediate());
+         consumer.close();
+      }
+   }
+
+   private static ClientMessage createMessage(ClientSession session, int i) {
+      ClientMessage message = session.createMessage(true);
+      message.putIntProperty("i", i);
+      return message;
+   }
+
+   private static int getCounter(byte recordType, HashMap<Integer, AtomicInteger> counters) {
+      AtomicInteger value = counters.get((int) recordType);
+      return value == null ? 0 : value.get();
+   }
+}
@@ -16,6 +16,7 @@
  */
 package org.apache.activemq.artemis.tests.integration.remoting;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -40,6 +41,7 @@ import org.apache.activemq.artemis.core.server.ActiveMQServer;
 import org.apache.activemq.artemis.core.server.Queue;
 import org.apache.activemq.artemis.api.core.RoutingType;
 import org.apache.activemq.artemis.core.server.impl.QueueImpl;
+import org.apache.activemq.artemis.core.settings.impl.AddressSettings;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -90,6 +92,52 @@ public class DirectDeliverTest extends ActiveMQTestBase {
       testDirectDeliver(inVMLocator);
    }
 
+   @Test
+   public void testFanOutBeyondMaxDirectDeliveryQueues() throws Exception {
+      final String address = "fanout";
+      final int numQueues = 3;
+      final int numMessages = 100;
+
+      server.getAddressSettingsRepository().addMatch(address, new AddressSettings().setMaxDirectDeliveryQueues(numQueues - 1));
+
+      ClientSessionFactory sf = createSessionFactory(inVMLocator);
+
+      ClientSession session = sf.createSession();
+
+      Queue[] queues = new Queue[numQueues];
+      ClientConsumer[] consumers = new ClientConsumer[numQueues];
+      for (int i = 0; i < numQueues; i++) {
+         final String queueName = address + i;
+         session.createQueue(QueueConfiguration.of(queueName).setAddress(address).setRoutingType(RoutingType.MULTICAST));
+         queues[i] = (Queue) server.getPostOffice().getBinding(SimpleString.of(queueName)).getBindable();
+         consumers[i] = session.createConsumer(queueName);
+      }
+
+      session.start();
+
+      // give the queues the chance to go direct, if they were allowed to
+      Thread.sleep((long) (QueueImpl.CHECK_QUEUE_SIZE_PERIOD * 1.5));
+
+      ClientProducer prod = session.createProducer(address);
+
+      for (int i = 0; i < numMessages; i++) {
+         ClientMessage msg = session.createMessage(true);
+         msg.putIntProperty("i", i);
+         prod.send(msg);
+      }
+
+      for (int q = 0; q < numQueues; q++) {
+         // delivered by the queue executor, still in order
+         assertFalse(queues[q].isDirectDeliver());
+         for (int i = 0; i < numMessages; i++) {
+            ClientMessage msg = consumers[q].receive(10000);
+            assertNotNull(msg);
+            assertEquals(i, msg.getIntProperty("i").intValue());
+            msg.acknowledge();
+         }
+      }
+   }
+
    private void testDirectDeliver(ServerLocator serverLocator) throws Exception {
       final String foo = "foo";
 
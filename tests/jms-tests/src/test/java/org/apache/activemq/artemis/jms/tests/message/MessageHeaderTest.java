@@ -36,6 +36,7 @@ import java.util.EnumSet;
 import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Set;
+import java.util.concurrent.CompletionStage;
 
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
@@ -1311,6 +1312,11 @@ public class MessageHeaderTest extends MessageHeaderTestBase {
          return null;
       }
 
+      @Override
+      public CompletionStage<QueueQuery> queueQueryAsync(final SimpleString queueName) {
+         return null;
+      }
+
       @Override
       public AddressQuery addressQuery(final SimpleString address) throws ActiveMQException {
          return null;
@@ -1329,6 +1335,11 @@ public class MessageHeaderTest extends MessageHeaderTestBase {
       public void commit(boolean block) throws ActiveMQException {
       }
 
+      @Override
+      public CompletionStage<Void> commitAsync() {
+         return null;
+      }
+
       @Override
       public boolean isRollbackOnly() {
 
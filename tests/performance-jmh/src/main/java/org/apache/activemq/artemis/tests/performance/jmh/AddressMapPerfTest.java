@@ -40,12 +40,15 @@ public class AddressMapPerfTest {
 
 
    public AddressMap<Object> objectAddressMap;
+   // MQTT like subscriptions on a deep hierarchy, not modified while visited
+   public AddressMap<Object> wildcardAddressMap;
 
    @Param({"2", "8", "10"})
    int entriesLog2;
    int entries;
    private static final WildcardConfiguration WILDCARD_CONFIGURATION;
    SimpleString[] keys;
+   SimpleString[] deepKeys;
 
    static {
       WILDCARD_CONFIGURATION = new WildcardConfiguration();
@@ -63,6 +66,19 @@ public class AddressMapPerfTest {
       for (int i = 0; i < entries; i++) {
          keys[i] = SimpleString.of("topic." + i % entriesLog2 + "." + i);
       }
+
+      wildcardAddressMap =
+         new AddressMap<>(WILDCARD_CONFIGURATION.getAnyWordsString(), WILDCARD_CONFIGURATION.getSingleWordString(), WILDCARD_CONFIGURATION.getDelimiter());
+      deepKeys = new SimpleString[entries];
+      for (int i = 0; i < entries; i++) {
+         final String site = "site" + i % entriesLog2;
+         final String device = "device" + i;
+         deepKeys[i] = SimpleString.of("iot." + site + "." + device + ".sensor.temperature");
+         wildcardAddressMap.put(SimpleString.of("iot." + site + "." + device + ".>"), i);
+         wildcardAddressMap.put(SimpleString.of("iot." + site + ".*.sensor." + (i % 4 == 0 ? "temperature" : "humidity")), i);
+      }
+      wildcardAddressMap.put(SimpleString.of("iot.>"), -1);
+      wildcardAddressMap.put(SimpleString.of("iot.*.*.sensor.*"), -1);
    }
 
    @State(value = Scope.Thread)
@@ -70,18 +86,27 @@ public class AddressMapPerfTest {
 
       long next;
       SimpleString[] keys;
+      SimpleString[] deepKeys;
       AtomicInteger counter = new AtomicInteger();
 
       @Setup
       public void init(AddressMapPerfTest benchmarkState) {
          keys = benchmarkState.keys;
+         deepKeys = benchmarkState.deepKeys;
       }
 
       public SimpleString nextKeyValue() {
+         return keys[nextIndex()];
+      }
+
+      public SimpleString nextDeepKeyValue() {
+         return deepKeys[nextIndex()];
+      }
+
+      private int nextIndex() {
          final long current = next;
          next = current + 1;
-         final int index = (int) (current & (keys.length - 1));
-         return keys[index];
+         return (int) (current & (keys.length - 1));
       }
    }
 
@@ -111,6 +136,12 @@ public class AddressMapPerfTest {
       objectAddressMap.visitMatchingWildcards(s, value -> state.counter.incrementAndGet());
    }
 
+   @Benchmark
+   @GroupThreads(4)
+   public void testVisitMatchingWildcards(final ThreadState state) throws Exception {
+      wildcardAddressMap.visitMatchingWildcards(state.nextDeepKeyValue(), value -> state.counter.incrementAndGet());
+   }
+
 
 }
 
@@ -0,0 +1,140 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.QueueConfiguration;
+import org.apache.activemq.artemis.api.core.RoutingType;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.api.core.client.ActiveMQClient;
+import org.apache.activemq.artemis.api.core.client.ClientConsumer;
+import org.apache.activemq.artemis.api.core.client.ClientMessage;
+import org.apache.activemq.artemis.api.core.client.ClientProducer;
+import org.apache.activemq.artemis.api.core.client.ClientSession;
+import org.apache.activemq.artemis.api.core.client.ClientSessionFactory;
+import org.apache.activemq.artemis.api.core.client.ServerLocator;
+import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
+import org.apache.activemq.artemis.core.server.ActiveMQServer;
+import org.apache.activemq.artemis.core.server.ActiveMQServers;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Sends batches of small messages to an in-vm broker and consumes them with a {@link ClientConsumer}, either calling
+ * {@link ClientConsumer#receive()} or through a {@link org.apache.activemq.artemis.api.core.client.MessageHandler}.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class ConsumerReceiveBenchmark {
+
+   private static final SimpleString QUEUE = SimpleString.of("benchmark.queue");
+
+   private static final int MESSAGES = 1000;
+
+   @Param({"receive", "handler"})
+   private String mode;
+
+   private ActiveMQServer server;
+   private ServerLocator locator;
+   private ClientSessionFactory factory;
+   private ClientSession session;
+   private ClientProducer producer;
+   private ClientConsumer consumer;
+   private List<Message> messages;
+   private final AtomicInteger handled = new AtomicInteger();
+
+   @Setup
+   public void init() throws Exception {
+      server = ActiveMQServers.newActiveMQServer(new ConfigurationImpl()
+                                                    .setPersistenceEnabled(false)
+                                                    .setSecurityEnabled(false)
+                                                    .setJMXManagementEnabled(false)
+                                                    .addAcceptorConfiguration("invm", "vm://0"), false);
+      server.start();
+      server.createQueue(QueueConfiguration.of(QUEUE).setRoutingType(RoutingType.ANYCAST).setDurable(false));
+
+      locator = ActiveMQClient.createServerLocator("vm://0");
+      factory = locator.createSessionFactory();
+      session = factory.createSession();
+      producer = session.createProducer(QUEUE);
+      consumer = session.createConsumer(QUEUE);
+      if ("handler".equals(mode)) {
+         consumer.setMessageHandler(message -> {
+            acknowledge(message);
+            handled.incrementAndGet();
+         });
+      }
+      session.start();
+
+      messages = new ArrayList<>(MESSAGES);
+      for (int i = 0; i < MESSAGES; i++) {
+         ClientMessage message = session.createMessage(false);
+         message.getBodyBuffer().writeBytes(new byte[64]);
+         messages.add(message);
+      }
+   }
+
+   private static void acknowledge(ClientMessage message) {
+      try {
+         message.acknowledge();
+      } catch (Exception e) {
+         throw new IllegalStateException(e);
+      }
+   }
+
+   @Benchmark
+   @OperationsPerInvocation(MESSAGES)
+   public int sendAndConsume() throws Exception {
+      producer.send(messages);
+      if ("handler".equals(mode)) {
+         while (handled.get() < MESSAGES) {
+            Thread.onSpinWait();
+         }
+         handled.addAndGet(-MESSAGES);
+         return MESSAGES;
+      }
+      int received = 0;
+      for (int i = 0; i < MESSAGES; i++) {
+         ClientMessage message = consumer.receive();
+         message.acknowledge();
+         received += message.getBodySize();
+      }
+      return received;
+   }
+
+   @TearDown
+   public void tearDown() throws Exception {
+      session.close();
+      factory.close();
+      locator.close();
+      server.stop();
+   }
+}
@@ -31,6 +31,7 @@ import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
 import org.openjdk.jmh.annotations.Warmup;
 
 @State(Scope.Benchmark)
@@ -43,6 +44,8 @@ public class DuplicateIDCacheBenchmark {
    private int size;
    @Param({"false", "true"})
    private boolean persist;
+   @Param({"false", "true"})
+   private boolean filter;
 
    private DuplicateIDCache cache;
 
@@ -55,8 +58,8 @@ public class DuplicateIDCacheBenchmark {
    @Setup
    public void init() throws Exception {
       cache = persist ?
-         DuplicateIDCaches.persistent(SimpleString.of("benchmark"), size, new NullStorageManager()) :
-         DuplicateIDCaches.inMemory(SimpleString.of("benchmark"), size);
+         DuplicateIDCaches.persistent(SimpleString.of("benchmark"), size, new NullStorageManager(), filter) :
+         DuplicateIDCaches.inMemory(SimpleString.of("benchmark"), size, filter);
       final int idSize = findNextHigherPowerOf2(size);
       idsMask = idSize - 1;
       nextId = 0;
@@ -132,6 +135,31 @@ public class DuplicateIDCacheBenchmark {
       return cache.contains(nextMissingId());
    }
 
+   @State(Scope.Thread)
+   public static class Sequence {
+
+      private long next;
+
+      int next(int mask) {
+         return (int) (next++ & mask);
+      }
+   }
+
+   /**
+    * Many producers sending to the same address: lookups don't contend, additions do.
+    */
+   @Benchmark
+   @Threads(4)
+   public boolean containsMissingIdContended(Sequence sequence) {
+      return cache.contains(randomEvictedIds[sequence.next(missingIdsMask)]);
+   }
+
+   @Benchmark
+   @Threads(4)
+   public boolean atomicVerifyContended(Sequence sequence) throws Exception {
+      return cache.atomicVerify(ids[sequence.next(idsMask)], null);
+   }
+
    @TearDown
    public void clear() throws Exception {
       cache.clear();
@@ -0,0 +1,123 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.server.MessageReference;
+import org.apache.activemq.artemis.core.server.impl.LastValueIndex;
+import org.apache.activemq.artemis.core.server.impl.MessageReferenceImpl;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the {@link LastValueIndex} used by {@link org.apache.activemq.artemis.core.server.impl.LastValueQueue}
+ * against the {@link ConcurrentHashMap} it has replaced, replacing and looking up the last value of existing keys.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class LastValueIndexBenchmark {
+
+   @Param({"1000", "1000000"})
+   private int keys;
+
+   @Param({"true", "false"})
+   private boolean index;
+
+   private LastValueIndex lastValueIndex;
+   private Map<SimpleString, MessageReference> map;
+   private SimpleString[] keySet;
+   private MessageReference[] refs;
+   private int mask;
+
+   @Setup
+   public void init() {
+      final int size = findNextPowerOf2(keys);
+      mask = size - 1;
+      keySet = new SimpleString[size];
+      refs = new MessageReference[size];
+      lastValueIndex = new LastValueIndex();
+      map = new ConcurrentHashMap<>();
+      for (int i = 0; i < size; i++) {
+         // use a different instance than the stored one, as a new message would do
+         keySet[i] = SimpleString.of("STOCK-" + (i % keys));
+         refs[i] = new MessageReferenceImpl();
+         if (index) {
+            lastValueIndex.put(SimpleString.of("STOCK-" + (i % keys)), refs[i]);
+         } else {
+            map.put(SimpleString.of("STOCK-" + (i % keys)), refs[i]);
+         }
+      }
+   }
+
+   private static int findNextPowerOf2(int size) {
+      return 1 << (32 - Integer.numberOfLeadingZeros(size - 1));
+   }
+
+   @State(Scope.Thread)
+   public static class Sequence {
+
+      private int next;
+
+      int next(int mask) {
+         return next++ & mask;
+      }
+   }
+
+   @Benchmark
+   public MessageReference replace(Sequence sequence) {
+      final int i = sequence.next(mask);
+      if (index) {
+         return lastValueIndex.put(keySet[i], refs[i]);
+      }
+      return map.put(keySet[i], refs[i]);
+   }
+
+   @Benchmark
+   public MessageReference get(Sequence sequence) {
+      final int i = sequence.next(mask);
+      if (index) {
+         return lastValueIndex.get(keySet[i]);
+      }
+      return map.get(keySet[i]);
+   }
+
+   @Benchmark
+   public boolean removeIfCurrent(Sequence sequence) {
+      final int i = sequence.next(mask);
+      final MessageReference ref = refs[i];
+      if (index) {
+         // put it back so the key set stays stable
+         final boolean removed = lastValueIndex.remove(keySet[i], ref);
+         lastValueIndex.put(keySet[i], ref);
+         return removed;
+      }
+      final boolean removed = map.remove(keySet[i], ref);
+      map.put(keySet[i], ref);
+      return removed;
+   }
+}
@@ -0,0 +1,139 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import java.util.Collections;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.ByteBufAllocator;
+import io.netty.channel.embedded.EmbeddedChannel;
+import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.buffers.impl.ChannelBufferWrapper;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
+import org.apache.activemq.artemis.core.protocol.ClientPacketDecoder;
+import org.apache.activemq.artemis.core.protocol.ServerPacketDecoder;
+import org.apache.activemq.artemis.core.protocol.core.Packet;
+import org.apache.activemq.artemis.core.protocol.core.impl.PacketDecoder;
+import org.apache.activemq.artemis.core.protocol.core.impl.RemotingConnectionImpl;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionAcknowledgeMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionConsumerFlowCreditMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionReceiveMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionRequestProducerCreditsMessage;
+import org.apache.activemq.artemis.core.protocol.core.impl.wireformat.SessionSendMessage_V3;
+import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
+import org.apache.activemq.artemis.utils.DataConstants;
+import org.apache.activemq.artemis.utils.VersionLoader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Encodes and decodes the packets the core protocol sends and receives the most, as {@link NettyConnection} and
+ * {@code ActiveMQFrameDecoder2} do: run it with {@code -prof gc} to compare their allocation rate.
+ */
+@State(Scope.Thread)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class PacketEncodingBenchmark {
+
+   private static final SimpleString ADDRESS = SimpleString.of("benchmark.address");
+
+   @Param({"send", "receive", "acknowledge", "consumerCredits", "requestProducerCredits", "producerCredits"})
+   private String type;
+
+   @Param({"256"})
+   private int bodySize;
+
+   private EmbeddedChannel channel;
+   private RemotingConnectionImpl connection;
+   private PacketDecoder decoder;
+   private Packet packet;
+   private byte[] encoded;
+
+   @Setup
+   public void init() {
+      channel = new EmbeddedChannel();
+      decoder = switch (type) {
+         case "receive", "producerCredits" -> new ClientPacketDecoder();
+         default -> new ServerPacketDecoder(new NullStorageManager());
+      };
+      connection = new RemotingConnectionImpl(decoder, new NettyConnection(Collections.emptyMap(), channel, null, false, false), Collections.emptyList(), Collections.emptyList(), null, Runnable::run);
+      connection.setChannelVersion(VersionLoader.getVersion().getIncrementingVersion());
+      packet = switch (type) {
+         case "send" -> new SessionSendMessage_V3(createMessage(), false, null, 1);
+         case "receive" -> new SessionReceiveMessage(1, createMessage(), 0);
+         case "acknowledge" -> new SessionAcknowledgeMessage(1, 2, false);
+         case "consumerCredits" -> new SessionConsumerFlowCreditMessage(1, 1024 * 1024);
+         case "requestProducerCredits" -> new SessionRequestProducerCreditsMessage(1024 * 1024, ADDRESS);
+         case "producerCredits" -> new SessionProducerCreditsMessage(1024 * 1024, ADDRESS);
+         default -> throw new IllegalArgumentException(type);
+      };
+      final ActiveMQBuffer buffer = packet.encode(connection);
+      encoded = new byte[buffer.readableBytes()];
+      buffer.readBytes(encoded);
+      buffer.byteBuf().release();
+   }
+
+   private CoreMessage createMessage() {
+      final CoreMessage message = new CoreMessage(1, bodySize + 100);
+      message.setAddress(ADDRESS);
+      message.putStringProperty("region", "EMEA");
+      message.putIntProperty("priority", 5);
+      message.getBodyBuffer().writeBytes(new byte[bodySize]);
+      return message;
+   }
+
+   @TearDown
+   public void close() {
+      channel.finishAndReleaseAll();
+   }
+
+   /**
+    * The encoded packet is released as Netty does once it's written.
+    */
+   @Benchmark
+   public int encode() {
+      final ActiveMQBuffer buffer = packet.encode(connection);
+      final int size = buffer.writerIndex();
+      buffer.byteBuf().release();
+      return size;
+   }
+
+   /**
+    * The frame is allocated and read as a received one is.
+    */
+   @Benchmark
+   public Packet decode() {
+      final ByteBuf frame = ByteBufAllocator.DEFAULT.buffer(encoded.length);
+      try {
+         frame.writeBytes(encoded).skipBytes(DataConstants.SIZE_INT);
+         return decoder.decode(new ChannelBufferWrapper(frame), connection);
+      } finally {
+         frame.release();
+      }
+   }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements. See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License. You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.apache.activemq.artemis.tests.performance.jmh;
+
+import org.apache.activemq.artemis.api.core.Message;
+import org.apache.activemq.artemis.api.core.SimpleString;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
+import org.apache.activemq.artemis.core.message.impl.CoreMessage;
+import org.apache.activemq.artemis.selector.filter.BooleanExpression;
+import org.apache.activemq.artemis.selector.filter.FilterException;
+import org.apache.activemq.artemis.selector.filter.Filterable;
+import org.apache.activemq.artemis.selector.filter.SelectorCompiler;
+import org.apache.activemq.artemis.selector.impl.SelectorParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the evaluation of selectors as parsed against their {@link SelectorCompiler compiled} form, over core
+ * messages matching and not matching them.
+ */
+@State(Scope.Benchmark)
+@Fork(2)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 8, time = 1)
+public class SelectorBenchmark {
+
+   @Param({"region = 'EMEA'",
+      "priority BETWEEN 3 AND 7 AND region <> 'APAC'",
+      "price > 100.5 AND quantity >= 10 AND (region = 'EMEA' OR region = 'NA')",
+      "type IN ('order', 'invoice') AND NOT (quantity < 10) AND price <= 1000"})
+   private String selector;
+
+   @Param({"true", "false"})
+   private boolean compile;
+
+   private BooleanExpression expression;
+   private Filterable matching;
+   private Filterable notMatching;
+
+   @Setup
+   public void init() throws Exception {
+      expression = SelectorParser.parse(selector);
+      if (compile) {
+         expression = SelectorCompiler.compile(expression);
+      }
+      matching = new MessageFilterable(createMessage("EMEA", 5, 150.25, 20, "order"));
+      notMatching = new MessageFilterable(createMessage("APAC", 1, 50.0, 2, "quote"));
+   }
+
+   private static Message createMessage(String region, int priority, double price, long quantity, String type) {
+      final CoreMessage message = new CoreMessage(1, 100);
+      message.putStringProperty("region", region);
+      message.putIntProperty("priority", priority);
+      message.putDoubleProperty("price", price);
+      message.putLongProperty("quantity", quantity);
+      message.putStringProperty("type", type);
+      message.putStringProperty("customer", "ACME");
+      message.putBooleanProperty("express", false);
+      return message;
+   }
+
+   @Benchmark
+   public boolean matching() throws FilterException {
+      return expression.matches(matching);
+   }
+
+   @Benchmark
+   public boolean notMatching() throws FilterException {
+      return expression.matches(notMatching);
+   }
+
+   private static final class MessageFilterable implements Filterable {
+
+      private final Message message;
+
+      private MessageFilterable(Message message) {
+         this.message = message;
+      }
+
+      @Override
+      public <T> T getBodyAs(Class<T> type) {
+         return null;
+      }
+
+      @Override
+      public Object getProperty(SimpleString name) {
+         return FilterImpl.getFilterProperty(message, name);
+      }
+
+      @Override
+      public Object getLocalConnectionId() {
+         return null;
+      }
+   }
+}
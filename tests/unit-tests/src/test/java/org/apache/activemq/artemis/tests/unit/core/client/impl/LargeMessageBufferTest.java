@@ -29,6 +29,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.io.PipedInputStream;
 import java.io.PipedOutputStream;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -699,6 +700,11 @@ public class LargeMessageBufferTest extends ActiveMQTestBase {
          return null;
       }
 
+      @Override
+      public CompletionStage<ClientMessage> receiveAsync() throws ActiveMQException {
+         return null;
+      }
+
       @Override
       public FakeConsumerInternal setMessageHandler(final MessageHandler handler) throws ActiveMQException {
          return this;
@@ -749,6 +755,10 @@ public class LargeMessageBufferTest extends ActiveMQTestBase {
          return 0;
       }
 
+      @Override
+      public void adaptWindowSize(int minWindowSize, int maxWindowSize, long roundTripNanos) {
+      }
+
       @Override
       public SimpleString getFilterString() {
 
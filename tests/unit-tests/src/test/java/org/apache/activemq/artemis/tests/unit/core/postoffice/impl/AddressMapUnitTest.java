@@ -939,4 +939,30 @@ public class AddressMapUnitTest {
       assertEquals(3, countMatchingWildcards(SimpleString.of("test.a.a")));
    }
 
+   @Test
+   public void testWildcardNodesRemovedAndAddedBack() throws Exception {
+      SimpleString anyChild = SimpleString.of("test.*");
+      SimpleString anyDescendent = SimpleString.of("test.#");
+      SimpleString address = SimpleString.of("test.a");
+
+      underTest.put(anyChild, anyChild);
+      underTest.put(anyDescendent, anyDescendent);
+      assertEquals(2, countMatchingWildcards(address));
+
+      // pruned wildcard nodes must not be matched anymore
+      underTest.remove(anyChild, anyChild);
+      assertEquals(1, countMatchingWildcards(address));
+      underTest.remove(anyDescendent, anyDescendent);
+      assertEquals(0, countMatchingWildcards(address));
+
+      underTest.put(anyChild, anyChild);
+      underTest.put(anyDescendent, anyDescendent);
+      assertEquals(2, countMatchingWildcards(address));
+
+      underTest.reset();
+      assertEquals(0, countMatchingWildcards(address));
+      underTest.put(anyDescendent, anyDescendent);
+      assertEquals(1, countMatchingWildcards(address));
+   }
+
 }
\ No newline at end of file
@@ -30,6 +30,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.SimpleString;
 import org.apache.activemq.artemis.core.filter.Filter;
+import org.apache.activemq.artemis.core.filter.impl.FilterImpl;
 import org.apache.activemq.artemis.core.message.impl.CoreMessage;
 import org.apache.activemq.artemis.core.persistence.impl.nullpm.NullStorageManager;
 import org.apache.activemq.artemis.core.postoffice.Binding;
@@ -86,6 +87,113 @@ public class BindingsImplTest extends ActiveMQTestBase {
       assertEquals(0, fake.routedCount.get());
    }
 
+   @Test
+   public void testRouteUsingPlan() throws Exception {
+      final Filter red = FilterImpl.createFilter("color = 'red'");
+      final FakeBinding unfiltered = new FakeBinding(SimpleString.of("a"));
+      unfiltered.filter = null;
+      final FakeBinding redOnly = new FakeBinding(SimpleString.of("b"));
+      redOnly.filter = red;
+      final FakeBinding sameRedOnly = new FakeBinding(SimpleString.of("c"));
+      sameRedOnly.filter = FilterImpl.createFilter("color = 'red'");
+      final Bindings bind = new BindingsImpl(null, null, new NullStorageManager(1000));
+      bind.addBinding(redOnly);
+      bind.addBinding(unfiltered);
+      bind.addBinding(sameRedOnly);
+
+      final Message redMessage = new CoreMessage(0, 100).putStringProperty("color", "red");
+      final Message blueMessage = new CoreMessage(1, 100).putStringProperty("color", "blue");
+      bind.route(redMessage, new RoutingContextImpl(new FakeTransaction()));
+      bind.route(blueMessage, new RoutingContextImpl(new FakeTransaction()));
+      assertEquals(2, unfiltered.routedCount.get());
+      assertEquals(1, redOnly.routedCount.get());
+      assertEquals(1, sameRedOnly.routedCount.get());
+
+      // a filter update is notified to the bindings
+      unfiltered.filter = red;
+      bind.updated(unfiltered);
+      bind.route(blueMessage, new RoutingContextImpl(new FakeTransaction()));
+      assertEquals(2, unfiltered.routedCount.get());
+
+      // a new binding does
+      final FakeBinding added = new FakeBinding(SimpleString.of("d"));
+      added.filter = null;
+      bind.addBinding(added);
+      bind.route(redMessage, new RoutingContextImpl(new FakeTransaction()));
+      assertEquals(3, unfiltered.routedCount.get());
+      assertEquals(2, redOnly.routedCount.get());
+      assertEquals(2, sameRedOnly.routedCount.get());
+      assertEquals(1, added.routedCount.get());
+   }
+
+   @Test
+   public void testRouteUsingPropertyDispatch() throws Exception {
+      final Bindings bind = new BindingsImpl(null, null, new NullStorageManager(1000));
+      final FakeBinding[] byRegion = new FakeBinding[10];
+      for (int i = 0; i < byRegion.length; i++) {
+         byRegion[i] = new FakeBinding(SimpleString.of("region" + i));
+         byRegion[i].filter = FilterImpl.createFilter("'" + i + "' = region");
+         bind.addBinding(byRegion[i]);
+      }
+      final FakeBinding sameRegion = new FakeBinding(SimpleString.of("sameRegion"));
+      sameRegion.filter = FilterImpl.createFilter("region = '3'");
+      bind.addBinding(sameRegion);
+      final FakeBinding otherProperty = new FakeBinding(SimpleString.of("otherProperty"));
+      otherProperty.filter = FilterImpl.createFilter("color = 'red'");
+      bind.addBinding(otherProperty);
+      final FakeBinding notIndexed = new FakeBinding(SimpleString.of("notIndexed"));
+      notIndexed.filter = FilterImpl.createFilter("region = '3' OR color = 'red'");
+      bind.addBinding(notIndexed);
+
+      bind.route(new CoreMessage(0, 100).putStringProperty("region", "3"), new RoutingContextImpl(new FakeTransaction()));
+      for (int i = 0; i < byRegion.length; i++) {
+         assertEquals(i == 3 ? 1 : 0, byRegion[i].routedCount.get());
+      }
+      assertEquals(1, sameRegion.routedCount.get());
+      assertEquals(0, otherProperty.routedCount.get());
+      assertEquals(1, notIndexed.routedCount.get());
+
+      bind.route(new CoreMessage(1, 100).putStringProperty("color", "red"), new RoutingContextImpl(new FakeTransaction()));
+      assertEquals(1, byRegion[3].routedCount.get());
+      assertEquals(1, otherProperty.routedCount.get());
+      assertEquals(2, notIndexed.routedCount.get());
+
+      // not a string: left to the filters
+      bind.route(new CoreMessage(2, 100).putIntProperty("region", 5), new RoutingContextImpl(new FakeTransaction()));
+      assertEquals(0, byRegion[5].routedCount.get());
+
+      // a filter update must be notified to be taken into account
+      byRegion[5].filter = FilterImpl.createFilter("region = '3'");
+      bind.updated(byRegion[5]);
+      bind.route(new CoreMessage(3, 100).putStringProperty("region", "3"), new RoutingContextImpl(new FakeTransaction()));
+      assertEquals(2, byRegion[3].routedCount.get());
+      assertEquals(1, byRegion[5].routedCount.get());
+      assertEquals(2, sameRegion.routedCount.get());
+   }
+
+   @Test
+   public void testSharedFilterMatchedOncePerMessage() throws Exception {
+      final FakeFilter shared = new FakeFilter();
+      shared.matching = true;
+      final Bindings bind = new BindingsImpl(null, null, new NullStorageManager(1000));
+      final FakeRemoteBinding[] remotes = new FakeRemoteBinding[3];
+      for (int i = 0; i < remotes.length; i++) {
+         remotes[i] = new FakeRemoteBinding(SimpleString.of("a"));
+         remotes[i].filter = shared;
+         remotes[i].messageLoadBalancingType = MessageLoadBalancingType.ON_DEMAND;
+         bind.addBinding(remotes[i]);
+      }
+
+      final RoutingContext context = new RoutingContextImpl(new FakeTransaction());
+      bind.route(new CoreMessage(0, 100), context);
+      assertEquals(1, shared.matchCount.get());
+      assertEquals(1, remotes[0].routedCount.get() + remotes[1].routedCount.get() + remotes[2].routedCount.get());
+
+      // another message is evaluated again
+      bind.route(new CoreMessage(1, 100), context);
+      assertEquals(2, shared.matchCount.get());
+   }
+
    @Test
    public void testRemoveWhileRouting() throws Exception {
       // It would require many iterations before getting a failure
@@ -313,6 +421,9 @@ public class BindingsImplTest extends ActiveMQTestBase {
 
    private final class FakeFilter implements Filter {
 
+      boolean matching;
+      final AtomicInteger matchCount = new AtomicInteger();
+
       /* (non-Javadoc)
        * @see org.apache.activemq.artemis.core.filter.Filter#getFilterString()
        */
@@ -326,7 +437,8 @@ public class BindingsImplTest extends ActiveMQTestBase {
        */
       @Override
       public boolean match(final Message message) {
-         return false;
+         matchCount.incrementAndGet();
+         return matching;
       }
 
       @Override
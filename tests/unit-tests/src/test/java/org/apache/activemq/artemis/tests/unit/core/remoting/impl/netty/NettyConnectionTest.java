@@ -21,26 +21,52 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
+import java.io.File;
+import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
+import java.nio.file.Files;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
 
+import io.netty.bootstrap.Bootstrap;
+import io.netty.bootstrap.ServerBootstrap;
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import io.netty.channel.Channel;
+import io.netty.channel.ChannelHandlerContext;
 import io.netty.channel.ChannelInboundHandlerAdapter;
+import io.netty.channel.ChannelOption;
+import io.netty.channel.ChannelOutboundHandlerAdapter;
+import io.netty.channel.DefaultEventLoop;
+import io.netty.channel.DefaultEventLoopGroup;
+import io.netty.channel.DefaultFileRegion;
+import io.netty.channel.EventLoop;
+import io.netty.channel.WriteBufferWaterMark;
 import io.netty.channel.embedded.EmbeddedChannel;
+import io.netty.channel.local.LocalAddress;
+import io.netty.channel.local.LocalChannel;
+import io.netty.channel.local.LocalServerChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.nio.NioServerSocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffer;
 import org.apache.activemq.artemis.api.core.ActiveMQBuffers;
 import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnection;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnectorFactory;
+import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
 import org.apache.activemq.artemis.spi.core.remoting.ClientConnectionLifeCycleListener;
 import org.apache.activemq.artemis.spi.core.remoting.ClientProtocolManager;
 import org.apache.activemq.artemis.spi.core.remoting.Connection;
 import org.apache.activemq.artemis.tests.util.ActiveMQTestBase;
+import org.apache.activemq.artemis.utils.Wait;
 import org.junit.jupiter.api.Test;
 
 public class NettyConnectionTest extends ActiveMQTestBase {
@@ -68,6 +94,244 @@ public class NettyConnectionTest extends ActiveMQTestBase {
       assertEquals(1, channel.outboundMessages().size());
    }
 
+   @Test
+   public void testCoalesceFlushes() throws Exception {
+      final int writes = 1000;
+      final DefaultEventLoopGroup group = new DefaultEventLoopGroup(1);
+      final ByteBuf received = Unpooled.buffer(writes * Integer.BYTES);
+      try {
+         final LocalAddress address = new LocalAddress(NettyConnectionTest.class);
+         new ServerBootstrap().group(group).channel(LocalServerChannel.class).childHandler(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+               final ByteBuf bytes = (ByteBuf) msg;
+               synchronized (received) {
+                  received.writeBytes(bytes);
+               }
+               bytes.release();
+            }
+         }).bind(address).sync();
+         final Channel channel = new Bootstrap().group(group).channel(LocalChannel.class).handler(new ChannelInboundHandlerAdapter()).connect(address).sync().channel();
+         NettyConnection conn = new NettyConnection(Map.of(TransportConstants.COALESCE_FLUSHES, true), channel, new MyListener(), false, false);
+
+         // all the writes are issued while the event loop is busy
+         final CountDownLatch busy = new CountDownLatch(1);
+         channel.eventLoop().execute(() -> {
+            try {
+               busy.await();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         });
+         for (int i = 0; i < writes; i++) {
+            ActiveMQBuffer buffer = conn.createTransportBuffer(Integer.BYTES);
+            buffer.writeInt(i);
+            conn.write(buffer, false, false);
+         }
+         busy.countDown();
+
+         Wait.assertEquals(writes * Integer.BYTES, () -> {
+            synchronized (received) {
+               return received.readableBytes();
+            }
+         });
+         for (int i = 0; i < writes; i++) {
+            assertEquals(i, received.readInt());
+         }
+         assertEquals(writes, conn.getCoalescedWriteCount());
+         assertEquals(writes * Integer.BYTES, conn.getCoalescedBytes());
+         assertEquals(1, conn.getCoalescedFlushCount());
+      } finally {
+         received.release();
+         group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+      }
+   }
+
+   @Test
+   public void testCoalesceFlushesKeepsWriteOrder() throws Exception {
+      final String slowSubmitter = "slow-flush-submitter";
+      final CountDownLatch submitting = new CountDownLatch(1);
+      // the flush submitted by slowSubmitter reaches the event loop after the writes submitted by the test meanwhile
+      final DefaultEventLoopGroup group = new DefaultEventLoopGroup(1) {
+         @Override
+         protected EventLoop newChild(Executor executor, Object... args) {
+            return new DefaultEventLoop(this, executor) {
+               @Override
+               public void execute(Runnable task) {
+                  if (slowSubmitter.equals(Thread.currentThread().getName())) {
+                     submitting.countDown();
+                     LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(200));
+                  }
+                  super.execute(task);
+               }
+            };
+         }
+      };
+      final ByteBuf received = Unpooled.buffer(3 * Integer.BYTES);
+      try {
+         final LocalAddress address = new LocalAddress("testCoalesceFlushesKeepsWriteOrder");
+         new ServerBootstrap().group(group).channel(LocalServerChannel.class).childHandler(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+               final ByteBuf bytes = (ByteBuf) msg;
+               synchronized (received) {
+                  received.writeBytes(bytes);
+               }
+               bytes.release();
+            }
+         }).bind(address).sync();
+         final Channel channel = new Bootstrap().group(group).channel(LocalChannel.class).handler(new ChannelInboundHandlerAdapter()).connect(address).sync().channel();
+         NettyConnection conn = new NettyConnection(Map.of(TransportConstants.COALESCE_FLUSHES, true), channel, new MyListener(), false, false);
+
+         final Thread thread = new Thread(() -> {
+            ActiveMQBuffer buffer = conn.createTransportBuffer(Integer.BYTES);
+            buffer.writeInt(-1);
+            conn.write(buffer, true);
+         }, slowSubmitter);
+         thread.start();
+         assertTrue(submitting.await(10, TimeUnit.SECONDS));
+
+         // a coalesced write followed by a flushed one
+         ActiveMQBuffer buffer = conn.createTransportBuffer(Integer.BYTES);
+         buffer.writeInt(0);
+         conn.write(buffer, true);
+         buffer = conn.createTransportBuffer(Integer.BYTES);
+         buffer.writeInt(1);
+         conn.write(buffer, true, false);
+         thread.join();
+
+         Wait.assertEquals(3 * Integer.BYTES, () -> {
+            synchronized (received) {
+               return received.readableBytes();
+            }
+         });
+         assertEquals(-1, received.readInt());
+         assertEquals(0, received.readInt());
+         assertEquals(1, received.readInt());
+      } finally {
+         received.release();
+         group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+      }
+   }
+
+   @Test
+   public void testCoalesceFlushesAccountsWritability() throws Exception {
+      final int writes = 1000;
+      final int highWaterMark = 1024;
+      final DefaultEventLoopGroup group = new DefaultEventLoopGroup(1);
+      final ByteBuf received = Unpooled.buffer(writes * Integer.BYTES);
+      try {
+         final LocalAddress address = new LocalAddress("testCoalesceFlushesAccountsWritability");
+         new ServerBootstrap().group(group).channel(LocalServerChannel.class).childHandler(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+               final ByteBuf bytes = (ByteBuf) msg;
+               synchronized (received) {
+                  received.writeBytes(bytes);
+               }
+               bytes.release();
+            }
+         }).bind(address).sync();
+         final Channel channel = new Bootstrap().group(group).channel(LocalChannel.class).handler(new ChannelInboundHandlerAdapter())
+            .option(ChannelOption.WRITE_BUFFER_WATER_MARK, new WriteBufferWaterMark(highWaterMark / 2, highWaterMark))
+            .connect(address).sync().channel();
+         NettyConnection conn = new NettyConnection(Map.of(TransportConstants.COALESCE_FLUSHES, true), channel, new MyListener(), false, false);
+
+         final CountDownLatch busy = new CountDownLatch(1);
+         channel.eventLoop().execute(() -> {
+            try {
+               busy.await();
+            } catch (InterruptedException e) {
+               Thread.currentThread().interrupt();
+            }
+         });
+         for (int i = 0; i < writes; i++) {
+            ActiveMQBuffer buffer = conn.createTransportBuffer(Integer.BYTES);
+            buffer.writeInt(i);
+            conn.write(buffer, false, false);
+         }
+         // the writes beyond the high water mark are not hidden from Netty
+         assertFalse(channel.isWritable());
+         busy.countDown();
+
+         Wait.assertEquals(writes * Integer.BYTES, () -> {
+            synchronized (received) {
+               return received.readableBytes();
+            }
+         });
+         for (int i = 0; i < writes; i++) {
+            assertEquals(i, received.readInt());
+         }
+         assertEquals(highWaterMark, conn.getCoalescedBytes());
+         assertEquals(highWaterMark / Integer.BYTES, conn.getCoalescedWriteCount());
+         Wait.assertTrue(channel::isWritable);
+      } finally {
+         received.release();
+         group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+      }
+   }
+
+   @Test
+   public void testWriteFileRegion() throws Exception {
+      final byte[] content = new byte[64 * 1024];
+      for (int i = 0; i < content.length; i++) {
+         content[i] = (byte) i;
+      }
+      final File file = new File(getTestDir(), "region.bin");
+      file.getParentFile().mkdirs();
+      Files.write(file.toPath(), content);
+      final int position = 1000;
+      final int length = content.length - 2 * position;
+
+      final NioEventLoopGroup group = new NioEventLoopGroup(1);
+      final ByteBuf received = Unpooled.buffer(length + 2 * Long.BYTES);
+      try {
+         final Channel server = new ServerBootstrap().group(group).channel(NioServerSocketChannel.class).childHandler(new ChannelInboundHandlerAdapter() {
+            @Override
+            public void channelRead(ChannelHandlerContext ctx, Object msg) {
+               final ByteBuf bytes = (ByteBuf) msg;
+               synchronized (received) {
+                  received.writeBytes(bytes);
+               }
+               bytes.release();
+            }
+         }).bind(new InetSocketAddress("localhost", 0)).sync().channel();
+         final Channel channel = new Bootstrap().group(group).channel(NioSocketChannel.class).handler(new ChannelInboundHandlerAdapter()).connect(server.localAddress()).sync().channel();
+         NettyConnection conn = new NettyConnection(emptyMap, channel, new MyListener(), false, false);
+         assertTrue(conn.isFileRegionSupported());
+
+         ActiveMQBuffer header = conn.createTransportBuffer(Long.BYTES);
+         header.writeLong(Long.MIN_VALUE);
+         ActiveMQBuffer trailer = conn.createTransportBuffer(Long.BYTES);
+         trailer.writeLong(Long.MAX_VALUE);
+         conn.write(header, new DefaultFileRegion(file, position, length), trailer);
+
+         Wait.assertEquals(length + 2 * Long.BYTES, () -> {
+            synchronized (received) {
+               return received.readableBytes();
+            }
+         });
+         assertEquals(Long.MIN_VALUE, received.readLong());
+         for (int i = 0; i < length; i++) {
+            assertEquals(content[position + i], received.readByte());
+         }
+         assertEquals(Long.MAX_VALUE, received.readLong());
+
+         // the bytes of a file region cannot be encoded by any handler
+         channel.pipeline().addFirst(new ChannelOutboundHandlerAdapter());
+         assertFalse(conn.isFileRegionSupported());
+      } finally {
+         received.release();
+         group.shutdownGracefully(0, 0, TimeUnit.SECONDS).sync();
+      }
+   }
+
+   @Test
+   public void testFileRegionNotSupported() throws Exception {
+      NettyConnection conn = new NettyConnection(emptyMap, createChannel(), new MyListener(), false, false);
+      assertFalse(conn.isFileRegionSupported());
+   }
+
    @Test
    public void testCreateBuffer() throws Exception {
       EmbeddedChannel channel = createChannel();
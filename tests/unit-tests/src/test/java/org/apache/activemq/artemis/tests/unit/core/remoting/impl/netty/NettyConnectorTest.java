@@ -27,6 +27,7 @@ import org.apache.activemq.artemis.api.core.ActiveMQException;
 import org.apache.activemq.artemis.api.core.TransportConfiguration;
 import org.apache.activemq.artemis.core.config.impl.ConfigurationImpl;
 import org.apache.activemq.artemis.core.remoting.impl.netty.ActiveMQChannelHandler;
+import org.apache.activemq.artemis.core.remoting.impl.netty.CheckDependencies;
 import org.apache.activemq.artemis.core.remoting.impl.netty.NettyConnector;
 import org.apache.activemq.artemis.core.remoting.impl.netty.TransportConstants;
 import org.apache.activemq.artemis.core.server.ActiveMQComponent;
@@ -119,6 +120,24 @@ public class NettyConnectorTest extends ActiveMQTestBase {
       assertFalse(connector.isStarted());
    }
 
+   @Test
+   public void testIoUringFallback() throws Exception {
+      BufferHandler handler = (connectionID, buffer) -> {
+      };
+      Map<String, Object> params = new HashMap<>();
+      params.put(TransportConstants.USE_IO_URING_PROP_NAME, true);
+
+      // the io_uring transport is not on the test classpath
+      assertFalse(CheckDependencies.isIoUringAvailable());
+
+      NettyConnector connector = new NettyConnector(params, handler, listener, Executors.newCachedThreadPool(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName())), Executors.newCachedThreadPool(ActiveMQThreadFactory.defaultThreadFactory(getClass().getName())), Executors.newScheduledThreadPool(5, ActiveMQThreadFactory.defaultThreadFactory(getClass().getName())));
+
+      connector.start();
+      assertTrue(connector.isStarted());
+      connector.close();
+      assertFalse(connector.isStarted());
+   }
+
    @Test
    public void testNullParams() throws Exception {
       BufferHandler handler = (connectionID, buffer) -> {
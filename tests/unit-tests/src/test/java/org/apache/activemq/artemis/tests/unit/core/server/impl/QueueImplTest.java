@@ -33,6 +33,7 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.activemq.artemis.api.core.Message;
 import org.apache.activemq.artemis.api.core.QueueConfiguration;
@@ -324,6 +325,64 @@ public class QueueImplTest extends ActiveMQTestBase {
       assertEquals(10, queue.getDeliveringCount());
    }
 
+   @Test
+   public void testBusyConsumerNotProbedAgainOnSameDeliveryRound() throws Exception {
+      QueueImpl queue = getTemporaryQueue();
+
+      AtomicInteger busyProbes = new AtomicInteger();
+      FakeConsumer busyConsumer = new FakeConsumer() {
+         @Override
+         public synchronized HandleStatus handle(MessageReference reference) {
+            busyProbes.incrementAndGet();
+            return super.handle(reference);
+         }
+
+         @Override
+         public boolean isBusyReferenceIndependent() {
+            return true;
+         }
+      };
+      busyConsumer.setStatusImmediate(HandleStatus.BUSY);
+
+      FakeConsumer consumer = new FakeConsumer();
+
+      // all the messages must be delivered on the same round
+      queue.pause();
+
+      queue.addConsumer(busyConsumer);
+      queue.addConsumer(consumer);
+
+      final int numMessages = 10;
+
+      List<MessageReference> refs = new ArrayList<>();
+
+      for (int i = 0; i < numMessages; i++) {
+         MessageReference ref = generateReference(queue, i);
+
+         refs.add(ref);
+
+         queue.addTail(ref);
+      }
+
+      queue.resume();
+
+      queue.deliverNow();
+
+      assertRefListsIdenticalRefs(refs, consumer.getReferences());
+      assertTrue(busyConsumer.getReferences().isEmpty());
+      assertTrue(busyProbes.get() <= 1, "busy consumer probed " + busyProbes.get() + " times");
+
+      busyConsumer.setStatusImmediate(HandleStatus.HANDLED);
+      consumer.setStatusImmediate(HandleStatus.BUSY);
+
+      MessageReference ref = generateReference(queue, numMessages);
+      queue.addTail(ref);
+
+      queue.deliverNow();
+
+      assertEquals(1, busyConsumer.getReferences().size());
+   }
+
    @Test
    public void testBusyConsumerThenAddMoreMessages() throws Exception {
       QueueImpl queue = getTemporaryQueue();